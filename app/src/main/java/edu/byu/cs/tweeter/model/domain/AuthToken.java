@@ -18,6 +18,12 @@ public class AuthToken implements Serializable {
         this.isActive = true;
     }
 
+    public AuthToken(String id, String username, boolean isActive) {
+        this.id = id;
+        this.username = username;
+        this.isActive = isActive;
+    }
+
     public String getId() {
         return id;
     }
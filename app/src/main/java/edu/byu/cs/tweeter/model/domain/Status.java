@@ -3,25 +3,24 @@ package edu.byu.cs.tweeter.model.domain;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.List;
 import java.util.Objects;
 
 /**
- * Represents a Status in the system
+ * Represents a Status in the system. The time it was posted is kept as milliseconds since the
+ * epoch and is only formatted when the status is displayed, so statuses can be ordered and
+ * searched by time without parsing anything. The natural order of statuses is oldest first.
  */
 public class Status implements Comparable<Status>, Serializable {
 
     private final User user;
     private final String tweetText;
     private final String urls;
-    private final String timePosted;
+    private final long timePosted;
     private final String mentions;
     private byte [] imageBytes;
 
 
-    public Status(@NotNull User user, String postText, String urls, String timePosted, String mentions) {
+    public Status(@NotNull User user, String postText, String urls, long timePosted, String mentions) {
         this.user = user;
         this.tweetText = postText;
         this.urls = urls;
@@ -41,7 +40,12 @@ public class Status implements Comparable<Status>, Serializable {
         return urls;
     }
 
-    public String getTimePosted() { return timePosted; }
+    /**
+     * Returns the time the status was posted.
+     *
+     * @return the time in milliseconds since the epoch.
+     */
+    public long getTimePosted() { return timePosted; }
 
     public String getMentions() {
         return mentions;
@@ -63,14 +67,14 @@ public class Status implements Comparable<Status>, Serializable {
         Status status = (Status) o;
         return user.getAlias().equals(status.user.getAlias()) &&
                 tweetText.equals(status.getTweetText()) &&
-                urls.equals(status.getUrls()) &&
-                timePosted.equals(status.getTimePosted()) &&
-                mentions.equals(status.getMentions());
+                Objects.equals(urls, status.getUrls()) &&
+                timePosted == status.getTimePosted() &&
+                Objects.equals(mentions, status.getMentions());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(user, tweetText, urls, timePosted, mentions);
+        return Objects.hash(user.getAlias(), tweetText, urls, timePosted, mentions);
     }
 
     @Override
@@ -86,7 +90,7 @@ public class Status implements Comparable<Status>, Serializable {
         } else {
             returnMe += "null";
         }
-        returnMe += ", timePosted='" + timePosted.toString() + '\''+
+        returnMe += ", timePosted='" + timePosted + '\''+
                 ", mentions='";
         if(mentions != null) {
             returnMe += mentions.toString() + '\'';
@@ -97,8 +101,21 @@ public class Status implements Comparable<Status>, Serializable {
         return returnMe;
     }
 
+    /**
+     * Orders statuses by the time they were posted, oldest first. Statuses posted at the same time
+     * are ordered by alias and then by text.
+     */
     @Override
     public int compareTo(Status status) {
-        return this.toString().compareTo(status.toString());
+        if(timePosted != status.timePosted) {
+            return timePosted < status.timePosted ? -1 : 1;
+        }
+
+        int result = user.getAlias().compareTo(status.user.getAlias());
+        if(result == 0) {
+            result = tweetText.compareTo(status.tweetText);
+        }
+
+        return result;
     }
 }
@@ -0,0 +1,1229 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Follow;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.CountRequest;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.LogoutRequest;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.request.RetrieveUserRequest;
+import edu.byu.cs.tweeter.model.service.request.RetrieveUsersRequest;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
+import edu.byu.cs.tweeter.model.service.response.CountResponse;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.LogoutResponse;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
+import edu.byu.cs.tweeter.model.service.response.RegisterResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+import edu.byu.cs.tweeter.model.service.response.RetrieveUserResponse;
+import edu.byu.cs.tweeter.model.service.response.RetrieveUsersResponse;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
+
+/**
+ * A compact binary encoding for the domain objects and the service requests and responses. Each
+ * message starts with the format version and a tag naming its type, followed by its fields in a
+ * fixed order. There are no field names and numbers are varints, so a message is a fraction of
+ * the size of its Java serialized or json form and is much cheaper to produce and parse.
+ * <p>
+ * Images make up most of the bytes of any message that carries them. A codec created with
+ * 'includeImages' set to false writes them as null, for callers that load images separately.
+ * <p>
+ * Messages carry the version of the layout they were written with, and only messages written
+ * with the current layout are read. To change the layout of a type, bump {@link #VERSION}.
+ */
+public class BinaryCodec {
+
+    /**
+     * The version of the layout this codec writes and reads.
+     */
+    public static final int VERSION = 1;
+
+    private static final Map<Class<?>, Adapter<?>> ADAPTERS_BY_TYPE = new HashMap<>();
+    private static final Map<Integer, Adapter<?>> ADAPTERS_BY_TAG = new HashMap<>();
+
+    private final boolean includeImages;
+
+    /**
+     * Creates a codec that includes images.
+     */
+    public BinaryCodec() {
+        this(true);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param includeImages whether the image bytes of users and statuses are written.
+     */
+    public BinaryCodec(boolean includeImages) {
+        this.includeImages = includeImages;
+    }
+
+    /**
+     * Reads and writes one type of message.
+     *
+     * @param <T> the type of message.
+     */
+    private abstract static class Adapter<T> {
+        private final int tag;
+        private final Class<T> type;
+
+        Adapter(int tag, Class<T> type) {
+            this.tag = tag;
+            this.type = type;
+        }
+
+        abstract void write(BinaryCodec codec, BinaryWriter writer, T message);
+
+        abstract T read(BinaryCodec codec, BinaryReader reader) throws IOException;
+    }
+
+    private static <T> void register(Adapter<T> adapter) {
+        ADAPTERS_BY_TYPE.put(adapter.type, adapter);
+        ADAPTERS_BY_TAG.put(adapter.tag, adapter);
+    }
+
+    /**
+     * Encodes a message.
+     *
+     * @param message a domain object, request or response.
+     * @return the encoded message.
+     */
+    public byte[] encode(Object message) {
+        Adapter<Object> adapter = getAdapter(message.getClass());
+        BinaryWriter writer = new BinaryWriter();
+
+        writer.writeVarint(VERSION);
+        writer.writeVarint(adapter.tag);
+        adapter.write(this, writer, message);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a message of any supported type.
+     *
+     * @param bytes the encoded message.
+     * @return the message.
+     * @throws IOException if the bytes aren't a message this version of the codec can read.
+     */
+    public Object decode(byte[] bytes) throws IOException {
+        BinaryReader reader = new BinaryReader(bytes);
+        int version = reader.readLength();
+
+        if(version != VERSION) {
+            throw new IOException("Unsupported codec version: " + version);
+        }
+
+        int tag = reader.readLength();
+        Adapter<?> adapter = ADAPTERS_BY_TAG.get(tag);
+
+        if(adapter == null) {
+            throw new IOException("Unknown message tag: " + tag);
+        }
+
+        Object message = adapter.read(this, reader);
+
+        if(reader.remaining() != 0) {
+            throw new IOException(reader.remaining() + " unexpected bytes after the message");
+        }
+
+        return message;
+    }
+
+    /**
+     * Decodes a message of the specified type.
+     *
+     * @param bytes the encoded message.
+     * @param type the expected type.
+     * @param <T> the expected type.
+     * @return the message.
+     * @throws IOException if the bytes aren't a message of the expected type.
+     */
+    public <T> T decode(byte[] bytes, Class<T> type) throws IOException {
+        Object message = decode(bytes);
+
+        if(!type.isInstance(message)) {
+            throw new IOException("Expected a " + type.getSimpleName() + " but got a " + message.getClass().getSimpleName());
+        }
+
+        return type.cast(message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Adapter<Object> getAdapter(Class<?> type) {
+        Adapter<?> adapter = ADAPTERS_BY_TYPE.get(type);
+
+        if(adapter == null) {
+            throw new IllegalArgumentException("No binary encoding for " + type.getName());
+        }
+
+        return (Adapter<Object>) adapter;
+    }
+
+    private byte[] image(byte[] imageBytes) {
+        return includeImages ? imageBytes : null;
+    }
+
+    void writeUser(BinaryWriter writer, User user) {
+        writer.writeBoolean(user != null);
+
+        if(user != null) {
+            writer.writeString(user.getFirstName());
+            writer.writeString(user.getLastName());
+            writer.writeString(user.getAlias());
+            writer.writeString(user.getImageUrl());
+            writer.writeBytes(image(user.getImageBytes()));
+        }
+    }
+
+    User readUser(BinaryReader reader) throws IOException {
+        if(!reader.readBoolean()) {
+            return null;
+        }
+
+        String firstName = reader.readString();
+        String lastName = reader.readString();
+        String alias = reader.readString();
+        String imageUrl = reader.readString();
+        byte[] imageBytes = reader.readBytes();
+
+        // Passwords only travel in login and register requests
+        return new User(firstName, lastName, alias, imageUrl, imageBytes, null);
+    }
+
+    void writeStatus(BinaryWriter writer, Status status) {
+        writer.writeBoolean(status != null);
+
+        if(status != null) {
+            writeUser(writer, status.getUser());
+            writer.writeString(status.getTweetText());
+            writer.writeString(status.getUrls());
+            writer.writeSignedVarint(status.getTimePosted());
+            writer.writeString(status.getMentions());
+            writer.writeBytes(image(status.getImageBytes()));
+        }
+    }
+
+    Status readStatus(BinaryReader reader) throws IOException {
+        if(!reader.readBoolean()) {
+            return null;
+        }
+
+        User user = readUser(reader);
+        String tweetText = reader.readString();
+        String urls = reader.readString();
+        long timePosted = reader.readSignedVarint();
+        String mentions = reader.readString();
+
+        Status status = new Status(user, tweetText, urls, timePosted, mentions);
+        status.setImageBytes(reader.readBytes());
+        return status;
+    }
+
+    void writeAuthToken(BinaryWriter writer, AuthToken authToken) {
+        writer.writeBoolean(authToken != null);
+
+        if(authToken != null) {
+            writer.writeString(authToken.getId());
+            writer.writeString(authToken.getUsername());
+            writer.writeBoolean(authToken.IsActive());
+        }
+    }
+
+    AuthToken readAuthToken(BinaryReader reader) throws IOException {
+        if(!reader.readBoolean()) {
+            return null;
+        }
+
+        String id = reader.readString();
+        String username = reader.readString();
+        return new AuthToken(id, username, reader.readBoolean());
+    }
+
+    void writeUsers(BinaryWriter writer, List<User> users) {
+        writer.writeVarint(users == null ? 0 : users.size() + 1L);
+
+        if(users != null) {
+            for(User user : users) {
+                writeUser(writer, user);
+            }
+        }
+    }
+
+    List<User> readUsers(BinaryReader reader) throws IOException {
+        int size = reader.readLength() - 1;
+
+        if(size < 0) {
+            return null;
+        }
+
+        List<User> users = new ArrayList<>(Math.min(size, reader.remaining()));
+        for(int i = 0; i < size; i++) {
+            users.add(readUser(reader));
+        }
+
+        return users;
+    }
+
+    void writeStatuses(BinaryWriter writer, List<Status> statuses) {
+        writer.writeVarint(statuses == null ? 0 : statuses.size() + 1L);
+
+        if(statuses != null) {
+            for(Status status : statuses) {
+                writeStatus(writer, status);
+            }
+        }
+    }
+
+    List<Status> readStatuses(BinaryReader reader) throws IOException {
+        int size = reader.readLength() - 1;
+
+        if(size < 0) {
+            return null;
+        }
+
+        List<Status> statuses = new ArrayList<>(Math.min(size, reader.remaining()));
+        for(int i = 0; i < size; i++) {
+            statuses.add(readStatus(reader));
+        }
+
+        return statuses;
+    }
+
+    void writeStrings(BinaryWriter writer, List<String> strings) {
+        writer.writeVarint(strings == null ? 0 : strings.size() + 1L);
+
+        if(strings != null) {
+            for(String string : strings) {
+                writer.writeString(string);
+            }
+        }
+    }
+
+    List<String> readStrings(BinaryReader reader) throws IOException {
+        int size = reader.readLength() - 1;
+
+        if(size < 0) {
+            return null;
+        }
+
+        List<String> strings = new ArrayList<>(Math.min(size, reader.remaining()));
+        for(int i = 0; i < size; i++) {
+            strings.add(reader.readString());
+        }
+
+        return strings;
+    }
+
+    static {
+        // Tags are part of the format. Never reuse or renumber one
+
+        register(new Adapter<User>(1, User.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, User message) {
+                codec.writeUser(writer, message);
+            }
+
+            @Override
+            User read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return codec.readUser(reader);
+            }
+        });
+
+        register(new Adapter<Status>(2, Status.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, Status message) {
+                codec.writeStatus(writer, message);
+            }
+
+            @Override
+            Status read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return codec.readStatus(reader);
+            }
+        });
+
+        register(new Adapter<AuthToken>(3, AuthToken.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, AuthToken message) {
+                codec.writeAuthToken(writer, message);
+            }
+
+            @Override
+            AuthToken read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return codec.readAuthToken(reader);
+            }
+        });
+
+        register(new Adapter<Follow>(4, Follow.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, Follow message) {
+                codec.writeUser(writer, message.getFollower());
+                codec.writeUser(writer, message.getFollowee());
+            }
+
+            @Override
+            Follow read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User follower = codec.readUser(reader);
+                return new Follow(follower, codec.readUser(reader));
+            }
+        });
+
+        registerRequests();
+        registerResponses();
+    }
+
+    private static void registerRequests() {
+        register(new Adapter<CountRequest>(20, CountRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, CountRequest message) {
+                codec.writeUser(writer, message.getUser());
+            }
+
+            @Override
+            CountRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return new CountRequest(codec.readUser(reader));
+            }
+        });
+
+        register(new Adapter<FeedRequest>(21, FeedRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FeedRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+                codec.writeStatus(writer, message.getLastStatus());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            FeedRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                Status lastStatus = codec.readStatus(reader);
+                return new FeedRequest(user, limit, lastStatus, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowersRequest>(22, FollowersRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowersRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+                codec.writeUser(writer, message.getLastFollower());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            FollowersRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                User lastFollower = codec.readUser(reader);
+                return new FollowersRequest(user, limit, lastFollower, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowingRequest>(23, FollowingRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowingRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+                codec.writeUser(writer, message.getLastFollowee());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            FollowingRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                User lastFollowee = codec.readUser(reader);
+                return new FollowingRequest(user, limit, lastFollowee, reader.readString());
+            }
+        });
+
+        register(new Adapter<LoginRequest>(24, LoginRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, LoginRequest message) {
+                writer.writeString(message.getUsername());
+                writer.writeString(message.getPassword());
+            }
+
+            @Override
+            LoginRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                String username = reader.readString();
+                return new LoginRequest(username, reader.readString());
+            }
+        });
+
+        register(new Adapter<LogoutRequest>(25, LogoutRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, LogoutRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            LogoutRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                return new LogoutRequest(user, codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<RegisterRequest>(26, RegisterRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RegisterRequest message) {
+                writer.writeString(message.getUsername());
+                writer.writeString(message.getPassword());
+                writer.writeString(message.getFirstName());
+                writer.writeString(message.getLastName());
+                writer.writeString(message.getImageUrl());
+                writer.writeBytes(codec.image(message.getImageBytes()));
+            }
+
+            @Override
+            RegisterRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                String username = reader.readString();
+                String password = reader.readString();
+                String firstName = reader.readString();
+                String lastName = reader.readString();
+                String imageUrl = reader.readString();
+                return new RegisterRequest(username, password, firstName, lastName, imageUrl, reader.readBytes());
+            }
+        });
+
+        register(new Adapter<RetrieveUserRequest>(27, RetrieveUserRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RetrieveUserRequest message) {
+                writer.writeString(message.getUsername());
+            }
+
+            @Override
+            RetrieveUserRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return new RetrieveUserRequest(reader.readString());
+            }
+        });
+
+        register(new Adapter<RetrieveUsersRequest>(28, RetrieveUsersRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RetrieveUsersRequest message) {
+                codec.writeStrings(writer, message.getUsernames());
+            }
+
+            @Override
+            RetrieveUsersRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                return new RetrieveUsersRequest(codec.readStrings(reader));
+            }
+        });
+
+        register(new Adapter<StoryRequest>(29, StoryRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, StoryRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+                codec.writeStatus(writer, message.getLastStatus());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            StoryRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                Status lastStatus = codec.readStatus(reader);
+                return new StoryRequest(user, limit, lastStatus, reader.readString());
+            }
+        });
+
+        register(new Adapter<SubmitTweetRequest>(30, SubmitTweetRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, SubmitTweetRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeStatus(writer, message.getStatus());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            SubmitTweetRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                Status status = codec.readStatus(reader);
+                return new SubmitTweetRequest(user, status, codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<UpdateFollowRequest>(31, UpdateFollowRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, UpdateFollowRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeUser(writer, message.getFollowUser());
+                writer.writeBoolean(message.followTheFollowUser());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            UpdateFollowRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                User followUser = codec.readUser(reader);
+                boolean followTheFollowUser = reader.readBoolean();
+                return new UpdateFollowRequest(user, followUser, followTheFollowUser,
+                        codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<RelationshipRequest>(32, RelationshipRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RelationshipRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeStrings(writer, message.getUsernames());
+            }
+
+            @Override
+            RelationshipRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                return new RelationshipRequest(user, codec.readStrings(reader));
+            }
+        });
+
+        register(new Adapter<MentionsRequest>(33, MentionsRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, MentionsRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+                codec.writeStatus(writer, message.getLastStatus());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            MentionsRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                Status lastStatus = codec.readStatus(reader);
+                return new MentionsRequest(user, limit, lastStatus, reader.readString());
+            }
+        });
+
+        register(new Adapter<SearchRequest>(34, SearchRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, SearchRequest message) {
+                writer.writeString(message.getQuery());
+                writer.writeBoolean(message.getMatchAll());
+                writer.writeSignedVarint(message.getLimit());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            SearchRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                String query = reader.readString();
+                boolean matchAll = reader.readBoolean();
+                int limit = (int) reader.readSignedVarint();
+                return new SearchRequest(query, matchAll, limit, reader.readString());
+            }
+        });
+
+        register(new Adapter<TrendingRequest>(35, TrendingRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, TrendingRequest message) {
+                writer.writeSignedVarint(message.getWindowMinutes());
+                writer.writeSignedVarint(message.getLimit());
+            }
+
+            @Override
+            TrendingRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                int windowMinutes = (int) reader.readSignedVarint();
+                return new TrendingRequest(windowMinutes, (int) reader.readSignedVarint());
+            }
+        });
+
+        register(new Adapter<TypeaheadRequest>(36, TypeaheadRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, TypeaheadRequest message) {
+                writer.writeString(message.getPrefix());
+                writer.writeSignedVarint(message.getLimit());
+            }
+
+            @Override
+            TypeaheadRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                String prefix = reader.readString();
+                return new TypeaheadRequest(prefix, (int) reader.readSignedVarint());
+            }
+        });
+
+        register(new Adapter<RecommendationsRequest>(37, RecommendationsRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RecommendationsRequest message) {
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getLimit());
+            }
+
+            @Override
+            RecommendationsRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                return new RecommendationsRequest(user, (int) reader.readSignedVarint());
+            }
+        });
+
+        register(new Adapter<MutualFollowsRequest>(38, MutualFollowsRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, MutualFollowsRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeUser(writer, message.getOtherUser());
+                writer.writeSignedVarint(message.getLimit());
+                writer.writeString(message.getCursor());
+            }
+
+            @Override
+            MutualFollowsRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                User otherUser = codec.readUser(reader);
+                int limit = (int) reader.readSignedVarint();
+                return new MutualFollowsRequest(user, otherUser, limit, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowsBackRequest>(39, FollowsBackRequest.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowsBackRequest message) {
+                codec.writeUser(writer, message.getUser());
+                codec.writeStrings(writer, message.getUsernames());
+            }
+
+            @Override
+            FollowsBackRequest read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                User user = codec.readUser(reader);
+                return new FollowsBackRequest(user, codec.readStrings(reader));
+            }
+        });
+    }
+
+    /*
+     * Every response starts with its success flag. A failed response carries only its message and
+     * a successful one carries only its data, matching the two kinds of response constructors.
+     */
+    private static void registerResponses() {
+        register(new Adapter<CountResponse>(40, CountResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, CountResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                writer.writeSignedVarint(message.getFollowingCount());
+                writer.writeSignedVarint(message.getFollowersCount());
+            }
+
+            @Override
+            CountResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new CountResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                int followingCount = (int) reader.readSignedVarint();
+                return new CountResponse(user, followingCount, (int) reader.readSignedVarint());
+            }
+        });
+
+        register(new Adapter<FeedResponse>(41, FeedResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FeedResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStatuses(writer, message.getFeed());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            FeedResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new FeedResponse(reader.readString());
+                }
+                List<Status> statuses = codec.readStatuses(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new FeedResponse(statuses, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowersResponse>(42, FollowersResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowersResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUsers(writer, message.getFollowers());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            FollowersResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new FollowersResponse(reader.readString());
+                }
+                List<User> followers = codec.readUsers(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new FollowersResponse(followers, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowingResponse>(43, FollowingResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowingResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUsers(writer, message.getFollowees());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            FollowingResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new FollowingResponse(reader.readString());
+                }
+                List<User> followees = codec.readUsers(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new FollowingResponse(followees, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<LoginResponse>(44, LoginResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, LoginResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            LoginResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new LoginResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                return new LoginResponse(user, codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<LogoutResponse>(45, LogoutResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, LogoutResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            LogoutResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new LogoutResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                return new LogoutResponse(user, codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<RegisterResponse>(46, RegisterResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RegisterResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                codec.writeAuthToken(writer, message.getAuthToken());
+            }
+
+            @Override
+            RegisterResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new RegisterResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                return new RegisterResponse(user, codec.readAuthToken(reader));
+            }
+        });
+
+        register(new Adapter<RetrieveUserResponse>(47, RetrieveUserResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RetrieveUserResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+            }
+
+            @Override
+            RetrieveUserResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new RetrieveUserResponse(reader.readString());
+                }
+                return new RetrieveUserResponse(codec.readUser(reader));
+            }
+        });
+
+        register(new Adapter<RetrieveUsersResponse>(48, RetrieveUsersResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RetrieveUsersResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUsers(writer, message.getUsers());
+            }
+
+            @Override
+            RetrieveUsersResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new RetrieveUsersResponse(reader.readString());
+                }
+                return new RetrieveUsersResponse(codec.readUsers(reader));
+            }
+        });
+
+        register(new Adapter<StoryResponse>(49, StoryResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, StoryResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStatuses(writer, message.getStory());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            StoryResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new StoryResponse(reader.readString());
+                }
+                List<Status> statuses = codec.readStatuses(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new StoryResponse(statuses, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<SubmitTweetResponse>(50, SubmitTweetResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, SubmitTweetResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                codec.writeStatus(writer, message.getStatus());
+            }
+
+            @Override
+            SubmitTweetResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new SubmitTweetResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                return new SubmitTweetResponse(user, codec.readStatus(reader));
+            }
+        });
+
+        register(new Adapter<UpdateFollowResponse>(51, UpdateFollowResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, UpdateFollowResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+                codec.writeUser(writer, message.getFollowUser());
+                writer.writeBoolean(message.isFollowing());
+            }
+
+            @Override
+            UpdateFollowResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new UpdateFollowResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+                User followUser = codec.readUser(reader);
+                return new UpdateFollowResponse(user, followUser, reader.readBoolean());
+            }
+        });
+
+        register(new Adapter<RelationshipResponse>(52, RelationshipResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RelationshipResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+
+                List<Boolean> following = message.getFollowing();
+                writer.writeVarint(following == null ? 0 : following.size() + 1L);
+                if(following != null) {
+                    for(Boolean isFollowing : following) {
+                        writer.writeBoolean(isFollowing);
+                    }
+                }
+            }
+
+            @Override
+            RelationshipResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new RelationshipResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+
+                int size = reader.readLength() - 1;
+                List<Boolean> following = null;
+                if(size >= 0) {
+                    following = new ArrayList<>(Math.min(size, reader.remaining()));
+                    for(int i = 0; i < size; i++) {
+                        following.add(reader.readBoolean());
+                    }
+                }
+
+                return new RelationshipResponse(user, following);
+            }
+        });
+
+        register(new Adapter<MentionsResponse>(53, MentionsResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, MentionsResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStatuses(writer, message.getMentions());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            MentionsResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new MentionsResponse(reader.readString());
+                }
+                List<Status> statuses = codec.readStatuses(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new MentionsResponse(statuses, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<SearchResponse>(54, SearchResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, SearchResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStatuses(writer, message.getStatuses());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            SearchResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new SearchResponse(reader.readString());
+                }
+                List<Status> statuses = codec.readStatuses(reader);
+                boolean hasMorePages = reader.readBoolean();
+                return new SearchResponse(statuses, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<TrendingResponse>(55, TrendingResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, TrendingResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStrings(writer, message.getTerms());
+
+                List<Long> counts = message.getCounts();
+                writer.writeVarint(counts == null ? 0 : counts.size() + 1L);
+                if(counts != null) {
+                    for(Long count : counts) {
+                        writer.writeVarint(count);
+                    }
+                }
+            }
+
+            @Override
+            TrendingResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new TrendingResponse(reader.readString());
+                }
+                List<String> terms = codec.readStrings(reader);
+
+                int size = reader.readLength() - 1;
+                List<Long> counts = null;
+                if(size >= 0) {
+                    counts = new ArrayList<>(Math.min(size, reader.remaining()));
+                    for(int i = 0; i < size; i++) {
+                        counts.add(reader.readVarint());
+                    }
+                }
+
+                return new TrendingResponse(terms, counts);
+            }
+        });
+
+        register(new Adapter<TypeaheadResponse>(56, TypeaheadResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, TypeaheadResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUsers(writer, message.getUsers());
+            }
+
+            @Override
+            TypeaheadResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new TypeaheadResponse(reader.readString());
+                }
+                return new TypeaheadResponse(codec.readUsers(reader));
+            }
+        });
+
+        register(new Adapter<RecommendationsResponse>(57, RecommendationsResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, RecommendationsResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUsers(writer, message.getUsers());
+
+                List<Integer> mutualCounts = message.getMutualCounts();
+                writer.writeVarint(mutualCounts == null ? 0 : mutualCounts.size() + 1L);
+                if(mutualCounts != null) {
+                    for(Integer mutualCount : mutualCounts) {
+                        writer.writeVarint(mutualCount);
+                    }
+                }
+            }
+
+            @Override
+            RecommendationsResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new RecommendationsResponse(reader.readString());
+                }
+                List<User> users = codec.readUsers(reader);
+
+                int size = reader.readLength() - 1;
+                List<Integer> mutualCounts = null;
+                if(size >= 0) {
+                    mutualCounts = new ArrayList<>(Math.min(size, reader.remaining()));
+                    for(int i = 0; i < size; i++) {
+                        mutualCounts.add((int) reader.readVarint());
+                    }
+                }
+
+                return new RecommendationsResponse(users, mutualCounts);
+            }
+        });
+
+        register(new Adapter<MutualFollowsResponse>(58, MutualFollowsResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, MutualFollowsResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeStrings(writer, message.getUsernames());
+                writer.writeVarint(message.getCount());
+                writer.writeBoolean(message.getHasMorePages());
+                writer.writeString(message.getNextCursor());
+            }
+
+            @Override
+            MutualFollowsResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new MutualFollowsResponse(reader.readString());
+                }
+                List<String> usernames = codec.readStrings(reader);
+                int count = (int) reader.readVarint();
+                boolean hasMorePages = reader.readBoolean();
+                return new MutualFollowsResponse(usernames, count, hasMorePages, reader.readString());
+            }
+        });
+
+        register(new Adapter<FollowsBackResponse>(59, FollowsBackResponse.class) {
+            @Override
+            void write(BinaryCodec codec, BinaryWriter writer, FollowsBackResponse message) {
+                if(writeFailure(writer, message.isSuccess(), message.getMessage())) {
+                    return;
+                }
+                codec.writeUser(writer, message.getUser());
+
+                List<Boolean> followsBack = message.getFollowsBack();
+                writer.writeVarint(followsBack == null ? 0 : followsBack.size() + 1L);
+                if(followsBack != null) {
+                    for(Boolean follows : followsBack) {
+                        writer.writeBoolean(follows);
+                    }
+                }
+            }
+
+            @Override
+            FollowsBackResponse read(BinaryCodec codec, BinaryReader reader) throws IOException {
+                if(!reader.readBoolean()) {
+                    return new FollowsBackResponse(reader.readString());
+                }
+                User user = codec.readUser(reader);
+
+                int size = reader.readLength() - 1;
+                List<Boolean> followsBack = null;
+                if(size >= 0) {
+                    followsBack = new ArrayList<>(Math.min(size, reader.remaining()));
+                    for(int i = 0; i < size; i++) {
+                        followsBack.add(reader.readBoolean());
+                    }
+                }
+
+                return new FollowsBackResponse(user, followsBack);
+            }
+        });
+    }
+
+    /**
+     * Writes the success flag of a response, followed by the message if it failed.
+     *
+     * @return true if the response failed and nothing more should be written.
+     */
+    private static boolean writeFailure(BinaryWriter writer, boolean success, String message) {
+        writer.writeBoolean(success);
+
+        if(!success) {
+            writer.writeString(message);
+        }
+
+        return !success;
+    }
+}
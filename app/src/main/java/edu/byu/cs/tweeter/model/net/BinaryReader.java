@@ -0,0 +1,126 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the values written by a {@link BinaryWriter} back out of a byte array.
+ */
+public class BinaryReader {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    /**
+     * Creates a reader over the whole array.
+     *
+     * @param buffer the bytes to read.
+     */
+    public BinaryReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Creates a reader over part of an array.
+     *
+     * @param buffer the bytes to read.
+     * @param offset the index of the first byte to read.
+     * @param length the number of bytes that can be read.
+     */
+    public BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    private void require(int count) throws EOFException {
+        if(count < 0 || limit - position < count) {
+            throw new EOFException("Expected " + count + " more bytes but only " + (limit - position) + " remain");
+        }
+    }
+
+    public int readByte() throws IOException {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public long readVarint() throws IOException {
+        long value = 0;
+
+        for(int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint");
+    }
+
+    public long readSignedVarint() throws IOException {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a varint that has to fit in an int, such as a count or a length.
+     *
+     * @return the value.
+     * @throws IOException if the value is negative or too large for an int.
+     */
+    public int readLength() throws IOException {
+        long value = readVarint();
+
+        if(value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Length out of range: " + value);
+        }
+
+        return (int) value;
+    }
+
+    public String readString() throws IOException {
+        int length = readLength();
+
+        if(length == 0) {
+            return null;
+        }
+
+        require(length - 1);
+        String value = new String(buffer, position, length - 1, UTF_8);
+        position += length - 1;
+        return value;
+    }
+
+    public byte[] readBytes() throws IOException {
+        int length = readLength();
+
+        if(length == 0) {
+            return null;
+        }
+
+        require(length - 1);
+        byte[] value = new byte[length - 1];
+        System.arraycopy(buffer, position, value, 0, value.length);
+        position += value.length;
+        return value;
+    }
+
+    /**
+     * Returns the number of bytes left to read.
+     *
+     * @return the number of bytes.
+     */
+    public int remaining() {
+        return limit - position;
+    }
+}
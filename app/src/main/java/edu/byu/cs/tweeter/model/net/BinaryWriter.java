@@ -0,0 +1,174 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.Arrays;
+
+/**
+ * Writes primitive values into a growable byte array for the {@link BinaryCodec}. Integers are
+ * written as varints, seven bits per byte with the high bit set on every byte but the last, so
+ * the small counts and lengths that make up most messages take a single byte. Strings and byte
+ * arrays are written as a varint length followed by their contents, with a length of zero
+ * standing for null.
+ */
+public class BinaryWriter {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Creates an empty writer.
+     */
+    public BinaryWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty writer with room for the specified number of bytes.
+     *
+     * @param capacity the initial capacity.
+     */
+    public BinaryWriter(int capacity) {
+        this.buffer = new byte[Math.max(capacity, 16)];
+    }
+
+    private void ensureCapacity(int extra) {
+        if(size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative value as an unsigned varint.
+     *
+     * @param value the value. Negative values are written as very large unsigned values and take
+     *              ten bytes, so use {@link #writeSignedVarint(long)} for values that can be
+     *              negative.
+     */
+    public void writeVarint(long value) {
+        ensureCapacity(10);
+
+        while((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a value that can be negative. The value is zigzag encoded first, so small negative
+     * values are as short as small positive ones.
+     *
+     * @param value the value.
+     */
+    public void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one, followed by its UTF-8 bytes. A null string is
+     * written as a single zero byte.
+     *
+     * @param value the string or null.
+     */
+    public void writeString(String value) {
+        if(value == null) {
+            writeVarint(0);
+            return;
+        }
+
+        int length = value.length();
+        int encodedLength = 0;
+
+        for(int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if(c < 0x80) {
+                encodedLength += 1;
+            } else if(c < 0x800) {
+                encodedLength += 2;
+            } else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                encodedLength += 4;
+                i++;
+            } else if(Character.isSurrogate(c)) {
+                encodedLength += 1;
+            } else {
+                encodedLength += 3;
+            }
+        }
+
+        writeVarint(encodedLength + 1L);
+        ensureCapacity(encodedLength);
+
+        for(int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if(c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if(c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if(Character.isSurrogate(c)) {
+                // An unpaired surrogate can't be encoded, so it is replaced the same way
+                // String.getBytes replaces it
+                buffer[size++] = '?';
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Writes a byte array as its length plus one, followed by its contents. A null array is
+     * written as a single zero byte.
+     *
+     * @param value the array or null.
+     */
+    public void writeBytes(byte[] value) {
+        if(value == null) {
+            writeVarint(0);
+            return;
+        }
+
+        writeVarint(value.length + 1L);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the bytes written so far.
+     *
+     * @return the bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+}
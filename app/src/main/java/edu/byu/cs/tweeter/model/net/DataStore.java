@@ -0,0 +1,1132 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Holds the server side data for the {@link ServerFacadeMine}. A single instance lives for the
+ * lifetime of the process so that follow changes persist between requests and the dummy data only
+ * has to be built once. All of the data is held in concurrent collections so the store can be
+ * shared by any number of request threads.
+ */
+public class DataStore {
+
+    /**
+     * Builds the initial value of a piece of data held by the store. The loader is only ever run
+     * once, the first time the data is requested.
+     *
+     * @param <T> the type of data that is loaded.
+     */
+    public interface Loader<T> {
+        T load();
+    }
+
+    /**
+     * How statuses reach the feeds of an author's followers. {@link #PUSH} copies each status
+     * into every follower's feed when it is published. {@link #PULL} leaves the status in the
+     * author's story and merges it into followers' feeds when they are read, which avoids storing
+     * a copy per follower for accounts with very large followings.
+     */
+    public enum FeedMode {
+        PUSH, PULL
+    }
+
+    /**
+     * Seeded statuses are numbered below this and published statuses above it. Stories are seeded
+     * the first time each one is read, so without the split a story seeded late would have its
+     * old statuses numbered above newer published ones, and they would come first in merged feeds.
+     */
+    private static final long FIRST_PUBLISHED_SEQUENCE = 1L << 40;
+
+    /**
+     * A seeded status is numbered by the minute it was posted, shifted up by this many bits, with
+     * the low bits taken from a counter to tell apart statuses posted in the same minute. Seeded
+     * statuses from different stories then merge in time order however late each story is seeded.
+     */
+    private static final int SEED_COUNTER_BITS = 14;
+    private static final long SEED_COUNTER_MASK = (1L << SEED_COUNTER_BITS) - 1;
+    private static final long MAX_SEED_MINUTE = (FIRST_PUBLISHED_SEQUENCE >> SEED_COUNTER_BITS) - 2;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+
+    /**
+     * The number of shards the follows are partitioned into by the follower's alias. Each shard
+     * has its own lock, so follows by different users rarely contend and write throughput grows
+     * with the number of cores.
+     */
+    private static final int FOLLOW_SHARD_COUNT = 64;
+
+    /**
+     * Orders statuses by posted time only, so a stable sort keeps the given order of statuses
+     * posted at the same time.
+     */
+    private static final Comparator<Status> OLDEST_FIRST = new Comparator<Status>() {
+        @Override
+        public int compare(Status status1, Status status2) {
+            return Long.compare(status1.getTimePosted(), status2.getTimePosted());
+        }
+    };
+
+    /**
+     * Loads no statuses, for users whose stories exist only because they have published.
+     */
+    private static final Loader<List<Status>> NO_STATUSES = new Loader<List<Status>>() {
+        @Override
+        public List<Status> load() {
+            return null;
+        }
+    };
+
+    /**
+     * The id set of one user's followees or followers and the version of the list it was built
+     * from.
+     */
+    private static final class VersionedIdSet {
+        private final long version;
+        private final IdSet ids;
+
+        VersionedIdSet(long version, IdSet ids) {
+            this.version = version;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * The id sets built from one side of the follows. Each user's list has a version that every
+     * follow and unfollow changing it bumps, and a set is used only while the version it was
+     * built from is current, so a set built while the list was changing is never kept.
+     */
+    private static final class IdSetCache {
+        private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, VersionedIdSet> sets = new ConcurrentHashMap<>();
+
+        AtomicLong getVersion(String alias) {
+            AtomicLong version = versions.get(alias);
+
+            if(version == null) {
+                AtomicLong created = new AtomicLong();
+                version = versions.putIfAbsent(alias, created);
+                if(version == null) {
+                    version = created;
+                }
+            }
+
+            return version;
+        }
+
+        void invalidate(String alias) {
+            getVersion(alias).incrementAndGet();
+        }
+    }
+
+    private final ConcurrentMap<String, FutureTask<Timeline>> storyTasks = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<String, Timeline> feedTimelines;
+    private volatile ConcurrentMap<String, Timeline> mentionTimelines;
+    private volatile SearchIndex searchIndex;
+    private volatile UserRegistry userRegistry;
+    private volatile UserTypeahead userTypeahead;
+    private volatile FollowGraph followGraph;
+    private final ConcurrentMap<String, FollowList> followeesByUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FollowList> followersByUser = new ConcurrentHashMap<>();
+    private final Object[] followShardLocks = new Object[FOLLOW_SHARD_COUNT];
+    private final IdSetCache followeeIdSets = new IdSetCache();
+    private final IdSetCache followerIdSets = new IdSetCache();
+    private final ConcurrentMap<String, Integer> userIds = new ConcurrentHashMap<>();
+    private final Object userIdLock = new Object();
+    private volatile String[] aliasesByUserId = new String[64];
+    private final Executor fanOutExecutor;
+    private final Object publishLock = new Object();
+    private final AtomicLong nextSequence = new AtomicLong(FIRST_PUBLISHED_SEQUENCE);
+    private final AtomicLong seedCounter = new AtomicLong();
+    private final ConcurrentMap<String, FeedMode> feedModesByUser = new ConcurrentHashMap<>();
+    private volatile int pullFollowerThreshold = Integer.MAX_VALUE;
+    private volatile WriteAheadLog writeAheadLog;
+    private volatile StorySegmentStore storyArchive;
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
+    private final TrendingTerms trendingTerms = new TrendingTerms();
+    private final FollowRecommender followRecommender = new FollowRecommender();
+
+    /**
+     * Lazily creates the singleton instance. The JVM guarantees the holder class is initialized
+     * exactly once, which safely publishes the instance to every thread without locking.
+     */
+    private static class InstanceHolder {
+        private static final DataStore INSTANCE = new DataStore();
+    }
+
+    /**
+     * Creates a store that fans statuses out to followers' feeds on a background thread. A single
+     * thread is used so statuses reach each feed in the order they were published.
+     */
+    DataStore() {
+        this(Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "feed-fan-out");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }));
+    }
+
+    /**
+     * Creates a store that fans statuses out to followers' feeds on the specified executor.
+     * Package-private so tests can create an isolated store.
+     *
+     * @param fanOutExecutor the executor that writes statuses to followers' feeds.
+     */
+    DataStore(Executor fanOutExecutor) {
+        this.fanOutExecutor = fanOutExecutor;
+
+        for(int i = 0; i < followShardLocks.length; i++) {
+            followShardLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the singleton instance of the class
+     *
+     * @return the instance.
+     */
+    public static DataStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the story of the specified user. Each story is built by its loader the first time
+     * it is requested. Concurrent first requests for the same story wait for a single load rather
+     * than each running the loader, and requests for other stories aren't held up by it.
+     *
+     * @param alias the alias of the user whose story is to be returned.
+     * @param loader builds the initial story of the user, ordered newest first. It may return
+     *               null if the user has no initial story.
+     * @return the story or null if the user has never posted.
+     */
+    public Timeline getStory(String alias, Loader<List<Status>> loader) {
+        StorySegmentStore archive = storyArchive;
+
+        if(archive != null) {
+            return archive.getTimeline(alias);
+        }
+
+        Timeline story = getStoryTimeline(alias, loader);
+        return story.size() == 0 ? null : story;
+    }
+
+    /**
+     * Builds the stories of the specified users on the executor, so the first requests for them
+     * don't pay for it. Requests that arrive while a story is being built wait for that build
+     * instead of starting another. A story whose loader fails is left for its first request to
+     * build.
+     *
+     * @param storyLoaders the loader of each user's story, keyed by alias.
+     * @param executor runs the builds.
+     */
+    public void prewarmStories(final Map<String, Loader<List<Status>>> storyLoaders, Executor executor) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for(Map.Entry<String, Loader<List<Status>>> entry : storyLoaders.entrySet()) {
+                    if(storyArchive != null) {
+                        return;
+                    }
+
+                    try {
+                        getStoryTimeline(entry.getKey(), entry.getValue());
+                    } catch (RuntimeException e) {
+                        // The story will be built by the first request for it
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the feed of the specified user. All of the feeds are built by the loader on the
+     * first call.
+     *
+     * @param alias the alias of the user whose feed is to be returned.
+     * @param loader builds the initial feeds, keyed by alias and ordered newest first.
+     * @return the feed or null if nothing has been posted to the user's feed.
+     */
+    public Timeline getFeed(String alias, Loader<Map<String, List<Status>>> loader) {
+        return getFeedTimelines(loader).get(alias);
+    }
+
+    /**
+     * Adds a status to the story of its author and then, on the fan-out executor, to the feed of
+     * each of the specified followers. The caller doesn't wait for the feeds to be written, so
+     * the cost of the fan-out stays off the request that submitted the status.
+     *
+     * @param status the status to publish.
+     * @param followers the followers whose feeds should get a copy of the status. Empty when the
+     *                  author's feed mode is {@link FeedMode#PULL}.
+     * @param storyLoader builds the initial story of the author.
+     * @param feedLoader builds the initial feeds.
+     * @throws IllegalStateException if a write-ahead log is attached and the status can't be
+     * written to it. The status is not published.
+     */
+    public void publishStatus(final Status status, final List<User> followers, Loader<List<Status>> storyLoader,
+                              Loader<Map<String, List<Status>>> feedLoader) {
+        String alias = status.getUser().getAlias();
+        final ConcurrentMap<String, Timeline> feeds = getFeedTimelines(feedLoader);
+
+        // Building the author's story before taking the lock keeps the loader off the publish path
+        if(storyArchive == null) {
+            getStoryTimeline(alias, storyLoader);
+        }
+
+        WriteAheadLog log = writeAheadLog;
+        if(log != null) {
+            try {
+                log.logStatus(status);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to log the status", e);
+            }
+        }
+
+        // Handing out the sequence and queueing the fan-out under one lock keeps sequences
+        // increasing along every story and feed.
+        synchronized (publishLock) {
+            final long sequence = nextSequence.incrementAndGet();
+            getOrCreateStory(alias, storyLoader).append(status, sequence);
+
+            // Until the indexes are built, their builds pick the status up from the story
+            ConcurrentMap<String, Timeline> mentions = mentionTimelines;
+            if(mentions != null) {
+                for(String mentionedAlias : getMentionedAliases(status)) {
+                    getOrCreate(mentions, mentionedAlias).append(status, sequence);
+                }
+            }
+
+            SearchIndex index = searchIndex;
+            if(index != null) {
+                index.add(status);
+            }
+
+            if(!followers.isEmpty()) {
+                fanOutExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for(User follower : followers) {
+                            getOrCreate(feeds, follower.getAlias()).append(status, sequence);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Moves the stories into an on-disk archive. From then on stories are read from and written
+     * to the archive and are no longer held on the heap. An empty archive is filled with the
+     * current stories, building any that haven't been built yet; an archive that already holds
+     * stories from an earlier run is used as is. Should be called once, before the store handles
+     * any requests.
+     *
+     * @param archive the archive.
+     * @param storyLoaders the loader of each user's initial story, keyed by alias.
+     */
+    public void attachStoryArchive(StorySegmentStore archive, Map<String, Loader<List<Status>>> storyLoaders) {
+        if(archive.isEmpty()) {
+            for(Map.Entry<String, Loader<List<Status>>> entry : storyLoaders.entrySet()) {
+                getStoryTimeline(entry.getKey(), entry.getValue());
+            }
+        }
+
+        synchronized (publishLock) {
+            if(archive.isEmpty()) {
+                for(Map.Entry<String, FutureTask<Timeline>> entry : storyTasks.entrySet()) {
+                    Timeline story = awaitStory(entry.getKey(), entry.getValue());
+                    Timeline archived = archive.getOrCreateTimeline(entry.getKey());
+
+                    for(int i = 0; i < story.size(); i++) {
+                        archived.append(story.getStatus(i), story.getSequence(i));
+                    }
+                }
+            } else {
+                // New statuses have to sort after the ones already archived
+                long maxSequence = archive.getMaxSequence();
+                long current = nextSequence.get();
+
+                while(current < maxSequence && !nextSequence.compareAndSet(current, maxSequence)) {
+                    current = nextSequence.get();
+                }
+            }
+
+            storyArchive = archive;
+            storyTasks.clear();
+        }
+    }
+
+    /**
+     * Attaches a write-ahead log. From then on every follow, unfollow and published status is
+     * written to the log before it is applied. Attach the log after replaying it so the replayed
+     * changes aren't logged a second time.
+     *
+     * @param writeAheadLog the log or null to stop logging.
+     */
+    public void setWriteAheadLog(WriteAheadLog writeAheadLog) {
+        this.writeAheadLog = writeAheadLog;
+    }
+
+    /**
+     * Returns the feed mode of the specified author. A mode set with
+     * {@link #setFeedMode(String, FeedMode)} wins; otherwise authors with at least the pull
+     * follower threshold of followers use {@link FeedMode#PULL}.
+     *
+     * @param alias the alias of the author.
+     * @param followerCount the number of followers the author has.
+     * @return the mode.
+     */
+    public FeedMode getFeedMode(String alias, int followerCount) {
+        FeedMode feedMode = feedModesByUser.get(alias);
+
+        if(feedMode != null) {
+            return feedMode;
+        }
+
+        return followerCount >= pullFollowerThreshold ? FeedMode.PULL : FeedMode.PUSH;
+    }
+
+    /**
+     * Sets the feed mode of the specified author, overriding the follower threshold.
+     *
+     * @param alias the alias of the author.
+     * @param feedMode the mode or null to go back to using the follower threshold.
+     */
+    public void setFeedMode(String alias, FeedMode feedMode) {
+        if(feedMode == null) {
+            feedModesByUser.remove(alias);
+        } else {
+            feedModesByUser.put(alias, feedMode);
+        }
+    }
+
+    /**
+     * Sets the number of followers at which an author switches to {@link FeedMode#PULL}. Defaults
+     * to {@link Integer#MAX_VALUE}, which pushes every status.
+     *
+     * @param pullFollowerThreshold the threshold.
+     */
+    public void setPullFollowerThreshold(int pullFollowerThreshold) {
+        this.pullFollowerThreshold = pullFollowerThreshold;
+    }
+
+    /**
+     * Returns the in-memory story of the specified user, building it if this is the first time it
+     * has been requested. The first caller runs the loader on its own thread and any others that
+     * arrive before it finishes wait for its result.
+     */
+    private Timeline getStoryTimeline(String alias, final Loader<List<Status>> loader) {
+        FutureTask<Timeline> task = storyTasks.get(alias);
+
+        if(task == null) {
+            FutureTask<Timeline> created = new FutureTask<>(new Callable<Timeline>() {
+                @Override
+                public Timeline call() {
+                    return toTimeline(loader.load());
+                }
+            });
+            task = storyTasks.putIfAbsent(alias, created);
+
+            if(task == null) {
+                task = created;
+                created.run();
+            }
+        }
+
+        return awaitStory(alias, task);
+    }
+
+    private Timeline awaitStory(String alias, FutureTask<Timeline> task) {
+        boolean interrupted = false;
+
+        try {
+            while(true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // The load is shared with other callers, so it is waited out
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // Let the next request try again
+                    storyTasks.remove(alias, task);
+
+                    if(e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    if(e.getCause() instanceof Error) {
+                        throw (Error) e.getCause();
+                    }
+                    throw new IllegalStateException("Unable to load the story of " + alias, e.getCause());
+                }
+            }
+        } finally {
+            if(interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns the statuses that mention the specified user, as an inverted index from mentioned
+     * alias to statuses. The index is built from the stories of every known user the first time
+     * any user's mentions are read, and from then on each published status is added to the
+     * timeline of every user it mentions as it is published, so reading a user's mentions never
+     * scans the stories again.
+     *
+     * @param alias the alias of the mentioned user.
+     * @param storyLoaders the loader of each generated user's story, keyed by alias. Used only
+     *                     to build the index.
+     * @return the statuses or null if the user has never been mentioned.
+     */
+    public Timeline getMentions(String alias, Map<String, Loader<List<Status>>> storyLoaders) {
+        return getMentionTimelines(storyLoaders).get(alias);
+    }
+
+    /**
+     * Returns the full-text index over the text of every status. The index is built from the
+     * stories of every known user the first time it is requested, and from then on each status is
+     * added to it as it is published. Statuses are numbered in the order they were published, so
+     * search results come newest first.
+     *
+     * @param storyLoaders the loader of each generated user's story, keyed by alias. Used only
+     *                     to build the index.
+     * @return the index.
+     */
+    public SearchIndex getSearchIndex(Map<String, Loader<List<Status>>> storyLoaders) {
+        SearchIndex index = searchIndex;
+
+        if(index == null) {
+            // Publishing waits for the build, as it does for the mention index
+            synchronized (publishLock) {
+                index = searchIndex;
+                if(index == null) {
+                    index = new SearchIndex();
+                    for(Status status : getAllStatuses(storyLoaders, new ArrayList<Long>())) {
+                        index.add(status);
+                    }
+                    searchIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    private ConcurrentMap<String, Timeline> getMentionTimelines(Map<String, Loader<List<Status>>> storyLoaders) {
+        ConcurrentMap<String, Timeline> mentions = mentionTimelines;
+
+        if(mentions == null) {
+            // Publishing waits for the build, so every status is either in a story the build
+            // reads or is added to the index by its publish, never both
+            synchronized (publishLock) {
+                mentions = mentionTimelines;
+                if(mentions == null) {
+                    mentions = indexMentions(storyLoaders);
+                    mentionTimelines = mentions;
+                }
+            }
+        }
+
+        return mentions;
+    }
+
+    private ConcurrentMap<String, Timeline> indexMentions(Map<String, Loader<List<Status>>> storyLoaders) {
+        List<Long> sequences = new ArrayList<>();
+        List<Status> statuses = getAllStatuses(storyLoaders, sequences);
+        ConcurrentMap<String, Timeline> mentions = new ConcurrentHashMap<>();
+
+        for(int i = 0; i < statuses.size(); i++) {
+            // Seeded statuses are renumbered by their posted time, below every published sequence
+            long sequence = sequences.get(i);
+            boolean seeded = sequence < FIRST_PUBLISHED_SEQUENCE;
+
+            for(String mentionedAlias : getMentionedAliases(statuses.get(i))) {
+                Timeline timeline = getOrCreate(mentions, mentionedAlias);
+                timeline.append(statuses.get(i), seeded ? nextSeedSequence(statuses.get(i), timeline) : sequence);
+            }
+        }
+
+        return mentions;
+    }
+
+    /**
+     * Returns the statuses in the stories of every known user, oldest first: the seeded statuses
+     * in time order followed by the published statuses in the order they were published across
+     * every author. Used to build the indexes over statuses. Must be called while holding the
+     * publish lock, so no status is published while the stories are read.
+     *
+     * @param storyLoaders the loader of each generated user's story, keyed by alias.
+     * @param sequences receives the sequence of each published status returned and 0 for each
+     *                  seeded one, in the same order.
+     * @return the statuses.
+     */
+    private List<Status> getAllStatuses(Map<String, Loader<List<Status>>> storyLoaders, List<Long> sequences) {
+        Set<String> aliases = new LinkedHashSet<>(storyLoaders.keySet());
+        aliases.addAll(storyTasks.keySet());
+
+        List<Status> seeded = new ArrayList<>();
+        final List<Status> published = new ArrayList<>();
+        final List<Long> publishedSequences = new ArrayList<>();
+
+        for(String alias : aliases) {
+            Loader<List<Status>> loader = storyLoaders.get(alias);
+            Timeline story = getStory(alias, loader != null ? loader : NO_STATUSES);
+
+            if(story == null) {
+                continue;
+            }
+
+            for(int i = 0; i < story.size(); i++) {
+                if(story.getSequence(i) < FIRST_PUBLISHED_SEQUENCE) {
+                    seeded.add(story.getStatus(i));
+                } else {
+                    published.add(story.getStatus(i));
+                    publishedSequences.add(story.getSequence(i));
+                }
+            }
+        }
+
+        Collections.sort(seeded, OLDEST_FIRST);
+        List<Integer> publishOrder = new ArrayList<>(published.size());
+        for(int i = 0; i < published.size(); i++) {
+            publishOrder.add(i);
+        }
+        Collections.sort(publishOrder, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer index1, Integer index2) {
+                return Long.compare(publishedSequences.get(index1), publishedSequences.get(index2));
+            }
+        });
+
+        List<Status> statuses = new ArrayList<>(seeded.size() + published.size());
+        for(Status status : seeded) {
+            statuses.add(status);
+            sequences.add(0L);
+        }
+        for(int index : publishOrder) {
+            statuses.add(published.get(index));
+            sequences.add(publishedSequences.get(index));
+        }
+
+        return statuses;
+    }
+
+    /**
+     * Returns the aliases mentioned by a status, each listed once. A status holds its mentions as
+     * a string of aliases separated by spaces.
+     *
+     * @param status the status.
+     * @return the aliases.
+     */
+    static Set<String> getMentionedAliases(Status status) {
+        Set<String> aliases = new LinkedHashSet<>();
+
+        if(status.getMentions() != null) {
+            for(String token : status.getMentions().trim().split("\\s+")) {
+                if(token.startsWith("@") && token.length() > 1) {
+                    aliases.add(token);
+                }
+            }
+        }
+
+        return aliases;
+    }
+
+    private ConcurrentMap<String, Timeline> getFeedTimelines(Loader<Map<String, List<Status>>> loader) {
+        ConcurrentMap<String, Timeline> feeds = feedTimelines;
+
+        if(feeds == null) {
+            synchronized (this) {
+                feeds = feedTimelines;
+                if(feeds == null) {
+                    feeds = toTimelines(loader.load());
+                    feedTimelines = feeds;
+                }
+            }
+        }
+
+        return feeds;
+    }
+
+    private ConcurrentMap<String, Timeline> toTimelines(Map<String, List<Status>> statusesByUser) {
+        ConcurrentMap<String, Timeline> timelines = new ConcurrentHashMap<>(statusesByUser.size());
+
+        // Each user gets their own timeline, even when the loader shares one list between users
+        for(Map.Entry<String, List<Status>> entry : statusesByUser.entrySet()) {
+            timelines.put(entry.getKey(), toTimeline(entry.getValue()));
+        }
+
+        return timelines;
+    }
+
+    private Timeline toTimeline(List<Status> newestFirst) {
+        Timeline timeline = new MemoryTimeline();
+
+        if(newestFirst != null) {
+            List<Status> oldestFirst = new ArrayList<>(newestFirst);
+
+            // The loaders list statuses newest first, but not always in time order. Sorting by
+            // the posted time keeps the time index exact for the seeded statuses
+            Collections.reverse(oldestFirst);
+            Collections.sort(oldestFirst, OLDEST_FIRST);
+
+            for(Status status : oldestFirst) {
+                timeline.append(status, nextSeedSequence(status, timeline));
+            }
+        }
+
+        return timeline;
+    }
+
+    /**
+     * Returns the sequence of a seeded status that is about to be appended to the specified
+     * timeline. The sequence follows the posted time, so it orders the status against seeded
+     * statuses in other timelines, and is kept above the last sequence already in the timeline.
+     */
+    private long nextSeedSequence(Status status, Timeline timeline) {
+        long minute = Math.min(Math.max(status.getTimePosted() / MILLIS_PER_MINUTE, 0), MAX_SEED_MINUTE);
+        long sequence = (minute << SEED_COUNTER_BITS) | (seedCounter.incrementAndGet() & SEED_COUNTER_MASK);
+
+        int size = timeline.size();
+        if(size > 0 && sequence <= timeline.getSequence(size - 1)) {
+            sequence = timeline.getSequence(size - 1) + 1;
+        }
+
+        return sequence;
+    }
+
+    private Timeline getOrCreateStory(String alias, Loader<List<Status>> loader) {
+        StorySegmentStore archive = storyArchive;
+        return archive != null ? archive.getOrCreateTimeline(alias) : getStoryTimeline(alias, loader);
+    }
+
+    private static Timeline getOrCreate(ConcurrentMap<String, Timeline> timelines, String alias) {
+        Timeline timeline = timelines.get(alias);
+
+        if(timeline == null) {
+            Timeline created = new MemoryTimeline();
+            timeline = timelines.putIfAbsent(alias, created);
+
+            if(timeline == null) {
+                timeline = created;
+            }
+        }
+
+        return timeline;
+    }
+
+    /**
+     * Returns the sessions of the users who are logged in.
+     *
+     * @return the session registry.
+     */
+    public SessionRegistry getSessionRegistry() {
+        return sessionRegistry;
+    }
+
+    /**
+     * Returns the counts of the terms used in recently submitted statuses.
+     *
+     * @return the trending terms.
+     */
+    public TrendingTerms getTrendingTerms() {
+        return trendingTerms;
+    }
+
+    /**
+     * Returns the source of the suggestions of users to follow, which caches them per user.
+     *
+     * @return the recommender.
+     */
+    public FollowRecommender getFollowRecommender() {
+        return followRecommender;
+    }
+
+    /**
+     * Returns the registry of every user in the system. The registry is seeded with the users
+     * built by the loader on the first call.
+     *
+     * @param loader builds the initial users.
+     * @return the registry.
+     */
+    public UserRegistry getUserRegistry(Loader<List<User>> loader) {
+        UserRegistry registry = userRegistry;
+
+        if(registry == null) {
+            synchronized (this) {
+                registry = userRegistry;
+                if(registry == null) {
+                    List<User> users = loader.load();
+                    registry = new UserRegistry(users.size());
+                    registry.registerAll(users);
+                    userRegistry = registry;
+                }
+            }
+        }
+
+        return registry;
+    }
+
+    /**
+     * Returns the prefix index used to complete aliases and names as they are typed. The index
+     * is built by the loader on the first call.
+     *
+     * @param loader builds the index.
+     * @return the index.
+     */
+    public UserTypeahead getUserTypeahead(Loader<UserTypeahead> loader) {
+        UserTypeahead typeahead = userTypeahead;
+
+        if(typeahead == null) {
+            synchronized (this) {
+                typeahead = userTypeahead;
+                if(typeahead == null) {
+                    typeahead = loader.load();
+                    userTypeahead = typeahead;
+                }
+            }
+        }
+
+        return typeahead;
+    }
+
+    /**
+     * Returns the follow graph the users' follows are seeded from. The graph is built by the
+     * loader on the first call.
+     *
+     * @param loader builds the graph.
+     * @return the graph.
+     */
+    public FollowGraph getFollowGraph(Loader<FollowGraph> loader) {
+        FollowGraph graph = followGraph;
+
+        if(graph == null) {
+            synchronized (this) {
+                graph = followGraph;
+                if(graph == null) {
+                    graph = loader.load();
+                    followGraph = graph;
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Returns the users the specified user is following, in the order they were followed. The
+     * first time a user is seen their followees are seeded from the loader. The seeded list is kept as is until the
+     * user's followees first change, so a seed that is a view of a {@link FollowGraph} is never
+     * copied just to be read.
+     *
+     * @param alias the alias of the follower.
+     * @param loader builds the initial followees for the user.
+     * @return a list of the followees that doesn't change under the caller.
+     */
+    public List<User> getFollowees(String alias, Loader<List<User>> loader) {
+        return getOrSeed(followeesByUser, alias, loader).getUsers();
+    }
+
+    /**
+     * Returns the users who follow the specified user, in the order they followed. The first time
+     * a user is seen their followers are seeded from the loader. The seeded list is kept as is until the
+     * user's followers first change.
+     *
+     * @param alias the alias of the followee.
+     * @param loader builds the initial followers for the user.
+     * @return a list of the followers that doesn't change under the caller.
+     */
+    public List<User> getFollowers(String alias, Loader<List<User>> loader) {
+        return getOrSeed(followersByUser, alias, loader).getUsers();
+    }
+
+    /**
+     * Returns a page of the users the specified user is following. The page starts after the
+     * followee at the specified position or, when the position isn't known, after the followee
+     * with the specified alias.
+     *
+     * @param alias the alias of the follower.
+     * @param lastPosition the position of the last followee returned before or -1 if unknown.
+     * @param lastAlias the alias of the last followee returned before or null to start at the
+     *                  beginning.
+     * @param limit the maximum number of followees to return.
+     * @param loader builds the initial followees for the user.
+     * @return the page.
+     */
+    FollowList.Page getFolloweePage(String alias, long lastPosition, String lastAlias, int limit,
+                                    Loader<List<User>> loader) {
+        return getPage(getOrSeed(followeesByUser, alias, loader), lastPosition, lastAlias, limit);
+    }
+
+    /**
+     * Returns a page of the users who follow the specified user. Like
+     * {@link #getFolloweePage(String, long, String, int, Loader)}, the page starts after the last
+     * follower returned before.
+     *
+     * @param alias the alias of the followee.
+     * @param lastPosition the position of the last follower returned before or -1 if unknown.
+     * @param lastAlias the alias of the last follower returned before or null to start at the
+     *                  beginning.
+     * @param limit the maximum number of followers to return.
+     * @param loader builds the initial followers for the user.
+     * @return the page.
+     */
+    FollowList.Page getFollowerPage(String alias, long lastPosition, String lastAlias, int limit,
+                                    Loader<List<User>> loader) {
+        return getPage(getOrSeed(followersByUser, alias, loader), lastPosition, lastAlias, limit);
+    }
+
+    private static FollowList.Page getPage(FollowList users, long lastPosition, String lastAlias, int limit) {
+        if(lastPosition < 0 && lastAlias != null) {
+            lastPosition = users.getPosition(lastAlias);
+        }
+
+        return users.getPageAfter(lastPosition, limit);
+    }
+
+    /**
+     * Returns the number of users the specified user is following. The count is kept up to date
+     * by every follow and unfollow, so reading it is a single lookup. The user's followees are
+     * seeded from the loader if they haven't been seen yet.
+     *
+     * @param alias the alias of the follower.
+     * @param loader builds the initial followees for the user.
+     * @return the number of followees.
+     */
+    public int getFolloweeCount(String alias, Loader<List<User>> loader) {
+        return getOrSeed(followeesByUser, alias, loader).size();
+    }
+
+    /**
+     * Returns the number of users who follow the specified user. The count is kept up to date
+     * by every follow and unfollow, so reading it is a single lookup. The user's followers are
+     * seeded from the loader if they haven't been seen yet.
+     *
+     * @param alias the alias of the followee.
+     * @param loader builds the initial followers for the user.
+     * @return the number of followers.
+     */
+    public int getFollowerCount(String alias, Loader<List<User>> loader) {
+        return getOrSeed(followersByUser, alias, loader).size();
+    }
+
+    /**
+     * Indicates whether one user follows another. Followees are kept keyed by alias, so answering
+     * takes a single lookup instead of a scan of the followees.
+     *
+     * @param followerAlias the alias of the possible follower.
+     * @param followeeAlias the alias of the possible followee.
+     * @param loader builds the initial followees of the follower.
+     * @return true if the follower follows the followee.
+     */
+    public boolean isFollowing(String followerAlias, String followeeAlias, Loader<List<User>> loader) {
+        return getOrSeed(followeesByUser, followerAlias, loader).contains(followeeAlias);
+    }
+
+    /**
+     * Returns the ids of the users the specified user follows, as a sorted set that can be
+     * intersected with other users' sets. The set is built from the followees the first time it
+     * is asked for and again after each follow or unfollow by the user.
+     *
+     * @param alias the alias of the follower.
+     * @param loader builds the initial followees for the user.
+     * @return the ids of the followees.
+     */
+    public IdSet getFolloweeIds(String alias, Loader<List<User>> loader) {
+        return getIdSet(followeeIdSets, followeesByUser, alias, loader);
+    }
+
+    /**
+     * Returns the ids of the users who follow the specified user, as a sorted set that can be
+     * intersected with other users' sets. The set is built from the followers the first time it
+     * is asked for and again after each follow or unfollow of the user.
+     *
+     * @param alias the alias of the followee.
+     * @param loader builds the initial followers for the user.
+     * @return the ids of the followers.
+     */
+    public IdSet getFollowerIds(String alias, Loader<List<User>> loader) {
+        return getIdSet(followerIdSets, followersByUser, alias, loader);
+    }
+
+    /**
+     * Returns the id the specified user is known by in id sets. A user is given an id the first
+     * time they appear in a set, so a user without an id isn't in any set.
+     *
+     * @param alias the alias of the user.
+     * @return the id or -1 if the user hasn't been given one.
+     */
+    public int findUserId(String alias) {
+        Integer id = alias == null ? null : userIds.get(alias);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the alias of the user with the specified id.
+     *
+     * @param id an id from an id set.
+     * @return the alias.
+     */
+    public String getAliasOfUserId(int id) {
+        return aliasesByUserId[id];
+    }
+
+    private IdSet getIdSet(IdSetCache cache, ConcurrentMap<String, FollowList> listsByAlias,
+                           String alias, Loader<List<User>> loader) {
+        // Read the version before the list, so a change made while the list is read leaves the
+        // set out of date rather than wrongly current
+        long version = cache.getVersion(alias).get();
+        VersionedIdSet set = cache.sets.get(alias);
+
+        if(set != null && set.version == version) {
+            return set.ids;
+        }
+
+        List<User> users = getOrSeed(listsByAlias, alias, loader).getUsers();
+        int[] ids = new int[users.size()];
+
+        for(int i = 0; i < ids.length; i++) {
+            ids[i] = getOrAssignUserId(users.get(i).getAlias());
+        }
+
+        IdSet idSet = IdSet.of(ids);
+        cache.sets.put(alias, new VersionedIdSet(version, idSet));
+        return idSet;
+    }
+
+    private int getOrAssignUserId(String alias) {
+        Integer id = userIds.get(alias);
+
+        if(id == null) {
+            synchronized (userIdLock) {
+                id = userIds.get(alias);
+
+                if(id == null) {
+                    id = userIds.size();
+                    String[] aliases = aliasesByUserId;
+                    if(id == aliases.length) {
+                        aliases = Arrays.copyOf(aliases, id * 2);
+                    }
+
+                    // The alias is stored before the id is published, so anyone holding the id
+                    // can look it up
+                    aliases[id] = alias;
+                    aliasesByUserId = aliases;
+                    userIds.put(alias, id);
+                }
+            }
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the lock of the shard that owns the follows made by the specified user.
+     */
+    private Object getFollowShardLock(String followerAlias) {
+        return followShardLocks[(followerAlias.hashCode() & 0x7FFFFFFF) % followShardLocks.length];
+    }
+
+    /**
+     * Records that the follower now follows the followee. Following a user that is already
+     * followed has no effect.
+     * <p>
+     * A follow belongs to the shard of the follower. Both sides of it, the follower's followees
+     * and the followee's followers, are changed while holding that shard's lock, so concurrent
+     * follows and unfollows of the same pair are applied, and logged, in a single order and the
+     * two sides always end up agreeing. Only one shard lock is ever held at a time, so shards
+     * can't deadlock each other.
+     *
+     * @param follower the user doing the following.
+     * @param followee the user being followed.
+     * @param followeesLoader builds the initial followees of the follower.
+     * @param followersLoader builds the initial followers of the followee.
+     */
+    public void follow(User follower, User followee, Loader<List<User>> followeesLoader, Loader<List<User>> followersLoader) {
+        synchronized (getFollowShardLock(follower.getAlias())) {
+            WriteAheadLog log = writeAheadLog;
+            if(log != null) {
+                try {
+                    log.logFollow(follower, followee);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to log the follow", e);
+                }
+            }
+
+            getOrSeed(followeesByUser, follower.getAlias(), followeesLoader).add(followee);
+            getOrSeed(followersByUser, followee.getAlias(), followersLoader).add(follower);
+
+            followeeIdSets.invalidate(follower.getAlias());
+            followerIdSets.invalidate(followee.getAlias());
+        }
+    }
+
+    /**
+     * Records that the follower no longer follows the followee. Like
+     * {@link #follow(User, User, Loader, Loader)}, both sides are changed under the follower's
+     * shard lock.
+     *
+     * @param follower the user doing the unfollowing.
+     * @param followee the user being unfollowed.
+     * @param followeesLoader builds the initial followees of the follower.
+     * @param followersLoader builds the initial followers of the followee.
+     */
+    public void unfollow(User follower, User followee, Loader<List<User>> followeesLoader, Loader<List<User>> followersLoader) {
+        synchronized (getFollowShardLock(follower.getAlias())) {
+            WriteAheadLog log = writeAheadLog;
+            if(log != null) {
+                try {
+                    log.logUnfollow(follower, followee);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to log the unfollow", e);
+                }
+            }
+
+            getOrSeed(followeesByUser, follower.getAlias(), followeesLoader).remove(followee.getAlias());
+            getOrSeed(followersByUser, followee.getAlias(), followersLoader).remove(follower.getAlias());
+
+            followeeIdSets.invalidate(follower.getAlias());
+            followerIdSets.invalidate(followee.getAlias());
+        }
+    }
+
+    /**
+     * Returns a user's follow list, seeding it from the loader the first time the user is seen.
+     */
+    private FollowList getOrSeed(ConcurrentMap<String, FollowList> listsByAlias, String alias,
+                                 Loader<List<User>> loader) {
+        FollowList users = listsByAlias.get(alias);
+
+        if(users == null) {
+            FollowList seeded = new FollowList(loader.load());
+            users = listsByAlias.putIfAbsent(alias, seeded);
+
+            if(users == null) {
+                users = seeded;
+            }
+        }
+
+        return users;
+    }
+}
@@ -0,0 +1,186 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * Builds a page of a feed on demand by merging several timelines, newest first. Each timeline is
+ * already ordered by publish sequence, so a heap holding the newest unread status of every
+ * timeline yields the merged order one status at a time. The merge stops as soon as the page is
+ * full, so the work done is proportional to the page size rather than to the length of the
+ * timelines being merged.
+ */
+public class FeedMerger {
+
+    /**
+     * A private constructor that ensures no instances of this class can be created.
+     */
+    private FeedMerger() {}
+
+    /**
+     * Decides whether a status read from a source should be included in the feed.
+     */
+    public interface Filter {
+        boolean accept(Status status);
+    }
+
+    /**
+     * A timeline to be merged into the feed, with an optional filter.
+     */
+    public static class Source {
+        private final Timeline timeline;
+        private final Filter filter;
+
+        /**
+         * Creates an instance.
+         *
+         * @param timeline the timeline to read from.
+         * @param filter decides which statuses to include or null to include all of them.
+         */
+        public Source(Timeline timeline, Filter filter) {
+            this.timeline = timeline;
+            this.filter = filter;
+        }
+    }
+
+    /**
+     * One page of a merged feed.
+     */
+    public static class Page {
+        private final List<Status> statuses;
+        private final long lastSequence;
+        private final boolean hasMorePages;
+
+        Page(List<Status> statuses, long lastSequence, boolean hasMorePages) {
+            this.statuses = statuses;
+            this.lastSequence = lastSequence;
+            this.hasMorePages = hasMorePages;
+        }
+
+        public List<Status> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * Returns the sequence of the last status in the page. The next page is made of the
+         * statuses published before it.
+         *
+         * @return the sequence.
+         */
+        public long getLastSequence() {
+            return lastSequence;
+        }
+
+        public boolean getHasMorePages() {
+            return hasMorePages;
+        }
+    }
+
+    /**
+     * The read position within one source. The position always points just above the next
+     * status to return, so the status it refers to is at 'position - 1'.
+     */
+    private static class Cursor {
+        private final Source source;
+        private int position;
+
+        Cursor(Source source, int position) {
+            this.source = source;
+            this.position = position;
+        }
+
+        long getSequence() {
+            return source.timeline.getSequence(position - 1);
+        }
+
+        Status getStatus() {
+            return source.timeline.getStatus(position - 1);
+        }
+
+        /**
+         * Moves down the timeline until the cursor is on a status the source's filter accepts.
+         *
+         * @return true if there is such a status; false if the timeline is exhausted.
+         */
+        boolean skipRejected() {
+            while(position > 0 && source.filter != null && !source.filter.accept(getStatus())) {
+                position--;
+            }
+
+            return position > 0;
+        }
+    }
+
+    private static final Comparator<Cursor> NEWEST_FIRST = new Comparator<Cursor>() {
+        @Override
+        public int compare(Cursor cursor1, Cursor cursor2) {
+            return Long.compare(cursor2.getSequence(), cursor1.getSequence());
+        }
+    };
+
+    /**
+     * Returns up to 'limit' statuses from the sources, newest first, that were published before
+     * the specified sequence.
+     *
+     * @param sources the timelines to merge.
+     * @param beforeSequence only statuses with a smaller sequence are returned. Use
+     *                       {@link Long#MAX_VALUE} for the first page.
+     * @param limit the maximum number of statuses to return.
+     * @return the page.
+     */
+    public static Page merge(List<Source> sources, long beforeSequence, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(sources.size(), 1), NEWEST_FIRST);
+
+        for(Source source : sources) {
+            Cursor cursor = new Cursor(source, source.timeline.getPositionBefore(beforeSequence));
+
+            if(cursor.skipRejected()) {
+                heap.add(cursor);
+            }
+        }
+
+        List<Status> statuses = new ArrayList<>(limit);
+        long lastSequence = beforeSequence;
+
+        while(statuses.size() < limit && !heap.isEmpty()) {
+            Cursor newest = heap.poll();
+            statuses.add(newest.getStatus());
+            lastSequence = newest.getSequence();
+
+            newest.position--;
+            if(newest.skipRejected()) {
+                heap.add(newest);
+            }
+        }
+
+        return new Page(statuses, lastSequence, !heap.isEmpty());
+    }
+
+    /**
+     * Returns the sequence of the specified status in the first source that holds it and would
+     * include it. Used to resume a feed for clients that send the last status they
+     * received instead of a cursor.
+     *
+     * @param sources the timelines to search.
+     * @param status the status to find.
+     * @return the sequence or {@link Long#MAX_VALUE} if the status isn't found.
+     */
+    public static long findSequence(List<Source> sources, Status status) {
+        for(Source source : sources) {
+            if(source.filter != null && !source.filter.accept(status)) {
+                continue;
+            }
+
+            int position = source.timeline.getPositionAfter(status);
+            if(position < source.timeline.size()) {
+                return source.timeline.getSequence(position);
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+}
@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
-import edu.byu.cs.tweeter.BuildConfig;
 import edu.byu.cs.tweeter.model.domain.Follow;
 import edu.byu.cs.tweeter.model.domain.User;
 
@@ -81,6 +80,34 @@ public class FollowGenerator {
                                                 int minFollowersPerUser,
                                                 int maxFollowersPerUser,
                                                 Sort sortOrder) {
+        return generateFollowsForUsers(users, minFollowersPerUser, maxFollowersPerUser, sortOrder, new Random());
+    }
+
+    /**
+     * Does the same as {@link #generateFollowsForUsers(List, int, int, Sort)}, but draws the
+     * follows from a generator started with the specified seed, so the same users and seed always
+     * produce the same follows.
+     *
+     * @param users the list of users to be used to generate follow objects.
+     * @param minFollowersPerUser the minimum number of followers each user will have.
+     * @param maxFollowersPerUser the maximum number of followers each user will have.
+     * @param sortOrder specifies the sort order or returned results.
+     * @param seed the seed of the random number generator.
+     * @return the generated {@link Follow} objects.
+     */
+    public List<Follow> generateFollowsForUsers(List<User> users,
+                                                int minFollowersPerUser,
+                                                int maxFollowersPerUser,
+                                                Sort sortOrder,
+                                                long seed) {
+        return generateFollowsForUsers(users, minFollowersPerUser, maxFollowersPerUser, sortOrder, new Random(seed));
+    }
+
+    private List<Follow> generateFollowsForUsers(List<User> users,
+                                                 int minFollowersPerUser,
+                                                 int maxFollowersPerUser,
+                                                 Sort sortOrder,
+                                                 Random random) {
         List<Follow> follows = new ArrayList<>();
 
         if(users.size() == 0) {
@@ -88,23 +115,20 @@ public class FollowGenerator {
         }
 
         // Used in place of assert statements because Android doesn't support assertions.
-        if(BuildConfig.DEBUG) {
-            if (minFollowersPerUser < 0) {
-                throw new AssertionError(minFollowersPerUser);
-            }
-
-            if(maxFollowersPerUser >= users.size()) {
-                throw new AssertionError(maxFollowersPerUser);
-            }
+        if (minFollowersPerUser < 0) {
+            throw new AssertionError(minFollowersPerUser);
+        }
+
+        if(maxFollowersPerUser >= users.size()) {
+            throw new AssertionError(maxFollowersPerUser);
         }
 
         // For each user, generate a random number of followers between the specified min and max
-        Random random = new Random();
         for(User user : users) {
             int numbFollowersToGenerate = random.nextInt(
                     maxFollowersPerUser - minFollowersPerUser) + minFollowersPerUser;
 
-            generateFollowersForUser(numbFollowersToGenerate, user, users, follows);
+            generateFollowersForUser(numbFollowersToGenerate, user, users, follows, random);
         }
 
         // Add the test user and make him follow everyone
@@ -154,18 +178,16 @@ public class FollowGenerator {
             default:
                 // It should be impossible to get here
                 // Used in place of "assert false;" because Android doesn't support assertions
-                if(BuildConfig.DEBUG) {
-                    throw new AssertionError();
-                }
+                throw new AssertionError();
         }
 
 
         return follows;
     }
 
-    private void generateFollowersForUser(int numbFollowersToGenerate, User user, List<User> users, List<Follow> follows) {
+    private void generateFollowersForUser(int numbFollowersToGenerate, User user, List<User> users, List<Follow> follows,
+                                          Random random) {
 
-        Random random = new Random();
         Set<User> selectedFollowers = new HashSet<>();
 
         while(selectedFollowers.size() < numbFollowersToGenerate) {
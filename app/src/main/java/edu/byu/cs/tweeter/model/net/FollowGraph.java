@@ -0,0 +1,285 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import edu.byu.cs.tweeter.model.domain.Follow;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * An immutable follow graph stored in compressed sparse row form. Every user is given an int id,
+ * and the followees of all users are packed end to end into a single int array. A second offset
+ * array records where each user's followees start, so a user's followees are found with two array
+ * reads. Followers are stored the same way in a second pair of arrays, which lets the graph be
+ * read in either direction.
+ * <p>
+ * Each follow costs two ints, one in each direction, so even millions of follows take only a few
+ * megabytes. Degrees are the difference of two offsets and pages are slices of the arrays, so both
+ * take constant time.
+ * <p>
+ * Ids are handed out in alias order and each user's followees and followers are sorted by id, so
+ * the lists come back in alias order.
+ */
+public class FollowGraph {
+
+    private final User[] users;
+    private final Map<String, Integer> idsByAlias;
+    private final int[] followeeOffsets;
+    private final int[] followeeIds;
+    private final int[] followerOffsets;
+    private final int[] followerIds;
+
+    private FollowGraph(User[] users, Map<String, Integer> idsByAlias, int[] followeeOffsets,
+                        int[] followeeIds, int[] followerOffsets, int[] followerIds) {
+        this.users = users;
+        this.idsByAlias = idsByAlias;
+        this.followeeOffsets = followeeOffsets;
+        this.followeeIds = followeeIds;
+        this.followerOffsets = followerOffsets;
+        this.followerIds = followerIds;
+    }
+
+    /**
+     * Builds a graph from a list of follows, such as the ones returned by {@link FollowGenerator}.
+     * Users are identified by alias. Repeated follows and users following themselves are dropped.
+     *
+     * @param follows the follows. They may be in any order.
+     * @return the graph.
+     */
+    public static FollowGraph fromFollows(List<Follow> follows) {
+        Map<String, User> usersByAlias = new HashMap<>();
+
+        for(Follow follow : follows) {
+            addUser(usersByAlias, follow.getFollower());
+            addUser(usersByAlias, follow.getFollowee());
+        }
+
+        // Numbering the users in alias order means sorting the adjacency by id sorts it by alias
+        List<String> aliases = new ArrayList<>(usersByAlias.keySet());
+        Collections.sort(aliases);
+
+        User[] users = new User[aliases.size()];
+        Map<String, Integer> idsByAlias = new HashMap<>(aliases.size() * 2);
+
+        for(int id = 0; id < users.length; id++) {
+            users[id] = usersByAlias.get(aliases.get(id));
+            idsByAlias.put(aliases.get(id), id);
+        }
+
+        // Pack each follow into a long, follower id high and followee id low, so a single sort
+        // orders the follows by follower and then by followee
+        long[] edges = new long[follows.size()];
+        int edgeCount = 0;
+
+        for(Follow follow : follows) {
+            int follower = idsByAlias.get(follow.getFollower().getAlias());
+            int followee = idsByAlias.get(follow.getFollowee().getAlias());
+
+            if(follower != followee) {
+                edges[edgeCount++] = ((long) follower << 32) | followee;
+            }
+        }
+
+        Arrays.sort(edges, 0, edgeCount);
+
+        int uniqueCount = 0;
+        for(int i = 0; i < edgeCount; i++) {
+            if(uniqueCount == 0 || edges[i] != edges[uniqueCount - 1]) {
+                edges[uniqueCount++] = edges[i];
+            }
+        }
+
+        int[] followeeOffsets = new int[users.length + 1];
+        int[] followerOffsets = new int[users.length + 1];
+
+        for(int i = 0; i < uniqueCount; i++) {
+            followeeOffsets[follower(edges[i]) + 1]++;
+            followerOffsets[followee(edges[i]) + 1]++;
+        }
+
+        for(int id = 0; id < users.length; id++) {
+            followeeOffsets[id + 1] += followeeOffsets[id];
+            followerOffsets[id + 1] += followerOffsets[id];
+        }
+
+        int[] followeeIds = new int[uniqueCount];
+        int[] followerIds = new int[uniqueCount];
+        int[] nextFollower = Arrays.copyOf(followerOffsets, users.length);
+
+        // The edges are already sorted by follower, so the followee rows fill in order and each
+        // follower row is filled with ascending follower ids
+        for(int i = 0; i < uniqueCount; i++) {
+            followeeIds[i] = followee(edges[i]);
+            followerIds[nextFollower[followee(edges[i])]++] = follower(edges[i]);
+        }
+
+        return new FollowGraph(users, idsByAlias, followeeOffsets, followeeIds, followerOffsets, followerIds);
+    }
+
+    private static void addUser(Map<String, User> usersByAlias, User user) {
+        if(!usersByAlias.containsKey(user.getAlias())) {
+            usersByAlias.put(user.getAlias(), user);
+        }
+    }
+
+    private static int follower(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    private static int followee(long edge) {
+        return (int) edge;
+    }
+
+    /**
+     * Returns the number of users in the graph.
+     *
+     * @return the number of users.
+     */
+    public int getUserCount() {
+        return users.length;
+    }
+
+    /**
+     * Returns the number of follows in the graph.
+     *
+     * @return the number of follows.
+     */
+    public int getFollowCount() {
+        return followeeIds.length;
+    }
+
+    /**
+     * Returns the id of the user with the specified alias.
+     *
+     * @param alias the alias of the user.
+     * @return the id or -1 if the user isn't in the graph.
+     */
+    public int getId(String alias) {
+        Integer id = alias == null ? null : idsByAlias.get(alias);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the user with the specified id.
+     *
+     * @param id an id below {@link #getUserCount()}.
+     * @return the user.
+     */
+    public User getUser(int id) {
+        return users[id];
+    }
+
+    /**
+     * Returns the number of users the specified user follows.
+     *
+     * @param id the id of the user.
+     * @return the number of followees.
+     */
+    public int getFolloweeCount(int id) {
+        return followeeOffsets[id + 1] - followeeOffsets[id];
+    }
+
+    /**
+     * Returns the number of users who follow the specified user.
+     *
+     * @param id the id of the user.
+     * @return the number of followers.
+     */
+    public int getFollowerCount(int id) {
+        return followerOffsets[id + 1] - followerOffsets[id];
+    }
+
+    /**
+     * Returns the id of one of the specified user's followees.
+     *
+     * @param id the id of the user.
+     * @param index the index of the followee, below {@link #getFolloweeCount(int)}.
+     * @return the id of the followee.
+     */
+    public int getFolloweeId(int id, int index) {
+        return followeeIds[followeeOffsets[id] + index];
+    }
+
+    /**
+     * Returns the id of one of the specified user's followers.
+     *
+     * @param id the id of the user.
+     * @param index the index of the follower, below {@link #getFollowerCount(int)}.
+     * @return the id of the follower.
+     */
+    public int getFollowerId(int id, int index) {
+        return followerIds[followerOffsets[id] + index];
+    }
+
+    /**
+     * Returns the users the specified user follows, in alias order. The list is a read only view
+     * of the graph, so getting it copies nothing and {@link List#subList(int, int)} gives a page
+     * in constant time.
+     *
+     * @param alias the alias of the user.
+     * @return the followees or null if the user isn't in the graph.
+     */
+    public List<User> getFollowees(String alias) {
+        int id = getId(alias);
+        return id < 0 ? null : new UserSlice(users, followeeIds, followeeOffsets[id], followeeOffsets[id + 1]);
+    }
+
+    /**
+     * Returns the users who follow the specified user, in alias order. The list is a read only
+     * view of the graph, so getting it copies nothing and {@link List#subList(int, int)} gives a
+     * page in constant time.
+     *
+     * @param alias the alias of the user.
+     * @return the followers or null if the user isn't in the graph.
+     */
+    public List<User> getFollowers(String alias) {
+        int id = getId(alias);
+        return id < 0 ? null : new UserSlice(users, followerIds, followerOffsets[id], followerOffsets[id + 1]);
+    }
+
+    /**
+     * A read only list of the users whose ids are in a range of an adjacency array.
+     */
+    private static class UserSlice extends AbstractList<User> implements RandomAccess {
+        private final User[] users;
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        UserSlice(User[] users, int[] ids, int from, int to) {
+            this.users = users;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public User get(int index) {
+            if(index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+            }
+
+            return users[ids[from + index]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<User> subList(int fromIndex, int toIndex) {
+            if(fromIndex < 0 || toIndex > to - from || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+            }
+
+            return new UserSlice(users, ids, from + fromIndex, from + toIndex);
+        }
+    }
+}
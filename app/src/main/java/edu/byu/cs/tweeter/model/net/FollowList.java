@@ -0,0 +1,259 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * One user's followees or followers. Users are matched by alias rather than by equals, because a
+ * user read back from the write-ahead log or sent by a client doesn't carry a password.
+ * <p>
+ * Each user in the list has a position: seeded users are numbered in seed order and each user
+ * added later is numbered after every user before them. Users are listed in position order, so
+ * a follow lands at the end of the list like it always has.
+ * <p>
+ * A list starts out as the read only list it was seeded with, so a seed that is a view of a
+ * {@link FollowGraph} is never copied just to be read. The first change, or the first time the
+ * list is asked whether it contains someone, indexes the users in a hash map from alias to
+ * position and a sorted map from position to user. From then on contains, add and remove each
+ * touch one entry instead of scanning or copying the list.
+ */
+class FollowList {
+
+    private final List<User> seed;
+    private final AtomicInteger size;
+    private volatile Index index;
+
+    private static class Index {
+        private final ConcurrentMap<String, Long> positionsByAlias = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, User> usersByPosition = new ConcurrentSkipListMap<>();
+        private final AtomicLong nextPosition = new AtomicLong();
+    }
+
+    /**
+     * One page of a follow list.
+     */
+    static class Page {
+        private final List<User> users;
+        private final long lastPosition;
+        private final boolean hasMorePages;
+
+        Page(List<User> users, long lastPosition, boolean hasMorePages) {
+            this.users = users;
+            this.lastPosition = lastPosition;
+            this.hasMorePages = hasMorePages;
+        }
+
+        List<User> getUsers() {
+            return users;
+        }
+
+        /**
+         * Returns the position of the last user in the page. The next page is made of the users
+         * listed after it.
+         *
+         * @return the position.
+         */
+        long getLastPosition() {
+            return lastPosition;
+        }
+
+        boolean getHasMorePages() {
+            return hasMorePages;
+        }
+    }
+
+    /**
+     * Creates a list holding the seeded users. A user whose alias appears earlier in the seed is
+     * left out, so the count starts at the number of users that can be unfollowed.
+     *
+     * @param seed the initial users.
+     */
+    FollowList(List<User> seed) {
+        this.seed = distinctByAlias(seed);
+        this.size = new AtomicInteger(this.seed.size());
+    }
+
+    /**
+     * Returns the number of users in the list. The count is kept by every add and remove, so
+     * reading it is a single lookup.
+     *
+     * @return the number of users.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the users in position order. Until the list is indexed this is the seed itself;
+     * after that it is a copy, so it doesn't change under the caller.
+     *
+     * @return the users.
+     */
+    List<User> getUsers() {
+        Index users = index;
+        return users == null ? seed : new ArrayList<>(users.usersByPosition.values());
+    }
+
+    /**
+     * Returns the users listed after the specified position. A position stays with its user until
+     * they are removed, so a follow or unfollow between two pages can't make the second page skip
+     * or repeat anyone who was in the list for both.
+     *
+     * @param position the position of the last user returned before, or -1 to start at the
+     *                 beginning.
+     * @param limit the maximum number of users to return.
+     * @return the page.
+     */
+    Page getPageAfter(long position, int limit) {
+        Index users = index;
+        List<User> page = new ArrayList<>(limit);
+        long lastPosition = position;
+        boolean hasMorePages;
+
+        if(users == null) {
+            // Seeded users are numbered in seed order, so positions are indexes into the seed
+            int start = (int) Math.min(position + 1, seed.size());
+            int end = Math.min(start + limit, seed.size());
+            page.addAll(seed.subList(start, end));
+            lastPosition = end > start ? end - 1 : position;
+            hasMorePages = end < seed.size();
+        } else {
+            Iterator<Map.Entry<Long, User>> entries = users.usersByPosition.tailMap(position, false).entrySet().iterator();
+
+            while(page.size() < limit && entries.hasNext()) {
+                Map.Entry<Long, User> entry = entries.next();
+                page.add(entry.getValue());
+                lastPosition = entry.getKey();
+            }
+
+            hasMorePages = entries.hasNext();
+        }
+
+        return new Page(page, lastPosition, hasMorePages);
+    }
+
+    /**
+     * Returns the position of the user with the specified alias.
+     *
+     * @param alias the alias.
+     * @return the position or -1 if the user isn't in the list.
+     */
+    long getPosition(String alias) {
+        Long position = getIndex().positionsByAlias.get(alias);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Indicates whether a user with the specified alias is in the list.
+     *
+     * @param alias the alias.
+     * @return true if the user is in the list.
+     */
+    boolean contains(String alias) {
+        return getIndex().positionsByAlias.containsKey(alias);
+    }
+
+    /**
+     * Adds the user at the end of the list unless a user with the same alias is already in it.
+     * <p>
+     * Callers must not add or remove the same alias concurrently. The data store only changes an
+     * alias's entry through follows and unfollows made by one follower, which are serialized by
+     * that follower's shard lock.
+     *
+     * @param user the user to add.
+     * @return true if the user was added.
+     */
+    boolean add(User user) {
+        Index users = getIndex();
+
+        if(users.positionsByAlias.containsKey(user.getAlias())) {
+            return false;
+        }
+
+        // The user is listed before their alias is, so anyone who finds the alias can find them
+        long position = users.nextPosition.getAndIncrement();
+        users.usersByPosition.put(position, user);
+        users.positionsByAlias.put(user.getAlias(), position);
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Removes the user with the specified alias. Like {@link #add(User)}, this must not run
+     * concurrently with another change to the same alias.
+     *
+     * @param alias the alias.
+     * @return true if the user was in the list.
+     */
+    boolean remove(String alias) {
+        Index users = getIndex();
+        Long position = users.positionsByAlias.remove(alias);
+
+        if(position == null) {
+            return false;
+        }
+
+        users.usersByPosition.remove(position);
+        size.decrementAndGet();
+        return true;
+    }
+
+    private Index getIndex() {
+        Index users = index;
+
+        if(users == null) {
+            // Indexing the seed happens once per list, so a lock is cheap here and guarantees
+            // every caller ends up with the same index. No other lock is taken while holding it,
+            // so it is safe to take while holding a shard lock
+            synchronized (this) {
+                users = index;
+
+                if(users == null) {
+                    users = new Index();
+                    for(User user : seed) {
+                        long position = users.nextPosition.getAndIncrement();
+                        users.usersByPosition.put(position, user);
+                        users.positionsByAlias.put(user.getAlias(), position);
+                    }
+                    index = users;
+                }
+            }
+        }
+
+        return users;
+    }
+
+    /**
+     * Returns the users with any repeated alias left out after its first appearance. A list
+     * without repeats is returned as is.
+     */
+    private static List<User> distinctByAlias(List<User> users) {
+        Set<String> aliases = new HashSet<>(users.size() * 2);
+        List<User> distinct = null;
+
+        for(int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+
+            if(!aliases.add(user.getAlias())) {
+                if(distinct == null) {
+                    distinct = new ArrayList<>(users.subList(0, i));
+                }
+            } else if(distinct != null) {
+                distinct.add(user);
+            }
+        }
+
+        return distinct == null ? users : distinct;
+    }
+}
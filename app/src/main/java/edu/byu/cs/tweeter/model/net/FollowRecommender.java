@@ -0,0 +1,401 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Suggests users to follow: the users followed by the most of the people a user follows, leaving
+ * out anyone the user already follows. The traversal goes two hops out from the user and is
+ * bounded at both. At most a fixed number of the user's followees are read, and at most a fixed
+ * number of each of their followees, spread evenly over the lists, so the cost doesn't grow with
+ * the size of the accounts involved.
+ * <p>
+ * Candidates are counted as the followees are read. Every few followees the counts are checked,
+ * and once the followees left to read couldn't change which candidates make the top, the rest are
+ * read only to finish the counts of the candidates in it, so the order and counts come out the
+ * same as a full count without tracking anyone who can't make the top. The top is picked with a
+ * heap the size of the result. Users who follow a lot of
+ * people have their followees read in parallel instead, in chunks counted separately and then
+ * added up.
+ * <p>
+ * Results are cached per user, least recently used first out. A follow or unfollow drops the
+ * follower's own suggestions and those of the cached users whose traversal went through the
+ * follower, since both depend on who the follower follows.
+ */
+public class FollowRecommender {
+
+    /**
+     * The number of suggestions computed and cached for each user, which is the most a request
+     * returns.
+     */
+    public static final int MAX_RECOMMENDATIONS = 50;
+
+    public static final int DEFAULT_MAX_FOLLOWEES = 200;
+    public static final int DEFAULT_MAX_FAN_OUT = 100;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+    public static final int DEFAULT_CACHE_CAPACITY = 256;
+
+    /**
+     * The number of followees read between checks for an early exit.
+     */
+    private static final int EXIT_CHECK_INTERVAL = 8;
+
+    /**
+     * Reads the users a user follows.
+     */
+    public interface FolloweeSource {
+        List<User> getFollowees(String alias);
+    }
+
+    /**
+     * A suggested user and the number of the people the user follows who follow them.
+     */
+    public static class Recommendation {
+        private final User user;
+        private int mutualCount;
+
+        Recommendation(User user, int mutualCount) {
+            this.user = user;
+            this.mutualCount = mutualCount;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        /**
+         * Returns the number of the people the user follows who follow the suggested user. Only
+         * the followees that were read are counted, so for large accounts it is a lower bound.
+         *
+         * @return the count.
+         */
+        public int getMutualCount() {
+            return mutualCount;
+        }
+    }
+
+    private static final Comparator<Recommendation> WEAKEST_FIRST = new Comparator<Recommendation>() {
+        @Override
+        public int compare(Recommendation recommendation1, Recommendation recommendation2) {
+            int comparison = Integer.compare(recommendation1.mutualCount, recommendation2.mutualCount);
+            return comparison != 0 ? comparison
+                    : recommendation2.user.getAlias().compareTo(recommendation1.user.getAlias());
+        }
+    };
+
+    /**
+     * A user's cached suggestions and the followees they were computed through.
+     */
+    private static final class CachedRecommendations {
+        private final List<Recommendation> recommendations;
+        private final Set<String> sources;
+
+        CachedRecommendations(List<Recommendation> recommendations, Set<String> sources) {
+            this.recommendations = recommendations;
+            this.sources = sources;
+        }
+    }
+
+    private final int maxFollowees;
+    private final int maxFanOut;
+    private final int parallelThreshold;
+    private final Executor executor;
+
+    // Guarded by itself. Ordered by access, so the eldest entry is the least recently used
+    private final LinkedHashMap<String, CachedRecommendations> cache;
+
+    // Bumped by every invalidation, so a result computed across one isn't cached
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Creates an instance with the default bounds that runs parallel traversals on the common
+     * fork join pool.
+     */
+    public FollowRecommender() {
+        this(DEFAULT_MAX_FOLLOWEES, DEFAULT_MAX_FAN_OUT, DEFAULT_PARALLEL_THRESHOLD,
+                DEFAULT_CACHE_CAPACITY, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param maxFollowees the most of a user's followees that are read.
+     * @param maxFanOut the most of each followee's followees that are read.
+     * @param parallelThreshold the number of followees to read at which they are read in
+     *                          parallel.
+     * @param cacheCapacity the number of users whose suggestions are cached.
+     * @param executor runs the chunks of a parallel traversal.
+     */
+    FollowRecommender(int maxFollowees, int maxFanOut, int parallelThreshold, final int cacheCapacity,
+                      Executor executor) {
+        this.maxFollowees = maxFollowees;
+        this.maxFanOut = maxFanOut;
+        this.parallelThreshold = parallelThreshold;
+        this.executor = executor;
+        this.cache = new LinkedHashMap<String, CachedRecommendations>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRecommendations> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the users suggested for the specified user to follow, best first.
+     *
+     * @param alias the alias of the user.
+     * @param limit the maximum number of suggestions to return. No more than
+     *              {@link #MAX_RECOMMENDATIONS} are returned.
+     * @param source reads the users a user follows.
+     * @return the suggestions.
+     */
+    public List<Recommendation> recommend(String alias, int limit, FolloweeSource source) {
+        CachedRecommendations cached;
+        synchronized (cache) {
+            cached = cache.get(alias);
+        }
+
+        if(cached == null) {
+            long startVersion = version.get();
+            cached = compute(alias, source);
+
+            synchronized (cache) {
+                if(version.get() == startVersion) {
+                    cache.put(alias, cached);
+                }
+            }
+        }
+
+        List<Recommendation> recommendations = cached.recommendations;
+        return new ArrayList<>(recommendations.subList(0, Math.min(Math.max(limit, 0), recommendations.size())));
+    }
+
+    /**
+     * Drops the cached suggestions that depend on who the specified user follows. Call it after
+     * the user follows or unfollows someone.
+     *
+     * @param alias the alias of the user.
+     */
+    public void invalidate(String alias) {
+        synchronized (cache) {
+            version.incrementAndGet();
+            cache.remove(alias);
+
+            for(Iterator<CachedRecommendations> iterator = cache.values().iterator(); iterator.hasNext(); ) {
+                if(iterator.next().sources.contains(alias)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private CachedRecommendations compute(String alias, final FolloweeSource source) {
+        List<User> followees = source.getFollowees(alias);
+
+        // Everyone the user already follows is left out, not just the ones that are read
+        final Set<String> excluded = new HashSet<>(followees.size() * 2);
+        excluded.add(alias);
+        for(User followee : followees) {
+            excluded.add(followee.getAlias());
+        }
+
+        final List<User> sampled = sample(followees, maxFollowees);
+        Set<String> sources = new HashSet<>(sampled.size() * 2);
+        for(User followee : sampled) {
+            sources.add(followee.getAlias());
+        }
+
+        Map<String, Recommendation> candidates;
+
+        if(sampled.size() >= parallelThreshold) {
+            candidates = countInParallel(sampled, excluded, source);
+        } else {
+            candidates = new HashMap<>();
+
+            for(int i = 0; i < sampled.size(); i++) {
+                count(sampled.get(i), excluded, source, candidates);
+
+                int remaining = sampled.size() - i - 1;
+                if(remaining > 0 && (i + 1) % EXIT_CHECK_INTERVAL == 0 && isSettled(candidates, remaining)) {
+                    candidates = countTop(candidates, sampled.subList(i + 1, sampled.size()), source);
+                    break;
+                }
+            }
+        }
+
+        return new CachedRecommendations(selectTop(candidates.values(), MAX_RECOMMENDATIONS), sources);
+    }
+
+    /**
+     * Adds one to the count of each of the followee's followees that could be suggested.
+     */
+    private void count(User followee, Set<String> excluded, FolloweeSource source,
+                       Map<String, Recommendation> candidates) {
+        for(User candidate : sample(source.getFollowees(followee.getAlias()), maxFanOut)) {
+            if(excluded.contains(candidate.getAlias())) {
+                continue;
+            }
+
+            Recommendation recommendation = candidates.get(candidate.getAlias());
+            if(recommendation == null) {
+                candidates.put(candidate.getAlias(), new Recommendation(candidate, 1));
+            } else {
+                recommendation.mutualCount++;
+            }
+        }
+    }
+
+    /**
+     * Finishes the counts of the top candidates from the followees not read yet. The top is
+     * settled, so anyone outside it is skipped, but the remaining followees can still change the
+     * counts within it and so the order.
+     */
+    private Map<String, Recommendation> countTop(Map<String, Recommendation> candidates, List<User> followees,
+                                                 FolloweeSource source) {
+        Map<String, Recommendation> top = new HashMap<>(MAX_RECOMMENDATIONS * 2);
+        for(Recommendation recommendation : selectTop(candidates.values(), MAX_RECOMMENDATIONS)) {
+            top.put(recommendation.user.getAlias(), recommendation);
+        }
+
+        for(User followee : followees) {
+            for(User candidate : sample(source.getFollowees(followee.getAlias()), maxFanOut)) {
+                Recommendation recommendation = top.get(candidate.getAlias());
+                if(recommendation != null) {
+                    recommendation.mutualCount++;
+                }
+            }
+        }
+
+        return top;
+    }
+
+    private Map<String, Recommendation> countInParallel(final List<User> followees, final Set<String> excluded,
+                                                        final FolloweeSource source) {
+        int chunkCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), followees.size()));
+        int chunkSize = (followees.size() + chunkCount - 1) / chunkCount;
+        List<FutureTask<Map<String, Recommendation>>> tasks = new ArrayList<>(chunkCount);
+
+        for(int from = 0; from < followees.size(); from += chunkSize) {
+            final List<User> chunk = followees.subList(from, Math.min(from + chunkSize, followees.size()));
+
+            FutureTask<Map<String, Recommendation>> task = new FutureTask<>(new Callable<Map<String, Recommendation>>() {
+                @Override
+                public Map<String, Recommendation> call() {
+                    Map<String, Recommendation> candidates = new HashMap<>();
+                    for(User followee : chunk) {
+                        count(followee, excluded, source, candidates);
+                    }
+                    return candidates;
+                }
+            });
+
+            tasks.add(task);
+            // The first chunk runs on the calling thread, which would otherwise just wait
+            if(tasks.size() > 1) {
+                executor.execute(task);
+            }
+        }
+
+        tasks.get(0).run();
+        Map<String, Recommendation> merged = new HashMap<>();
+
+        for(FutureTask<Map<String, Recommendation>> task : tasks) {
+            Map<String, Recommendation> candidates;
+            try {
+                candidates = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while suggesting users to follow", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to suggest users to follow", e.getCause());
+            }
+
+            for(Recommendation recommendation : candidates.values()) {
+                Recommendation existing = merged.get(recommendation.user.getAlias());
+                if(existing == null) {
+                    merged.put(recommendation.user.getAlias(), recommendation);
+                } else {
+                    existing.mutualCount += recommendation.mutualCount;
+                }
+            }
+        }
+
+        return merged;
+    }
+
+    /**
+     * Indicates whether reading the remaining followees can no longer change which candidates
+     * make the top. Each remaining followee adds at most one to any candidate, including ones not
+     * seen yet, so the top is settled once its weakest member leads the best of the rest by more
+     * than the number of followees left. Only membership is settled: the members can still
+     * overtake each other.
+     */
+    private static boolean isSettled(Map<String, Recommendation> candidates, int remaining) {
+        if(candidates.size() < MAX_RECOMMENDATIONS) {
+            return false;
+        }
+
+        List<Recommendation> top = selectTop(candidates.values(), MAX_RECOMMENDATIONS + 1);
+        int weakest = top.get(MAX_RECOMMENDATIONS - 1).mutualCount;
+        int runnerUp = top.size() > MAX_RECOMMENDATIONS ? top.get(MAX_RECOMMENDATIONS).mutualCount : 0;
+
+        return weakest > runnerUp + remaining;
+    }
+
+    /**
+     * Returns the 'limit' candidates followed by the most followees, best first.
+     */
+    private static List<Recommendation> selectTop(Iterable<Recommendation> candidates, int limit) {
+        // Keeps the best 'limit' candidates seen so far, with the weakest on top
+        PriorityQueue<Recommendation> top = new PriorityQueue<>(limit, WEAKEST_FIRST);
+
+        for(Recommendation candidate : candidates) {
+            if(top.size() < limit) {
+                top.add(candidate);
+            } else if(WEAKEST_FIRST.compare(candidate, top.peek()) > 0) {
+                top.poll();
+                top.add(candidate);
+            }
+        }
+
+        List<Recommendation> recommendations = new ArrayList<>(top);
+        Collections.sort(recommendations, Collections.reverseOrder(WEAKEST_FIRST));
+        return recommendations;
+    }
+
+    /**
+     * Returns up to 'max' of the users, spread evenly over the list so a sample isn't skewed
+     * toward the start of the alphabet.
+     */
+    private static List<User> sample(List<User> users, int max) {
+        int size = users.size();
+
+        if(size <= max) {
+            return users;
+        }
+
+        List<User> sampled = new ArrayList<>(max);
+        for(int i = 0; i < max; i++) {
+            sampled.add(users.get((int) ((long) i * size / max)));
+        }
+
+        return sampled;
+    }
+}
@@ -0,0 +1,201 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.Charset;
+
+import edu.byu.cs.tweeter.model.service.request.CountRequest;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
+import edu.byu.cs.tweeter.model.service.response.CountResponse;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
+import edu.byu.cs.tweeter.model.service.response.RegisterResponse;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
+
+/**
+ * A facade to a Tweeter server reached over HTTP, with the same endpoints as
+ * {@link ServerFacadeMine}. Each request is posted as json to the endpoint's path and the json
+ * response is parsed back into the response class.
+ * <p>
+ * Responses are always read to the end and closed, which lets {@link HttpURLConnection} return
+ * the connection to its keep-alive pool, so a stream of requests to the same server reuses a few
+ * connections rather than opening one per request. The JVM keeps up to 'http.maxConnections'
+ * (default 5) idle connections per server, which load tests with more threads should raise.
+ * <p>
+ * A request the server rejects comes back as an unsuccessful response carrying the server's
+ * message. An {@link IOException} means the server couldn't be reached or answered with
+ * something that isn't a response.
+ */
+public class HttpServerFacade {
+
+    public static final int DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final String baseUrl;
+    private final Gson gson = TweeterApi.newGson();
+
+    /**
+     * Creates a facade to the server at the specified url.
+     *
+     * @param baseUrl the scheme, host and port of the server, such as "http://127.0.0.1:8080".
+     */
+    public HttpServerFacade(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public LoginResponse login(LoginRequest request) throws IOException {
+        return post(TweeterApi.LOGIN, request, LoginResponse.class);
+    }
+
+    public RegisterResponse register(RegisterRequest request) throws IOException {
+        return post(TweeterApi.REGISTER, request, RegisterResponse.class);
+    }
+
+    public FeedResponse getFeed(FeedRequest request) throws IOException {
+        return post(TweeterApi.FEED, request, FeedResponse.class);
+    }
+
+    public StoryResponse getStory(StoryRequest request) throws IOException {
+        return post(TweeterApi.STORY, request, StoryResponse.class);
+    }
+
+    public MentionsResponse getMentions(MentionsRequest request) throws IOException {
+        return post(TweeterApi.MENTIONS, request, MentionsResponse.class);
+    }
+
+    public SearchResponse search(SearchRequest request) throws IOException {
+        return post(TweeterApi.SEARCH, request, SearchResponse.class);
+    }
+
+    public TrendingResponse getTrending(TrendingRequest request) throws IOException {
+        return post(TweeterApi.TRENDING, request, TrendingResponse.class);
+    }
+
+    public TypeaheadResponse getTypeahead(TypeaheadRequest request) throws IOException {
+        return post(TweeterApi.TYPEAHEAD, request, TypeaheadResponse.class);
+    }
+
+    public RecommendationsResponse getRecommendations(RecommendationsRequest request) throws IOException {
+        return post(TweeterApi.RECOMMENDATIONS, request, RecommendationsResponse.class);
+    }
+
+    public MutualFollowsResponse getMutualFollows(MutualFollowsRequest request) throws IOException {
+        return post(TweeterApi.MUTUAL_FOLLOWS, request, MutualFollowsResponse.class);
+    }
+
+    public FollowsBackResponse getFollowsBack(FollowsBackRequest request) throws IOException {
+        return post(TweeterApi.FOLLOWS_BACK, request, FollowsBackResponse.class);
+    }
+
+    public FollowersResponse getFollowers(FollowersRequest request) throws IOException {
+        return post(TweeterApi.FOLLOWERS, request, FollowersResponse.class);
+    }
+
+    public FollowingResponse getFollowees(FollowingRequest request) throws IOException {
+        return post(TweeterApi.FOLLOWING, request, FollowingResponse.class);
+    }
+
+    public CountResponse getCount(CountRequest request) throws IOException {
+        return post(TweeterApi.COUNT, request, CountResponse.class);
+    }
+
+    public UpdateFollowResponse updateFollow(UpdateFollowRequest request) throws IOException {
+        return post(TweeterApi.UPDATE_FOLLOW, request, UpdateFollowResponse.class);
+    }
+
+    public SubmitTweetResponse submitTweet(SubmitTweetRequest request) throws IOException {
+        return post(TweeterApi.SUBMIT_TWEET, request, SubmitTweetResponse.class);
+    }
+
+    private <T> T post(String path, Object request, Class<T> responseClass) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setConnectTimeout(DEFAULT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(DEFAULT_TIMEOUT_MILLIS);
+        connection.setRequestProperty("Content-Type", JSON_CONTENT_TYPE);
+
+        byte[] body = gson.toJson(request).getBytes(UTF_8);
+        connection.setFixedLengthStreamingMode(body.length);
+
+        OutputStream output = connection.getOutputStream();
+        try {
+            output.write(body);
+        } finally {
+            output.close();
+        }
+
+        int status = connection.getResponseCode();
+        InputStream input = status < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream()
+                : connection.getErrorStream();
+
+        if(input == null) {
+            throw new IOException("The server answered " + path + " with status " + status + " and no body");
+        }
+
+        String json;
+        try {
+            json = readFully(input);
+        } finally {
+            input.close();
+        }
+
+        // Rejected requests still carry a response describing the failure
+        if(!json.startsWith("{")) {
+            throw new IOException("The server answered " + path + " with status " + status + ": " + json);
+        }
+
+        try {
+            return gson.fromJson(json, responseClass);
+        } catch (RuntimeException e) {
+            throw new IOException("Unable to parse the response to " + path, e);
+        }
+    }
+
+    private static String readFully(InputStream input) throws IOException {
+        Reader reader = new InputStreamReader(input, UTF_8);
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[8192];
+        int count;
+
+        while((count = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, count);
+        }
+
+        return builder.toString();
+    }
+}
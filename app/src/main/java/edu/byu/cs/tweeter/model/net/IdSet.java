@@ -0,0 +1,177 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of user ids held in a sorted int array, for answering questions about two
+ * users' follows without building lists of users. Intersecting two sets walks both arrays in
+ * step when they are of similar size. When one is much smaller, each of its ids is instead looked
+ * up in the larger one by galloping: probing 1, 2, 4, 8... ids ahead of the last match and then
+ * binary searching the last gap. The cost then grows with the size of the smaller set and only
+ * with the log of the larger one, so checking a page of users against millions of followers is
+ * cheap.
+ */
+public class IdSet {
+
+    /**
+     * How many times larger one set must be than the other for galloping to beat walking both.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    public static final IdSet EMPTY = new IdSet(new int[0]);
+
+    private final int[] ids;
+
+    private IdSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Creates a set of the specified ids.
+     *
+     * @param ids the ids, in any order. Repeated ids are kept once. The array isn't changed.
+     * @return the set.
+     */
+    public static IdSet of(int[] ids) {
+        int[] sorted = Arrays.copyOf(ids, ids.length);
+        Arrays.sort(sorted);
+
+        int size = 0;
+        for(int i = 0; i < sorted.length; i++) {
+            if(size == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+
+        return new IdSet(size == sorted.length ? sorted : Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * Returns the number of ids in the set.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns one of the ids, in ascending order.
+     *
+     * @param index the index of the id, below {@link #size()}.
+     * @return the id.
+     */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Indicates whether the set holds the specified id.
+     *
+     * @param id the id.
+     * @return true if the set holds it.
+     */
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * Returns the number of ids held by both this set and the other.
+     *
+     * @param other the other set.
+     * @return the number of ids in common.
+     */
+    public int intersectionSize(IdSet other) {
+        return intersect(other, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Returns up to 'limit' of the ids held by both this set and the other that are greater than
+     * the specified id, smallest first.
+     *
+     * @param other the other set.
+     * @param afterId only larger ids are returned. Use {@link Integer#MIN_VALUE} for the first
+     *                page.
+     * @param limit the maximum number of ids to return.
+     * @return the ids.
+     */
+    public int[] intersect(IdSet other, int afterId, int limit) {
+        int[] page = new int[Math.max(0, Math.min(limit, Math.min(ids.length, other.ids.length)))];
+        int count = intersect(other, afterId, page.length, page);
+        return count == page.length ? page : Arrays.copyOf(page, count);
+    }
+
+    /**
+     * Finds up to 'limit' ids in common greater than 'afterId', writing them to 'out' if it isn't
+     * null, and returns how many were found.
+     */
+    private int intersect(IdSet other, int afterId, int limit, int[] out) {
+        int[] small = ids.length <= other.ids.length ? ids : other.ids;
+        int[] large = small == ids ? other.ids : ids;
+
+        int i = firstAfter(small, afterId);
+        int j = firstAfter(large, afterId);
+        boolean gallop = (long) small.length * GALLOP_RATIO < large.length;
+        int count = 0;
+
+        while(count < limit && i < small.length && j < large.length) {
+            int id = small[i];
+
+            if(gallop) {
+                j = gallopTo(large, j, id);
+                if(j < large.length && large[j] == id) {
+                    if(out != null) {
+                        out[count] = id;
+                    }
+                    count++;
+                    j++;
+                }
+                i++;
+            } else if(id < large[j]) {
+                i++;
+            } else if(id > large[j]) {
+                j++;
+            } else {
+                if(out != null) {
+                    out[count] = id;
+                }
+                count++;
+                i++;
+                j++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the position of the first id greater than the specified id.
+     */
+    private static int firstAfter(int[] ids, int afterId) {
+        if(afterId == Integer.MIN_VALUE) {
+            return 0;
+        }
+
+        int position = Arrays.binarySearch(ids, afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    /**
+     * Returns the position of the first id at or after 'from' that is at least the specified id,
+     * probing ahead in doubling steps and then binary searching the last step.
+     */
+    private static int gallopTo(int[] ids, int from, int id) {
+        int step = 1;
+        int low = from;
+        int high = from;
+
+        while(high < ids.length && ids[high] < id) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+
+        int position = Arrays.binarySearch(ids, low, Math.min(high + 1, ids.length), id);
+        return position >= 0 ? position : -position - 1;
+    }
+}
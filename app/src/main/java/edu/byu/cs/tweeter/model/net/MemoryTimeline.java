@@ -0,0 +1,124 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * A {@link Timeline} held on the heap in parallel growable arrays.
+ * <p>
+ * Appends are serialized but reads take no lock, so any number of threads can page through a
+ * timeline while it is being written to.
+ */
+public class MemoryTimeline extends Timeline {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile Status[] statuses;
+    private volatile long[] sequences;
+    private volatile long[] times;
+    private volatile int size;
+
+    /**
+     * Creates an empty timeline.
+     */
+    public MemoryTimeline() {
+        this.statuses = new Status[INITIAL_CAPACITY];
+        this.sequences = new long[INITIAL_CAPACITY];
+        this.times = new long[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public synchronized void append(Status status, long sequence) {
+        int currentSize = size;
+
+        long time = toIndexTime(status.getTimePosted(), currentSize == 0 ? Long.MIN_VALUE : times[currentSize - 1]);
+
+        if(currentSize == statuses.length) {
+            times = Arrays.copyOf(times, currentSize * 2);
+            sequences = Arrays.copyOf(sequences, currentSize * 2);
+            statuses = Arrays.copyOf(statuses, currentSize * 2);
+        }
+
+        times[currentSize] = time;
+        sequences[currentSize] = sequence;
+        statuses[currentSize] = status;
+        // Publishing the new size last makes the status visible to readers
+        size = currentSize + 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Status getStatus(int position) {
+        return statuses[position];
+    }
+
+    @Override
+    public long getSequence(int position) {
+        return sequences[position];
+    }
+
+    @Override
+    public long getTime(int position) {
+        return times[position];
+    }
+
+    @Override
+    public int getPositionBefore(long sequence) {
+        int low = 0;
+        int high = size;
+        long[] current = sequences;
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(current[middle] < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    @Override
+    public int getPositionBeforeTime(long time) {
+        int low = 0;
+        int high = size;
+        long[] current = times;
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(current[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    @Override
+    public List<Status> getPage(int position, int limit) {
+        int currentSize = size;
+        Status[] current = statuses;
+        int start = Math.min(position, currentSize);
+        int end = Math.max(start - limit, 0);
+
+        List<Status> page = new ArrayList<>(start - end);
+        for(int i = start - 1; i >= end; i--) {
+            page.add(current[i]);
+        }
+
+        return page;
+    }
+}
@@ -0,0 +1,113 @@
+package edu.byu.cs.tweeter.model.net;
+
+/**
+ * Encodes and decodes the opaque cursors handed out with paged responses. A cursor records
+ * the position of the first item of the next page, the position of the last follow returned in
+ * a list where positions stay with their users or, for merged feeds, the publish sequence of the
+ * last status returned. Either way the following request can resume without
+ * searching the whole list for the last item it received. Clients should treat
+ * cursors as opaque strings and only send back what they were given.
+ */
+public class PageCursor {
+
+    private static final String PREFIX = "p";
+    private static final String SEQUENCE_PREFIX = "s";
+    private static final String LAST_POSITION_PREFIX = "l";
+    private static final int RADIX = Character.MAX_RADIX;
+
+    /**
+     * A private constructor that ensures no instances of this class can be created.
+     */
+    private PageCursor() {}
+
+    /**
+     * Returns the cursor for a page that starts at the specified position.
+     *
+     * @param position the index of the first item of the next page.
+     * @return the cursor.
+     */
+    public static String encode(int position) {
+        return PREFIX + Integer.toString(position, RADIX);
+    }
+
+    /**
+     * Returns the position encoded in the specified cursor.
+     *
+     * @param cursor the cursor from a previous response.
+     * @return the position or -1 if the cursor is null or was not created by {@link #encode(int)}.
+     */
+    public static int decode(String cursor) {
+        if(cursor == null || !cursor.startsWith(PREFIX)) {
+            return -1;
+        }
+
+        try {
+            int position = Integer.parseInt(cursor.substring(PREFIX.length()), RADIX);
+            return position < 0 ? -1 : position;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the cursor for a page made of the statuses published before the specified
+     * sequence.
+     *
+     * @param sequence the publish sequence of the last status returned.
+     * @return the cursor.
+     */
+    public static String encodeSequence(long sequence) {
+        return SEQUENCE_PREFIX + Long.toString(sequence, RADIX);
+    }
+
+    /**
+     * Returns the sequence encoded in the specified cursor.
+     *
+     * @param cursor the cursor from a previous response.
+     * @return the sequence or -1 if the cursor is null or was not created by
+     * {@link #encodeSequence(long)}.
+     */
+    public static long decodeSequence(String cursor) {
+        if(cursor == null || !cursor.startsWith(SEQUENCE_PREFIX)) {
+            return -1;
+        }
+
+        try {
+            long sequence = Long.parseLong(cursor.substring(SEQUENCE_PREFIX.length()), RADIX);
+            return sequence < 0 ? -1 : sequence;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the cursor for a page made of the users listed after the specified position in a
+     * follow list.
+     *
+     * @param position the position of the last user returned.
+     * @return the cursor.
+     */
+    public static String encodeLastPosition(long position) {
+        return LAST_POSITION_PREFIX + Long.toString(position, RADIX);
+    }
+
+    /**
+     * Returns the last position encoded in the specified cursor.
+     *
+     * @param cursor the cursor from a previous response.
+     * @return the position or -1 if the cursor is null or was not created by
+     * {@link #encodeLastPosition(long)}.
+     */
+    public static long decodeLastPosition(String cursor) {
+        if(cursor == null || !cursor.startsWith(LAST_POSITION_PREFIX)) {
+            return -1;
+        }
+
+        try {
+            long position = Long.parseLong(cursor.substring(LAST_POSITION_PREFIX.length()), RADIX);
+            return position < 0 ? -1 : position;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
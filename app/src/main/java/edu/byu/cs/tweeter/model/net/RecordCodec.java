@@ -0,0 +1,90 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Reads and writes users and statuses in the binary form shared by the server's on-disk files.
+ * Strings are written as a presence flag followed by the string, so null fields survive a round
+ * trip. Only the fields needed to show a user are written: passwords and images never reach the
+ * disk.
+ */
+final class RecordCodec {
+
+    /**
+     * The version of the record layout, written at the start of every record so that a file
+     * written in another layout is rejected rather than misread. It is above the first byte of
+     * any record written before records carried a version, which was a log record type of 1 to 3
+     * or the high byte of a story record's sequence, so those are rejected too.
+     */
+    static final byte FORMAT_VERSION = 4;
+
+    /**
+     * A private constructor that ensures no instances of this class can be created.
+     */
+    private RecordCodec() {}
+
+    static void writeVersion(DataOutputStream output) throws IOException {
+        output.writeByte(FORMAT_VERSION);
+    }
+
+    /**
+     * Reads the version at the start of a record.
+     *
+     * @throws IOException if the record was written in a layout this code can't read.
+     */
+    static void readVersion(DataInputStream input) throws IOException {
+        byte version = input.readByte();
+
+        if(version != FORMAT_VERSION) {
+            throw new IOException("Unsupported record format version: " + version);
+        }
+    }
+
+    static void writeStatus(DataOutputStream output, Status status) throws IOException {
+        writeUser(output, status.getUser());
+        writeString(output, status.getTweetText());
+        writeString(output, status.getUrls());
+        output.writeLong(status.getTimePosted());
+        writeString(output, status.getMentions());
+    }
+
+    static Status readStatus(DataInputStream input) throws IOException {
+        User user = readUser(input);
+        String tweetText = readString(input);
+        String urls = readString(input);
+        long timePosted = input.readLong();
+        return new Status(user, tweetText, urls, timePosted, readString(input));
+    }
+
+    static void writeUser(DataOutputStream output, User user) throws IOException {
+        writeString(output, user.getFirstName());
+        writeString(output, user.getLastName());
+        writeString(output, user.getAlias());
+        writeString(output, user.getImageUrl());
+    }
+
+    /**
+     * Reads a user written by {@link #writeUser(DataOutputStream, User)}. The user has no
+     * password.
+     */
+    static User readUser(DataInputStream input) throws IOException {
+        return new User(readString(input), readString(input), readString(input), readString(input),
+                null);
+    }
+
+    static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if(value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -0,0 +1,331 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * An in-memory inverted index over the text of statuses. Each status is given an id when it is
+ * added, in the order statuses are added, so a larger id is a newer status. Each term maps to a
+ * posting list: the ids of the statuses containing it, kept in a sorted int array. Appending a
+ * status only ever appends to the end of its terms' lists, so they stay sorted without any work.
+ * <p>
+ * Queries read the posting lists from the end, newest first, and stop as soon as the page is
+ * full. A query that matches all of its terms walks the shortest list and looks each id up in the
+ * others by binary search; a query that matches any of its terms merges the lists with a heap
+ * holding the newest unread id of each. Either way the work is proportional to the page size and
+ * the number of terms rather than to the number of statuses.
+ * <p>
+ * Statuses are added by a single writer at a time. Readers don't lock: each posting list is
+ * replaced by a new snapshot after the id is written, so a reader sees either the old or the new
+ * list and never a partly written one.
+ */
+public class SearchIndex {
+
+    /**
+     * The number of ids a new posting list has room for.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * A snapshot of the ids of the statuses containing a term, oldest first. Snapshots share the
+     * array while it has room, but each only reads the ids below its own size.
+     */
+    private static final class PostingList {
+        private final int[] ids;
+        private final int size;
+
+        PostingList(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        /**
+         * Returns the number of ids smaller than the specified id among the first 'end' ids.
+         */
+        int getPositionBefore(int beforeId, int end) {
+            int position = Arrays.binarySearch(ids, 0, end, beforeId);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    /**
+     * One page of search results.
+     */
+    public static class Page {
+        private final List<Status> statuses;
+        private final int lastId;
+        private final boolean hasMorePages;
+
+        Page(List<Status> statuses, int lastId, boolean hasMorePages) {
+            this.statuses = statuses;
+            this.lastId = lastId;
+            this.hasMorePages = hasMorePages;
+        }
+
+        public List<Status> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * Returns the id of the last status in the page. The next page is made of the matching
+         * statuses with smaller ids.
+         *
+         * @return the id.
+         */
+        public int getLastId() {
+            return lastId;
+        }
+
+        public boolean getHasMorePages() {
+            return hasMorePages;
+        }
+    }
+
+    /**
+     * The read position within one posting list. The position always points just above the next
+     * id to return, so the id it refers to is at 'position - 1'.
+     */
+    private static class Cursor {
+        private final PostingList postings;
+        private int position;
+
+        Cursor(PostingList postings, int position) {
+            this.postings = postings;
+            this.position = position;
+        }
+
+        int getId() {
+            return postings.ids[position - 1];
+        }
+    }
+
+    private static final Comparator<Cursor> NEWEST_FIRST = new Comparator<Cursor>() {
+        @Override
+        public int compare(Cursor cursor1, Cursor cursor2) {
+            return Integer.compare(cursor2.getId(), cursor1.getId());
+        }
+    };
+
+    private final ConcurrentMap<String, PostingList> postings = new ConcurrentHashMap<>();
+    private volatile Status[] statuses = new Status[64];
+    private volatile int size;
+
+    /**
+     * Adds a status to the index, giving it the next id. Only one thread may add at a time.
+     *
+     * @param status the status.
+     * @return the id of the status.
+     */
+    public int add(Status status) {
+        int id = size;
+
+        if(id == statuses.length) {
+            statuses = Arrays.copyOf(statuses, id * 2);
+        }
+        statuses[id] = status;
+        size = id + 1;
+
+        for(String term : tokenize(status.getTweetText())) {
+            PostingList list = postings.get(term);
+
+            if(list == null) {
+                list = new PostingList(new int[INITIAL_CAPACITY], 0);
+            } else if(list.size == list.ids.length) {
+                list = new PostingList(Arrays.copyOf(list.ids, list.size * 2), list.size);
+            }
+
+            list.ids[list.size] = id;
+            postings.put(term, new PostingList(list.ids, list.size + 1));
+        }
+
+        return id;
+    }
+
+    /**
+     * Returns the number of statuses in the index.
+     *
+     * @return the number of statuses.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of statuses containing the specified term.
+     *
+     * @param term the term, as returned by {@link #tokenize(String)}.
+     * @return the number of statuses.
+     */
+    public int getFrequency(String term) {
+        PostingList list = postings.get(term);
+        return list == null ? 0 : list.size;
+    }
+
+    /**
+     * Returns up to 'limit' statuses, newest first, that contain the terms of the query and have
+     * an id smaller than the specified id.
+     *
+     * @param query the text to search for. It is split into terms the same way status text is.
+     * @param matchAll true to return the statuses containing every term; false to return the
+     *                 statuses containing any of them.
+     * @param beforeId only statuses with a smaller id are returned. Use {@link Integer#MAX_VALUE}
+     *                 for the first page.
+     * @param limit the maximum number of statuses to return.
+     * @return the page.
+     */
+    public Page search(String query, boolean matchAll, int beforeId, int limit) {
+        Set<String> terms = tokenize(query);
+        List<PostingList> lists = new ArrayList<>(terms.size());
+
+        for(String term : terms) {
+            PostingList list = postings.get(term);
+
+            if(list != null) {
+                lists.add(list);
+            } else if(matchAll) {
+                // No status can contain every term
+                return new Page(new ArrayList<Status>(), beforeId, false);
+            }
+        }
+
+        // Read after the posting lists, so it holds every id they do
+        Status[] statuses = this.statuses;
+
+        if(lists.isEmpty()) {
+            return new Page(new ArrayList<Status>(), beforeId, false);
+        }
+
+        return matchAll ? intersect(lists, statuses, beforeId, limit) : union(lists, statuses, beforeId, limit);
+    }
+
+    private static Page intersect(List<PostingList> lists, Status[] statuses, int beforeId, int limit) {
+        PostingList shortest = lists.get(0);
+        for(PostingList list : lists) {
+            if(list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+
+        // The end of the range still to search in each list, which only shrinks as the ids do
+        int[] ends = new int[lists.size()];
+        for(int i = 0; i < ends.length; i++) {
+            ends[i] = lists.get(i).getPositionBefore(beforeId, lists.get(i).size);
+        }
+
+        List<Status> page = new ArrayList<>(limit);
+        int lastId = beforeId;
+        int position = shortest.getPositionBefore(beforeId, shortest.size);
+
+        while(position > 0) {
+            int id = shortest.ids[--position];
+
+            if(containsAll(lists, ends, id)) {
+                if(page.size() == limit) {
+                    return new Page(page, lastId, true);
+                }
+                page.add(statuses[id]);
+                lastId = id;
+            }
+        }
+
+        return new Page(page, lastId, false);
+    }
+
+    private static boolean containsAll(List<PostingList> lists, int[] ends, int id) {
+        for(int i = 0; i < ends.length; i++) {
+            PostingList list = lists.get(i);
+            ends[i] = list.getPositionBefore(id + 1, ends[i]);
+
+            if(ends[i] == 0 || list.ids[ends[i] - 1] != id) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Page union(List<PostingList> lists, Status[] statuses, int beforeId, int limit) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(lists.size(), NEWEST_FIRST);
+
+        for(PostingList list : lists) {
+            Cursor cursor = new Cursor(list, list.getPositionBefore(beforeId, list.size));
+
+            if(cursor.position > 0) {
+                heap.add(cursor);
+            }
+        }
+
+        List<Status> page = new ArrayList<>(limit);
+        int lastId = beforeId;
+
+        while(page.size() < limit && !heap.isEmpty()) {
+            int id = heap.peek().getId();
+            page.add(statuses[id]);
+            lastId = id;
+
+            // Every list holding the id moves past it, so a status is returned once
+            while(!heap.isEmpty() && heap.peek().getId() == id) {
+                Cursor cursor = heap.poll();
+                cursor.position--;
+
+                if(cursor.position > 0) {
+                    heap.add(cursor);
+                }
+            }
+        }
+
+        return new Page(page, lastId, !heap.isEmpty());
+    }
+
+    /**
+     * Splits text into the terms it is indexed and searched by: runs of letters and digits,
+     * lower-cased, keeping a leading '@' or '#' so mentions and hashtags are terms of their own.
+     *
+     * @param text the text.
+     * @return the terms, each listed once, in the order they first appear.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        if(text == null) {
+            return terms;
+        }
+
+        int length = text.length();
+        int start = -1;
+
+        for(int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            boolean termChar = Character.isLetterOrDigit(c) || c == '_'
+                    || (start < 0 && (c == '@' || c == '#'));
+
+            if(termChar && start < 0) {
+                start = i;
+            } else if(!termChar && start >= 0) {
+                addTerm(terms, text.substring(start, i));
+                start = -1;
+            }
+        }
+
+        return terms;
+    }
+
+    private static void addTerm(Set<String> terms, String token) {
+        // A lone '@' or '#' isn't a term
+        if(token.length() == 1 && (token.charAt(0) == '@' || token.charAt(0) == '#')) {
+            return;
+        }
+
+        terms.add(token.toLowerCase(Locale.ROOT));
+    }
+}
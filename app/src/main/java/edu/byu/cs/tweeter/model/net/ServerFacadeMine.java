@@ -1,17 +1,21 @@
 package edu.byu.cs.tweeter.model.net;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
-import edu.byu.cs.tweeter.BuildConfig;
 import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.Follow;
 import edu.byu.cs.tweeter.model.domain.Status;
@@ -20,23 +24,41 @@ import edu.byu.cs.tweeter.model.service.request.CountRequest;
 import edu.byu.cs.tweeter.model.service.request.FeedRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
 import edu.byu.cs.tweeter.model.service.request.LoginRequest;
 import edu.byu.cs.tweeter.model.service.request.LogoutRequest;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
 import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
 import edu.byu.cs.tweeter.model.service.request.RetrieveUserRequest;
+import edu.byu.cs.tweeter.model.service.request.RetrieveUsersRequest;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
 import edu.byu.cs.tweeter.model.service.request.StoryRequest;
 import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
 import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
 import edu.byu.cs.tweeter.model.service.response.CountResponse;
 import edu.byu.cs.tweeter.model.service.response.FeedResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
 import edu.byu.cs.tweeter.model.service.response.LoginResponse;
 import edu.byu.cs.tweeter.model.service.response.LogoutResponse;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
 import edu.byu.cs.tweeter.model.service.response.RegisterResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
 import edu.byu.cs.tweeter.model.service.response.RetrieveUserResponse;
+import edu.byu.cs.tweeter.model.service.response.RetrieveUsersResponse;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
 import edu.byu.cs.tweeter.model.service.response.StoryResponse;
 import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
 import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
 
 /**
@@ -44,9 +66,14 @@ import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
  * this class.
  */
 public class ServerFacadeMine {
-    private static Map<String, List<Status>> storyStatusesByUser;
-    private static Map<String, List<Status>> feedStatusesByUser;
-    private List<User> dummyFollowees;
+
+    private static final String SESSION_EXPIRED_MESSAGE = "Your session has expired. Please log in again.";
+    private static final String ALIAS_TAKEN_MESSAGE = "That alias is already taken.";
+
+    /**
+     * The seed the dummy follows are generated from.
+     */
+    private static final long FOLLOW_GRAPH_SEED = 340;
 
     // This is the hard coded followee data returned by the 'getFollowees()' method
     private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
@@ -87,59 +114,219 @@ public class ServerFacadeMine {
     private final User DaffyDuck = new User("Daffy", "Duck", "", "password");
     private final User Zoe = new User("Zoe", "Zabriski", "", "password");
 
+    private final DataStore dataStore;
+
+    /**
+     * Creates an instance backed by the shared {@link DataStore}.
+     */
+    public ServerFacadeMine() {
+        this(DataStore.getInstance());
+    }
+
+    /**
+     * Creates an instance backed by the specified store, so tests can start from an empty one
+     * rather than the state other tests left in the shared store.
+     *
+     * @param dataStore the store.
+     */
+    ServerFacadeMine(DataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Lazily creates the shared instance. The JVM guarantees the holder class is initialized
+     * exactly once, so every thread sees the same fully constructed facade.
+     */
+    private static class InstanceHolder {
+        private static final ServerFacadeMine INSTANCE = new ServerFacadeMine();
+    }
+
+    /**
+     * Returns the shared instance of the class. Services should use this rather than creating a
+     * new facade for every request.
+     *
+     * @return the instance.
+     */
+    public static ServerFacadeMine getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
 
     public UpdateFollowResponse updateFollow(UpdateFollowRequest request) {
-        if(this.dummyFollowees == null) {
-            dummyFollowees = new ArrayList<>(getDummyFollowees());
-        }
         User user = request.getUser();
         User followUser = request.getFollowUser();
 
         if(user == null || followUser == null) {
             throw new AssertionError();
         }
+        if(!isAuthorized(request.getAuthToken(), user)) {
+            return new UpdateFollowResponse(SESSION_EXPIRED_MESSAGE);
+        }
 
         if(request.followTheFollowUser()) { // Then follow the followUser
-            dummyFollowees.add(request.getFollowUser());
+            getDataStore().follow(user, followUser, getFolloweesLoader(user.getAlias()), getFollowersLoader(followUser.getAlias()));
         } else { // Unfollow the followUser
-            dummyFollowees.remove(request.getFollowUser());
+            getDataStore().unfollow(user, followUser, getFolloweesLoader(user.getAlias()), getFollowersLoader(followUser.getAlias()));
         }
-        return new UpdateFollowResponse(request.getUser(), request.getFollowUser(), dummyFollowees);
+        if(isRecognizedUser(followUser.getAlias())) {
+            // Keeps the typeahead ranking the followed user by their new follower count
+            int followerCount = getDataStore().getFollowerCount(followUser.getAlias(), getFollowersLoader(followUser.getAlias()));
+            getUserTypeahead().add(followUser, followerCount);
+        }
+        getDataStore().getFollowRecommender().invalidate(user.getAlias());
+        return new UpdateFollowResponse(request.getUser(), request.getFollowUser(), request.followTheFollowUser());
     }
 
     public CountResponse getCount(CountRequest request) {
         if(request.getUser() == null) {
             throw new AssertionError();
         }
-        if(this.dummyFollowees == null) {
-            this.dummyFollowees = new ArrayList<>(getDummyFollowees());
-        }
-        int followingCount = (this.dummyFollowees.size());
-        int followersCount = (getDummyFollowers().size());
+        String alias = request.getUser().getAlias();
+        int followingCount = getDataStore().getFolloweeCount(alias, getFolloweesLoader(alias));
+        int followersCount = getDataStore().getFollowerCount(alias, getFollowersLoader(alias));
         return new CountResponse(request.getUser(), followingCount, followersCount);
     }
 
     /**
-     * Performs a save of the status to the database. This function doesn't actually make a network request.
+     * Returns whether the user in the request follows each of the requested users. Each answer is
+     * a single lookup in the follower's followee index, so the request stays small and cheap no
+     * matter how many users the follower follows.
+     *
+     * @param request contains the user and the usernames of the users to check for.
+     * @return whether the user follows each of the requested users, in the order requested.
+     */
+    public RelationshipResponse getRelationship(RelationshipRequest request) {
+        if(request.getUser() == null || request.getUsernames() == null) {
+            throw new AssertionError();
+        }
+
+        String alias = request.getUser().getAlias();
+        List<Boolean> following = new ArrayList<>(request.getUsernames().size());
+
+        for(String username : request.getUsernames()) {
+            following.add(getDataStore().isFollowing(alias, username, getFolloweesLoader(alias)));
+        }
+
+        return new RelationshipResponse(request.getUser(), following);
+    }
+
+    /**
+     * Returns a page of the users the user in the request follows who also follow the other
+     * user, as in "followed by people you know" on the other user's profile, along with how many
+     * there are in all. Both lists are intersected as sorted sets of ids, and only the usernames
+     * in the page are looked up, so no list of users is built.
+     *
+     * @param request contains the two users and the page to return.
+     * @return the mutual follows response.
+     */
+    public MutualFollowsResponse getMutualFollows(MutualFollowsRequest request) {
+        if(request.getLimit() < 0 || request.getUser() == null || request.getOtherUser() == null) {
+            throw new AssertionError();
+        }
+
+        String alias = request.getUser().getAlias();
+        String otherAlias = request.getOtherUser().getAlias();
+        IdSet followees = getDataStore().getFolloweeIds(alias, getFolloweesLoader(alias));
+        IdSet followers = getDataStore().getFollowerIds(otherAlias, getFollowersLoader(otherAlias));
+
+        // The cursor holds the id of the last user returned; ids are never negative
+        int[] ids = followees.intersect(followers, PageCursor.decode(request.getCursor()), request.getLimit() + 1);
+        boolean hasMorePages = ids.length > request.getLimit();
+        List<String> usernames = new ArrayList<>(Math.min(ids.length, request.getLimit()));
+
+        for(int i = 0; i < ids.length && i < request.getLimit(); i++) {
+            usernames.add(getDataStore().getAliasOfUserId(ids[i]));
+        }
+
+        String nextCursor = hasMorePages && request.getLimit() > 0 ? PageCursor.encode(ids[request.getLimit() - 1]) : null;
+        return new MutualFollowsResponse(usernames, followees.intersectionSize(followers), hasMorePages, nextCursor);
+    }
+
+    /**
+     * Returns whether each of the requested users follows the user in the request, such as to
+     * mark the users on a page of their followees who follow them back. The requested users are
+     * intersected with the user's followers as sorted sets of ids, which looks each of them up
+     * without reading the whole follower list.
+     *
+     * @param request contains the user and the usernames of the users to check for.
+     * @return whether each of the requested users follows the user, in the order requested.
+     */
+    public FollowsBackResponse getFollowsBack(FollowsBackRequest request) {
+        if(request.getUser() == null || request.getUsernames() == null) {
+            throw new AssertionError();
+        }
+
+        String alias = request.getUser().getAlias();
+        // Read first: building the set gives every follower an id, so a user without one isn't
+        // a follower
+        IdSet followers = getDataStore().getFollowerIds(alias, getFollowersLoader(alias));
+        int[] requestedIds = new int[request.getUsernames().size()];
+
+        for(int i = 0; i < requestedIds.length; i++) {
+            requestedIds[i] = getDataStore().findUserId(request.getUsernames().get(i));
+        }
+
+        IdSet requested = IdSet.of(requestedIds);
+        IdSet following = IdSet.of(requested.intersect(followers, -1, requested.size()));
+        List<Boolean> followsBack = new ArrayList<>(requestedIds.length);
+
+        for(int id : requestedIds) {
+            followsBack.add(id >= 0 && following.contains(id));
+        }
+
+        return new FollowsBackResponse(request.getUser(), followsBack);
+    }
+
+    /**
+     * Performs a save of the status to the database. The status is added to the author's story
+     * right away and is pushed to the feed of each of the author's followers in the background.
+     * This function doesn't actually make a network request.
      *
      * @param request contains all information needed to save a status.
      * @return the submit tweet response.
      */
     public SubmitTweetResponse submitTweet(SubmitTweetRequest request) {
-        String userAlias = request.getUser().getAlias();
-        String statusAlias = request.getStatus().getUser().getAlias();
         if(request.getStatus() == null) {
             throw new AssertionError();
         }
         if(request.getUser() == null) {
             throw new AssertionError();
         }
+        String userAlias = request.getUser().getAlias();
+        String statusAlias = request.getStatus().getUser().getAlias();
         if(!userAlias.equals(statusAlias)) {
             throw new AssertionError();
         }
+        if(!isAuthorized(request.getAuthToken(), request.getUser())) {
+            return new SubmitTweetResponse(SESSION_EXPIRED_MESSAGE);
+        }
+
+        publishStatus(request.getStatus());
+        getDataStore().getTrendingTerms().record(request.getStatus());
+
         return new SubmitTweetResponse(request.getUser(), request.getStatus());
     }
 
+    /**
+     * Indicates whether a request carrying the specified token can act as the specified user.
+     * A single lookup in the session registry, so every authenticated request can afford it.
+     */
+    private boolean isAuthorized(AuthToken authToken, User user) {
+        return getDataStore().getSessionRegistry().validate(authToken, user.getAlias());
+    }
+
+    private void publishStatus(Status status) {
+        String alias = status.getUser().getAlias();
+        int followerCount = getDataStore().getFollowerCount(alias, getFollowersLoader(alias));
+        List<User> followers = Collections.emptyList();
+
+        // Authors in pull mode skip the fan-out. Their followers read the status from their story
+        if(getDataStore().getFeedMode(alias, followerCount) == DataStore.FeedMode.PUSH) {
+            followers = getDataStore().getFollowers(alias, getFollowersLoader(alias));
+        }
+
+        getDataStore().publishStatus(status, followers, getStoryLoader(alias), getFeedLoader());
+    }
+
     /**
      * Performs a login and if successful, returns the logged in user and an auth token. The current
      * implementation is hard-coded to return a dummy user and doesn't actually make a network
@@ -160,7 +347,7 @@ public class ServerFacadeMine {
             throw new AssertionError();
         }
         User user = new User("Test", "User", "https://i.imgur.com/VZQQiQ1.jpg", "password");
-        return new LoginResponse(user, new AuthToken(user.getAlias()));
+        return new LoginResponse(user, getDataStore().getSessionRegistry().createSession(user.getAlias()));
     }
 
     /**
@@ -177,94 +364,51 @@ public class ServerFacadeMine {
             throw new AssertionError();
         }
 
-        if (request.getUsername().equals(user1.getAlias())) {
-            return new RetrieveUserResponse(user1);
-        } else if (request.getUsername().equals(user2.getAlias())) {
-            return new RetrieveUserResponse(user2);
-        } else if (request.getUsername().equals(user3.getAlias())) {
-            return new RetrieveUserResponse(user3);
-        } else if (request.getUsername().equals(user4.getAlias())) {
-            return new RetrieveUserResponse(user4);
-        } else if (request.getUsername().equals(user5.getAlias())) {
-            return new RetrieveUserResponse(user5);
-        } else if (request.getUsername().equals(user6.getAlias())) {
-            return new RetrieveUserResponse(user6);
-        } else if (request.getUsername().equals(user7.getAlias())) {
-            return new RetrieveUserResponse(user7);
-        } else if (request.getUsername().equals(user8.getAlias())) {
-            return new RetrieveUserResponse(user8);
-        } else if (request.getUsername().equals(user9.getAlias())) {
-            return new RetrieveUserResponse(user9);
-        } else if (request.getUsername().equals(user10.getAlias())) {
-            return new RetrieveUserResponse(user10);
-        } else if (request.getUsername().equals(user11.getAlias())) {
-            return new RetrieveUserResponse(user11);
-        } else if (request.getUsername().equals(user12.getAlias())) {
-            return new RetrieveUserResponse(user12);
-        } else if (request.getUsername().equals(user13.getAlias())) {
-            return new RetrieveUserResponse(user13);
-        } else if (request.getUsername().equals(user14.getAlias())) {
-            return new RetrieveUserResponse(user14);
-        } else if (request.getUsername().equals(user15.getAlias())) {
-            return new RetrieveUserResponse(user15);
-        } else if (request.getUsername().equals(user16.getAlias())) {
-            return new RetrieveUserResponse(user16);
-        } else if (request.getUsername().equals(user17.getAlias())) {
-            return new RetrieveUserResponse(user17);
-        } else if (request.getUsername().equals(user18.getAlias())) {
-            return new RetrieveUserResponse(user18);
-        } else if (request.getUsername().equals(user19.getAlias())) {
-            return new RetrieveUserResponse(user19);
-        } else if (request.getUsername().equals(user20.getAlias())) {
-            return new RetrieveUserResponse(user20);
-        } else if (request.getUsername().equals(JacobWest.getAlias())) {
-            return new RetrieveUserResponse(JacobWest);
-        } else if (request.getUsername().equals(RickyMartin.getAlias())) {
-            return new RetrieveUserResponse(RickyMartin);
-        } else if (request.getUsername().equals(RobertGardner.getAlias())) {
-            return new RetrieveUserResponse(RobertGardner);
-        } else if (request.getUsername().equals(Snowden.getAlias())) {
-            return new RetrieveUserResponse(Snowden);
-        } else if (request.getUsername().equals(TristanThompson.getAlias())) {
-            return new RetrieveUserResponse(TristanThompson);
-        } else if (request.getUsername().equals(KCP.getAlias())) {
-            return new RetrieveUserResponse(KCP);
-        } else if (request.getUsername().equals(theMedia.getAlias())) {
-            return new RetrieveUserResponse(theMedia);
-        } else if (request.getUsername().equals(Rudy.getAlias())) {
-            return new RetrieveUserResponse(Rudy);
-        } else if (request.getUsername().equals(BillBelichick.getAlias())) {
-            return new RetrieveUserResponse(BillBelichick);
-        } else if (request.getUsername().equals(TestUser.getAlias())) {
-            return new RetrieveUserResponse(TestUser);
-        } else {
+        User user = getUserRegistry().getUser(request.getUsername());
+
+        if(user == null) {
             throw new AssertionError(); // Username is not recognized for us.
         }
+
+        return new RetrieveUserResponse(user);
     }
 
     /**
-     * Performs a logout and if successful, returns the logged out user and the expired auth token. The current
-     * implementation is hard-coded to return a dummy user and doesn't actually make a network
-     * request.
+     * Retrieves each of the users whose aliases are listed in the request with a single lookup
+     * per alias. The current implementation reads from the in memory {@link UserRegistry} and
+     * doesn't actually make a network request.
      *
-     * @param request contains all information needed to perform a login.
-     * @return the login response.
+     * @param request contains the aliases of the users to retrieve.
+     * @return the retrieved users, with a null entry for any alias that isn't recognized.
      */
-    public LogoutResponse logout(LogoutRequest request) {
-        User user = request.getUser();
-        AuthToken authToken = getAuthTokenByUsername(user.getAlias(), request.getAuthToken()); // Will be replaced with a server call later on.
-        authToken.deactivate();
-        return new LogoutResponse(user, authToken);
+    public RetrieveUsersResponse retrieveUsers(RetrieveUsersRequest request) {
+        if(request.getUsernames() == null) {
+            throw new AssertionError();
+        }
+
+        return new RetrieveUsersResponse(getUserRegistry().getUsers(request.getUsernames()));
     }
 
     /**
+     * Performs a logout and if successful, returns the logged out user and the expired auth token.
+     * The token's session is ended, so the token is no longer accepted by any request. Logging out
+     * a session that has already expired still succeeds. This function doesn't actually make a
+     * network request.
      *
-     * @param userName of the user to logout
-     * @param authToken just needed for the non-server implemented functionality.
-     * @return
+     * @param request contains all information needed to perform a logout.
+     * @return the logout response.
      */
-    public AuthToken getAuthTokenByUsername(String userName, AuthToken authToken) {
-        return authToken;
+    public LogoutResponse logout(LogoutRequest request) {
+        User user = request.getUser();
+        AuthToken authToken = request.getAuthToken();
+
+        if(user == null || authToken == null || !user.getAlias().equals(authToken.getUsername())) {
+            return new LogoutResponse("The auth token does not belong to the user");
+        }
+
+        getDataStore().getSessionRegistry().revoke(authToken);
+        authToken.deactivate();
+        return new LogoutResponse(user, authToken);
     }
 
     /**
@@ -295,7 +439,12 @@ public class ServerFacadeMine {
             throw new AssertionError();
         }
         User user = new User(request.getFirstName(), request.getLastName(), request.getUsername(), request.getImageUrl(), request.getImageBytes(), request.getPassword());
-        return new RegisterResponse(user, new AuthToken(user.getAlias()));
+        if(!getUserRegistry().register(user)) {
+            // Handing out a session here would let anyone act as the user who holds the alias
+            return new RegisterResponse(ALIAS_TAKEN_MESSAGE);
+        }
+        getUserTypeahead().add(user, 0);
+        return new RegisterResponse(user, getDataStore().getSessionRegistry().createSession(user.getAlias()));
     }
 
     /**
@@ -311,14 +460,12 @@ public class ServerFacadeMine {
     public FollowingResponse getFollowees(FollowingRequest request) {
 
         // Used in place of assert statements because Android does not support them
-        if(BuildConfig.DEBUG) {
-            if(request.getLimit() < 0) {
-                throw new AssertionError();
-            }
+        if(request.getLimit() < 0) {
+            throw new AssertionError();
+        }
 
-            if(request.getUser() == null) {
-                throw new AssertionError();
-            }
+        if(request.getUser() == null) {
+            throw new AssertionError();
         }
 
         final User user9 = new User("Albert", "Awesome", "", "password"); // 1  followee
@@ -333,86 +480,124 @@ public class ServerFacadeMine {
             return new FollowingResponse(returnMe, false);
         }
 
-        List<User> allFollowees = getDummyFollowees();
         List<User> responseFollowees = new ArrayList<>(request.getLimit());
 
         boolean hasMorePages = false;
+        String nextCursor = null;
 
         if(request.getLimit() > 0) {
-            int followeesIndex = getFolloweesStartingIndex(request.getLastFollowee(), allFollowees);
-
-            for(int limitCounter = 0; followeesIndex < allFollowees.size() && limitCounter < request.getLimit(); followeesIndex++, limitCounter++) {
-                responseFollowees.add(allFollowees.get(followeesIndex));
-            }
-
-            hasMorePages = followeesIndex < allFollowees.size();
+            // Resume after the last followee returned rather than at an index, so a follow or
+            // unfollow between pages doesn't make the next page skip or repeat anyone
+            User lastFollowee = request.getLastFollowee();
+            FollowList.Page page = getDataStore().getFolloweePage(request.getUser().getAlias(),
+                    PageCursor.decodeLastPosition(request.getCursor()),
+                    lastFollowee == null ? null : lastFollowee.getAlias(), request.getLimit(),
+                    getFolloweesLoader(request.getUser().getAlias()));
+
+            responseFollowees.addAll(page.getUsers());
+            hasMorePages = page.getHasMorePages();
+            nextCursor = hasMorePages ? PageCursor.encodeLastPosition(page.getLastPosition()) : null;
         }
 
-        return new FollowingResponse(responseFollowees, hasMorePages);
+        return new FollowingResponse(responseFollowees, hasMorePages, nextCursor);
     }
 
     /**
-     * Determines the index for the first followee in the specified 'allFollowees' list that should
-     * be returned in the current request. This will be the index of the next followee after the
-     * specified 'lastFollowee'.
-     *
-     * @param lastFollowee the last followee that was returned in the previous request or null if
-     *                     there was no previous request.
-     * @param allFollowees the generated list of followees from which we are returning paged results.
-     * @return the index of the first followee to be returned.
+     * Builds the follow graph from generated follows between the dummy users. The follows are
+     * generated from a fixed seed, so every run starts with the same graph.
      */
-    private int getFolloweesStartingIndex(User lastFollowee, List<User> allFollowees) {
-
-        int followeesIndex = 0;
-
-        if(lastFollowee != null) {
-            // This is a paged request for something after the first page. Find the first item
-            // we should return
-            for (int i = 0; i < allFollowees.size(); i++) {
-                if(lastFollowee.equals(allFollowees.get(i))) {
-                    // We found the index of the last item returned last time. Increment to get
-                    // to the first one we should return
-                    followeesIndex = i + 1;
-                }
-            }
-        }
+    private FollowGraph initializeFollowGraph() {
+        List<Follow> follows = getFollowGenerator().generateFollowsForUsers(getDummyUsers(),
+                0, 20, FollowGenerator.Sort.FOLLOWER_FOLLOWEE, FOLLOW_GRAPH_SEED);
 
-        return followeesIndex;
+        return FollowGraph.fromFollows(follows);
     }
 
     /**
-     * Generates the followee data.
+     * Returns an instance of FollowGenerator that can be used to generate Follow data. This is
+     * written as a separate method to allow mocking of the generator.
+     *
+     * @return the generator.
      */
-    private Map<User, List<User>> initializeFollowees() {
-
-        Map<User, List<User>> followeesByFollower = new HashMap<>();
+    FollowGenerator getFollowGenerator() {
+        return FollowGenerator.getInstance();
+    }
 
-        List<Follow> follows = getFollowGenerator().generateUsersAndFollows(100,
-                0, 50, FollowGenerator.Sort.FOLLOWER_FOLLOWEE);
+    /**
+     * Returns the store that holds the server side data. This is written as a separate method to
+     * allow mocking of the store.
+     *
+     * @return the store.
+     */
+    DataStore getDataStore() {
+        return dataStore;
+    }
 
-        // Populate a map of followees, keyed by follower so we can easily handle followee requests
-        for(Follow follow : follows) {
-            List<User> followees = followeesByFollower.get(follow.getFollower());
+    /**
+     * Moves the stories into the on-disk archive in the specified directory, so they are read
+     * from memory mapped segment files instead of the heap. Should be called once, when the
+     * server starts and before it handles any requests. When a write-ahead log is also used, open
+     * the log first: an archive from an earlier run already holds the statuses the log replays,
+     * and attaching it replaces the replayed stories.
+     *
+     * @param directory the directory that holds the archive. It is created if it doesn't exist.
+     * @return the archive, so the caller can close it when the server shuts down.
+     * @throws IOException if the archive can't be read or written.
+     */
+    public StorySegmentStore openStoryArchive(File directory) throws IOException {
+        StorySegmentStore archive = StorySegmentStore.open(directory);
+        getDataStore().attachStoryArchive(archive, getStoryLoaders());
+        return archive;
+    }
 
-            if(followees == null) {
-                followees = new ArrayList<>();
-                followeesByFollower.put(follow.getFollower(), followees);
+    /**
+     * Starts building the dummy stories on a background thread, so the first request for each
+     * story doesn't have to. Optional: a story that hasn't been built yet is built by the first
+     * request for it.
+     */
+    public void prewarmStories() {
+        getDataStore().prewarmStories(getStoryLoaders(), new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                Thread thread = new Thread(runnable, "story-prewarm");
+                thread.setDaemon(true);
+                thread.start();
             }
-
-            followees.add(follow.getFollowee());
-        }
-
-        return followeesByFollower;
+        });
     }
 
     /**
-     * Returns an instance of FollowGenerator that can be used to generate Follow data. This is
-     * written as a separate method to allow mocking of the generator.
+     * Replays the write-ahead log in the specified file into the store and then logs every
+     * follow, unfollow and submitted status to it, so they survive a restart. Should be called
+     * once, when the server starts and before it handles any requests.
      *
-     * @return the generator.
+     * @param file the file that holds the log. It is created if it doesn't exist.
+     * @param durability when writes to the log are considered done.
+     * @return the log, so the caller can close it when the server shuts down.
+     * @throws IOException if the log can't be read or written.
      */
-    FollowGenerator getFollowGenerator() {
-        return FollowGenerator.getInstance();
+    public WriteAheadLog openWriteAheadLog(File file, WriteAheadLog.Durability durability) throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, durability, new WriteAheadLog.Replayer() {
+            @Override
+            public void follow(User follower, User followee) {
+                getDataStore().follow(follower, followee, getFolloweesLoader(follower.getAlias()),
+                        getFollowersLoader(followee.getAlias()));
+            }
+
+            @Override
+            public void unfollow(User follower, User followee) {
+                getDataStore().unfollow(follower, followee, getFolloweesLoader(follower.getAlias()),
+                        getFollowersLoader(followee.getAlias()));
+            }
+
+            @Override
+            public void publishStatus(Status status) {
+                ServerFacadeMine.this.publishStatus(status);
+            }
+        });
+
+        getDataStore().setWriteAheadLog(log);
+        return log;
     }
 
     /**
@@ -428,14 +613,12 @@ public class ServerFacadeMine {
     public FollowersResponse getFollowers(FollowersRequest request) {
 
         // Used in place of assert statements because Android does not support them
-        if(BuildConfig.DEBUG) {
-            if(request.getLimit() < 0) {
-                throw new AssertionError();
-            }
+        if(request.getLimit() < 0) {
+            throw new AssertionError();
+        }
 
-            if(request.getUser() == null) {
-                throw new AssertionError();
-            }
+        if(request.getUser() == null) {
+            throw new AssertionError();
         }
 
         if(!isRecognizedUser(request.getUser().getAlias())) {
@@ -443,51 +626,26 @@ public class ServerFacadeMine {
             return new FollowersResponse(returnMe, false);
         }
 
-        List<User> allFollowers = getDummyFollowers();
         List<User> responseFollowers = new ArrayList<>(request.getLimit());
 
         boolean hasMorePages = false;
+        String nextCursor = null;
 
         if(request.getLimit() > 0) {
-            int followersIndex = getFollowersStartingIndex(request.getLastFollower(), allFollowers);
-
-            for(int limitCounter = 0; followersIndex < allFollowers.size() && limitCounter < request.getLimit(); followersIndex++, limitCounter++) {
-                responseFollowers.add(allFollowers.get(followersIndex));
-            }
-
-            hasMorePages = followersIndex < allFollowers.size();
+            // Resume after the last follower returned rather than at an index, so a follow or
+            // unfollow between pages doesn't make the next page skip or repeat anyone
+            User lastFollower = request.getLastFollower();
+            FollowList.Page page = getDataStore().getFollowerPage(request.getUser().getAlias(),
+                    PageCursor.decodeLastPosition(request.getCursor()),
+                    lastFollower == null ? null : lastFollower.getAlias(), request.getLimit(),
+                    getFollowersLoader(request.getUser().getAlias()));
+
+            responseFollowers.addAll(page.getUsers());
+            hasMorePages = page.getHasMorePages();
+            nextCursor = hasMorePages ? PageCursor.encodeLastPosition(page.getLastPosition()) : null;
         }
 
-        return new FollowersResponse(responseFollowers, hasMorePages);
-    }
-
-    /**
-     * Determines the index for the first follower in the specified 'allFollowers' list that should
-     * be returned in the current request. This will be the index of the next follower after the
-     * specified 'lastFollower'.
-     *
-     * @param lastFollower the last follower that was returned in the previous request or null if
-     *                     there was no previous request.
-     * @param allFollowers the generated list of followers from which we are returning paged results.
-     * @return the index of the first follower to be returned.
-     */
-    private int getFollowersStartingIndex(User lastFollower, List<User> allFollowers) {
-
-        int followersIndex = 0;
-
-        if(lastFollower != null) {
-            // This is a paged request for something after the first page. Find the first item
-            // we should return
-            for (int i = 0; i < allFollowers.size(); i++) {
-                if(lastFollower.equals(allFollowers.get(i))) {
-                    // We found the index of the last item returned last time. Increment to get
-                    // to the first one we should return
-                    followersIndex = i + 1;
-                }
-            }
-        }
-
-        return followersIndex;
+        return new FollowersResponse(responseFollowers, hasMorePages, nextCursor);
     }
 
     /**
@@ -503,42 +661,174 @@ public class ServerFacadeMine {
     public StoryResponse getStory(StoryRequest request) {
 
         // Used in place of assert statements because Android does not support them
-        if(BuildConfig.DEBUG) {
-            if(request.getLimit() < 0) {
-                throw new AssertionError();
-            }
-
-            if(request.getUser() == null) {
-                throw new AssertionError();
-            }
+        if(request.getLimit() < 0) {
+            throw new AssertionError();
         }
 
-        if(storyStatusesByUser == null) {
-            storyStatusesByUser = initializeStory();
+        if(request.getUser() == null) {
+            throw new AssertionError();
         }
 
-        List<Status> allStatuses = storyStatusesByUser.get(request.getUser().getAlias());
+        Timeline timeline = getDataStore().getStory(request.getUser().getAlias(), getStoryLoader(request.getUser().getAlias()));
         List<Status> responseStatuses = new ArrayList<>(request.getLimit());
 
         boolean hasMorePages = false;
+        String nextCursor = null;
 
-        if (allStatuses == null) {
+        if (timeline == null) {
             return new StoryResponse(responseStatuses, hasMorePages);
         }
 
         if(request.getLimit() > 0) {
-            if (responseStatuses != null) {
-                int statusesIndex = getStoryStartingIndex(request.getLastStatus(), allStatuses);
+            int position = getStartingPosition(request.getCursor(), request.getLastStatus(), timeline);
+            responseStatuses = timeline.getPage(position, request.getLimit());
 
-                for(int limitCounter = 0; statusesIndex < allStatuses.size() && limitCounter < request.getLimit(); statusesIndex++, limitCounter++) {
-                    responseStatuses.add(allStatuses.get(statusesIndex));
-                }
+            int nextPosition = position - responseStatuses.size();
+            hasMorePages = nextPosition > 0;
+            nextCursor = hasMorePages ? PageCursor.encode(nextPosition) : null;
+        }
 
-                hasMorePages = statusesIndex < allStatuses.size();
-            }
+        return new StoryResponse(responseStatuses, hasMorePages, nextCursor);
+    }
+
+    /**
+     * Returns the statuses that mention the user specified in the request, newest first. Uses
+     * information in the request object to limit the number of statuses returned and to return
+     * the next set of statuses after any that were returned in a previous request. The statuses
+     * are read from an index of mentions that is kept up to date as statuses are published, so a
+     * page costs the same however many statuses there are. This function doesn't actually make a
+     * network request.
+     *
+     * @param request contains information about the mentioned user and any other information
+     *                required to satisfy the request.
+     * @return the mentions response.
+     */
+    public MentionsResponse getMentions(MentionsRequest request) {
+        if(request.getLimit() < 0 || request.getUser() == null) {
+            throw new AssertionError();
+        }
+
+        Timeline timeline = getDataStore().getMentions(request.getUser().getAlias(), getStoryLoaders());
+        List<Status> responseStatuses = new ArrayList<>(request.getLimit());
+
+        boolean hasMorePages = false;
+        String nextCursor = null;
+
+        if (timeline == null) {
+            return new MentionsResponse(responseStatuses, hasMorePages);
+        }
+
+        if(request.getLimit() > 0) {
+            int position = getStartingPosition(request.getCursor(), request.getLastStatus(), timeline);
+            responseStatuses = timeline.getPage(position, request.getLimit());
+
+            int nextPosition = position - responseStatuses.size();
+            hasMorePages = nextPosition > 0;
+            nextCursor = hasMorePages ? PageCursor.encode(nextPosition) : null;
+        }
+
+        return new MentionsResponse(responseStatuses, hasMorePages, nextCursor);
+    }
+
+    /**
+     * Returns the statuses whose text matches the query in the request, newest first. Uses
+     * information in the request object to limit the number of statuses returned and to return
+     * the next set of statuses after any that were returned in a previous request. The statuses
+     * are found with an inverted index over their text that is kept up to date as statuses are
+     * published. This function doesn't actually make a network request.
+     *
+     * @param request contains the query and any other information required to satisfy the
+     *                request.
+     * @return the search response.
+     */
+    public SearchResponse search(SearchRequest request) {
+        if(request.getLimit() < 0 || request.getQuery() == null) {
+            throw new AssertionError();
+        }
+
+        // The cursor holds the id of the last status returned
+        int lastId = PageCursor.decode(request.getCursor());
+        SearchIndex.Page page = getDataStore().getSearchIndex(getStoryLoaders()).search(request.getQuery(),
+                request.getMatchAll(), lastId < 0 ? Integer.MAX_VALUE : lastId, request.getLimit());
+
+        String nextCursor = page.getHasMorePages() ? PageCursor.encode(page.getLastId()) : null;
+        return new SearchResponse(page.getStatuses(), page.getHasMorePages(), nextCursor);
+    }
+
+    /**
+     * Returns the hashtags, mentions and words used most often in the statuses submitted within
+     * the window given in the request, most used first. The counts are kept as statuses are
+     * submitted, in a fixed amount of memory, so they may be slightly over the true counts. This
+     * function doesn't actually make a network request.
+     *
+     * @param request contains the length of the window and the number of terms to return.
+     * @return the trending response.
+     */
+    public TrendingResponse getTrending(TrendingRequest request) {
+        if(request.getLimit() < 0 || request.getWindowMinutes() <= 0) {
+            throw new AssertionError();
+        }
+
+        List<TrendingTerms.Trend> trends = getDataStore().getTrendingTerms().getTopTerms(
+                request.getWindowMinutes() * 60L * 1000L, request.getLimit());
+        List<String> terms = new ArrayList<>(trends.size());
+        List<Long> counts = new ArrayList<>(trends.size());
+
+        for(TrendingTerms.Trend trend : trends) {
+            terms.add(trend.getTerm());
+            counts.add(trend.getCount());
+        }
+
+        return new TrendingResponse(terms, counts);
+    }
+
+    /**
+     * Returns users for the user in the request to follow: the ones followed by the most of the
+     * people the user follows, leaving out anyone the user already follows. The traversal is
+     * bounded and its result is cached until the user, or someone they follow, changes who they
+     * follow. This function doesn't actually make a network request.
+     *
+     * @param request contains the user and the number of users to return.
+     * @return the recommendations response.
+     */
+    public RecommendationsResponse getRecommendations(RecommendationsRequest request) {
+        if(request.getLimit() < 0 || request.getUser() == null) {
+            throw new AssertionError();
+        }
+
+        List<FollowRecommender.Recommendation> recommendations = getDataStore().getFollowRecommender().recommend(
+                request.getUser().getAlias(), request.getLimit(), new FollowRecommender.FolloweeSource() {
+                    @Override
+                    public List<User> getFollowees(String alias) {
+                        return getDataStore().getFollowees(alias, getFolloweesLoader(alias));
+                    }
+                });
+        List<User> users = new ArrayList<>(recommendations.size());
+        List<Integer> mutualCounts = new ArrayList<>(recommendations.size());
+
+        for(FollowRecommender.Recommendation recommendation : recommendations) {
+            users.add(recommendation.getUser());
+            mutualCounts.add(recommendation.getMutualCount());
+        }
+
+        return new RecommendationsResponse(users, mutualCounts);
+    }
+
+    /**
+     * Returns the users whose alias, first name or last name starts with the prefix in the
+     * request, those with the most followers first. The answer is read straight from a prefix
+     * index kept up to date as users register and are followed, so it costs the same however
+     * many users there are. This function doesn't actually make a network request.
+     *
+     * @param request contains the prefix typed so far and the number of users to return.
+     * @return the typeahead response.
+     */
+    public TypeaheadResponse getTypeahead(TypeaheadRequest request) {
+        if(request.getLimit() < 0 || request.getPrefix() == null) {
+            throw new AssertionError();
         }
 
-        return new StoryResponse(responseStatuses, hasMorePages);
+        return new TypeaheadResponse(getUserTypeahead().complete(request.getPrefix(), request.getLimit()));
     }
 
     /**
@@ -554,113 +844,104 @@ public class ServerFacadeMine {
     public FeedResponse getFeed(FeedRequest request) {
 
         // Used in place of assert statements because Android does not support them
-        if(BuildConfig.DEBUG) {
-            if(request.getLimit() < 0) {
-                throw new AssertionError();
-            }
-
-            if(request.getUser() == null) {
-                throw new AssertionError();
-            }
+        if(request.getLimit() < 0) {
+            throw new AssertionError();
         }
 
-        if(feedStatusesByUser == null) {
-            feedStatusesByUser = initializeFeed();
+        if(request.getUser() == null) {
+            throw new AssertionError();
         }
 
-        List<Status> allStatuses = feedStatusesByUser.get(request.getUser().getAlias());
+        List<FeedMerger.Source> sources = getFeedSources(request.getUser().getAlias());
         List<Status> responseStatuses = new ArrayList<>(request.getLimit());
 
         boolean hasMorePages = false;
+        String nextCursor = null;
 
-        if (allStatuses == null) {
+        if (sources.isEmpty()) {
             return new FeedResponse(responseStatuses, hasMorePages);
         }
 
         if(request.getLimit() > 0) {
-            if (responseStatuses != null) {
-                int statusesIndex = getFeedStartingIndex(request.getLastStatus(), allStatuses);
+            long beforeSequence = getStartingSequence(request.getCursor(), request.getLastStatus(), sources);
+            FeedMerger.Page page = FeedMerger.merge(sources, beforeSequence, request.getLimit());
+            responseStatuses = page.getStatuses();
 
-                for(int limitCounter = 0; statusesIndex < allStatuses.size() && limitCounter < request.getLimit(); statusesIndex++, limitCounter++) {
-                    responseStatuses.add(allStatuses.get(statusesIndex));
-                }
-
-                hasMorePages = statusesIndex < allStatuses.size();
-            }
+            hasMorePages = page.getHasMorePages();
+            nextCursor = hasMorePages ? PageCursor.encodeSequence(page.getLastSequence()) : null;
         }
 
-        return new FeedResponse(responseStatuses, hasMorePages);
+        return new FeedResponse(responseStatuses, hasMorePages, nextCursor);
     }
 
 
     public List<Status> get21Statuses(User definedUser) {
         List<Status> feed = new ArrayList<>();
-        DateFormat dateFormat = new SimpleDateFormat("MMM d yyyy h:mm aaa");
 
         if(definedUser == null) {
             // --------------------- 1--------------------- //
             String uOne = "multiply.com";
             String mOne = "@JacobWest @RickyMartin";
             Date d = createDate(2020, 0, 11, 0, 13);
-            String a = dateFormat.format(d);
+            long a = d.getTime();
             Status s = new Status(BillBelichick, "This is a text @JacobWest @RickyMartin multiply.com", uOne, a, mOne);
             feed.add(s); // # 1
 
             // --------------------- 2 --------------------- //
             String uTwo = "tinyurl.com";
             d = createDate(2020, 0, 11, 0, 14);
-            String b = dateFormat.format(d);
+            long b = d.getTime();
             s = new Status(Rudy, "You should visit tinyurl.com", uTwo, b, null);
             feed.add(s);
 
             // --------------------- 3 --------------------- //
             String mThree = "@JacobWest";
             d = createDate(2019, 3, 16, 3, 34);
-            String c = dateFormat.format(d);
+            long c = d.getTime();
             s = new Status(theMedia, "Dolphins @JacobWest have Tua", null, c, mThree);
             feed.add(s);
 
             // --------------------- 4 --------------------- //
             d = createDate(2014, 7, 30, 17, 01);
-            String de = dateFormat.format(d);
+            long de = d.getTime();
             s = new Status(JacobWest, "Jacksonville will draft third", null, de, null);
             feed.add(s);
 
             // --------------------- 5 --------------------- //
             String uFive = "dell.com";
             d = createDate(2012, 3, 3, 18, 21);
-            String e = dateFormat.format(d);
+            long e = d.getTime();
             s = new Status(RickyMartin, "I endorse dell.com", uFive, e, null);
             feed.add(s);
 
             // --------------------- 6 --------------------- //
             String mSix = "@RobertGardner @Snowden @TristanThompson";
             d = createDate(2002, 10, 19, 14, 59);
-            String f = dateFormat.format(d);
+            long f = d.getTime();
             s = new Status(theMedia, "@RobertGardner @Snowden @TristanThompson", null, f, mSix);
             feed.add(s);
 
             // --------------------- 7 --------------------- //
             d = createDate(2000, 10, 19, 14, 59);
-            String g = dateFormat.format(d);
+            long g = d.getTime();
             s = new Status(KCP, ";)", null, g, null);
             feed.add(s);
 
             // --------------------- 8 --------------------- //
             d = createDate(2003, 5, 30, 16, 11);
-            String h = dateFormat.format(d);
+            long h = d.getTime();
             s = new Status(TristanThompson, "One, two, pick and roll", null, h, null);
             feed.add(s);
 
             // --------------------- 9 --------------------- //
             d = createDate(2001, 9, 4, 18, 29);
-            String i = dateFormat.format(d);
+            long i = d.getTime();
             s = new Status(Snowden, "A lot of old guys past their prime.", null, i, null);
             feed.add(s);
 
             // --------------------- 10 --------------------- //
             d = createDate(2019, 8, 12, 19, 1);
-            String j = dateFormat.format(d);
+            long j = d.getTime();
             s = new Status(TristanThompson, "I remember being a role player.", null, j, null);
             feed.add(s);
 
@@ -668,20 +949,20 @@ public class ServerFacadeMine {
             String uEleven = "salon.com";
             String mEleven = "@KCP";
             d = createDate(2007, 4, 15, 4, 43);
-            String k = dateFormat.format(d);
+            long k = d.getTime();
             s = new Status(theMedia, "Why did we sign him? @KCP. salon.com", uEleven, k, mEleven);
             feed.add(s);
 
             // --------------------- 12 --------------------- //
             String mTwelve = "@theMedia @Rudy";
             d = createDate(2016, 8, 9, 8, 5);
-            String l = dateFormat.format(d);
+            long l = d.getTime();
             s = new Status(BillBelichick, "Rudy and I are chill @theMedia @Rudy", null, l, mTwelve);
             feed.add(s);
 
             // --------------------- 13 --------------------- //
             d = createDate(2013, 3, 13, 9, 56);
-            String m = dateFormat.format(d);
+            long m = d.getTime();
             s = new Status(JacobWest, "I am the tinker man!", null, m, null);
             feed.add(s);
 
@@ -689,49 +970,49 @@ public class ServerFacadeMine {
             String uFourteen = "https://www.bostonherald.com/wp-content/uploads/2019/09/patsnl037.jpg";
             String mFourteen = "@BillBelichick";
             d = createDate(2013, 3, 13, 9, 55);
-            String n = dateFormat.format(d);
+            long n = d.getTime();
             s = new Status(JacobWest, "We are the new power couple @BillBelichick https://www.bostonherald.com/wp-content/uploads/2019/09/patsnl037.jpg", uFourteen, n, mFourteen);
             feed.add(s);
 
             // --------------------- 15 --------------------- //
             d = createDate(2012, 3, 13, 9, 55);
-            String o = dateFormat.format(d);
+            long o = d.getTime();
             s = new Status(Snowden, "That takes a lot of ownership!", null, o, null);
             feed.add(s);
 
             // --------------------- 16 --------------------- //
             d = createDate(2012, 3, 12, 9, 55);
-            String p = dateFormat.format(d);
+            long p = d.getTime();
             s = new Status(TristanThompson, "We beat the clippers!", null, p, null);
             feed.add(s);
 
             // --------------------- 17 --------------------- //
             d = createDate(2012, 3, 12, 9, 45);
-            String q = dateFormat.format(d);
+            long q = d.getTime();
             s = new Status(BillBelichick, "I lift bro!", null, q, null);
             feed.add(s);
 
             // --------------------- 18 --------------------- //
             d = createDate(2010, 8, 17, 9, 55);
-            String r = dateFormat.format(d);
+            long r = d.getTime();
             s = new Status(Rudy, "The truth is an acquired taste.", null, r, null);
             feed.add(s);
 
             // --------------------- 19 --------------------- //
             d = createDate(2020, 8, 17, 9, 55);
-            String sa = dateFormat.format(d);
+            long sa = d.getTime();
             s = new Status(RickyMartin, "Encuentra la buena vida baby! #CoronaLite", null, sa, null);
             feed.add(s);
 
             // --------------------- 20 --------------------- //
             d = createDate(2020, 0, 27, 23, 55);
-            String t = dateFormat.format(d);
+            long t = d.getTime();
             s = new Status(KCP, "Me calle bien el Snoop Dogg", null, t, null);
             feed.add(s);
 
             // --------------------- 21 --------------------- //
             d = createDate(2020, 3, 7, 9, 4);
-            String u = dateFormat.format(d);
+            long u = d.getTime();
             s = new Status(RobertGardner, "Hago buena musica", null, u, null);
             feed.add(s);
         } else {
@@ -739,65 +1020,65 @@ public class ServerFacadeMine {
             String uOne = "multiply.com";
             String mOne = "@JacobWest @RickyMartin";
             Date d = createDate(2020, 0, 11, 0, 13);
-            String a = dateFormat.format(d);
+            long a = d.getTime();
             Status s = new Status(definedUser, "This is a text @JacobWest @RickyMartin multiply.com", uOne, a, mOne);
             feed.add(s); // # 1
 
             // --------------------- 2 --------------------- //
             String uTwo = "tinyurl.com";
             d = createDate(2020, 0, 11, 0, 14);
-            String b = dateFormat.format(d);
+            long b = d.getTime();
             s = new Status(definedUser, "You should visit tinyurl.com", uTwo, b, null);
             feed.add(s);
 
             // --------------------- 3 --------------------- //
             String mThree = "@JacobWest";
             d = createDate(2019, 3, 16, 3, 34);
-            String c = dateFormat.format(d);
+            long c = d.getTime();
             s = new Status(definedUser, "Dolphins @JacobWest have Tua", null, c, mThree);
             feed.add(s);
 
             // --------------------- 4 --------------------- //
             d = createDate(2014, 7, 30, 17, 01);
-            String de = dateFormat.format(d);
+            long de = d.getTime();
             s = new Status(definedUser, "Jacksonville will draft third", null, de, null);
             feed.add(s);
 
             // --------------------- 5 --------------------- //
             String uFive = "dell.com";
             d = createDate(2012, 3, 3, 18, 21);
-            String e = dateFormat.format(d);
+            long e = d.getTime();
             s = new Status(definedUser, "I endorse dell.com", uFive, e, null);
             feed.add(s);
 
             // --------------------- 6 --------------------- //
             String mSix = "@RobertGardner @Snowden @TristanThompson";
             d = createDate(2002, 10, 19, 14, 59);
-            String f = dateFormat.format(d);
+            long f = d.getTime();
             s = new Status(definedUser, "@RobertGardner @Snowden @TristanThompson", null, f, mSix);
             feed.add(s);
 
             // --------------------- 7 --------------------- //
             d = createDate(2000, 10, 19, 14, 59);
-            String g = dateFormat.format(d);
+            long g = d.getTime();
             s = new Status(definedUser, ";)", null, g, null);
             feed.add(s);
 
             // --------------------- 8 --------------------- //
             d = createDate(2003, 5, 30, 16, 11);
-            String h = dateFormat.format(d);
+            long h = d.getTime();
             s = new Status(definedUser, "One, two, pick and roll", null, h, null);
             feed.add(s);
 
             // --------------------- 9 --------------------- //
             d = createDate(2001, 9, 4, 18, 29);
-            String i = dateFormat.format(d);
+            long i = d.getTime();
             s = new Status(definedUser, "A lot of old guys past their prime.", null, i, null);
             feed.add(s);
 
             // --------------------- 10 --------------------- //
             d = createDate(2019, 8, 12, 19, 1);
-            String j = dateFormat.format(d);
+            long j = d.getTime();
             s = new Status(definedUser, "I remember being a role player.", null, j, null);
             feed.add(s);
 
@@ -805,19 +1086,19 @@ public class ServerFacadeMine {
             String uEleven = "salon.com";
             String mEleven = "@KCP";
             d = createDate(2007, 4, 15, 4, 43);
-            String k = dateFormat.format(d);
+            long k = d.getTime();
             s = new Status(definedUser, "Why did we sign him? @KCP. salon.com", uEleven, k, mEleven);
             feed.add(s);
 
             // --------------------- 12 --------------------- //
             String mTwelve = "@theMedia @Rudy";
-            String l = dateFormat.format(d);
+            long l = d.getTime();
             s = new Status(definedUser, "Rudy and I are chill @theMedia @Rudy", null, l, mTwelve);
             feed.add(s);
 
             // --------------------- 13 --------------------- //
             d = createDate(2013, 3, 13, 9, 56);
-            String m = dateFormat.format(d);
+            long m = d.getTime();
             s = new Status(definedUser, "I am the tinker man!", null, m, null);
             feed.add(s);
 
@@ -825,49 +1106,49 @@ public class ServerFacadeMine {
             String uFourteen = "https://www.bostonherald.com/wp-content/uploads/2019/09/patsnl037.jpg";
             String mFourteen = "@BillBelichick";
             d = createDate(2013, 3, 13, 9, 55);
-            String n = dateFormat.format(d);
+            long n = d.getTime();
             s = new Status(definedUser, "We are the new power couple @BillBelichick https://www.bostonherald.com/wp-content/uploads/2019/09/patsnl037.jpg", uFourteen, n, mFourteen);
             feed.add(s);
 
             // --------------------- 15 --------------------- //
             d = createDate(2012, 3, 13, 9, 55);
-            String o = dateFormat.format(d);
+            long o = d.getTime();
             s = new Status(definedUser, "That takes a lot of ownership!", null, o, null);
             feed.add(s);
 
             // --------------------- 16 --------------------- //
             d = createDate(2012, 3, 12, 9, 55);
-            String p = dateFormat.format(d);
+            long p = d.getTime();
             s = new Status(definedUser, "We beat the clippers!", null, p, null);
             feed.add(s);
 
             // --------------------- 17 --------------------- //
             d = createDate(2012, 3, 12, 9, 45);
-            String q = dateFormat.format(d);
+            long q = d.getTime();
             s = new Status(definedUser, "I lift bro!", null, q, null);
             feed.add(s);
 
             // --------------------- 18 --------------------- //
             d = createDate(2010, 8, 17, 9, 55);
-            String r = dateFormat.format(d);
+            long r = d.getTime();
             s = new Status(definedUser, "The truth is an acquired taste.", null, r, null);
             feed.add(s);
 
             // --------------------- 19 --------------------- //
             d = createDate(2020, 8, 17, 9, 55);
-            String sa = dateFormat.format(d);
+            long sa = d.getTime();
             s = new Status(definedUser, "Encuentra la buena vida baby! #CoronaLite", null, sa, null);
             feed.add(s);
 
             // --------------------- 20 --------------------- //
             d = createDate(2020, 0, 27, 23, 55);
-            String t = dateFormat.format(d);
+            long t = d.getTime();
             s = new Status(definedUser, "Me calle bien el Snoop Dogg", null, t, null);
             feed.add(s);
 
             // --------------------- 21 --------------------- //
             d = createDate(2020, 3, 7, 9, 4);
-            String u = dateFormat.format(d);
+            long u = d.getTime();
             s = new Status(definedUser, "Hago buena musica", null, u, null);
             feed.add(s);
         }
@@ -914,162 +1195,135 @@ public class ServerFacadeMine {
     }
 
     /**
-     * Gets a list of statuses by user to be returned.
+     * Returns the dummy users that have a generated story.
+     *
+     * @return the users.
      */
-    private Map<String, List<Status>> initializeStory() {
-        Map<String, List<Status>> returnMe = new HashMap<String, List<Status>>();
-        List<Status> jacobStatusList = get21Statuses(JacobWest);
-        returnMe.put(JacobWest.getAlias(), jacobStatusList);
-        List<Status> rickyStatusList = get21Statuses(RickyMartin);
-        returnMe.put(RickyMartin.getAlias(), rickyStatusList);
-        List<Status> robertStatusList = get21Statuses(RobertGardner);
-        returnMe.put(RobertGardner.getAlias(), robertStatusList);
-        List<Status> snowdenStatusList = get21Statuses(Snowden);
-        returnMe.put(Snowden.getAlias(), snowdenStatusList);
-        List<Status> tristanStatusList = get21Statuses(TristanThompson);
-        returnMe.put(TristanThompson.getAlias(), tristanStatusList);
-        List<Status> kcpStatusList = get21Statuses(KCP);
-        returnMe.put(KCP.getAlias(), kcpStatusList);
-        List<Status> mediaStatusList = get21Statuses(theMedia);
-        returnMe.put(theMedia.getAlias(), mediaStatusList);
-        List<Status> rudyStatusList = get21Statuses(Rudy);
-        returnMe.put(Rudy.getAlias(), rudyStatusList);
-        List<Status> billStatusList = get21Statuses(BillBelichick);
-        returnMe.put(BillBelichick.getAlias(), billStatusList);
-        List<Status> testStatusList = get21Statuses(TestUser);
-        returnMe.put(TestUser.getAlias(), testStatusList);
-        List<Status> a = get21Statuses(user1);
-        returnMe.put(user1.getAlias(), a);
-        List<Status> b = get21Statuses(user2);
-        returnMe.put(user2.getAlias(), b);
-        List<Status> c = get21Statuses(user3);
-        returnMe.put(user3.getAlias(), c);
-        List<Status> d = get21Statuses(user4);
-        returnMe.put(user4.getAlias(), d);
-        List<Status> e = get21Statuses(user5);
-        returnMe.put(user5.getAlias(), e);
-        List<Status> f = get21Statuses(user6);
-        returnMe.put(user6.getAlias(), f);
-        List<Status> g = get21Statuses(user7);
-        returnMe.put(user7.getAlias(), g);
-        List<Status> h = get21Statuses(user8);
-        returnMe.put(user8.getAlias(), h);
-        List<Status> i = get21Statuses(user9);
-        returnMe.put(user9.getAlias(), i);
-        List<Status> j = get21Statuses(user10);
-        returnMe.put(user10.getAlias(), j);
-        List<Status> k = get21Statuses(user11);
-        returnMe.put(user11.getAlias(), k);
-        List<Status> l = get21Statuses(user12);
-        returnMe.put(user12.getAlias(), l);
-        List<Status> m = get21Statuses(user13);
-        returnMe.put(user13.getAlias(), m);
-        List<Status> n = get21Statuses(user14);
-        returnMe.put(user14.getAlias(), n);
-        List<Status> o = get21Statuses(user15);
-        returnMe.put(user15.getAlias(), o);
-        List<Status> p = get21Statuses(user16);
-        returnMe.put(user16.getAlias(), p);
-        List<Status> q = get21Statuses(user17);
-        returnMe.put(user17.getAlias(), q);
-        List<Status> r = get21Statuses(user18);
-        returnMe.put(user18.getAlias(), r);
-        List<Status> s = get21Statuses(user19);
-        returnMe.put(user19.getAlias(), s);
-        List<Status> t = get21Statuses(user20);
-        returnMe.put(user20.getAlias(), t);
-        return returnMe;
+    private List<User> getStoryUsers() {
+        return Arrays.asList(JacobWest, RickyMartin, RobertGardner, Snowden, TristanThompson, KCP,
+                theMedia, Rudy, BillBelichick, TestUser, user1, user2, user3, user4, user5, user6,
+                user7, user8, user9, user10, user11, user12, user13, user14, user15, user16, user17,
+                user18, user19, user20);
+    }
+
+    /**
+     * Gets the list of statuses in the story of the specified user.
+     *
+     * @param alias the alias of the user.
+     * @return the statuses, newest first, or null if the user has no generated story.
+     */
+    private List<Status> initializeStory(String alias) {
+        for(User user : getStoryUsers()) {
+            if(user.getAlias().equals(alias)) {
+                return get21Statuses(user);
+            }
+        }
+
+        return null;
     }
 
 
     private Date createDate(int year, int month, int day, int hour, int minute) {
-        Date d = new Date(year - 1900, month, day);
-        d.setHours(hour);
-        d.setMinutes(minute);
-        return d;
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTime();
     }
 
     /**
-     * Determines the index for the first status in the specified 'allStatuses' list that should
-     * be returned in the current request. This will be the index of the next status after the
-     * specified 'lastStatus'.
+     * Determines the position in the specified timeline that the current request should start
+     * reading from. When the request carries a cursor from a previous response the position is
+     * read straight from it. Otherwise the page starts after the specified 'lastStatus', or at the
+     * newest status if there was no previous request.
      *
-     * @param lastStatus the last follower that was returned in the previous request or null if
-     *                     there was no previous request.
-     * @param allStatuses the generated list of followers from which we are returning paged results.
-     * @return the index of the first follower to be returned.
+     * @param cursor the cursor returned by the previous request or null if there was none.
+     * @param lastStatus the last status that was returned in the previous request or null if
+     *                   there was no previous request.
+     * @param timeline the timeline from which we are returning paged results.
+     * @return the position to start reading from.
      */
-    private int getStoryStartingIndex(Status lastStatus, List<Status> allStatuses) {
+    private int getStartingPosition(String cursor, Status lastStatus, Timeline timeline) {
 
-        int statusesIndex = 0;
+        int position = PageCursor.decode(cursor);
+
+        if(position >= 0) {
+            return Math.min(position, timeline.size());
+        }
 
         if(lastStatus != null) {
-            // This is a paged request for something after the first page. Find the first item
-            // we should return
-            for (int i = 0; i < allStatuses.size(); i++) {
-                if(lastStatus.equals(allStatuses.get(i))) {
-                    // We found the index of the last item returned last time. Increment to get
-                    // to the first one we should return
-                    statusesIndex = i + 1;
-                }
-            }
+            return timeline.getPositionAfter(lastStatus);
         }
 
-        return statusesIndex;
+        return timeline.getFirstPagePosition();
     }
 
     /**
-     * Determines the index for the first status in the specified 'allStatuses' list that should
-     * be returned in the current request. This will be the index of the next status after the
-     * specified 'lastStatus'.
+     * Returns the timelines that make up the feed of the specified user: the statuses pushed to
+     * the user's own feed, plus the story of every followee whose statuses are pulled at read
+     * time. Statuses by pulled followees are left out of the pushed feed so that anything pushed
+     * to it before the followee switched modes isn't returned twice.
      *
-     * @param lastStatus the last follower that was returned in the previous request or null if
-     *                     there was no previous request.
-     * @param allStatuses the generated list of followers from which we are returning paged results.
-     * @return the index of the first follower to be returned.
+     * @param alias the alias of the user whose feed is being read.
+     * @return the timelines to merge.
      */
-    private int getFeedStartingIndex(Status lastStatus, List<Status> allStatuses) {
+    private List<FeedMerger.Source> getFeedSources(String alias) {
+        List<FeedMerger.Source> sources = new ArrayList<>();
+        final Set<String> pulledAliases = new HashSet<>();
 
-        int statusesIndex = 0;
+        for(User followee : getDataStore().getFollowees(alias, getFolloweesLoader(alias))) {
+            String followeeAlias = followee.getAlias();
+            int followerCount = getDataStore().getFollowerCount(followeeAlias, getFollowersLoader(followeeAlias));
 
-        if(lastStatus != null) {
-            // This is a paged request for something after the first page. Find the first item
-            // we should return
-            for (int i = 0; i < allStatuses.size(); i++) {
-                if(lastStatus.equals(allStatuses.get(i))) {
-                    // We found the index of the last item returned last time. Increment to get
-                    // to the first one we should return
-                    statusesIndex = i + 1;
+            if(getDataStore().getFeedMode(followeeAlias, followerCount) == DataStore.FeedMode.PULL
+                    && pulledAliases.add(followeeAlias)) {
+                Timeline story = getDataStore().getStory(followeeAlias, getStoryLoader(followeeAlias));
+
+                if(story != null) {
+                    sources.add(new FeedMerger.Source(story, null));
                 }
             }
         }
 
-        return statusesIndex;
+        Timeline feed = getDataStore().getFeed(alias, getFeedLoader());
+
+        if(feed != null) {
+            FeedMerger.Filter filter = pulledAliases.isEmpty() ? null : new FeedMerger.Filter() {
+                @Override
+                public boolean accept(Status status) {
+                    return !pulledAliases.contains(status.getUser().getAlias());
+                }
+            };
+            sources.add(new FeedMerger.Source(feed, filter));
+        }
+
+        return sources;
     }
 
     /**
-     * Generates the follower data.
+     * Determines the sequence below which the next page of a merged feed is read. When the
+     * request carries a cursor from a previous response the sequence is read straight from it.
+     * Otherwise the page starts after the specified 'lastStatus', or at the newest status if there
+     * was no previous request.
+     *
+     * @param cursor the cursor returned by the previous request or null if there was none.
+     * @param lastStatus the last status that was returned in the previous request or null if
+     *                   there was no previous request.
+     * @param sources the timelines that make up the feed.
+     * @return the sequence to read below.
      */
-    private Map<User, List<User>> initializeFollowers() {
-
-        Map<User, List<User>> followersByFollower = new HashMap<>();
-
-        List<Follow> follows = getFollowGenerator().generateUsersAndFollows(100,
-                0, 50, FollowGenerator.Sort.FOLLOWER_FOLLOWEE);
+    private long getStartingSequence(String cursor, Status lastStatus, List<FeedMerger.Source> sources) {
 
-        // Populate a map of followers, keyed by follower so we can easily handle follower requests
-        for(Follow follow : follows) {
-            List<User> followers = followersByFollower.get(follow.getFollower());
+        long sequence = PageCursor.decodeSequence(cursor);
 
-            if(followers == null) {
-                followers = new ArrayList<>();
-                followersByFollower.put(follow.getFollower(), followers);
-            }
+        if(sequence >= 0) {
+            return sequence;
+        }
 
-            followers.add(follow.getFollowee());
+        if(lastStatus != null) {
+            return FeedMerger.findSequence(sources, lastStatus);
         }
 
-        return followersByFollower;
+        return Long.MAX_VALUE;
     }
 
     /**
@@ -1096,16 +1350,151 @@ public class ServerFacadeMine {
                 user18, user20, BillBelichick, TestUser);
     }
 
+    /**
+     * Returns a loader that builds the dummy story of the specified user the first time it is
+     * needed by the {@link DataStore}.
+     *
+     * @param alias the alias of the user.
+     * @return the loader.
+     */
+    private DataStore.Loader<List<Status>> getStoryLoader(final String alias) {
+        return new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return initializeStory(alias);
+            }
+        };
+    }
+
+    /**
+     * Returns the story loader of every user with a generated story, keyed by alias.
+     *
+     * @return the loaders.
+     */
+    private Map<String, DataStore.Loader<List<Status>>> getStoryLoaders() {
+        Map<String, DataStore.Loader<List<Status>>> loaders = new LinkedHashMap<>();
+
+        for(User user : getStoryUsers()) {
+            loaders.put(user.getAlias(), getStoryLoader(user.getAlias()));
+        }
+
+        return loaders;
+    }
+
+    /**
+     * Returns a loader that builds the dummy feeds the first time they are needed by the
+     * {@link DataStore}.
+     *
+     * @return the loader.
+     */
+    private DataStore.Loader<Map<String, List<Status>>> getFeedLoader() {
+        return new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return initializeFeed();
+            }
+        };
+    }
+
+    /**
+     * Returns the follow graph, building it the first time it is used.
+     *
+     * @return the graph.
+     */
+    FollowGraph getFollowGraph() {
+        return getDataStore().getFollowGraph(new DataStore.Loader<FollowGraph>() {
+            @Override
+            public FollowGraph load() {
+                return initializeFollowGraph();
+            }
+        });
+    }
+
+    /**
+     * Returns a loader that seeds a user's followees the first time the user is seen by the
+     * {@link DataStore}. Users in the follow graph start with their followees from the graph and
+     * anyone else starts with the dummy followee data.
+     *
+     * @param alias the alias of the user.
+     * @return the loader.
+     */
+    private DataStore.Loader<List<User>> getFolloweesLoader(final String alias) {
+        return new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                List<User> followees = getFollowGraph().getFollowees(alias);
+                return followees != null ? followees : getDummyFollowees();
+            }
+        };
+    }
+
+    /**
+     * Returns a loader that seeds a user's followers the first time the user is seen by the
+     * {@link DataStore}. Users in the follow graph start with their followers from the graph and
+     * anyone else starts with the dummy follower data.
+     *
+     * @param alias the alias of the user.
+     * @return the loader.
+     */
+    private DataStore.Loader<List<User>> getFollowersLoader(final String alias) {
+        return new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                List<User> followers = getFollowGraph().getFollowers(alias);
+                return followers != null ? followers : getDummyFollowers();
+            }
+        };
+    }
+
     private boolean isRecognizedUser(String alias) {
-        if (alias.equals(user1.getAlias()) || alias.equals(user2.getAlias()) || alias.equals(user3.getAlias()) ||  alias.equals(user4.getAlias()) ||
-                alias.equals(user5.getAlias()) || alias.equals(user6.getAlias()) || alias.equals(user7.getAlias()) || alias.equals(user8.getAlias()) ||
-                alias.equals(user9.getAlias()) || alias.equals(user10.getAlias()) || alias.equals(user11.getAlias()) || alias.equals(user12.getAlias()) ||
-                alias.equals(user13.getAlias()) || alias.equals(user14.getAlias()) || alias.equals(user15.getAlias()) || alias.equals(user16.getAlias()) ||
-                alias.equals(user17.getAlias()) || alias.equals(user18.getAlias()) || alias.equals(user19.getAlias()) || alias.equals(user20.getAlias()) ||
-                alias.equals(JacobWest.getAlias()) || alias.equals(RickyMartin.getAlias()) || alias.equals(RobertGardner.getAlias()) || alias.equals(Snowden.getAlias()) ||
-                alias.equals(TristanThompson.getAlias()) || alias.equals(KCP.getAlias()) || alias.equals(theMedia.getAlias()) || alias.equals(Rudy.getAlias()) ||
-                alias.equals(BillBelichick.getAlias()) || alias.equals(TestUser.getAlias()) || alias.equals(userBarney.getAlias()) ||
-                alias.equals(DaffyDuck.getAlias()) || alias.equals(Zoe.getAlias())) { return true;}
-        return false;
+        return getUserRegistry().contains(alias);
+    }
+
+    /**
+     * Returns the registry of all users, seeding it with the dummy users the first time it is
+     * used.
+     *
+     * @return the registry.
+     */
+    UserRegistry getUserRegistry() {
+        return getDataStore().getUserRegistry(new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                return getDummyUsers();
+            }
+        });
+    }
+
+    /**
+     * Returns the typeahead index, building it from the registered users and their follower
+     * counts the first time it is used.
+     *
+     * @return the index.
+     */
+    UserTypeahead getUserTypeahead() {
+        return getDataStore().getUserTypeahead(new DataStore.Loader<UserTypeahead>() {
+            @Override
+            public UserTypeahead load() {
+                UserTypeahead typeahead = new UserTypeahead();
+
+                for(User user : getUserRegistry().getAllUsers()) {
+                    typeahead.add(user, getDataStore().getFollowerCount(user.getAlias(), getFollowersLoader(user.getAlias())));
+                }
+
+                return typeahead;
+            }
+        });
+    }
+
+    /**
+     * Returns every dummy user known to the server.
+     *
+     * @return the users.
+     */
+    private List<User> getDummyUsers() {
+        return Arrays.asList(user1, user2, user3, user4, user5, user6, user7, user8, user9, user10,
+                user11, user12, user13, user14, user15, user16, user17, user18, user19, user20,
+                JacobWest, RickyMartin, RobertGardner, Snowden, TristanThompson, KCP, theMedia, Rudy,
+                BillBelichick, TestUser, userBarney, DaffyDuck, Zoe);
     }
 }
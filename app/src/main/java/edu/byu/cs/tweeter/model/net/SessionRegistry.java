@@ -0,0 +1,271 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+
+/**
+ * The server's record of the sessions that are logged in. Every auth token handed out by a login
+ * or register maps to a session here, and a request is only trusted if its token maps to a live
+ * session for the user making the request. Looking up a token is a single hash lookup and takes
+ * no lock, so it is cheap enough to do on every request.
+ * <p>
+ * A session expires once it has gone unused for the session timeout. Expired sessions are purged
+ * with a hashed timing wheel: a ring of buckets, one per tick of time, where each session sits in
+ * the bucket of the tick it expires in. Advancing the wheel only looks at the buckets of the ticks
+ * that have passed, so purging costs time in proportion to the sessions that actually expire
+ * rather than to all of the sessions. Using a session pushes its expiry back without touching the
+ * wheel; when its bucket comes around the session is moved to the bucket of its new expiry.
+ */
+public class SessionRegistry {
+
+    public static final long DEFAULT_SESSION_TIMEOUT_MILLIS = 30 * 60 * 1000;
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * The source of the current time. Package-private so tests can control it.
+     */
+    interface Clock {
+        long currentTimeMillis();
+    }
+
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * A logged in session.
+     */
+    private static class Session {
+        private final String id;
+        private final String username;
+        private volatile long expiresAt;
+
+        // Guarded by the wheel lock
+        private long tick;
+
+        Session(String id, String username, long expiresAt) {
+            this.id = id;
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long sessionTimeoutMillis;
+    private final long tickMillis;
+    private final Clock clock;
+    private final ConcurrentMap<String, Session> sessionsById = new ConcurrentHashMap<>();
+
+    // Guarded by wheelLock
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final List<List<Session>> wheel;
+    private long nextTick;
+
+    /**
+     * Creates a registry whose sessions expire after {@link #DEFAULT_SESSION_TIMEOUT_MILLIS}
+     * milliseconds without use.
+     */
+    public SessionRegistry() {
+        this(DEFAULT_SESSION_TIMEOUT_MILLIS, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, SYSTEM_CLOCK);
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param sessionTimeoutMillis how long a session can go unused before it expires.
+     * @param tickMillis the length of time covered by one bucket of the wheel. Expired sessions
+     *                   are purged up to this long after they expire.
+     * @param wheelSize the number of buckets in the wheel. Sessions that expire more than one
+     *                  revolution ahead share buckets with sooner ones and are skipped until
+     *                  their turn comes.
+     * @param clock the source of the current time.
+     */
+    SessionRegistry(long sessionTimeoutMillis, long tickMillis, int wheelSize, Clock clock) {
+        this.sessionTimeoutMillis = sessionTimeoutMillis;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.wheel = new ArrayList<>(wheelSize);
+
+        for(int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<Session>());
+        }
+
+        this.nextTick = clock.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * Starts a new session for the specified user and purges any sessions that have expired.
+     *
+     * @param username the alias of the user who logged in.
+     * @return the auth token that identifies the session.
+     */
+    public AuthToken createSession(String username) {
+        long now = clock.currentTimeMillis();
+        AuthToken authToken = new AuthToken(username);
+        Session session = new Session(authToken.getId(), username, now + sessionTimeoutMillis);
+
+        sessionsById.put(session.id, session);
+
+        wheelLock.lock();
+        try {
+            schedule(session);
+        } finally {
+            wheelLock.unlock();
+        }
+
+        expireSessions();
+        return authToken;
+    }
+
+    /**
+     * Indicates whether the specified token identifies a live session of the specified user. A
+     * valid token's session is kept alive for another session timeout.
+     *
+     * @param authToken the token sent with a request. May be null.
+     * @param username the alias of the user making the request.
+     * @return true if the request can be trusted.
+     */
+    public boolean validate(AuthToken authToken, String username) {
+        if(authToken == null || authToken.getId() == null || username == null) {
+            return false;
+        }
+
+        Session session = sessionsById.get(authToken.getId());
+        if(session == null || !session.username.equals(username)) {
+            return false;
+        }
+
+        long now = clock.currentTimeMillis();
+        if(session.expiresAt <= now) {
+            return false;
+        }
+
+        session.expiresAt = now + sessionTimeoutMillis;
+        return true;
+    }
+
+    /**
+     * Ends the session identified by the specified token, so the token is no longer accepted.
+     *
+     * @param authToken the token.
+     * @return true if the token identified a session of the user it names.
+     */
+    public boolean revoke(AuthToken authToken) {
+        if(authToken == null || authToken.getId() == null) {
+            return false;
+        }
+
+        Session session = sessionsById.get(authToken.getId());
+        if(session == null || !session.username.equals(authToken.getUsername())) {
+            return false;
+        }
+
+        // The session is left in its bucket and dropped when the bucket next comes around
+        return sessionsById.remove(session.id, session);
+    }
+
+    /**
+     * Returns the number of sessions held, including expired ones that haven't been purged yet.
+     *
+     * @return the number of sessions.
+     */
+    public int size() {
+        return sessionsById.size();
+    }
+
+    /**
+     * Advances the wheel to the current time, purging the sessions that have expired. Called on
+     * every new session, so the number of sessions held is bounded by the number started within
+     * one session timeout. If another thread is already advancing the wheel this returns without
+     * waiting for it.
+     */
+    public void expireSessions() {
+        if(!wheelLock.tryLock()) {
+            return;
+        }
+
+        try {
+            long now = clock.currentTimeMillis();
+            long currentTick = now / tickMillis;
+
+            // Going round the wheel once visits every bucket, however long it has been
+            long lastTick = Math.min(currentTick, nextTick + wheel.size() - 1);
+
+            for(long tick = nextTick; tick <= lastTick; tick++) {
+                advance(wheel.get(bucketIndex(tick)), currentTick, now);
+            }
+
+            nextTick = Math.max(nextTick, currentTick + 1);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * Handles the sessions in a bucket whose tick has passed. Sessions that have expired are
+     * removed, and sessions that were used since they were scheduled are moved to the bucket of
+     * their new expiry.
+     */
+    private void advance(List<Session> bucket, long currentTick, long now) {
+        List<Session> rescheduled = null;
+
+        for(int i = bucket.size() - 1; i >= 0; i--) {
+            Session session = bucket.get(i);
+
+            if(session.tick > currentTick) {
+                // Due on a later revolution of the wheel
+                continue;
+            }
+
+            removeAt(bucket, i);
+
+            if(sessionsById.get(session.id) != session) {
+                // Already revoked
+                continue;
+            }
+
+            if(session.expiresAt <= now) {
+                sessionsById.remove(session.id, session);
+            } else {
+                if(rescheduled == null) {
+                    rescheduled = new ArrayList<>();
+                }
+                rescheduled.add(session);
+            }
+        }
+
+        // Rescheduling after the scan keeps sessions that land back in this bucket out of it
+        if(rescheduled != null) {
+            for(Session session : rescheduled) {
+                schedule(session);
+            }
+        }
+    }
+
+    private void schedule(Session session) {
+        session.tick = Math.max(session.expiresAt / tickMillis, nextTick);
+        wheel.get(bucketIndex(session.tick)).add(session);
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) (tick % wheel.size());
+    }
+
+    /**
+     * Removes an element by moving the last element into its place, which is constant time
+     * because the order of a bucket doesn't matter.
+     */
+    private static void removeAt(List<Session> bucket, int index) {
+        int last = bucket.size() - 1;
+        bucket.set(index, bucket.get(last));
+        bucket.remove(last);
+    }
+}
@@ -0,0 +1,373 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * Keeps every user's story on disk in append-only segment files, so stories of any length can be
+ * served with a small heap. Each segment is a fixed size file that is memory mapped, and statuses
+ * are written into it back to back as length-prefixed records, each starting with the version of
+ * its layout so a segment written in another layout fails the open. The space after the last record is
+ * left zeroed, and a zero length marks the end of the records in a segment. When a record doesn't
+ * fit in the current segment a new one is started.
+ * <p>
+ * The only thing held on the heap is an index giving the location, sequence and time of each
+ * user's statuses, 24 bytes per status. Reading a page decodes just the records on that page, straight
+ * from the mapped files, and reopening the store rebuilds the index by reading only the record
+ * headers, which after a restart are usually still in the page cache.
+ */
+public class StorySegmentStore implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "story-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int LENGTH_SIZE = 4;
+
+    private final File directory;
+    private final int segmentSize;
+    private final ConcurrentMap<String, SegmentTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    // Guarded by 'this'
+    private int writeOffset;
+    private long maxSequence;
+    private boolean closed;
+
+    private StorySegmentStore(File directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store in the specified directory using segments of
+     * {@link #DEFAULT_SEGMENT_SIZE} bytes.
+     *
+     * @param directory the directory that holds the segment files. It is created if it doesn't
+     *                  exist.
+     * @return the store.
+     * @throws IOException if the segments can't be read.
+     */
+    public static StorySegmentStore open(File directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the store in the specified directory and indexes the statuses already in it.
+     *
+     * @param directory the directory that holds the segment files. It is created if it doesn't
+     *                  exist.
+     * @param segmentSize the size of new segment files. Existing segments keep their size.
+     * @return the store.
+     * @throws IOException if the segments can't be read.
+     */
+    public static StorySegmentStore open(File directory, int segmentSize) throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new FileNotFoundException("Unable to create " + directory);
+        }
+
+        StorySegmentStore store = new StorySegmentStore(directory, segmentSize);
+
+        synchronized (store) {
+            for(int segment = 0; getSegmentFile(directory, segment).isFile(); segment++) {
+                store.addSegment(map(getSegmentFile(directory, segment)));
+                store.writeOffset = store.indexSegment(segment);
+            }
+
+            if(store.segments.length == 0) {
+                store.startSegment();
+            }
+        }
+
+        return store;
+    }
+
+    private static File getSegmentFile(File directory, int segment) {
+        return new File(directory, String.format("%s%05d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        // The mapping stays valid after the file is closed
+        try {
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void addSegment(MappedByteBuffer segment) {
+        MappedByteBuffer[] current = segments;
+        MappedByteBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = segment;
+        segments = grown;
+    }
+
+    private void startSegment() throws IOException {
+        File file = getSegmentFile(directory, segments.length);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+
+        try {
+            raf.setLength(segmentSize);
+        } finally {
+            raf.close();
+        }
+
+        addSegment(map(file));
+        writeOffset = 0;
+    }
+
+    /**
+     * Adds every record in a segment to the index and returns the offset just past the last one.
+     */
+    private int indexSegment(int segment) throws IOException {
+        ByteBuffer buffer = segments[segment];
+        int offset = 0;
+
+        while(offset + LENGTH_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+
+            if(length <= 0 || offset + LENGTH_SIZE + length > buffer.capacity()) {
+                break;
+            }
+
+            // Only the version, sequence, time and alias at the front of the record are read
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(
+                    read(buffer, offset + LENGTH_SIZE, Math.min(length, 1 + 8 + 8 + 2 + 0xFFFF))));
+            RecordCodec.readVersion(input);
+            long sequence = input.readLong();
+            long time = input.readLong();
+            String alias = input.readUTF();
+
+            getOrCreate(alias).add(toLocation(segment, offset), sequence, time);
+            maxSequence = Math.max(maxSequence, sequence);
+            offset += LENGTH_SIZE + length;
+        }
+
+        return offset;
+    }
+
+    private static byte[] read(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private static long toLocation(int segment, int offset) {
+        return ((long) segment << 32) | offset;
+    }
+
+    /**
+     * Returns the story of the specified user.
+     *
+     * @param alias the alias of the user.
+     * @return the story or null if the user has never posted.
+     */
+    public Timeline getTimeline(String alias) {
+        return timelines.get(alias);
+    }
+
+    /**
+     * Returns the story of the specified user, creating an empty one if the user has never
+     * posted.
+     *
+     * @param alias the alias of the user.
+     * @return the story.
+     */
+    public Timeline getOrCreateTimeline(String alias) {
+        return getOrCreate(alias);
+    }
+
+    private SegmentTimeline getOrCreate(String alias) {
+        SegmentTimeline timeline = timelines.get(alias);
+
+        if(timeline == null) {
+            SegmentTimeline created = new SegmentTimeline(alias);
+            timeline = timelines.putIfAbsent(alias, created);
+
+            if(timeline == null) {
+                timeline = created;
+            }
+        }
+
+        return timeline;
+    }
+
+    /**
+     * Indicates whether the store holds no statuses.
+     *
+     * @return true if nothing has been written to the store.
+     */
+    public synchronized boolean isEmpty() {
+        return segments.length == 1 && writeOffset == 0;
+    }
+
+    /**
+     * Returns the largest sequence of any status in the store.
+     *
+     * @return the sequence or 0 if the store is empty.
+     */
+    public synchronized long getMaxSequence() {
+        return maxSequence;
+    }
+
+    private synchronized void append(SegmentTimeline timeline, Status status, long sequence) throws IOException {
+        if(closed) {
+            throw new IOException("The story store is closed");
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        RecordCodec.writeVersion(output);
+        output.writeLong(sequence);
+        output.writeLong(status.getTimePosted());
+        output.writeUTF(timeline.alias);
+        RecordCodec.writeStatus(output, status);
+        byte[] record = bytes.toByteArray();
+
+        if(LENGTH_SIZE + record.length > segmentSize) {
+            throw new IOException("The status is too large for a segment: " + record.length + " bytes");
+        }
+
+        MappedByteBuffer segment = segments[segments.length - 1];
+        if(writeOffset + LENGTH_SIZE + record.length > segment.capacity()) {
+            startSegment();
+            segment = segments[segments.length - 1];
+        }
+
+        ByteBuffer view = segment.duplicate();
+        view.position(writeOffset + LENGTH_SIZE);
+        view.put(record);
+        // The length goes in last so a crash mid write leaves the end of segment marker in place
+        segment.putInt(writeOffset, record.length);
+
+        timeline.add(toLocation(segments.length - 1, writeOffset), sequence, status.getTimePosted());
+        writeOffset += LENGTH_SIZE + record.length;
+        maxSequence = Math.max(maxSequence, sequence);
+    }
+
+    private Status read(long location) {
+        ByteBuffer segment = segments[(int) (location >>> 32)];
+        int offset = (int) location;
+        int length = segment.getInt(offset);
+
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(
+                    read(segment, offset + LENGTH_SIZE, length)));
+            RecordCodec.readVersion(input);
+            input.readLong();
+            input.readLong();
+            input.readUTF();
+            return RecordCodec.readStatus(input);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the status at " + location, e);
+        }
+    }
+
+    /**
+     * Writes any changes to the mapped segments out to disk.
+     */
+    public synchronized void force() {
+        for(MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes any changes to disk and stops accepting new statuses. The segments stay readable
+     * until they are garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        if(!closed) {
+            closed = true;
+            force();
+        }
+    }
+
+    /**
+     * A user's story, held as the locations of its records in the segments.
+     */
+    private class SegmentTimeline extends Timeline {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final String alias;
+        private volatile long[] locations = new long[INITIAL_CAPACITY];
+        private volatile long[] sequences = new long[INITIAL_CAPACITY];
+        private volatile long[] times = new long[INITIAL_CAPACITY];
+        private volatile int size;
+
+        SegmentTimeline(String alias) {
+            this.alias = alias;
+        }
+
+        @Override
+        public void append(Status status, long sequence) {
+            try {
+                StorySegmentStore.this.append(this, status, sequence);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to write the status to the story store", e);
+            }
+        }
+
+        /**
+         * Adds a record to the index. Only called while holding the store's lock, after the
+         * record has been written.
+         */
+        void add(long location, long sequence, long timePosted) {
+            int currentSize = size;
+            long time = toIndexTime(timePosted, currentSize == 0 ? Long.MIN_VALUE : times[currentSize - 1]);
+
+            if(currentSize == locations.length) {
+                times = Arrays.copyOf(times, currentSize * 2);
+                sequences = Arrays.copyOf(sequences, currentSize * 2);
+                locations = Arrays.copyOf(locations, currentSize * 2);
+            }
+
+            times[currentSize] = time;
+            sequences[currentSize] = sequence;
+            locations[currentSize] = location;
+            // Publishing the new size last makes the record visible to readers
+            size = currentSize + 1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Status getStatus(int position) {
+            return read(locations[position]);
+        }
+
+        @Override
+        public long getSequence(int position) {
+            return sequences[position];
+        }
+
+        @Override
+        public long getTime(int position) {
+            return times[position];
+        }
+    }
+}
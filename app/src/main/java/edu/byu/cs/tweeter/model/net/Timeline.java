@@ -0,0 +1,201 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * An append-only list of statuses, such as a user's story or feed, that is read newest first.
+ * Statuses are stored oldest to newest so new statuses are added to the end without moving any
+ * existing ones. That keeps the position of every status stable, which means a page cursor handed
+ * out before a new status arrives still points at the same place afterwards.
+ * <p>
+ * Every status carries the publish sequence it was given, and sequences increase along the
+ * timeline. Each status is also indexed by the time it was posted, so paging by sequence and
+ * finding the statuses posted in a range of time are both binary searches. Subclasses decide
+ * where the statuses are held; the paging logic is shared.
+ * <p>
+ * Index times never decrease along the timeline. A status whose posted time is earlier than the
+ * status before it, which only happens when clocks disagree, is indexed at the earlier status'
+ * time instead.
+ */
+public abstract class Timeline {
+
+    /**
+     * Adds a status as the newest entry in the timeline.
+     *
+     * @param status the status to add.
+     * @param sequence the publish sequence of the status. Sequences are handed out in publish
+     *                 order, so each one is larger than the sequence of any status already in
+     *                 the timeline.
+     */
+    public abstract void append(Status status, long sequence);
+
+    /**
+     * Returns the number of statuses in the timeline.
+     *
+     * @return the size.
+     */
+    public abstract int size();
+
+    /**
+     * Returns the status at the specified position.
+     *
+     * @param position a position below {@link #size()}.
+     * @return the status.
+     */
+    public abstract Status getStatus(int position);
+
+    /**
+     * Returns the publish sequence of the status at the specified position.
+     *
+     * @param position a position below {@link #size()}.
+     * @return the sequence.
+     */
+    public abstract long getSequence(int position);
+
+    /**
+     * Returns the time the status at the specified position is indexed at: its posted time, or
+     * the index time of the status before it if that is later.
+     *
+     * @param position a position below {@link #size()}.
+     * @return the time in milliseconds since the epoch.
+     */
+    public abstract long getTime(int position);
+
+    /**
+     * Returns the time to index a status at, given the index time of the status before it.
+     *
+     * @param timePosted the posted time of the status being appended.
+     * @param previousTime the index time of the newest status or {@link Long#MIN_VALUE} if the
+     *                     timeline is empty.
+     * @return the index time.
+     */
+    static long toIndexTime(long timePosted, long previousTime) {
+        return Math.max(timePosted, previousTime);
+    }
+
+    /**
+     * Returns the position of the page that holds the statuses published before the specified
+     * sequence. Sequences increase along the timeline so the position is found by binary search.
+     *
+     * @param sequence the sequence to read below.
+     * @return the number of statuses with a smaller sequence.
+     */
+    public int getPositionBefore(long sequence) {
+        int low = 0;
+        int high = size();
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(getSequence(middle) < sequence) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the position of the page that holds the statuses posted before the specified time.
+     * Index times never decrease along the timeline so the position is found by binary search.
+     *
+     * @param time the time to read below, in milliseconds since the epoch.
+     * @return the number of statuses indexed before the time.
+     */
+    public int getPositionBeforeTime(long time) {
+        int low = 0;
+        int high = size();
+
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+
+            if(getTime(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns up to 'limit' statuses posted in the specified range of time, newest first.
+     *
+     * @param fromTime the earliest time to include, in milliseconds since the epoch.
+     * @param toTime the time to stop before, in milliseconds since the epoch.
+     * @param limit the maximum number of statuses to return.
+     * @return the statuses.
+     */
+    public List<Status> getStatusesBetween(long fromTime, long toTime, int limit) {
+        int start = getPositionBeforeTime(toTime);
+        int end = Math.max(getPositionBeforeTime(fromTime), start - limit);
+
+        List<Status> page = new ArrayList<>(Math.max(start - end, 0));
+        for(int i = start - 1; i >= end; i--) {
+            page.add(getStatus(i));
+        }
+
+        return page;
+    }
+
+    /**
+     * Returns the position to start reading from to get the newest statuses. Positions count up
+     * from the oldest status, and a page starting at a position reads the statuses below it.
+     *
+     * @return the position of the first page.
+     */
+    public int getFirstPagePosition() {
+        return size();
+    }
+
+    /**
+     * Returns the position just below the specified status, which is where the page after that
+     * status starts. If the timeline holds the status more than once, the position below its
+     * oldest occurrence is returned, so paging always moves down the timeline and can't return to
+     * a page it has already read.
+     *
+     * @param status the last status returned by the previous page.
+     * @return the position of the next page or the position of the first page if the status
+     * isn't in the timeline.
+     */
+    public int getPositionAfter(Status status) {
+        int currentSize = size();
+
+        // A status is never indexed before its posted time, so the search starts at the first
+        // status indexed at that time. Searching up from there finds the occurrence that is read
+        // last
+        for(int i = getPositionBeforeTime(status.getTimePosted()); i < currentSize; i++) {
+            if(status.equals(getStatus(i))) {
+                return i;
+            }
+        }
+
+        return currentSize;
+    }
+
+    /**
+     * Returns up to 'limit' statuses, newest first, starting just below the specified position.
+     *
+     * @param position the position returned by {@link #getFirstPagePosition()} or by a previous
+     *                 page.
+     * @param limit the maximum number of statuses to return.
+     * @return the statuses.
+     */
+    public List<Status> getPage(int position, int limit) {
+        int start = Math.min(position, size());
+        int end = Math.max(start - limit, 0);
+
+        List<Status> page = new ArrayList<>(start - end);
+        for(int i = start - 1; i >= end; i--) {
+            page.add(getStatus(i));
+        }
+
+        return page;
+    }
+}
@@ -0,0 +1,347 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * Tracks the hashtags, mentions and words used most often in recently submitted statuses, in a
+ * fixed amount of memory however many statuses are submitted.
+ * <p>
+ * Time is cut into buckets held in a ring, so a sliding window is the last few buckets and old
+ * buckets are reused as time moves on. Each bucket counts terms two ways. A Count-Min sketch, a
+ * grid of counters where each term increments one counter per row and its count is the smallest
+ * of them, estimates the count of any term, never under. A Space-Saving summary keeps the terms
+ * likely to be the most frequent: it holds a fixed number of terms and a new term replaces the
+ * one with the smallest count, so any term used often enough is sure to be held. A query takes
+ * the terms held by the summaries in the window and ranks them by their sketch counts.
+ * <p>
+ * Recording takes no shared lock. The sketch counters are atomic, and each summary covers one
+ * stripe of the terms, split by hash, with its own lock, so statuses submitted at the same time
+ * rarely wait for each other.
+ */
+public class TrendingTerms {
+
+    public static final long DEFAULT_BUCKET_MILLIS = 5 * 60 * 1000;
+    public static final int DEFAULT_BUCKET_COUNT = 12;
+    public static final int DEFAULT_STRIPE_COUNT = 8;
+    public static final int DEFAULT_TERMS_PER_STRIPE = 32;
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    /**
+     * Words too common to be worth reporting.
+     */
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "for", "are", "but", "not", "you", "your", "with", "have", "has", "had",
+            "this", "that", "was", "were", "will", "from", "they", "she", "him", "her", "his",
+            "its", "our", "out", "all", "any", "can", "just", "what", "who", "how", "why", "when",
+            "there", "their", "them", "then", "than", "too", "very", "about", "into", "over"));
+
+    /**
+     * The source of the current time. Package-private so tests can control it.
+     */
+    interface Clock {
+        long currentTimeMillis();
+    }
+
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * A term and how many times it was used in the window asked for.
+     */
+    public static class Trend {
+        private final String term;
+        private final long count;
+
+        Trend(String term, long count) {
+            this.term = term;
+            this.count = count;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        /**
+         * Returns the number of times the term was used. It may be slightly over the true count,
+         * but never under it.
+         *
+         * @return the count.
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+
+    private static final Comparator<Trend> LEAST_FIRST = new Comparator<Trend>() {
+        @Override
+        public int compare(Trend trend1, Trend trend2) {
+            int comparison = Long.compare(trend1.count, trend2.count);
+            return comparison != 0 ? comparison : trend2.term.compareTo(trend1.term);
+        }
+    };
+
+    /**
+     * A Space-Saving summary of one stripe of the terms used in one bucket.
+     */
+    private static final class Summary {
+        private final int capacity;
+
+        // Guarded by this
+        private final Map<String, long[]> counts;
+
+        Summary(int capacity) {
+            this.capacity = capacity;
+            this.counts = new HashMap<>(capacity * 2);
+        }
+
+        synchronized void add(String term) {
+            long[] count = counts.get(term);
+
+            if(count != null) {
+                count[0]++;
+            } else if(counts.size() < capacity) {
+                counts.put(term, new long[] {1});
+            } else {
+                // The new term takes over the smallest count, which bounds how far over its
+                // true count it can be
+                String smallest = null;
+                long smallestCount = Long.MAX_VALUE;
+                for(Map.Entry<String, long[]> entry : counts.entrySet()) {
+                    if(entry.getValue()[0] < smallestCount) {
+                        smallest = entry.getKey();
+                        smallestCount = entry.getValue()[0];
+                    }
+                }
+
+                counts.remove(smallest);
+                counts.put(term, new long[] {smallestCount + 1});
+            }
+        }
+
+        synchronized void addTermsTo(Set<String> terms) {
+            terms.addAll(counts.keySet());
+        }
+    }
+
+    /**
+     * The counts of the terms used in one bucket of time.
+     */
+    private static final class Bucket {
+        private final long tick;
+        private final AtomicLongArray sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+        private final Summary[] summaries;
+
+        Bucket(long tick, int stripeCount, int termsPerStripe) {
+            this.tick = tick;
+            this.summaries = new Summary[stripeCount];
+
+            for(int i = 0; i < stripeCount; i++) {
+                summaries[i] = new Summary(termsPerStripe);
+            }
+        }
+
+        void add(String term) {
+            int hash = term.hashCode();
+
+            for(int row = 0; row < SKETCH_DEPTH; row++) {
+                sketch.incrementAndGet(row * SKETCH_WIDTH + column(hash, row));
+            }
+
+            summaries[(mix(hash) >>> 1) % summaries.length].add(term);
+        }
+
+        long estimate(String term) {
+            int hash = term.hashCode();
+            long estimate = Long.MAX_VALUE;
+
+            for(int row = 0; row < SKETCH_DEPTH; row++) {
+                estimate = Math.min(estimate, sketch.get(row * SKETCH_WIDTH + column(hash, row)));
+            }
+
+            return estimate;
+        }
+
+        private static int column(int hash, int row) {
+            return mix(hash + row * 0x9E3779B9) & (SKETCH_WIDTH - 1);
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x7FEB352D;
+            hash ^= hash >>> 15;
+            hash *= 0x846CA68B;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private final long bucketMillis;
+    private final int stripeCount;
+    private final int termsPerStripe;
+    private final Clock clock;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * Creates an instance that covers the last hour in five minute buckets.
+     */
+    public TrendingTerms() {
+        this(DEFAULT_BUCKET_MILLIS, DEFAULT_BUCKET_COUNT, DEFAULT_STRIPE_COUNT, DEFAULT_TERMS_PER_STRIPE, SYSTEM_CLOCK);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param bucketMillis the length of time covered by one bucket. Windows are rounded up to
+     *                     whole buckets.
+     * @param bucketCount the number of buckets, which sets the longest window that can be asked
+     *                    for.
+     * @param stripeCount the number of summaries each bucket's terms are split across.
+     * @param termsPerStripe the number of terms each summary holds.
+     * @param clock the source of the current time.
+     */
+    TrendingTerms(long bucketMillis, int bucketCount, int stripeCount, int termsPerStripe, Clock clock) {
+        this.bucketMillis = bucketMillis;
+        this.stripeCount = stripeCount;
+        this.termsPerStripe = termsPerStripe;
+        this.clock = clock;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * Counts the terms of a status that was just submitted.
+     *
+     * @param status the status.
+     */
+    public void record(Status status) {
+        Bucket bucket = getBucket(clock.currentTimeMillis() / bucketMillis);
+
+        if(bucket != null) {
+            for(String term : getTerms(status)) {
+                bucket.add(term);
+            }
+        }
+    }
+
+    /**
+     * Returns the terms used most often within the specified length of time, most used first.
+     * The work done depends on the number of terms the summaries hold, which is fixed, rather
+     * than on the number of statuses submitted.
+     *
+     * @param windowMillis how far back to look. Rounded up to whole buckets and capped at the
+     *                     length of time all of the buckets cover.
+     * @param limit the maximum number of terms to return.
+     * @return the terms.
+     */
+    public List<Trend> getTopTerms(long windowMillis, int limit) {
+        if(limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        long currentTick = clock.currentTimeMillis() / bucketMillis;
+        long bucketsInWindow = Math.min((windowMillis + bucketMillis - 1) / bucketMillis, buckets.length());
+
+        List<Bucket> window = new ArrayList<>();
+        Set<String> candidates = new HashSet<>();
+
+        for(long tick = currentTick - bucketsInWindow + 1; tick <= currentTick; tick++) {
+            Bucket bucket = buckets.get((int) (tick % buckets.length()));
+
+            if(bucket != null && bucket.tick == tick) {
+                window.add(bucket);
+                for(Summary summary : bucket.summaries) {
+                    summary.addTermsTo(candidates);
+                }
+            }
+        }
+
+        // Keeps the 'limit' most used terms seen so far, with the least used on top
+        PriorityQueue<Trend> top = new PriorityQueue<>(limit, LEAST_FIRST);
+
+        for(String term : candidates) {
+            long count = 0;
+
+            for(Bucket bucket : window) {
+                count += bucket.estimate(term);
+            }
+
+            Trend trend = new Trend(term, count);
+            if(top.size() < limit) {
+                top.add(trend);
+            } else if(LEAST_FIRST.compare(trend, top.peek()) > 0) {
+                top.poll();
+                top.add(trend);
+            }
+        }
+
+        List<Trend> trends = new ArrayList<>(top);
+        Collections.sort(trends, Collections.reverseOrder(LEAST_FIRST));
+        return trends;
+    }
+
+    /**
+     * Returns the bucket for the specified tick, replacing the bucket of an earlier tick that
+     * held its place in the ring.
+     *
+     * @return the bucket or null if the tick is too old to have a bucket.
+     */
+    private Bucket getBucket(long tick) {
+        int index = (int) (tick % buckets.length());
+
+        while(true) {
+            Bucket bucket = buckets.get(index);
+
+            if(bucket != null && bucket.tick >= tick) {
+                return bucket.tick == tick ? bucket : null;
+            }
+
+            Bucket created = new Bucket(tick, stripeCount, termsPerStripe);
+            if(buckets.compareAndSet(index, bucket, created)) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Returns the terms of a status that are counted. The text is split the same way it is for
+     * search, so hashtags and mentions are terms of their own. The pieces of links, which the
+     * tweet composer has already separated into the status's urls, and very short or very common
+     * words are left out.
+     *
+     * @param status the status.
+     * @return the terms, each listed once.
+     */
+    static Set<String> getTerms(Status status) {
+        Set<String> terms = SearchIndex.tokenize(status.getTweetText());
+        terms.removeAll(SearchIndex.tokenize(status.getUrls()));
+
+        for(Iterator<String> iterator = terms.iterator(); iterator.hasNext(); ) {
+            String term = iterator.next();
+            char first = term.charAt(0);
+
+            if(first != '#' && first != '@' && (term.length() < 3 || STOP_WORDS.contains(term))) {
+                iterator.remove();
+            }
+        }
+
+        return terms;
+    }
+}
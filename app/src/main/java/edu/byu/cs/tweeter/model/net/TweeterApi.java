@@ -0,0 +1,58 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * The paths of the endpoints of the Tweeter HTTP API, shared by the server and
+ * {@link HttpServerFacade}. Every endpoint takes a json request in the body of a POST and
+ * answers with a json response.
+ */
+public final class TweeterApi {
+
+    public static final String LOGIN = "/login";
+    public static final String REGISTER = "/register";
+    public static final String FEED = "/feed";
+    public static final String STORY = "/story";
+    public static final String MENTIONS = "/mentions";
+    public static final String SEARCH = "/search";
+    public static final String TRENDING = "/trending";
+    public static final String TYPEAHEAD = "/typeahead";
+    public static final String RECOMMENDATIONS = "/recommendations";
+    public static final String MUTUAL_FOLLOWS = "/mutualfollows";
+    public static final String FOLLOWS_BACK = "/followsback";
+    public static final String FOLLOWERS = "/followers";
+    public static final String FOLLOWING = "/following";
+    public static final String COUNT = "/count";
+    public static final String UPDATE_FOLLOW = "/updatefollow";
+    public static final String SUBMIT_TWEET = "/submittweet";
+
+    private TweeterApi() {
+    }
+
+    /**
+     * Creates the Gson that reads and writes the json of every request and response. A user's
+     * password and image bytes are left out: passwords only travel in login and register
+     * requests, and clients load images from the image url.
+     *
+     * @return the Gson.
+     */
+    public static Gson newGson() {
+        return new GsonBuilder().setExclusionStrategies(new ExclusionStrategy() {
+            @Override
+            public boolean shouldSkipField(FieldAttributes field) {
+                return field.getDeclaringClass() == User.class
+                        && (field.getName().equals("password") || field.getName().equals("imageBytes"));
+            }
+
+            @Override
+            public boolean shouldSkipClass(Class<?> type) {
+                return false;
+            }
+        }).create();
+    }
+}
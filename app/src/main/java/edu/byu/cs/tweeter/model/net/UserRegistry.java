@@ -0,0 +1,158 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * An index of every {@link User} in the system keyed by alias. Lookups are a single hash probe
+ * regardless of how many users are registered, and the registry can be read and written by any
+ * number of threads at once.
+ */
+public class UserRegistry {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final ConcurrentMap<String, User> usersByAlias;
+
+    /**
+     * Creates an empty registry.
+     */
+    public UserRegistry() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty registry sized to hold the expected number of users without rehashing.
+     *
+     * @param expectedUsers the number of users the registry is expected to hold.
+     */
+    public UserRegistry(int expectedUsers) {
+        this.usersByAlias = new ConcurrentHashMap<>(Math.max(expectedUsers, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Adds the user to the registry unless a user with the same alias is already registered.
+     *
+     * @param user the user to add.
+     * @return true if the user was added; false if the alias was already taken.
+     */
+    public boolean register(User user) {
+        return usersByAlias.putIfAbsent(user.getAlias(), user) == null;
+    }
+
+    /**
+     * Adds each of the users to the registry. Users whose alias is already taken are skipped.
+     *
+     * @param users the users to add.
+     * @return the number of users that were added.
+     */
+    public int registerAll(Collection<User> users) {
+        int added = 0;
+
+        for(User user : users) {
+            if(register(user)) {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Streams users from a json array of user objects and adds them to the registry. Users are
+     * read one at a time so arbitrarily large files can be loaded without holding the parsed
+     * array in memory.
+     *
+     * @param reader the reader positioned at the start of the json array.
+     * @return the number of users that were added.
+     * @throws IOException if the json can't be read.
+     */
+    public int load(Reader reader) throws IOException {
+        Gson gson = new Gson();
+        JsonReader jsonReader = new JsonReader(reader);
+        int added = 0;
+
+        try {
+            jsonReader.beginArray();
+
+            while(jsonReader.hasNext()) {
+                User user = gson.fromJson(jsonReader, User.class);
+
+                if(user != null && user.getAlias() != null && register(user)) {
+                    added++;
+                }
+            }
+
+            jsonReader.endArray();
+        } finally {
+            jsonReader.close();
+        }
+
+        return added;
+    }
+
+    /**
+     * Returns the user with the specified alias.
+     *
+     * @param alias the alias of the user.
+     * @return the user or null if no user has the alias.
+     */
+    public User getUser(String alias) {
+        return alias == null ? null : usersByAlias.get(alias);
+    }
+
+    /**
+     * Returns the users with the specified aliases.
+     *
+     * @param aliases the aliases of the users.
+     * @return the users in the same order as the aliases. Aliases that aren't registered have a
+     * null entry.
+     */
+    public List<User> getUsers(List<String> aliases) {
+        List<User> users = new ArrayList<>(aliases.size());
+
+        for(String alias : aliases) {
+            users.add(getUser(alias));
+        }
+
+        return users;
+    }
+
+    /**
+     * Returns every registered user, in no particular order.
+     *
+     * @return the users.
+     */
+    public List<User> getAllUsers() {
+        return new ArrayList<>(usersByAlias.values());
+    }
+
+    /**
+     * Indicates whether a user with the specified alias is registered.
+     *
+     * @param alias the alias to check.
+     * @return true if the alias is registered.
+     */
+    public boolean contains(String alias) {
+        return alias != null && usersByAlias.containsKey(alias);
+    }
+
+    /**
+     * Returns the number of registered users.
+     *
+     * @return the number of users.
+     */
+    public int size() {
+        return usersByAlias.size();
+    }
+}
@@ -0,0 +1,287 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A prefix index over users' aliases, first names and last names for search-as-you-type. The
+ * keys are held in a trie, lower-cased and with the '@' of the alias dropped, and every node keeps
+ * the users under it with the most followers, most followed first. Completing a prefix walks one
+ * node per character and returns the front of the node's list, so it takes time in proportion to
+ * the length of the prefix, however many users there are.
+ * <p>
+ * A node's list is always the true front of the ranking of the users under it, and holds up to
+ * twice as many users as a completion returns. When a user's count drops below the rest of a
+ * list they leave it, and the spare users move up in their place. Only when so many have left
+ * that fewer than a completion's worth remain is the list rebuilt from the users under the node,
+ * which takes at least {@link #MAX_COMPLETIONS} drops per rebuild.
+ * <p>
+ * Children are held in sorted arrays of characters rather than maps, which keeps the nodes small.
+ * Users are added by one writer at a time. Readers don't lock: a node's children and its list of
+ * users are replaced by new arrays rather than changed in place, so a reader sees either the old
+ * or the new array and never a partly written one.
+ */
+public class UserTypeahead {
+
+    /**
+     * The number of users kept at each node, which is the most a completion returns.
+     */
+    public static final int MAX_COMPLETIONS = 10;
+
+    /**
+     * The number of users kept at each node, the rest being spares for when users drop out.
+     */
+    private static final int ENTRIES_PER_NODE = MAX_COMPLETIONS * 2;
+
+    private static final Branches NO_BRANCHES = new Branches(new char[0], new Node[0]);
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    /**
+     * A user and their follower count when they were last added.
+     */
+    private static final class Entry {
+        private final User user;
+        private final int followerCount;
+
+        Entry(User user, int followerCount) {
+            this.user = user;
+            this.followerCount = followerCount;
+        }
+    }
+
+    /**
+     * Most followers first, then by alias, so every user has one place in a ranking.
+     */
+    private static final Comparator<Entry> RANKING = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry entry1, Entry entry2) {
+            int comparison = Integer.compare(entry2.followerCount, entry1.followerCount);
+            return comparison != 0 ? comparison : entry1.user.getAlias().compareTo(entry2.user.getAlias());
+        }
+    };
+
+    /**
+     * The children of a node, sorted by the character that leads to each. The two arrays are
+     * replaced together, so a reader always sees a matching pair.
+     */
+    private static final class Branches {
+        private final char[] keys;
+        private final Node[] children;
+
+        Branches(char[] keys, Node[] children) {
+            this.keys = keys;
+            this.children = children;
+        }
+    }
+
+    /**
+     * A node of the trie, reached by the characters on the path to it.
+     */
+    private static final class Node {
+        private volatile Branches branches = NO_BRANCHES;
+        private volatile Entry[] top = NO_ENTRIES;
+
+        // Only used by the writer
+        private int userCount;
+        private final List<String> endingAliases = new ArrayList<>(1);
+
+        Node getChild(char key) {
+            Branches branches = this.branches;
+            int index = Arrays.binarySearch(branches.keys, key);
+            return index >= 0 ? branches.children[index] : null;
+        }
+
+        Node getOrAddChild(char key) {
+            char[] keys = branches.keys;
+            Node[] children = branches.children;
+            int index = Arrays.binarySearch(keys, key);
+
+            if(index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            branches = new Branches(newKeys, newChildren);
+            return child;
+        }
+
+        /**
+         * Puts the user in the node's list at the place their follower count earns, replacing
+         * any earlier entry of theirs. A user who now ranks below the whole list is left out of
+         * it unless the list holds everyone else under the node, since a user outside the list
+         * could rank between them.
+         *
+         * @return false if the list is now too short to answer a completion and must be rebuilt.
+         */
+        boolean offer(Entry entry) {
+            List<Entry> entries = new ArrayList<>(Arrays.asList(top));
+
+            for(int i = 0; i < entries.size(); i++) {
+                if(entries.get(i).user.getAlias().equals(entry.user.getAlias())) {
+                    entries.remove(i);
+                    break;
+                }
+            }
+
+            boolean holdsEveryoneElse = entries.size() == userCount - 1;
+            int insertAt = 0;
+            while(insertAt < entries.size() && RANKING.compare(entries.get(insertAt), entry) < 0) {
+                insertAt++;
+            }
+
+            if(insertAt < entries.size() || holdsEveryoneElse) {
+                entries.add(insertAt, entry);
+                if(entries.size() > ENTRIES_PER_NODE) {
+                    entries.remove(entries.size() - 1);
+                }
+            }
+
+            top = entries.toArray(new Entry[0]);
+            return entries.size() >= Math.min(MAX_COMPLETIONS, userCount);
+        }
+    }
+
+    private final Node root = new Node();
+
+    // Only used by the writer
+    private final Map<String, Entry> entriesByAlias = new HashMap<>();
+
+    /**
+     * Adds a user, or updates the follower count of a user already added.
+     *
+     * @param user the user.
+     * @param followerCount the number of followers the user has.
+     */
+    public synchronized void add(User user, int followerCount) {
+        Entry entry = new Entry(user, followerCount);
+        boolean isNew = entriesByAlias.put(user.getAlias(), entry) == null;
+        Set<Node> visited = new LinkedHashSet<>();
+
+        for(String key : getKeys(user)) {
+            Node node = root;
+
+            for(int i = 0; i < key.length(); i++) {
+                node = node.getOrAddChild(key.charAt(i));
+
+                // Keys of the same user can share a prefix, such as an alias that starts with
+                // the first name
+                if(visited.add(node)) {
+                    if(isNew) {
+                        node.userCount++;
+                    }
+                    if(!node.offer(entry)) {
+                        rebuild(node);
+                    }
+                }
+            }
+
+            if(isNew) {
+                node.endingAliases.add(user.getAlias());
+            }
+        }
+    }
+
+    /**
+     * Refills a node's list from every user under it.
+     */
+    private void rebuild(Node node) {
+        Set<String> aliases = new HashSet<>();
+        List<Node> pending = new ArrayList<>();
+        pending.add(node);
+
+        while(!pending.isEmpty()) {
+            Node next = pending.remove(pending.size() - 1);
+            aliases.addAll(next.endingAliases);
+            pending.addAll(Arrays.asList(next.branches.children));
+        }
+
+        List<Entry> entries = new ArrayList<>(aliases.size());
+        for(String alias : aliases) {
+            entries.add(entriesByAlias.get(alias));
+        }
+
+        Collections.sort(entries, RANKING);
+        node.top = entries.subList(0, Math.min(ENTRIES_PER_NODE, entries.size())).toArray(new Entry[0]);
+    }
+
+    /**
+     * Returns the users with the most followers whose alias, first name or last name starts with
+     * the specified prefix, most followed first.
+     *
+     * @param prefix the start of the alias, with or without its '@', or of a name. Case is
+     *               ignored.
+     * @param limit the maximum number of users to return. No more than
+     *              {@link #MAX_COMPLETIONS} are returned.
+     * @return the users.
+     */
+    public List<User> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<User> users = new ArrayList<>();
+
+        if(key.isEmpty()) {
+            return users;
+        }
+
+        Node node = root;
+        for(int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(key.charAt(i));
+        }
+
+        if(node != null) {
+            Entry[] top = node.top;
+            for(int i = 0; i < top.length && i < Math.min(limit, MAX_COMPLETIONS); i++) {
+                users.add(top[i].user);
+            }
+        }
+
+        return users;
+    }
+
+    private static Set<String> getKeys(User user) {
+        Set<String> keys = new LinkedHashSet<>();
+
+        for(String key : new String[] {user.getAlias(), user.getFirstName(), user.getLastName()}) {
+            String normalized = normalize(key);
+            if(!normalized.isEmpty()) {
+                keys.add(normalized);
+            }
+        }
+
+        return keys;
+    }
+
+    private static String normalize(String key) {
+        if(key == null) {
+            return "";
+        }
+
+        String trimmed = key.trim();
+        if(trimmed.startsWith("@")) {
+            trimmed = trimmed.substring(1);
+        }
+
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+}
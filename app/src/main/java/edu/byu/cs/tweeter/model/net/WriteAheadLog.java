@@ -0,0 +1,410 @@
+package edu.byu.cs.tweeter.model.net;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * An append-only log of the changes made to the {@link DataStore}: follows, unfollows and
+ * submitted statuses. Each change is written to the log before it is applied, and replaying the
+ * log on startup rebuilds the changes that were made before the process stopped.
+ * <p>
+ * Each record is written as its length, a CRC32 of its contents and then the contents, which
+ * start with the version of their layout. A record of another version fails the open. Replay
+ * stops at the first record that is incomplete or fails its checksum, which is what a crash in the
+ * middle of a write leaves behind, and the log is truncated there so new records follow the last
+ * good one.
+ * <p>
+ * Syncing the file to disk is by far the most expensive part of a write. With
+ * {@link Durability#BATCHED}, writers that arrive while a sync is in progress queue their records
+ * and the next sync covers all of them, so many concurrent writers share the cost of one sync.
+ */
+public class WriteAheadLog implements Closeable {
+
+    /**
+     * When a write is considered done. {@link #PER_WRITE} syncs every record on its own before
+     * returning. {@link #BATCHED} returns once the record is synced, sharing syncs between
+     * concurrent writers. {@link #ASYNC} returns as soon as the record is queued and syncs on a
+     * background thread, so a crash can lose the writes from the last flush interval.
+     */
+    public enum Durability {
+        PER_WRITE, BATCHED, ASYNC
+    }
+
+    /**
+     * Receives the changes read back from the log when it is opened.
+     */
+    public interface Replayer {
+        void follow(User follower, User followee);
+        void unfollow(User follower, User followee);
+        void publishStatus(Status status);
+    }
+
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private static final byte FOLLOW = 1;
+    private static final byte UNFOLLOW = 2;
+    private static final byte STATUS = 3;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 1024 * 1024;
+    private static final int REPLAY_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final Object perWriteLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    // Guarded by 'this'
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedBytes;
+    private long durableBytes;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    private WriteAheadLog(FileChannel channel, Durability durability, long flushIntervalMillis) {
+        this.channel = channel;
+        this.durability = durability;
+
+        if(durability == Durability.ASYNC) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "write-ahead-log-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            this.flusher.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        sync();
+                    } catch (IOException e) {
+                        // The failure is recorded and reported to the next writer
+                    }
+                }
+            }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Opens the log in the specified file, creating it if it doesn't exist, and replays the
+     * records already in it. Async writes are flushed every
+     * {@link #DEFAULT_FLUSH_INTERVAL_MILLIS} milliseconds.
+     *
+     * @param file the file that holds the log.
+     * @param durability when writes are considered done.
+     * @param replayer receives the records already in the log.
+     * @return the log, positioned after the last good record.
+     * @throws IOException if the file can't be read or written.
+     */
+    public static WriteAheadLog open(File file, Durability durability, Replayer replayer) throws IOException {
+        return open(file, durability, DEFAULT_FLUSH_INTERVAL_MILLIS, replayer);
+    }
+
+    /**
+     * Opens the log in the specified file, creating it if it doesn't exist, and replays the
+     * records already in it.
+     *
+     * @param file the file that holds the log.
+     * @param durability when writes are considered done.
+     * @param flushIntervalMillis how often async writes are flushed to disk.
+     * @param replayer receives the records already in the log.
+     * @return the log, positioned after the last good record.
+     * @throws IOException if the file can't be read or written.
+     */
+    public static WriteAheadLog open(File file, Durability durability, long flushIntervalMillis,
+                                     Replayer replayer) throws IOException {
+        FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+
+        try {
+            long validBytes = replay(channel, replayer);
+
+            // Drop whatever a crash left after the last good record
+            channel.truncate(validBytes);
+            channel.position(validBytes);
+
+            WriteAheadLog log = new WriteAheadLog(channel, durability, flushIntervalMillis);
+            log.appendedBytes = validBytes;
+            log.durableBytes = validBytes;
+            return log;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long replay(FileChannel channel, Replayer replayer) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(0)), REPLAY_BUFFER_SIZE));
+        CRC32 crc = new CRC32();
+        long validBytes = 0;
+
+        while(true) {
+            byte[] record;
+
+            try {
+                int length = input.readInt();
+                int checksum = input.readInt();
+
+                if(length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+
+                record = new byte[length];
+                input.readFully(record);
+
+                crc.reset();
+                crc.update(record, 0, length);
+                if((int) crc.getValue() != checksum) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+
+            decode(record, replayer);
+            validBytes += HEADER_SIZE + record.length;
+        }
+
+        return validBytes;
+    }
+
+    private static void decode(byte[] record, Replayer replayer) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        RecordCodec.readVersion(input);
+        byte type = input.readByte();
+
+        switch (type) {
+            case FOLLOW:
+                replayer.follow(RecordCodec.readUser(input), RecordCodec.readUser(input));
+                break;
+            case UNFOLLOW:
+                replayer.unfollow(RecordCodec.readUser(input), RecordCodec.readUser(input));
+                break;
+            case STATUS:
+                replayer.publishStatus(RecordCodec.readStatus(input));
+                break;
+            default:
+                throw new IOException("Unknown write-ahead log record type: " + type);
+        }
+    }
+
+    /**
+     * Logs that the follower started following the followee.
+     *
+     * @param follower the user doing the following.
+     * @param followee the user being followed.
+     * @throws IOException if the record can't be written.
+     */
+    public void logFollow(User follower, User followee) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        RecordCodec.writeVersion(output);
+        output.writeByte(FOLLOW);
+        RecordCodec.writeUser(output, follower);
+        RecordCodec.writeUser(output, followee);
+        write(bytes.toByteArray());
+    }
+
+    /**
+     * Logs that the follower stopped following the followee.
+     *
+     * @param follower the user doing the unfollowing.
+     * @param followee the user being unfollowed.
+     * @throws IOException if the record can't be written.
+     */
+    public void logUnfollow(User follower, User followee) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        RecordCodec.writeVersion(output);
+        output.writeByte(UNFOLLOW);
+        RecordCodec.writeUser(output, follower);
+        RecordCodec.writeUser(output, followee);
+        write(bytes.toByteArray());
+    }
+
+    /**
+     * Logs a submitted status. The status' image isn't logged.
+     *
+     * @param status the status.
+     * @throws IOException if the record can't be written.
+     */
+    public void logStatus(Status status) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        RecordCodec.writeVersion(output);
+        output.writeByte(STATUS);
+        RecordCodec.writeStatus(output, status);
+        write(bytes.toByteArray());
+    }
+
+    private void write(byte[] record) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + record.length);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(record.length);
+        output.writeInt((int) crc.getValue());
+        output.write(record);
+
+        switch (durability) {
+            case PER_WRITE:
+                // Holding a lock across the sync stops other writers from joining the batch
+                synchronized (perWriteLock) {
+                    awaitDurable(enqueue(bytes.toByteArray()));
+                }
+                break;
+            case BATCHED:
+                awaitDurable(enqueue(bytes.toByteArray()));
+                break;
+            case ASYNC:
+                enqueue(bytes.toByteArray());
+                break;
+        }
+    }
+
+    private synchronized long enqueue(byte[] bytes) throws IOException {
+        if(closed) {
+            throw new IOException("The write-ahead log is closed");
+        }
+        if(failure != null) {
+            throw new IOException("An earlier write to the write-ahead log failed", failure);
+        }
+
+        pending.write(bytes, 0, bytes.length);
+        appendedBytes += bytes.length;
+        return appendedBytes;
+    }
+
+    /**
+     * Writes and syncs every record queued so far.
+     *
+     * @throws IOException if the records can't be written.
+     */
+    public void sync() throws IOException {
+        long end;
+
+        synchronized (this) {
+            end = appendedBytes;
+        }
+
+        awaitDurable(end);
+    }
+
+    /**
+     * Waits until the log is synced up to the specified offset. Whichever waiting thread finds no
+     * sync in progress becomes the leader: it takes every queued record, writes and syncs them,
+     * and wakes the others. Writers that queue records during the sync are covered by the next
+     * leader's sync.
+     */
+    private void awaitDurable(long end) throws IOException {
+        while(true) {
+            byte[] batch;
+            long batchEnd;
+
+            synchronized (this) {
+                while(flushing && durableBytes < end && failure == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+
+                if(failure != null) {
+                    throw new IOException("An earlier write to the write-ahead log failed", failure);
+                }
+                if(durableBytes >= end) {
+                    return;
+                }
+
+                flushing = true;
+                batch = pending.toByteArray();
+                batchEnd = appendedBytes;
+                pending.reset();
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while(buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            synchronized (this) {
+                flushing = false;
+                if(error == null) {
+                    durableBytes = batchEnd;
+                } else {
+                    // What reached the disk is unknown, so no further writes are accepted
+                    failure = error;
+                }
+                notifyAll();
+            }
+
+            if(error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Syncs any queued records and closes the log.
+     *
+     * @throws IOException if the records can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if(flusher != null) {
+            flusher.shutdown();
+        }
+
+        try {
+            boolean failed;
+
+            synchronized (this) {
+                if(closed) {
+                    return;
+                }
+                closed = true;
+                failed = failure != null;
+            }
+
+            if(!failed) {
+                sync();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
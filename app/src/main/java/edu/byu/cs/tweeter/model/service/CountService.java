@@ -1,18 +1,65 @@
 package edu.byu.cs.tweeter.model.service;
 
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
 import edu.byu.cs.tweeter.model.service.request.CountRequest;
 import edu.byu.cs.tweeter.model.service.response.CountResponse;
 
 public class CountService {
 
-    public CountResponse getCount(CountRequest request) {
+    /**
+     * The count requests in flight by user alias, shared by every instance so that concurrent
+     * identical requests are only made once.
+     */
+    private static final SingleFlight<String, CountResponse> IN_FLIGHT = new SingleFlight<>();
+
+    public CountResponse getCount(final CountRequest request) throws IOException {
+        return IN_FLIGHT.execute(keyOf(request), new SingleFlight.Call<CountResponse>() {
+            @Override
+            public CountResponse call() {
+                return requestCount(request);
+            }
+        });
+    }
+
+    private CountResponse requestCount(CountRequest request) {
         ServerFacadeMine serverFacade = getServerFacade();
         CountResponse countResponse = serverFacade.getCount(request);
 
         return countResponse;
     }
 
+    /**
+     * Does the same as {@link #getCount(CountRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the counts.
+     */
+    public CompletableFuture<CountResponse> getCountAsync(final CountRequest request) {
+        return IN_FLIGHT.executeAsync(keyOf(request), new SingleFlight.AsyncCall<CountResponse>() {
+            @Override
+            public CompletableFuture<CountResponse> start() {
+                return ServiceExecutor.getInstance().supply(new Callable<CountResponse>() {
+                    @Override
+                    public CountResponse call() {
+                        return requestCount(request);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies identical requests: the alias of the user being counted.
+     */
+    private static String keyOf(CountRequest request) {
+        return request.getUser() == null ? null : request.getUser().getAlias();
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -21,6 +68,6 @@ public class CountService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -1,6 +1,10 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -13,6 +17,12 @@ import edu.byu.cs.tweeter.util.ByteArrayUtils;
  */
 public class FeedService {
 
+    /**
+     * The feed requests in flight, shared by every instance so that concurrent identical
+     * requests are only made once.
+     */
+    private static final SingleFlight<List<Object>, FeedResponse> IN_FLIGHT = new SingleFlight<>();
+
     /**
      * Returns the statuses of the specified user in the request. Uses information in
      * the request object to limit the number of statuses returned and to return the next set of
@@ -22,13 +32,30 @@ public class FeedService {
      * @param request contains the data required to fulfill the request.
      * @return the statuses.
      */
-    public FeedResponse getFeed(FeedRequest request) throws IOException {
+    public FeedResponse getFeed(final FeedRequest request) throws IOException {
+        FeedResponse cached = getPageCache().getFeed(request);
+        if(cached != null) {
+            return cached;
+        }
+
+        return IN_FLIGHT.execute(keyOf(request), new SingleFlight.Call<FeedResponse>() {
+            @Override
+            public FeedResponse call() throws IOException {
+                return requestFeed(request);
+            }
+        });
+    }
+
+    private FeedResponse requestFeed(FeedRequest request) throws IOException {
+        PageCache pageCache = getPageCache();
+        long version = pageCache.getVersion();
         FeedResponse response = getServerFacade().getFeed(request);
 
         if(response.isSuccess()) {
             loadImages(response);
         }
 
+        pageCache.putFeed(request, response, version);
         return response;
     }
 
@@ -44,6 +71,71 @@ public class FeedService {
         }
     }
 
+    /**
+     * Does the same as {@link #getFeed(FeedRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the statuses.
+     */
+    public CompletableFuture<FeedResponse> getFeedAsync(final FeedRequest request) {
+        FeedResponse cached = getPageCache().getFeed(request);
+        if(cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return IN_FLIGHT.executeAsync(keyOf(request), new SingleFlight.AsyncCall<FeedResponse>() {
+            @Override
+            public CompletableFuture<FeedResponse> start() {
+                return requestFeedAsync(request);
+            }
+        });
+    }
+
+    private CompletableFuture<FeedResponse> requestFeedAsync(final FeedRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        final PageCache pageCache = getPageCache();
+        final long version = pageCache.getVersion();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<FeedResponse> response = serviceExecutor.supply(new Callable<FeedResponse>() {
+            @Override
+            public FeedResponse call() {
+                return serverFacade.getFeed(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<FeedResponse>() {
+            @Override
+            public void loadImages(FeedResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    FeedService.this.loadImages(response);
+                }
+
+                // Cached only once the images are in
+                pageCache.putFeed(request, response, version);
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies identical requests: the same user, page size and starting
+     * point.
+     */
+    private static List<Object> keyOf(FeedRequest request) {
+        String alias = request.getUser() == null ? null : request.getUser().getAlias();
+        return Arrays.<Object>asList(alias, request.getLimit(), request.getCursor(), request.getLastStatus());
+    }
+
+    /**
+     * Returns the cache of pages. Allows mocking of the cache for testing purposes.
+     *
+     * @return the cache.
+     */
+    PageCache getPageCache() {
+        return PageCache.getInstance();
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -52,6 +144,6 @@ public class FeedService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
\ No newline at end of file
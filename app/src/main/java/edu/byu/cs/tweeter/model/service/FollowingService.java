@@ -1,6 +1,8 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -44,6 +46,34 @@ public class FollowingService {
         }
     }
 
+    /**
+     * Does the same as {@link #getFollowees(FollowingRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the followees.
+     */
+    public CompletableFuture<FollowingResponse> getFolloweesAsync(final FollowingRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<FollowingResponse> response = serviceExecutor.supply(new Callable<FollowingResponse>() {
+            @Override
+            public FollowingResponse call() {
+                return serverFacade.getFollowees(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<FollowingResponse>() {
+            @Override
+            public void loadImages(FollowingResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    FollowingService.this.loadImages(response);
+                }
+            }
+        });
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -52,6 +82,6 @@ public class FollowingService {
      * @return the instance.
      */
     ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -1,6 +1,8 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -34,6 +36,34 @@ public class LoginService {
         user.setImageBytes(bytes);
     }
 
+    /**
+     * Does the same as {@link #login(LoginRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<LoginResponse> loginAsync(final LoginRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<LoginResponse> response = serviceExecutor.supply(new Callable<LoginResponse>() {
+            @Override
+            public LoginResponse call() {
+                return serverFacade.login(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<LoginResponse>() {
+            @Override
+            public void loadImages(LoginResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    loadImage(response.getUser());
+                }
+            }
+        });
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -42,6 +72,6 @@ public class LoginService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -1,5 +1,8 @@
 package edu.byu.cs.tweeter.model.service;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
 import edu.byu.cs.tweeter.model.service.request.LogoutRequest;
 import edu.byu.cs.tweeter.model.service.response.LogoutResponse;
@@ -16,6 +19,23 @@ public class LogoutService {
         return logoutResponse;
     }
 
+    /**
+     * Does the same as {@link #logout(LogoutRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<LogoutResponse> logoutAsync(final LogoutRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<LogoutResponse>() {
+            @Override
+            public LogoutResponse call() {
+                return serverFacade.logout(request);
+            }
+        });
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -24,6 +44,6 @@ public class LogoutService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -0,0 +1,119 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Contains the business logic for getting the statuses that mention a user.
+ */
+public class MentionsService {
+
+    /**
+     * The mentions requests in flight, shared by every instance so that concurrent identical
+     * requests are only made once.
+     */
+    private static final SingleFlight<List<Object>, MentionsResponse> IN_FLIGHT = new SingleFlight<>();
+
+    /**
+     * Returns the statuses that mention the user specified in the request. Uses information in
+     * the request object to limit the number of statuses returned and to return the next set of
+     * statuses after any that were returned in a previous request. Uses the {@link ServerFacadeMine}
+     * to get the statuses from the server.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the statuses.
+     */
+    public MentionsResponse getMentions(final MentionsRequest request) throws IOException {
+        return IN_FLIGHT.execute(keyOf(request), new SingleFlight.Call<MentionsResponse>() {
+            @Override
+            public MentionsResponse call() throws IOException {
+                MentionsResponse response = getServerFacade().getMentions(request);
+
+                if(response.isSuccess()) {
+                    loadImages(response);
+                }
+
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Loads the profile image of the user for each status in the MentionsResponse.
+     *
+     * @param response the response from the mentions request.
+     */
+    private void loadImages(MentionsResponse response) throws IOException {
+        for(Status status : response.getMentions()) {
+            byte [] bytes = ByteArrayUtils.bytesFromUrl(status.getUser().getImageUrl());
+            status.getUser().setImageBytes(bytes);
+        }
+    }
+
+    /**
+     * Does the same as {@link #getMentions(MentionsRequest)} without blocking the calling thread.
+     * The request runs on the {@link ServiceExecutor}, and the images are loaded in a dependent
+     * stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the statuses.
+     */
+    public CompletableFuture<MentionsResponse> getMentionsAsync(final MentionsRequest request) {
+        return IN_FLIGHT.executeAsync(keyOf(request), new SingleFlight.AsyncCall<MentionsResponse>() {
+            @Override
+            public CompletableFuture<MentionsResponse> start() {
+                return requestMentionsAsync(request);
+            }
+        });
+    }
+
+    private CompletableFuture<MentionsResponse> requestMentionsAsync(final MentionsRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<MentionsResponse> response = serviceExecutor.supply(new Callable<MentionsResponse>() {
+            @Override
+            public MentionsResponse call() {
+                return serverFacade.getMentions(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<MentionsResponse>() {
+            @Override
+            public void loadImages(MentionsResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    MentionsService.this.loadImages(response);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies identical requests: the same user, page size and starting
+     * point.
+     */
+    private static List<Object> keyOf(MentionsRequest request) {
+        String alias = request.getUser() == null ? null : request.getUser().getAlias();
+        return Arrays.<Object>asList(alias, request.getLimit(), request.getCursor(), request.getLastStatus());
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
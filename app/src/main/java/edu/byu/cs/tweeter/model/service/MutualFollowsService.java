@@ -0,0 +1,84 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+
+/**
+ * Contains the business logic for finding the follows two users have in common.
+ */
+public class MutualFollowsService {
+
+    /**
+     * Returns a page of the usernames of the users the user in the request follows who also
+     * follow the other user, and how many there are in all.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the mutual follows.
+     */
+    public MutualFollowsResponse getMutualFollows(MutualFollowsRequest request) {
+        ServerFacadeMine serverFacade = getServerFacade();
+        return serverFacade.getMutualFollows(request);
+    }
+
+    /**
+     * Does the same as {@link #getMutualFollows(MutualFollowsRequest)} without blocking the calling thread. The
+     * request runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the mutual follows.
+     */
+    public CompletableFuture<MutualFollowsResponse> getMutualFollowsAsync(final MutualFollowsRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<MutualFollowsResponse>() {
+            @Override
+            public MutualFollowsResponse call() {
+                return serverFacade.getMutualFollows(request);
+            }
+        });
+    }
+
+    /**
+     * Returns whether each of the requested users follows the user in the request.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return whether each user follows back.
+     */
+    public FollowsBackResponse getFollowsBack(FollowsBackRequest request) {
+        ServerFacadeMine serverFacade = getServerFacade();
+        return serverFacade.getFollowsBack(request);
+    }
+
+    /**
+     * Does the same as {@link #getFollowsBack(FollowsBackRequest)} without blocking the calling thread. The
+     * request runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with whether each user follows back.
+     */
+    public CompletableFuture<FollowsBackResponse> getFollowsBackAsync(final FollowsBackRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<FollowsBackResponse>() {
+            @Override
+            public FollowsBackResponse call() {
+                return serverFacade.getFollowsBack(request);
+            }
+        });
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
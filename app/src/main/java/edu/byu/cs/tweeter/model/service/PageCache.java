@@ -0,0 +1,376 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+
+/**
+ * Caches the pages of feeds and stories the services have fetched, images included, so scrolling
+ * back, switching tabs or re-creating an activity doesn't repeat the request and the image
+ * downloads. A page is identified by whose feed or story it is, where it starts and how many
+ * statuses it holds. The cache holds a bounded number of pages and evicts the least recently used
+ * page when it is full.
+ * <p>
+ * Writes invalidate only the pages they change: a new status drops its author's story and the
+ * feeds of the author's followers, and a follow or unfollow drops the follower's feed. A page that
+ * was being fetched while an invalidation happened is not cached, so a fetch that raced with a
+ * write can't put a stale page back.
+ * <p>
+ * Feed pages also expire a fixed time after they are cached. The followers' copies of a new
+ * status are written in the background after the submit returns, and statuses posted from other
+ * devices never pass through this cache at all, so a feed page can be cached without a status
+ * that is already on its way. The time limit bounds how long such a page is served.
+ */
+public class PageCache {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final long DEFAULT_FEED_MAX_AGE_MILLIS = 10 * 1000;
+
+    /**
+     * The source of the current time. Package-private so tests can control it.
+     */
+    interface Clock {
+        long currentTimeMillis();
+    }
+
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    private enum Kind { FEED, STORY }
+
+    /**
+     * Identifies a page of a feed or story.
+     */
+    private static final class PageKey {
+        private final Kind kind;
+        private final String alias;
+        private final int limit;
+        private final String cursor;
+        private final Status lastStatus;
+
+        PageKey(Kind kind, String alias, int limit, String cursor, Status lastStatus) {
+            this.kind = kind;
+            this.alias = alias;
+            this.limit = limit;
+            this.cursor = cursor;
+            this.lastStatus = lastStatus;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageKey pageKey = (PageKey) o;
+            return kind == pageKey.kind &&
+                    limit == pageKey.limit &&
+                    alias.equals(pageKey.alias) &&
+                    Objects.equals(cursor, pageKey.cursor) &&
+                    Objects.equals(lastStatus, pageKey.lastStatus);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, alias, limit, cursor, lastStatus);
+        }
+    }
+
+    /**
+     * A cached page, the user whose feed or story it is and when it was cached.
+     */
+    private static final class Page {
+        private final User owner;
+        private final Object response;
+        private final long cachedAt;
+
+        Page(User owner, Object response, long cachedAt) {
+            this.owner = owner;
+            this.response = response;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    // Guarded by this
+    private final LinkedHashMap<PageKey, Page> pages = new LinkedHashMap<PageKey, Page>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, Page> eldest) {
+            if(size() > capacity) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private final long feedMaxAgeMillis;
+    private final Clock clock;
+    private int capacity;
+    private long version;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache that holds up to the specified number of pages and expires feed pages
+     * after {@link #DEFAULT_FEED_MAX_AGE_MILLIS} milliseconds.
+     *
+     * @param capacity the maximum number of pages.
+     */
+    PageCache(int capacity) {
+        this(capacity, DEFAULT_FEED_MAX_AGE_MILLIS, SYSTEM_CLOCK);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity the maximum number of pages.
+     * @param feedMaxAgeMillis how long a feed page is served after it is cached.
+     * @param clock the source of the current time.
+     */
+    PageCache(int capacity, long feedMaxAgeMillis, Clock clock) {
+        this.feedMaxAgeMillis = feedMaxAgeMillis;
+        this.clock = clock;
+        setCapacity(capacity);
+    }
+
+    /**
+     * Lazily creates the shared instance.
+     */
+    private static class InstanceHolder {
+        private static final PageCache INSTANCE = new PageCache(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the shared instance of the class, which every service uses.
+     *
+     * @return the instance.
+     */
+    public static PageCache getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the cached page of a feed.
+     *
+     * @param request the request for the page.
+     * @return the page, or null if it isn't cached.
+     */
+    FeedResponse getFeed(FeedRequest request) {
+        return (FeedResponse) get(keyOf(request));
+    }
+
+    /**
+     * Caches a page of a feed, unless the request is invalid, the response is unsuccessful or
+     * the cache was invalidated after the specified version.
+     *
+     * @param request the request for the page.
+     * @param response the page.
+     * @param version the version of the cache when the page was requested.
+     */
+    void putFeed(FeedRequest request, FeedResponse response, long version) {
+        put(keyOf(request), request.getUser(), response, response.isSuccess(), version);
+    }
+
+    /**
+     * Returns the cached page of a story.
+     *
+     * @param request the request for the page.
+     * @return the page, or null if it isn't cached.
+     */
+    StoryResponse getStory(StoryRequest request) {
+        return (StoryResponse) get(keyOf(request));
+    }
+
+    /**
+     * Caches a page of a story, unless the request is invalid, the response is unsuccessful or
+     * the cache was invalidated after the specified version.
+     *
+     * @param request the request for the page.
+     * @param response the page.
+     * @param version the version of the cache when the page was requested.
+     */
+    void putStory(StoryRequest request, StoryResponse response, long version) {
+        put(keyOf(request), request.getUser(), response, response.isSuccess(), version);
+    }
+
+    /**
+     * Returns the version of the cache, which changes on every invalidation. Read it before
+     * fetching a page and pass it when caching the page.
+     *
+     * @return the version.
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Drops every cached page of a user's story.
+     *
+     * @param alias the alias of the user.
+     */
+    public void invalidateStory(String alias) {
+        invalidate(Kind.STORY, alias);
+    }
+
+    /**
+     * Drops every cached page of a user's feed.
+     *
+     * @param alias the alias of the user.
+     */
+    public void invalidateFeed(String alias) {
+        invalidate(Kind.FEED, alias);
+    }
+
+    /**
+     * Returns the users who have pages of their feeds cached.
+     *
+     * @return the users, each listed once.
+     */
+    public synchronized List<User> getFeedOwners() {
+        Map<String, User> owners = new LinkedHashMap<>();
+
+        for(Map.Entry<PageKey, Page> entry : pages.entrySet()) {
+            if(entry.getKey().kind == Kind.FEED) {
+                owners.put(entry.getKey().alias, entry.getValue().owner);
+            }
+        }
+
+        return new ArrayList<>(owners.values());
+    }
+
+    /**
+     * Drops every cached page.
+     */
+    public synchronized void clear() {
+        pages.clear();
+        version++;
+    }
+
+    /**
+     * Sets the maximum number of pages, evicting the least recently used pages if there are
+     * more.
+     *
+     * @param capacity the maximum number of pages.
+     */
+    public synchronized void setCapacity(int capacity) {
+        if(capacity < 0) {
+            throw new AssertionError();
+        }
+
+        this.capacity = capacity;
+
+        Iterator<PageKey> iterator = pages.keySet().iterator();
+        while(pages.size() > capacity) {
+            iterator.next();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return pages.size();
+    }
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     *
+     * @return the number of hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests that weren't cached.
+     *
+     * @return the number of misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of pages dropped to make room for others.
+     *
+     * @return the number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private synchronized Object get(PageKey key) {
+        if(key == null) {
+            return null;
+        }
+
+        Page page = pages.get(key);
+        if(page != null && key.kind == Kind.FEED && clock.currentTimeMillis() - page.cachedAt >= feedMaxAgeMillis) {
+            pages.remove(key);
+            page = null;
+        }
+
+        if(page == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return page.response;
+    }
+
+    private synchronized void put(PageKey key, User owner, Object response, boolean success, long version) {
+        if(key == null || !success || version != this.version) {
+            return;
+        }
+
+        pages.put(key, new Page(owner, response, clock.currentTimeMillis()));
+    }
+
+    private synchronized void invalidate(Kind kind, String alias) {
+        Iterator<PageKey> iterator = pages.keySet().iterator();
+
+        while(iterator.hasNext()) {
+            PageKey key = iterator.next();
+            if(key.kind == kind && key.alias.equals(alias)) {
+                iterator.remove();
+            }
+        }
+
+        // Fetches that started before now may have read what was just invalidated
+        version++;
+    }
+
+    private static PageKey keyOf(FeedRequest request) {
+        if(request.getUser() == null || request.getUser().getAlias() == null) {
+            return null;
+        }
+
+        return new PageKey(Kind.FEED, request.getUser().getAlias(), request.getLimit(),
+                request.getCursor(), request.getLastStatus());
+    }
+
+    private static PageKey keyOf(StoryRequest request) {
+        if(request.getUser() == null || request.getUser().getAlias() == null) {
+            return null;
+        }
+
+        return new PageKey(Kind.STORY, request.getUser().getAlias(), request.getLimit(),
+                request.getCursor(), request.getLastStatus());
+    }
+}
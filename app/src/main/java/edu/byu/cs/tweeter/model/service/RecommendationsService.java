@@ -0,0 +1,86 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Contains the business logic for suggesting users for a user to follow.
+ */
+public class RecommendationsService {
+
+    /**
+     * Returns users for the user specified in the request to follow, the ones followed by the most
+     * of the people the user follows first. Uses the {@link ServerFacadeMine} to get the
+     * suggestions from the server.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the suggested users.
+     */
+    public RecommendationsResponse getRecommendations(RecommendationsRequest request) throws IOException {
+        RecommendationsResponse response = getServerFacade().getRecommendations(request);
+
+        if(response.isSuccess()) {
+            loadImages(response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Loads the profile image data for each suggested user included in the response.
+     *
+     * @param response the response from the recommendations request.
+     */
+    private void loadImages(RecommendationsResponse response) throws IOException {
+        for(User user : response.getUsers()) {
+            byte [] bytes = ByteArrayUtils.bytesFromUrl(user.getImageUrl());
+            user.setImageBytes(bytes);
+        }
+    }
+
+    /**
+     * Does the same as {@link #getRecommendations(RecommendationsRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the suggested users.
+     */
+    public CompletableFuture<RecommendationsResponse> getRecommendationsAsync(final RecommendationsRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<RecommendationsResponse> response = serviceExecutor.supply(new Callable<RecommendationsResponse>() {
+            @Override
+            public RecommendationsResponse call() {
+                return serverFacade.getRecommendations(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<RecommendationsResponse>() {
+            @Override
+            public void loadImages(RecommendationsResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    RecommendationsService.this.loadImages(response);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
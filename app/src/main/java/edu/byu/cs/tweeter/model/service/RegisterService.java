@@ -1,6 +1,8 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -41,6 +43,34 @@ public class RegisterService {
         }
     }
 
+    /**
+     * Does the same as {@link #getRegister(RegisterRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<RegisterResponse> getRegisterAsync(final RegisterRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<RegisterResponse> response = serviceExecutor.supply(new Callable<RegisterResponse>() {
+            @Override
+            public RegisterResponse call() {
+                return serverFacade.register(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<RegisterResponse>() {
+            @Override
+            public void loadImages(RegisterResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    loadImage(response.getUser());
+                }
+            }
+        });
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -49,7 +79,7 @@ public class RegisterService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
 
@@ -0,0 +1,53 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+
+/**
+ * Contains the business logic for finding out whether a user follows other users.
+ */
+public class RelationshipService {
+
+    /**
+     * Returns whether the user in the request follows each of the requested users.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the relationships.
+     */
+    public RelationshipResponse getRelationship(RelationshipRequest request) {
+        ServerFacadeMine serverFacade = getServerFacade();
+        return serverFacade.getRelationship(request);
+    }
+
+    /**
+     * Does the same as {@link #getRelationship(RelationshipRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the relationships.
+     */
+    public CompletableFuture<RelationshipResponse> getRelationshipAsync(final RelationshipRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<RelationshipResponse>() {
+            @Override
+            public RelationshipResponse call() {
+                return serverFacade.getRelationship(request);
+            }
+        });
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    public ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
@@ -1,11 +1,15 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
 import edu.byu.cs.tweeter.model.service.request.RetrieveUserRequest;
+import edu.byu.cs.tweeter.model.service.request.RetrieveUsersRequest;
 import edu.byu.cs.tweeter.model.service.response.RetrieveUserResponse;
+import edu.byu.cs.tweeter.model.service.response.RetrieveUsersResponse;
 import edu.byu.cs.tweeter.util.ByteArrayUtils;
 
 /**
@@ -13,7 +17,22 @@ import edu.byu.cs.tweeter.util.ByteArrayUtils;
  */
 public class RetrieveUserService {
 
-    public RetrieveUserResponse retrieveUser(RetrieveUserRequest request) throws IOException {
+    /**
+     * The retrieve user requests in flight by username, shared by every instance so that
+     * concurrent identical requests are only made once.
+     */
+    private static final SingleFlight<String, RetrieveUserResponse> IN_FLIGHT = new SingleFlight<>();
+
+    public RetrieveUserResponse retrieveUser(final RetrieveUserRequest request) throws IOException {
+        return IN_FLIGHT.execute(request.getUsername(), new SingleFlight.Call<RetrieveUserResponse>() {
+            @Override
+            public RetrieveUserResponse call() throws IOException {
+                return requestUser(request);
+            }
+        });
+    }
+
+    private RetrieveUserResponse requestUser(RetrieveUserRequest request) throws IOException {
         ServerFacadeMine serverFacade = getServerFacade();
         RetrieveUserResponse retrieveUserResponse = serverFacade.retrieveUser(request);
 
@@ -24,6 +43,104 @@ public class RetrieveUserService {
         return retrieveUserResponse;
     }
 
+    /**
+     * Retrieves several users with one request and loads the profile image of each user that was
+     * found.
+     *
+     * @param request contains the usernames of the users to retrieve.
+     * @return the response.
+     */
+    public RetrieveUsersResponse retrieveUsers(RetrieveUsersRequest request) throws IOException {
+        ServerFacadeMine serverFacade = getServerFacade();
+        RetrieveUsersResponse retrieveUsersResponse = serverFacade.retrieveUsers(request);
+
+        if(retrieveUsersResponse.isSuccess()) {
+            loadImages(retrieveUsersResponse);
+        }
+
+        return retrieveUsersResponse;
+    }
+
+    /**
+     * Does the same as {@link #retrieveUser(RetrieveUserRequest)} without blocking the calling
+     * thread. The request runs on the {@link ServiceExecutor}, and the image is loaded in a
+     * dependent stage.
+     *
+     * @param request contains the username of the user to retrieve.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<RetrieveUserResponse> retrieveUserAsync(final RetrieveUserRequest request) {
+        return IN_FLIGHT.executeAsync(request.getUsername(), new SingleFlight.AsyncCall<RetrieveUserResponse>() {
+            @Override
+            public CompletableFuture<RetrieveUserResponse> start() {
+                return requestUserAsync(request);
+            }
+        });
+    }
+
+    private CompletableFuture<RetrieveUserResponse> requestUserAsync(final RetrieveUserRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<RetrieveUserResponse> response = serviceExecutor.supply(new Callable<RetrieveUserResponse>() {
+            @Override
+            public RetrieveUserResponse call() {
+                return serverFacade.retrieveUser(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<RetrieveUserResponse>() {
+            @Override
+            public void loadImages(RetrieveUserResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    loadImage(response.getUser());
+                }
+            }
+        });
+    }
+
+    /**
+     * Does the same as {@link #retrieveUsers(RetrieveUsersRequest)} without blocking the calling
+     * thread. The request runs on the {@link ServiceExecutor}, and the images are loaded in a
+     * dependent stage.
+     *
+     * @param request contains the usernames of the users to retrieve.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<RetrieveUsersResponse> retrieveUsersAsync(final RetrieveUsersRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<RetrieveUsersResponse> response = serviceExecutor.supply(new Callable<RetrieveUsersResponse>() {
+            @Override
+            public RetrieveUsersResponse call() {
+                return serverFacade.retrieveUsers(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<RetrieveUsersResponse>() {
+            @Override
+            public void loadImages(RetrieveUsersResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    RetrieveUserService.this.loadImages(response);
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the profile image data for each user that was found.
+     *
+     * @param response the response from the retrieve users request.
+     */
+    private void loadImages(RetrieveUsersResponse response) throws IOException {
+        for(User user : response.getUsers()) {
+            if(user != null) {
+                loadImage(user);
+            }
+        }
+    }
+
     /**
      * Loads the profile image data for the user.
      *
@@ -42,6 +159,6 @@ public class RetrieveUserService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -0,0 +1,118 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
+import edu.byu.cs.tweeter.util.ByteArrayUtils;
+
+/**
+ * Contains the business logic for searching the text of statuses.
+ */
+public class SearchService {
+
+    /**
+     * The search requests in flight, shared by every instance so that concurrent identical
+     * requests are only made once.
+     */
+    private static final SingleFlight<List<Object>, SearchResponse> IN_FLIGHT = new SingleFlight<>();
+
+    /**
+     * Returns the statuses whose text matches the query in the request, newest first. Uses
+     * information in the request object to limit the number of statuses returned and to return
+     * the next set of statuses after any that were returned in a previous request. Uses the
+     * {@link ServerFacadeMine} to search the statuses on the server.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the statuses.
+     */
+    public SearchResponse search(final SearchRequest request) throws IOException {
+        return IN_FLIGHT.execute(keyOf(request), new SingleFlight.Call<SearchResponse>() {
+            @Override
+            public SearchResponse call() throws IOException {
+                SearchResponse response = getServerFacade().search(request);
+
+                if(response.isSuccess()) {
+                    loadImages(response);
+                }
+
+                return response;
+            }
+        });
+    }
+
+    /**
+     * Loads the profile image of the user for each status in the SearchResponse.
+     *
+     * @param response the response from the search request.
+     */
+    private void loadImages(SearchResponse response) throws IOException {
+        for(Status status : response.getStatuses()) {
+            byte [] bytes = ByteArrayUtils.bytesFromUrl(status.getUser().getImageUrl());
+            status.getUser().setImageBytes(bytes);
+        }
+    }
+
+    /**
+     * Does the same as {@link #search(SearchRequest)} without blocking the calling thread.
+     * The request runs on the {@link ServiceExecutor}, and the images are loaded in a dependent
+     * stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the statuses.
+     */
+    public CompletableFuture<SearchResponse> searchAsync(final SearchRequest request) {
+        return IN_FLIGHT.executeAsync(keyOf(request), new SingleFlight.AsyncCall<SearchResponse>() {
+            @Override
+            public CompletableFuture<SearchResponse> start() {
+                return requestSearchAsync(request);
+            }
+        });
+    }
+
+    private CompletableFuture<SearchResponse> requestSearchAsync(final SearchRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<SearchResponse> response = serviceExecutor.supply(new Callable<SearchResponse>() {
+            @Override
+            public SearchResponse call() {
+                return serverFacade.search(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<SearchResponse>() {
+            @Override
+            public void loadImages(SearchResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    SearchService.this.loadImages(response);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies identical requests: the same query, page size and starting
+     * point.
+     */
+    private static List<Object> keyOf(SearchRequest request) {
+        return Arrays.<Object>asList(request.getQuery(), request.getMatchAll(), request.getLimit(), request.getCursor());
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
@@ -0,0 +1,140 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the asynchronous variants of the service methods. Each variant is split into a stage that
+ * makes the request and a dependent stage that loads the images of the response, both run on the
+ * executor held here, so callers can start several requests at once and combine the results
+ * without a thread of their own waiting on each one.
+ * <p>
+ * By default the stages run on a fixed pool of daemon threads. The pool is larger than the number
+ * of processors because most of its time is spent waiting on the server and on image downloads.
+ * Another executor can be set, such as a direct executor in tests.
+ */
+public class ServiceExecutor {
+
+    public static final int DEFAULT_THREAD_COUNT = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Loads the images referenced by a response. Unlike the functions taken by
+     * {@link CompletableFuture}, it may throw the {@link IOException} of a failed download.
+     */
+    interface ImageLoader<T> {
+        void loadImages(T response) throws IOException;
+    }
+
+    private volatile Executor executor;
+
+    private ServiceExecutor() {
+        this.executor = createDefaultExecutor();
+    }
+
+    /**
+     * Lazily creates the shared instance, and with it the default pool.
+     */
+    private static class InstanceHolder {
+        private static final ServiceExecutor INSTANCE = new ServiceExecutor();
+    }
+
+    /**
+     * Returns the shared instance of the class.
+     *
+     * @return the instance.
+     */
+    public static ServiceExecutor getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the executor that asynchronous service calls run on.
+     *
+     * @return the executor.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor that asynchronous service calls run on. Calls that have already started
+     * finish on the previous executor, which is not shut down.
+     *
+     * @param executor the executor.
+     */
+    public void setExecutor(Executor executor) {
+        if(executor == null) {
+            throw new AssertionError();
+        }
+
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a blocking request on the executor.
+     *
+     * @param request the request, which may throw an {@link IOException}.
+     * @return a future that completes with the response, or exceptionally with a
+     *          {@link CompletionException} wrapping whatever the request threw.
+     */
+    <T> CompletableFuture<T> supply(final Callable<T> request) {
+        return CompletableFuture.supplyAsync(new Supplier<T>() {
+            @Override
+            public T get() {
+                try {
+                    return request.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }
+        }, executor);
+    }
+
+    /**
+     * Adds a stage that loads the images of a response once it arrives. The images are loaded on
+     * the executor rather than on the thread that completed the request.
+     *
+     * @param future the future of the response.
+     * @param imageLoader loads the images of the response.
+     * @return a future that completes with the same response once its images are loaded.
+     */
+    <T> CompletableFuture<T> thenLoadImages(CompletableFuture<T> future, final ImageLoader<T> imageLoader) {
+        return future.thenApplyAsync(new Function<T, T>() {
+            @Override
+            public T apply(T response) {
+                try {
+                    imageLoader.loadImages(response);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+
+                return response;
+            }
+        }, executor);
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        return Executors.newFixedThreadPool(DEFAULT_THREAD_COUNT, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "tweeter-service-" + count.incrementAndGet());
+                // Idle service threads shouldn't keep the process alive
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
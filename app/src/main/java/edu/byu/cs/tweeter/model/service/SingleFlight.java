@@ -0,0 +1,149 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Coalesces identical requests that are in flight at the same time. The first caller for a key
+ * does the work; callers that ask for the same key before it finishes wait for that work and get
+ * the same result, or the same exception, instead of repeating it. Once a request finishes its
+ * key is forgotten, so the next caller starts a fresh request and never sees a stale result.
+ * <p>
+ * Blocking and asynchronous callers share the same in-flight requests, so a blocking call that
+ * arrives while an asynchronous one is running waits for it, and the other way around.
+ *
+ * @param <K> the type of key that identifies identical requests.
+ * @param <V> the type of response.
+ */
+class SingleFlight<K, V> {
+
+    /**
+     * A blocking request.
+     */
+    interface Call<V> {
+        V call() throws IOException;
+    }
+
+    /**
+     * Starts an asynchronous request.
+     */
+    interface AsyncCall<V> {
+        CompletableFuture<V> start();
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the response to a request, making the request only if an identical one isn't
+     * already in flight.
+     *
+     * @param key identifies the request. A request with a null key is never coalesced.
+     * @param call makes the request.
+     * @return the response.
+     * @throws IOException if the request failed.
+     */
+    V execute(K key, Call<V> call) throws IOException {
+        if(key == null) {
+            return call.call();
+        }
+
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+
+        if(existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V response = call.call();
+            inFlight.remove(key, promise);
+            promise.complete(response);
+            return response;
+        } catch (IOException | RuntimeException | Error e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a future of the response to a request, starting the request only if an identical
+     * one isn't already in flight.
+     *
+     * @param key identifies the request. A request with a null key is never coalesced.
+     * @param call starts the request.
+     * @return a future that completes with the response. Identical callers may get the same
+     *          future, so it shouldn't be completed or cancelled by the caller.
+     */
+    CompletableFuture<V> executeAsync(final K key, AsyncCall<V> call) {
+        if(key == null) {
+            return call.start();
+        }
+
+        final CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+
+        if(existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<V> response;
+        try {
+            response = call.start();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+            throw e;
+        }
+
+        response.whenComplete(new BiConsumer<V, Throwable>() {
+            @Override
+            public void accept(V value, Throwable throwable) {
+                inFlight.remove(key, promise);
+
+                if(throwable == null) {
+                    promise.complete(value);
+                } else {
+                    promise.completeExceptionally(throwable);
+                }
+            }
+        });
+
+        return promise;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return the number of requests.
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an identical request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if(cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+}
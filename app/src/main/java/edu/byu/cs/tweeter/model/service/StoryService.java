@@ -1,6 +1,10 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -13,6 +17,12 @@ import edu.byu.cs.tweeter.util.ByteArrayUtils;
  */
 public class StoryService {
 
+    /**
+     * The story requests in flight, shared by every instance so that concurrent identical
+     * requests are only made once.
+     */
+    private static final SingleFlight<List<Object>, StoryResponse> IN_FLIGHT = new SingleFlight<>();
+
     /**
      * Returns the statuses of the specified user in the request. Uses information in
      * the request object to limit the number of statuses returned and to return the next set of
@@ -22,13 +32,30 @@ public class StoryService {
      * @param request contains the data required to fulfill the request.
      * @return the statuses.
      */
-    public StoryResponse getStory(StoryRequest request) throws IOException {
+    public StoryResponse getStory(final StoryRequest request) throws IOException {
+        StoryResponse cached = getPageCache().getStory(request);
+        if(cached != null) {
+            return cached;
+        }
+
+        return IN_FLIGHT.execute(keyOf(request), new SingleFlight.Call<StoryResponse>() {
+            @Override
+            public StoryResponse call() throws IOException {
+                return requestStory(request);
+            }
+        });
+    }
+
+    private StoryResponse requestStory(StoryRequest request) throws IOException {
+        PageCache pageCache = getPageCache();
+        long version = pageCache.getVersion();
         StoryResponse response = getServerFacade().getStory(request);
 
         if(response.isSuccess()) {
             loadImages(response);
         }
 
+        pageCache.putStory(request, response, version);
         return response;
     }
 
@@ -44,6 +71,71 @@ public class StoryService {
         }
     }
 
+    /**
+     * Does the same as {@link #getStory(StoryRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}, and the images are loaded in a dependent stage.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the statuses.
+     */
+    public CompletableFuture<StoryResponse> getStoryAsync(final StoryRequest request) {
+        StoryResponse cached = getPageCache().getStory(request);
+        if(cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return IN_FLIGHT.executeAsync(keyOf(request), new SingleFlight.AsyncCall<StoryResponse>() {
+            @Override
+            public CompletableFuture<StoryResponse> start() {
+                return requestStoryAsync(request);
+            }
+        });
+    }
+
+    private CompletableFuture<StoryResponse> requestStoryAsync(final StoryRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        final PageCache pageCache = getPageCache();
+        final long version = pageCache.getVersion();
+        ServiceExecutor serviceExecutor = ServiceExecutor.getInstance();
+
+        CompletableFuture<StoryResponse> response = serviceExecutor.supply(new Callable<StoryResponse>() {
+            @Override
+            public StoryResponse call() {
+                return serverFacade.getStory(request);
+            }
+        });
+
+        return serviceExecutor.thenLoadImages(response, new ServiceExecutor.ImageLoader<StoryResponse>() {
+            @Override
+            public void loadImages(StoryResponse response) throws IOException {
+                if(response.isSuccess()) {
+                    StoryService.this.loadImages(response);
+                }
+
+                // Cached only once the images are in
+                pageCache.putStory(request, response, version);
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies identical requests: the same user, page size and starting
+     * point.
+     */
+    private static List<Object> keyOf(StoryRequest request) {
+        String alias = request.getUser() == null ? null : request.getUser().getAlias();
+        return Arrays.<Object>asList(alias, request.getLimit(), request.getCursor(), request.getLastStatus());
+    }
+
+    /**
+     * Returns the cache of pages. Allows mocking of the cache for testing purposes.
+     *
+     * @return the cache.
+     */
+    PageCache getPageCache() {
+        return PageCache.getInstance();
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -52,6 +144,6 @@ public class StoryService {
      * @return the instance.
      */
     ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
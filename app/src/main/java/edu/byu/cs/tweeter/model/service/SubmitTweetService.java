@@ -1,9 +1,16 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
+import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
 import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
 import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
 
 /**
@@ -13,11 +20,68 @@ public class SubmitTweetService {
 
     public SubmitTweetResponse submitTweet(SubmitTweetRequest request) throws IOException {
         ServerFacadeMine serverFacade = getServerFacade();
+        return submitTweet(serverFacade, request);
+    }
+
+    private SubmitTweetResponse submitTweet(ServerFacadeMine serverFacade, SubmitTweetRequest request) {
         SubmitTweetResponse submitTweetResponse = serverFacade.submitTweet(request);
 
+        if(submitTweetResponse.isSuccess()) {
+            invalidatePages(serverFacade, request.getUser());
+        }
+
         return submitTweetResponse;
     }
 
+    /**
+     * Drops the cached pages the new status changes: the author's story and the feeds of the
+     * author's followers. Only the feeds that are cached are checked, which keeps this to a few
+     * relationship lookups however many followers the author has.
+     *
+     * @param serverFacade the facade to look up the followers with.
+     * @param author the author of the status.
+     */
+    private void invalidatePages(ServerFacadeMine serverFacade, User author) {
+        PageCache pageCache = getPageCache();
+        pageCache.invalidateStory(author.getAlias());
+
+        List<String> authorAlias = Collections.singletonList(author.getAlias());
+        for(User owner : pageCache.getFeedOwners()) {
+            RelationshipResponse relationshipResponse = serverFacade.getRelationship(
+                    new RelationshipRequest(owner, authorAlias));
+
+            if(relationshipResponse.isSuccess() && relationshipResponse.isFollowing(0)) {
+                pageCache.invalidateFeed(owner.getAlias());
+            }
+        }
+    }
+
+    /**
+     * Does the same as {@link #submitTweet(SubmitTweetRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<SubmitTweetResponse> submitTweetAsync(final SubmitTweetRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<SubmitTweetResponse>() {
+            @Override
+            public SubmitTweetResponse call() {
+                return submitTweet(serverFacade, request);
+            }
+        });
+    }
+
+    /**
+     * Returns the cache of pages. Allows mocking of the cache for testing purposes.
+     *
+     * @return the cache.
+     */
+    PageCache getPageCache() {
+        return PageCache.getInstance();
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -26,6 +90,6 @@ public class SubmitTweetService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
@@ -0,0 +1,54 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+
+/**
+ * Contains the business logic for getting the terms used most often in recent statuses.
+ */
+public class TrendingService {
+
+    /**
+     * Returns the hashtags, mentions and words used most often in the statuses submitted within
+     * the window given in the request, most used first.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the trending terms.
+     */
+    public TrendingResponse getTrending(TrendingRequest request) {
+        ServerFacadeMine serverFacade = getServerFacade();
+        return serverFacade.getTrending(request);
+    }
+
+    /**
+     * Does the same as {@link #getTrending(TrendingRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the trending terms.
+     */
+    public CompletableFuture<TrendingResponse> getTrendingAsync(final TrendingRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<TrendingResponse>() {
+            @Override
+            public TrendingResponse call() {
+                return serverFacade.getTrending(request);
+            }
+        });
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
@@ -0,0 +1,55 @@
+package edu.byu.cs.tweeter.model.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
+
+/**
+ * Contains the business logic for completing a partly typed alias or name.
+ */
+public class TypeaheadService {
+
+    /**
+     * Returns the users whose alias, first name or last name starts with the prefix in the
+     * request, those with the most followers first. Images aren't loaded, so the answer can keep
+     * up with typing.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return the matching users.
+     */
+    public TypeaheadResponse getTypeahead(TypeaheadRequest request) {
+        ServerFacadeMine serverFacade = getServerFacade();
+        return serverFacade.getTypeahead(request);
+    }
+
+    /**
+     * Does the same as {@link #getTypeahead(TypeaheadRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the matching users.
+     */
+    public CompletableFuture<TypeaheadResponse> getTypeaheadAsync(final TypeaheadRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<TypeaheadResponse>() {
+            @Override
+            public TypeaheadResponse call() {
+                return serverFacade.getTypeahead(request);
+            }
+        });
+    }
+
+    /**
+     * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
+     * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
+     * method to allow for proper mocking.
+     *
+     * @return the instance.
+     */
+    ServerFacadeMine getServerFacade() {
+        return ServerFacadeMine.getInstance();
+    }
+}
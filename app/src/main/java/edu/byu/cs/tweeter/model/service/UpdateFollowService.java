@@ -1,6 +1,8 @@
 package edu.byu.cs.tweeter.model.service;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
 import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
@@ -10,11 +12,46 @@ public class UpdateFollowService {
 
     public UpdateFollowResponse updateFollow(UpdateFollowRequest request) throws IOException {
         ServerFacadeMine serverFacade = getServerFacade();
+        return updateFollow(serverFacade, request);
+    }
+
+    private UpdateFollowResponse updateFollow(ServerFacadeMine serverFacade, UpdateFollowRequest request) {
         UpdateFollowResponse updateFollowResponse = serverFacade.updateFollow(request);
 
+        // Following or unfollowing someone only changes the follower's feed
+        if(updateFollowResponse.isSuccess()) {
+            getPageCache().invalidateFeed(request.getUser().getAlias());
+        }
+
         return updateFollowResponse;
     }
 
+    /**
+     * Does the same as {@link #updateFollow(UpdateFollowRequest)} without blocking the calling thread. The request
+     * runs on the {@link ServiceExecutor}.
+     *
+     * @param request contains the data required to fulfill the request.
+     * @return a future that completes with the response.
+     */
+    public CompletableFuture<UpdateFollowResponse> updateFollowAsync(final UpdateFollowRequest request) {
+        final ServerFacadeMine serverFacade = getServerFacade();
+        return ServiceExecutor.getInstance().supply(new Callable<UpdateFollowResponse>() {
+            @Override
+            public UpdateFollowResponse call() {
+                return updateFollow(serverFacade, request);
+            }
+        });
+    }
+
+    /**
+     * Returns the cache of pages. Allows mocking of the cache for testing purposes.
+     *
+     * @return the cache.
+     */
+    PageCache getPageCache() {
+        return PageCache.getInstance();
+    }
+
     /**
      * Returns an instance of {@link ServerFacadeMine}. Allows mocking of the ServerFacade class for
      * testing purposes. All usages of ServerFacade should get their ServerFacade instance from this
@@ -23,6 +60,6 @@ public class UpdateFollowService {
      * @return the instance.
      */
     public ServerFacadeMine getServerFacade() {
-        return new ServerFacadeMine();
+        return ServerFacadeMine.getInstance();
     }
 }
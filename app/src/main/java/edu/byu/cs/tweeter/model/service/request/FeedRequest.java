@@ -12,6 +12,7 @@ public class FeedRequest {
     private final User user;
     private final int limit;
     private final Status lastStatus;
+    private final String cursor;
 
     /**
      * Creates an instance.
@@ -23,9 +24,26 @@ public class FeedRequest {
      *                     previous request).
      */
     public FeedRequest(User user, int limit, Status lastStatus) {
+        this(user, limit, lastStatus, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the {@link User} whose following statuses are to be returned.
+     * @param limit the maximum number of statuses to return.
+     * @param lastStatus the last status that was returned in the previous request (null if
+     *                     there was no previous request or if no statuses were returned in the
+     *                     previous request).
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request). When present it is used instead of 'lastStatus' to find
+     *               where the next page starts.
+     */
+    public FeedRequest(User user, int limit, Status lastStatus, String cursor) {
         this.user = user;
         this.limit = limit;
         this.lastStatus = lastStatus;
+        this.cursor = cursor;
     }
 
     /**
@@ -55,4 +73,14 @@ public class FeedRequest {
     public Status getLastStatus() {
         return lastStatus;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+}
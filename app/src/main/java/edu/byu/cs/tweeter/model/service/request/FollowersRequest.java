@@ -11,6 +11,7 @@ public class FollowersRequest {
     private final User user;
     private final int limit;
     private final User lastFollower;
+    private final String cursor;
 
     /**
      * Creates an instance.
@@ -22,9 +23,26 @@ public class FollowersRequest {
      *                     previous request).
      */
     public FollowersRequest(User user, int limit, User lastFollower) {
+        this(user, limit, lastFollower, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the {@link User} whose followers are to be returned.
+     * @param limit the maximum number of followers to return.
+     * @param lastFollower the last followers that was returned in the previous request (null if
+     *                     there was no previous request or if no followers were returned in the
+     *                     previous request).
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request). When present it is used instead of 'lastFollower' to find
+     *               where the next page starts.
+     */
+    public FollowersRequest(User user, int limit, User lastFollower, String cursor) {
         this.user = user;
         this.limit = limit;
         this.lastFollower = lastFollower;
+        this.cursor = cursor;
     }
 
     /**
@@ -54,4 +72,14 @@ public class FollowersRequest {
     public User getLastFollower() {
         return lastFollower;
     }
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
 }
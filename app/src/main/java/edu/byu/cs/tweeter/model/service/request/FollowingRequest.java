@@ -11,6 +11,7 @@ public class FollowingRequest {
     private final User user;
     private final int limit;
     private User lastFollowee;
+    private final String cursor;
 
     /**
      * Creates an instance.
@@ -22,9 +23,26 @@ public class FollowingRequest {
      *                     previous request).
      */
     public FollowingRequest(User user, int limit, User lastFollowee) {
+        this(user, limit, lastFollowee, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the {@link User} whose followees are to be returned.
+     * @param limit the maximum number of followees to return.
+     * @param lastFollowee the last followee that was returned in the previous request (null if
+     *                     there was no previous request or if no followees were returned in the
+     *                     previous request).
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request). When present it is used instead of 'lastFollowee' to find
+     *               where the next page starts.
+     */
+    public FollowingRequest(User user, int limit, User lastFollowee, String cursor) {
         this.user = user;
         this.limit = limit;
         this.lastFollowee = lastFollowee;
+        this.cursor = cursor;
     }
 
     /**
@@ -54,4 +72,14 @@ public class FollowingRequest {
     public User getLastFollowee() {
         return lastFollowee;
     }
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
 }
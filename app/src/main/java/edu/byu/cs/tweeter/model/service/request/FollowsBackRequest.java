@@ -0,0 +1,44 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Contains all the information needed to find out whether each of several users follows a user,
+ * such as the users on a page of the user's followees.
+ */
+public class FollowsBackRequest {
+
+    private final User user;
+    private final List<String> usernames;
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the user whose followers are checked.
+     * @param usernames the usernames (aliases) of the users to check for.
+     */
+    public FollowsBackRequest(User user, List<String> usernames) {
+        this.user = user;
+        this.usernames = usernames;
+    }
+
+    /**
+     * Returns the user whose followers are checked.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the usernames of the users to check for.
+     *
+     * @return the usernames.
+     */
+    public List<String> getUsernames() {
+        return usernames;
+    }
+}
@@ -0,0 +1,86 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page of
+ * statuses that mention a specified user.
+ */
+public class MentionsRequest {
+
+    private final User user;
+    private final int limit;
+    private final Status lastStatus;
+    private final String cursor;
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the {@link User} whose mentions are to be returned.
+     * @param limit the maximum number of statuses to return.
+     * @param lastStatus the last status that was returned in the previous request (null if
+     *                     there was no previous request or if no statuses were returned in the
+     *                     previous request).
+     */
+    public MentionsRequest(User user, int limit, Status lastStatus) {
+        this(user, limit, lastStatus, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the {@link User} whose mentions are to be returned.
+     * @param limit the maximum number of statuses to return.
+     * @param lastStatus the last status that was returned in the previous request (null if
+     *                     there was no previous request or if no statuses were returned in the
+     *                     previous request).
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request). When present it is used instead of 'lastStatus' to find
+     *               where the next page starts.
+     */
+    public MentionsRequest(User user, int limit, Status lastStatus, String cursor) {
+        this.user = user;
+        this.limit = limit;
+        this.lastStatus = lastStatus;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the user whose mentions are to be returned by this request.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the number representing the maximum number of statuses to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the last status that was returned in the previous request or null if there was no
+     * previous request or if no statuses were returned in the previous request.
+     *
+     * @return the last status.
+     */
+    public Status getLastStatus() {
+        return lastStatus;
+    }
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+}
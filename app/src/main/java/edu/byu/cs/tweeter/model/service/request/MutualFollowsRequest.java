@@ -0,0 +1,69 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page
+ * of the users a user follows who also follow another user, as in "followed by people you know".
+ */
+public class MutualFollowsRequest {
+
+    private final User user;
+    private final User otherUser;
+    private final int limit;
+    private final String cursor;
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the user whose followees are checked.
+     * @param otherUser the user whose followers are checked.
+     * @param limit the maximum number of usernames to return.
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request).
+     */
+    public MutualFollowsRequest(User user, User otherUser, int limit, String cursor) {
+        this.user = user;
+        this.otherUser = otherUser;
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the user whose followees are checked.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the user whose followers are checked.
+     *
+     * @return the other user.
+     */
+    public User getOtherUser() {
+        return otherUser;
+    }
+
+    /**
+     * Returns the number representing the maximum number of usernames to be returned by this
+     * request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+}
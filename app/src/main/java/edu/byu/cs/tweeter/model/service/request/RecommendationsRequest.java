@@ -0,0 +1,42 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * Contains all the information needed to make a request to have the server suggest users for a
+ * user to follow.
+ */
+public class RecommendationsRequest {
+
+    private final User user;
+    private final int limit;
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the user to suggest users to follow to.
+     * @param limit the maximum number of users to return.
+     */
+    public RecommendationsRequest(User user, int limit) {
+        this.user = user;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the user to suggest users to follow to.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns the number representing the maximum number of users to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,29 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+import java.util.List;
+
+/**
+ * Contains all the information needed to retrieve several users in a single request.
+ */
+public class RetrieveUsersRequest {
+
+    private final List<String> usernames;
+
+    /**
+     * Creates an instance.
+     *
+     * @param usernames the usernames (aliases) of the users to be retrieved.
+     */
+    public RetrieveUsersRequest(List<String> usernames) {
+        this.usernames = usernames;
+    }
+
+    /**
+     * Returns the usernames of the users to be retrieved by this request.
+     *
+     * @return the usernames.
+     */
+    public List<String> getUsernames() {
+        return usernames;
+    }
+}
@@ -0,0 +1,80 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+/**
+ * Contains all the information needed to make a request to have the server return the next page of
+ * statuses whose text matches a query.
+ */
+public class SearchRequest {
+
+    private final String query;
+    private final boolean matchAll;
+    private final int limit;
+    private final String cursor;
+
+    /**
+     * Creates an instance.
+     *
+     * @param query the words to search for.
+     * @param matchAll true to return the statuses containing every word of the query; false to
+     *                 return the statuses containing any of them.
+     * @param limit the maximum number of statuses to return.
+     */
+    public SearchRequest(String query, boolean matchAll, int limit) {
+        this(query, matchAll, limit, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param query the words to search for.
+     * @param matchAll true to return the statuses containing every word of the query; false to
+     *                 return the statuses containing any of them.
+     * @param limit the maximum number of statuses to return.
+     * @param cursor the opaque cursor returned in the previous response (null if there was no
+     *               previous request).
+     */
+    public SearchRequest(String query, boolean matchAll, int limit, String cursor) {
+        this.query = query;
+        this.matchAll = matchAll;
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Returns the words to search for.
+     *
+     * @return the query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns whether a status must contain every word of the query, rather than any of them, to
+     * be returned.
+     *
+     * @return true if every word must match.
+     */
+    public boolean getMatchAll() {
+        return matchAll;
+    }
+
+    /**
+     * Returns the number representing the maximum number of statuses to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the opaque cursor that was returned in the previous response or null if there was
+     * no previous request.
+     *
+     * @return the cursor.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+}
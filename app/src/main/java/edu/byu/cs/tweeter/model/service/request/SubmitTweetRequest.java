@@ -1,5 +1,6 @@
 package edu.byu.cs.tweeter.model.service.request;
 
+import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.domain.User;
 
@@ -10,16 +11,29 @@ public class SubmitTweetRequest {
 
     private User user;
     private Status status;
+    private AuthToken authToken;
 
     /**
-     * Creates an instance.
+     * Creates an instance without an auth token. The server rejects it unless a token is added.
      *
      * @param user the user who created the post.
      * @param status the status created by the post.
      */
     public SubmitTweetRequest(User user, Status status) {
+        this(user, status, null);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param user the user who created the post.
+     * @param status the status created by the post.
+     * @param authToken the auth token of the user's session.
+     */
+    public SubmitTweetRequest(User user, Status status, AuthToken authToken) {
         this.user = user;
         this.status = status;
+        this.authToken = authToken;
     }
 
     /**
@@ -39,4 +53,13 @@ public class SubmitTweetRequest {
     public Status getStatus() {
         return status;
     }
+
+    /**
+     * Returns the auth token of the user's session.
+     *
+     * @return the authToken.
+     */
+    public AuthToken getAuthToken() {
+        return authToken;
+    }
 }
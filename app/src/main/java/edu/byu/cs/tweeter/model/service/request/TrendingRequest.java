@@ -0,0 +1,40 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+/**
+ * Contains all the information needed to make a request to have the server return the terms used
+ * most often in recently submitted statuses.
+ */
+public class TrendingRequest {
+
+    private final int windowMinutes;
+    private final int limit;
+
+    /**
+     * Creates an instance.
+     *
+     * @param windowMinutes how many minutes back to look.
+     * @param limit the maximum number of terms to return.
+     */
+    public TrendingRequest(int windowMinutes, int limit) {
+        this.windowMinutes = windowMinutes;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns how many minutes back to look for statuses.
+     *
+     * @return the length of the window.
+     */
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    /**
+     * Returns the number representing the maximum number of terms to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
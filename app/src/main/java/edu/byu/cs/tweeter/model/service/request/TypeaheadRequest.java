@@ -0,0 +1,40 @@
+package edu.byu.cs.tweeter.model.service.request;
+
+/**
+ * Contains all the information needed to make a request to have the server complete a partly
+ * typed alias or name.
+ */
+public class TypeaheadRequest {
+
+    private final String prefix;
+    private final int limit;
+
+    /**
+     * Creates an instance.
+     *
+     * @param prefix the start of an alias, first name or last name, as typed so far.
+     * @param limit the maximum number of users to return.
+     */
+    public TypeaheadRequest(String prefix, int limit) {
+        this.prefix = prefix;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the start of the alias or name typed so far.
+     *
+     * @return the prefix.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns the number representing the maximum number of users to be returned by this request.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -1,5 +1,6 @@
 package edu.byu.cs.tweeter.model.service.request;
 
+import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.User;
 
 public class UpdateFollowRequest {
@@ -7,11 +8,17 @@ public class UpdateFollowRequest {
     private final User user;
     private final User followUser;
     private final boolean followTheFollowUser;
+    private final AuthToken authToken;
 
     public UpdateFollowRequest(User user, User followUser, boolean followTheFollowUser) {
+        this(user, followUser, followTheFollowUser, null);
+    }
+
+    public UpdateFollowRequest(User user, User followUser, boolean followTheFollowUser, AuthToken authToken) {
         this.user = user;
         this.followUser = followUser;
         this.followTheFollowUser = followTheFollowUser;
+        this.authToken = authToken;
     }
 
     public User getUser() {
@@ -21,4 +28,7 @@ public class UpdateFollowRequest {
         return followUser;
     }
     public boolean followTheFollowUser() { return followTheFollowUser; }
+    public AuthToken getAuthToken() {
+        return authToken;
+    }
 }
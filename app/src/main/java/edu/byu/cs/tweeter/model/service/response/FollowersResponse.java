@@ -29,7 +29,18 @@ public class FollowersResponse extends PagedResponse {
      * @param hasMorePages an indicator of whether more data is available for the request.
      */
     public FollowersResponse(List<User> followers, boolean hasMorePages) {
-        super(true, hasMorePages);
+        this(followers, hasMorePages, null);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param followers the followers to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param nextCursor the opaque cursor to send with the request for the next page.
+     */
+    public FollowersResponse(List<User> followers, boolean hasMorePages, String nextCursor) {
+        super(true, hasMorePages, nextCursor);
         this.followers = followers;
     }
 
@@ -29,7 +29,18 @@ public class FollowingResponse extends PagedResponse {
      * @param hasMorePages an indicator of whether more data is available for the request.
      */
     public FollowingResponse(List<User> followees, boolean hasMorePages) {
-        super(true, hasMorePages);
+        this(followees, hasMorePages, null);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param followees the followees to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param nextCursor the opaque cursor to send with the request for the next page.
+     */
+    public FollowingResponse(List<User> followees, boolean hasMorePages, String nextCursor) {
+        super(true, hasMorePages, nextCursor);
         this.followees = followees;
     }
 
@@ -0,0 +1,94 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.FollowsBackRequest}.
+ */
+public class FollowsBackResponse extends Response {
+
+    private User user;
+    private List<Boolean> followsBack;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public FollowsBackResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param user the user whose followers were checked.
+     * @param followsBack whether each of the requested users follows the user, in the order they
+     *                    were requested.
+     */
+    public FollowsBackResponse(User user, List<Boolean> followsBack) {
+        super(true, null);
+        this.user = user;
+        this.followsBack = followsBack;
+    }
+
+    /**
+     * Returns the user whose followers were checked.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns whether each of the requested users follows the user.
+     *
+     * @return the answers, in the order the users were requested.
+     */
+    public List<Boolean> getFollowsBack() {
+        return followsBack;
+    }
+
+    /**
+     * Returns the number of the requested users who follow the user.
+     *
+     * @return the count.
+     */
+    public int getCount() {
+        int count = 0;
+
+        for(Boolean follows : followsBack) {
+            if(follows) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FollowsBackResponse that = (FollowsBackResponse) o;
+        return Objects.equals(user, that.user) &&
+                Objects.equals(followsBack, that.followsBack);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(user, followsBack);
+    }
+
+    @Override
+    public String toString() {
+        return "FollowsBackResponse{" +
+                "user=" + user +
+                ", followsBack=" + followsBack +
+                '}';
+    }
+}
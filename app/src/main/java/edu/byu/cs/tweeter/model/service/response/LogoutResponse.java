@@ -1,7 +1,5 @@
 package edu.byu.cs.tweeter.model.service.response;
 
-import android.database.DatabaseUtils;
-
 import java.util.Objects;
 
 import edu.byu.cs.tweeter.model.domain.AuthToken;
@@ -0,0 +1,80 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A page of the users a user follows who also follow another user. Users are named by username
+ * only, so a page stays small; the client can fetch the users it shows.
+ */
+public class MutualFollowsResponse extends PagedResponse {
+
+    private List<String> usernames;
+    private int count;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful. Sets the
+     * success and more pages indicators to false.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public MutualFollowsResponse(String message) {
+        super(false, message, false);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param usernames the usernames (aliases) of the users in the page.
+     * @param count the number of such users across all pages.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param nextCursor the opaque cursor to send with the request for the next page.
+     */
+    public MutualFollowsResponse(List<String> usernames, int count, boolean hasMorePages, String nextCursor) {
+        super(true, hasMorePages, nextCursor);
+        this.usernames = usernames;
+        this.count = count;
+    }
+
+    /**
+     * Returns the usernames of the users in the page.
+     *
+     * @return the usernames.
+     */
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    /**
+     * Returns the number of users the user follows who also follow the other user, across all
+     * pages.
+     *
+     * @return the count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object param) {
+        if (this == param) {
+            return true;
+        }
+
+        if (param == null || getClass() != param.getClass()) {
+            return false;
+        }
+
+        MutualFollowsResponse that = (MutualFollowsResponse) param;
+
+        return (Objects.equals(usernames, that.usernames) &&
+                this.count == that.count &&
+                Objects.equals(this.getMessage(), that.getMessage()) &&
+                this.isSuccess() == that.isSuccess());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(usernames, count);
+    }
+}
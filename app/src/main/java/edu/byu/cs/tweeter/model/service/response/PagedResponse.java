@@ -6,15 +6,22 @@ package edu.byu.cs.tweeter.model.service.response;
 public class PagedResponse extends Response {
 
     private final boolean hasMorePages;
+    private final String nextCursor;
 
     PagedResponse(boolean success, boolean hasMorePages) {
+        this(success, hasMorePages, null);
+    }
+
+    PagedResponse(boolean success, boolean hasMorePages, String nextCursor) {
         super(success);
         this.hasMorePages = hasMorePages;
+        this.nextCursor = nextCursor;
     }
 
     PagedResponse(boolean success, String message, boolean hasMorePages) {
         super(success, message);
         this.hasMorePages = hasMorePages;
+        this.nextCursor = null;
     }
 
     /**
@@ -27,4 +34,14 @@ public class PagedResponse extends Response {
     public boolean getHasMorePages() {
         return hasMorePages;
     }
+
+    /**
+     * An opaque cursor that marks where the next page starts. Sending it back in the request for
+     * the next page lets the server resume without searching for the last item returned.
+     *
+     * @return the cursor or null if there are no more pages.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -0,0 +1,77 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.RecommendationsRequest}.
+ */
+public class RecommendationsResponse extends Response {
+
+    private List<User> users;
+    private List<Integer> mutualCounts;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public RecommendationsResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param users the suggested users, best first.
+     * @param mutualCounts the number of the people the user follows who follow each suggested
+     *                     user, in the same order.
+     */
+    public RecommendationsResponse(List<User> users, List<Integer> mutualCounts) {
+        super(true, null);
+        this.users = users;
+        this.mutualCounts = mutualCounts;
+    }
+
+    /**
+     * Returns the suggested users, best first.
+     *
+     * @return the users.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Returns the number of the people the user follows who follow each suggested user.
+     *
+     * @return the counts, in the same order as the users.
+     */
+    public List<Integer> getMutualCounts() {
+        return mutualCounts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecommendationsResponse that = (RecommendationsResponse) o;
+        return Objects.equals(users, that.users) &&
+                Objects.equals(mutualCounts, that.mutualCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(users, mutualCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "RecommendationsResponse{" +
+                "users=" + users +
+                ", mutualCounts=" + mutualCounts +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.RelationshipRequest}.
+ */
+public class RelationshipResponse extends Response {
+
+    private User user;
+    private List<Boolean> following;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public RelationshipResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param user the user whose followees were checked.
+     * @param following whether the user follows each of the requested users, in the order they
+     *                  were requested.
+     */
+    public RelationshipResponse(User user, List<Boolean> following) {
+        super(true, null);
+        this.user = user;
+        this.following = following;
+    }
+
+    /**
+     * Returns the user whose followees were checked.
+     *
+     * @return the user.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Returns whether the user follows each of the requested users.
+     *
+     * @return the answers, in the order the users were requested.
+     */
+    public List<Boolean> getFollowing() {
+        return following;
+    }
+
+    /**
+     * Returns whether the user follows one of the requested users.
+     *
+     * @param index the position of the user in the request.
+     * @return true if the user follows them.
+     */
+    public boolean isFollowing(int index) {
+        return following.get(index);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RelationshipResponse that = (RelationshipResponse) o;
+        return Objects.equals(user, that.user) &&
+                Objects.equals(following, that.following);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(user, following);
+    }
+
+    @Override
+    public String toString() {
+        return "RelationshipResponse{" +
+                "user=" + user +
+                ", following=" + following +
+                '}';
+    }
+}
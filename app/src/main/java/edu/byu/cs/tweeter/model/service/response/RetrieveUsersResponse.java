@@ -0,0 +1,63 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.RetrieveUsersRequest}.
+ */
+public class RetrieveUsersResponse extends Response {
+
+    private List<User> users;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public RetrieveUsersResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param users the retrieved users, in the order they were requested. Usernames that weren't
+     *              recognized have a null entry.
+     */
+    public RetrieveUsersResponse(List<User> users) {
+        super(true, null);
+        this.users = users;
+    }
+
+    /**
+     * Returns the retrieved users.
+     *
+     * @return the users.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RetrieveUsersResponse that = (RetrieveUsersResponse) o;
+        return Objects.equals(users, that.users);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(users);
+    }
+
+    @Override
+    public String toString() {
+        return "RetrieveUsersResponse{" +
+                "users=" + users +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+
+/**
+ * A page of the statuses whose text matches a search, newest first.
+ */
+public class SearchResponse extends PagedResponse {
+
+    private List<Status> statuses;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful. Sets the
+     * success and more pages indicators to false.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public SearchResponse(String message) {
+        super(false, message, false);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param statuses the statuses to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     */
+    public SearchResponse(List<Status> statuses, boolean hasMorePages) {
+        this(statuses, hasMorePages, null);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param statuses the statuses to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param nextCursor the opaque cursor to send with the request for the next page.
+     */
+    public SearchResponse(List<Status> statuses, boolean hasMorePages, String nextCursor) {
+        super(true, hasMorePages, nextCursor);
+        this.statuses = statuses;
+    }
+
+    /**
+     * Returns the statuses for the corresponding request.
+     *
+     * @return the statuses that match the search.
+     */
+    public List<Status> getStatuses() {
+        return statuses;
+    }
+
+    @Override
+    public boolean equals(Object param) {
+        if (this == param) {
+            return true;
+        }
+
+        if (param == null || getClass() != param.getClass()) {
+            return false;
+        }
+
+        SearchResponse that = (SearchResponse) param;
+
+        return (Objects.equals(statuses, that.statuses) &&
+                Objects.equals(this.getMessage(), that.getMessage()) &&
+                this.isSuccess() == that.isSuccess());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statuses);
+    }
+}
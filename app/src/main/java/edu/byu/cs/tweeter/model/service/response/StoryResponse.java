@@ -26,7 +26,18 @@ public class StoryResponse extends PagedResponse {
      * @param hasMorePages an indicator of whether more data is available for the request.
      */
     public StoryResponse(List<Status> statuses, boolean hasMorePages) {
-        super(true, hasMorePages);
+        this(statuses, hasMorePages, null);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param statuses the statuses to be included in the result.
+     * @param hasMorePages an indicator of whether more data is available for the request.
+     * @param nextCursor the opaque cursor to send with the request for the next page.
+     */
+    public StoryResponse(List<Status> statuses, boolean hasMorePages, String nextCursor) {
+        super(true, hasMorePages, nextCursor);
         this.statuses = statuses;
     }
 
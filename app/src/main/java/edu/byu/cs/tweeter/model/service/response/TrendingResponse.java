@@ -0,0 +1,75 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.TrendingRequest}.
+ */
+public class TrendingResponse extends Response {
+
+    private List<String> terms;
+    private List<Long> counts;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public TrendingResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param terms the hashtags, mentions and words used most often, most used first.
+     * @param counts the number of times each term was used, in the same order.
+     */
+    public TrendingResponse(List<String> terms, List<Long> counts) {
+        super(true, null);
+        this.terms = terms;
+        this.counts = counts;
+    }
+
+    /**
+     * Returns the terms used most often, most used first.
+     *
+     * @return the terms.
+     */
+    public List<String> getTerms() {
+        return terms;
+    }
+
+    /**
+     * Returns the number of times each term was used. A count may be slightly over the true
+     * count, but never under it.
+     *
+     * @return the counts, in the same order as the terms.
+     */
+    public List<Long> getCounts() {
+        return counts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TrendingResponse that = (TrendingResponse) o;
+        return Objects.equals(terms, that.terms) &&
+                Objects.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(terms, counts);
+    }
+
+    @Override
+    public String toString() {
+        return "TrendingResponse{" +
+                "terms=" + terms +
+                ", counts=" + counts +
+                '}';
+    }
+}
@@ -0,0 +1,62 @@
+package edu.byu.cs.tweeter.model.service.response;
+
+import java.util.List;
+import java.util.Objects;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+/**
+ * A response for a {@link edu.byu.cs.tweeter.model.service.request.TypeaheadRequest}.
+ */
+public class TypeaheadResponse extends Response {
+
+    private List<User> users;
+
+    /**
+     * Creates a response indicating that the corresponding request was unsuccessful.
+     *
+     * @param message a message describing why the request was unsuccessful.
+     */
+    public TypeaheadResponse(String message) {
+        super(false, message);
+    }
+
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param users the users matching the prefix, those with the most followers first.
+     */
+    public TypeaheadResponse(List<User> users) {
+        super(true, null);
+        this.users = users;
+    }
+
+    /**
+     * Returns the users matching the prefix, those with the most followers first.
+     *
+     * @return the users.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TypeaheadResponse that = (TypeaheadResponse) o;
+        return Objects.equals(users, that.users);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(users);
+    }
+
+    @Override
+    public String toString() {
+        return "TypeaheadResponse{" +
+                "users=" + users +
+                '}';
+    }
+}
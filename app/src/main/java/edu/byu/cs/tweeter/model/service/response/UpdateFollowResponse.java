@@ -1,6 +1,5 @@
 package edu.byu.cs.tweeter.model.service.response;
 
-import java.util.List;
 import java.util.Objects;
 
 import edu.byu.cs.tweeter.model.domain.User;
@@ -9,7 +8,7 @@ public class UpdateFollowResponse extends Response {
 
     private User user;
     private User followUser;
-    private List<User> following;
+    private boolean following;
 
     /**
      * Creates a response indicating that the corresponding request was unsuccessful.
@@ -20,7 +19,14 @@ public class UpdateFollowResponse extends Response {
         super(false, message);
     }
 
-    public UpdateFollowResponse(User user, User followUser, List<User> following) {
+    /**
+     * Creates a response indicating that the corresponding request was successful.
+     *
+     * @param user the user who followed or unfollowed.
+     * @param followUser the user who was followed or unfollowed.
+     * @param following whether the user now follows the follow user.
+     */
+    public UpdateFollowResponse(User user, User followUser, boolean following) {
         super(true, null);
         this.user = user;
         this.followUser = followUser;
@@ -35,7 +41,7 @@ public class UpdateFollowResponse extends Response {
         return this.followUser;
     }
 
-    public List<User> getFollowing() {
+    public boolean isFollowing() {
         return this.following;
     }
 
@@ -46,7 +52,7 @@ public class UpdateFollowResponse extends Response {
         UpdateFollowResponse that = (UpdateFollowResponse) o;
         return Objects.equals(user, that.user) &&
                 Objects.equals(followUser, that.followUser) &&
-                Objects.equals(following, that.following);
+                following == that.following;
     }
 
     @Override
@@ -33,10 +33,16 @@ public class CountPresenter {
      * @param countRequest the request.
      */
     public CountResponse getCount(CountRequest countRequest) throws IOException {
-        CountService countService = new CountService();
+        CountService countService = getCountService();
         return countService.getCount(countRequest);
     }
 
+    /**
+     * Returns an instance of {@link CountService}. Allows mocking of the CountService class for
+     * testing purposes.
+     *
+     * @return the instance.
+     */
     public CountService getCountService() {
         return new CountService();
     }
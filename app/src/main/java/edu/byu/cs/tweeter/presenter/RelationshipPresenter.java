@@ -0,0 +1,51 @@
+package edu.byu.cs.tweeter.presenter;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.RelationshipService;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+
+/**
+ * The presenter for finding out whether the logged in user follows other users.
+ */
+public class RelationshipPresenter {
+
+    private final RelationshipPresenter.View view;
+
+    /**
+     * The interface by which this presenter communicates with it's view.
+     */
+    public interface View {
+        // If needed, specify methods here that will be called on the view in response to model updates
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param view the view for which this class is the presenter.
+     */
+    public RelationshipPresenter(RelationshipPresenter.View view) {
+        this.view = view;
+    }
+
+    /**
+     * Makes a relationship request.
+     *
+     * @param relationshipRequest the request.
+     */
+    public RelationshipResponse getRelationship(RelationshipRequest relationshipRequest) throws IOException {
+        RelationshipService relationshipService = getRelationshipService();
+        return relationshipService.getRelationship(relationshipRequest);
+    }
+
+    /**
+     * Returns an instance of {@link RelationshipService}. Allows mocking of the RelationshipService
+     * class for testing purposes.
+     *
+     * @return the instance.
+     */
+    RelationshipService getRelationshipService() {
+        return new RelationshipService();
+    }
+}
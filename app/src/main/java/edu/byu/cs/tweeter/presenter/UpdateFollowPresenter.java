@@ -33,10 +33,16 @@ public class UpdateFollowPresenter {
      * @param updateFollowRequest the request.
      */
     public UpdateFollowResponse getUpdateFollow(UpdateFollowRequest updateFollowRequest) throws IOException {
-        UpdateFollowService updateFollowService = new UpdateFollowService();
+        UpdateFollowService updateFollowService = getUpdateFollowService();
         return updateFollowService.updateFollow(updateFollowRequest);
     }
 
+    /**
+     * Returns an instance of {@link UpdateFollowService}. Allows mocking of the
+     * UpdateFollowService class for testing purposes.
+     *
+     * @return the instance.
+     */
     public UpdateFollowService getUpdateFollowService() {
         return new UpdateFollowService();
     }
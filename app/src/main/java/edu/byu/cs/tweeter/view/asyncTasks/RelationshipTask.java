@@ -0,0 +1,68 @@
+package edu.byu.cs.tweeter.view.asyncTasks;
+
+import android.os.AsyncTask;
+
+import java.io.IOException;
+
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+import edu.byu.cs.tweeter.presenter.RelationshipPresenter;
+
+/**
+ * An {@link AsyncTask} for finding out whether a user follows other users.
+ */
+public class RelationshipTask extends AsyncTask<RelationshipRequest, Void, RelationshipResponse> {
+
+    private final RelationshipPresenter presenter;
+    private final RelationshipTask.Observer observer;
+    private Exception exception;
+
+    /**
+     * An observer interface to be implemented by observers who want to be notified when this task
+     * completes.
+     */
+    public interface Observer {
+        void relationshipRetrieved(RelationshipResponse relationshipResponse);
+        void relationshipNotRetrieved(RelationshipResponse relationshipResponse);
+        void handleException(Exception ex);
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param presenter the presenter from whom this task should retrieve the relationships.
+     * @param observer the observer who wants to be notified when this task completes.
+     */
+    public RelationshipTask(RelationshipPresenter presenter, RelationshipTask.Observer observer) {
+        if(observer == null) {
+            throw new NullPointerException();
+        }
+
+        this.presenter = presenter;
+        this.observer = observer;
+    }
+
+    @Override
+    protected RelationshipResponse doInBackground(RelationshipRequest... relationshipRequests) {
+        RelationshipResponse relationshipResponse = null;
+
+        try {
+            relationshipResponse = presenter.getRelationship(relationshipRequests[0]);
+        } catch (IOException ex) {
+            exception = ex;
+        }
+
+        return relationshipResponse;
+    }
+
+    @Override
+    protected void onPostExecute(RelationshipResponse relationshipResponse) {
+        if(exception != null) {
+            observer.handleException(exception);
+        } else if(relationshipResponse.isSuccess()) {
+            observer.relationshipRetrieved(relationshipResponse);
+        } else {
+            observer.relationshipNotRetrieved(relationshipResponse);
+        }
+    }
+}
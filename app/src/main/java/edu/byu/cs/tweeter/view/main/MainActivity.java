@@ -19,27 +19,27 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import java.util.List;
+import java.util.Collections;
 
 import edu.byu.cs.tweeter.R;
 import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.service.request.CountRequest;
-import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
 import edu.byu.cs.tweeter.model.service.request.LogoutRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
 import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
 import edu.byu.cs.tweeter.model.service.response.CountResponse;
-import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
 import edu.byu.cs.tweeter.model.service.response.LogoutResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
 import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
 import edu.byu.cs.tweeter.presenter.CountPresenter;
-import edu.byu.cs.tweeter.presenter.FollowingPresenter;
 import edu.byu.cs.tweeter.presenter.LogoutPresenter;
+import edu.byu.cs.tweeter.presenter.RelationshipPresenter;
 import edu.byu.cs.tweeter.presenter.UpdateFollowPresenter;
 import edu.byu.cs.tweeter.view.HomeActivity;
 import edu.byu.cs.tweeter.view.asyncTasks.CountTask;
-import edu.byu.cs.tweeter.view.asyncTasks.GetFollowingTask;
 import edu.byu.cs.tweeter.view.asyncTasks.LogoutTask;
+import edu.byu.cs.tweeter.view.asyncTasks.RelationshipTask;
 import edu.byu.cs.tweeter.view.asyncTasks.UpdateFollowTask;
 import edu.byu.cs.tweeter.view.main.tweet.TweetFragment;
 import edu.byu.cs.tweeter.view.util.ImageUtils;
@@ -48,7 +48,7 @@ import edu.byu.cs.tweeter.view.util.ImageUtils;
  * The main activity for the application. Contains tabs for feed, story, following, and followers.
  */
 public class MainActivity extends AppCompatActivity implements LogoutPresenter.View, LogoutTask.Observer, CountPresenter.View, CountTask.Observer,
-        UpdateFollowPresenter.View, UpdateFollowTask.Observer, FollowingPresenter.View, GetFollowingTask.Observer {
+        UpdateFollowPresenter.View, UpdateFollowTask.Observer, RelationshipPresenter.View, RelationshipTask.Observer {
 
     public static final String CURRENT_USER_KEY = "CurrentUser";
     public static final String CURRENT_FOLLOW_KEY = "FollowUser";
@@ -57,10 +57,10 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
     private User user;
     private User followUser;
     private AuthToken authToken;
-    private List<User> following;
+    private boolean isFollowing;
     private CountPresenter countPresenter;
     private UpdateFollowPresenter updateFollowPresenter;
-    private FollowingPresenter followingPresenter;
+    private RelationshipPresenter relationshipPresenter;
     private LogoutPresenter logoutPresenter;
     private FragmentTransaction fragmentTransaction;
     private DialogFragment dialogFragment;
@@ -130,34 +130,25 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
             @Override
             public void onClick(View v) {
                 // (User user, User followUser, boolean followTheFollowUser) {
-                boolean followTheFollowUser;
-                if (getFollowing().contains(followUser)) {
-                    followTheFollowUser = false;
-                } else {
-                    followTheFollowUser = true;
-                }
-                UpdateFollowRequest updateFollowRequest = new UpdateFollowRequest(user, followUser, followTheFollowUser);
+                boolean followTheFollowUser = !isFollowing;
+                UpdateFollowRequest updateFollowRequest = new UpdateFollowRequest(user, followUser, followTheFollowUser, authToken);
                 UpdateFollowTask updateFollowTask = new UpdateFollowTask(getUpdateFollowPresenter(), getUpdateFollowObserver());
                 updateFollowTask.execute(updateFollowRequest);
             }
         });
     }
 
-    private List<User> getFollowing() {
-        return this.following;
-    }
-
     private void setFollowButton() {
-        GetFollowingTask getFollowingTask = new GetFollowingTask(followingPresenter, this);
-        int PAGE_SIZE = 1000; // We just want to make sure to get ALL followees.
-        FollowingRequest request = new FollowingRequest(followUser, PAGE_SIZE, null);
-        getFollowingTask.execute(request);
+        // Asks only whether the user follows followUser, rather than fetching the user's followees
+        RelationshipTask relationshipTask = new RelationshipTask(relationshipPresenter, getRelationshipObserver());
+        RelationshipRequest request = new RelationshipRequest(user, Collections.singletonList(followUser.getAlias()));
+        relationshipTask.execute(request);
     }
 
     private void setPresenters() {
         countPresenter = new CountPresenter(this);
         updateFollowPresenter = new UpdateFollowPresenter(this);
-        followingPresenter = new FollowingPresenter(this);
+        relationshipPresenter = new RelationshipPresenter(this);
         logoutPresenter = new LogoutPresenter(this);
     }
 
@@ -185,8 +176,8 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
         return this.updateFollowPresenter;
     }
 
-    public FollowingPresenter getFollowPresenter() {
-        return this.followingPresenter;
+    public RelationshipPresenter getRelationshipPresenter() {
+        return this.relationshipPresenter;
     }
 
     public LogoutPresenter getLogoutPresenter() {
@@ -194,7 +185,7 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
     }
 
     public void setCount() {
-        CountRequest countRequest = new CountRequest(this.user);
+        CountRequest countRequest = new CountRequest(this.followUser); // The counts shown are of the user being viewed
         CountTask countTask = new CountTask(getCountPresenter(), getCountObserver());
         countTask.execute(countRequest);
     }
@@ -211,7 +202,7 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
         fragmentTransaction.addToBackStack(null);
 
         // Create and show the dialog.
-        dialogFragment = new TweetFragment(user);
+        dialogFragment = new TweetFragment(user, authToken);
         dialogFragment.show(fragmentTransaction, "dialog");
     }
 
@@ -227,7 +218,7 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
         return this;
     }
 
-    private GetFollowingTask.Observer getFollowingObserver() {
+    private RelationshipTask.Observer getRelationshipObserver() {
         return this;
     }
 
@@ -269,21 +260,9 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
 
     @Override
     public void updateFollowSuccessful(UpdateFollowResponse updateFollowResponse) {
-        List<User> responseFollowing = updateFollowResponse.getFollowing();
-        this.following = responseFollowing;
-        User followUserFromResponse = updateFollowResponse.getFollowUser();
-        followButtonHelper(responseFollowing, followUserFromResponse);
-        TextView fol_er_Count = findViewById(R.id.followerCount);
-        if(this.following.contains(updateFollowResponse.getFollowUser())) {
-            followersCount++;
-
-        } else {
-            followersCount--;
-        }
-        fol_er_Count.setText("Following: " + Integer.toString(followersCount));
-//        setCount(); TODO: Run this function when you rip out the fake backend to actually update the count after...
-        // TODO: ...after changing the followers/following. Mr./Mrs. TA Person, please don't dock me for this. I know what it is
-        // supposed to be but I'm just doing this to save time so I'm not spending forever on the serverFacacade.
+        this.isFollowing = updateFollowResponse.isFollowing();
+        followButtonHelper(this.isFollowing);
+        setCount(); // The server keeps the counts current, so reading them again is cheap
     }
 
     @Override
@@ -292,14 +271,18 @@ public class MainActivity extends AppCompatActivity implements LogoutPresenter.V
     }
 
     @Override
-    public void followeesRetrieved(FollowingResponse followingResponse) {
-        this.following = followingResponse.getFollowees();
-        followButtonHelper(this.following, this.followUser);
-        // TODO: What do we do with the followees retrieved?
+    public void relationshipRetrieved(RelationshipResponse relationshipResponse) {
+        this.isFollowing = relationshipResponse.isFollowing(0);
+        followButtonHelper(this.isFollowing);
+    }
+
+    @Override
+    public void relationshipNotRetrieved(RelationshipResponse relationshipResponse) {
+        Toast.makeText(this, "Failed to check whether you follow this user: " + relationshipResponse.getMessage(), Toast.LENGTH_LONG).show();
     }
 
-    private void followButtonHelper(List<User> followingParam, User followUserParam) {
-        if (followingParam.contains(followUserParam)) { // If the followUser view is someone that the user follows, then display "Following" in the follow/unfollow button text
+    private void followButtonHelper(boolean isFollowingParam) {
+        if (isFollowingParam) { // If the followUser view is someone that the user follows, then display "Following" in the follow/unfollow button text
             followButton.setText("Following");
             followButton.setBackgroundColor(getResources().getColor(R.color.colorAccent)); // Pink background
             followButton.setTextColor(getResources().getColor(R.color.white));
@@ -143,7 +143,9 @@ public class FeedFragment extends Fragment implements FeedPresenter.View {
          */
         void bindStatus(Status status) {
             SpannableString tempPostText = formulatePostText(status);
-            String tempTimePosted = status.getTimePosted();
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(status.getTimePosted());
+            String tempTimePosted = formulateTimePosted(calendar);
             User statusUser = status.getUser();
 
             userImage.setImageDrawable(ImageUtils.drawableFromByteArray(user.getImageBytes()));
@@ -213,6 +215,7 @@ public class FeedFragment extends Fragment implements FeedPresenter.View {
         private final List<Status> feed = new ArrayList<>();
 
         private edu.byu.cs.tweeter.model.domain.Status lastStatus;
+        private String nextCursor;
 
         private boolean hasMorePages;
         private boolean isLoading = false;
@@ -328,7 +331,7 @@ public class FeedFragment extends Fragment implements FeedPresenter.View {
             addLoadingFooter();
 
             GetFeedTask getFeedTask = new GetFeedTask(presenter, this);
-            FeedRequest request = new FeedRequest(user, PAGE_SIZE, lastStatus);
+            FeedRequest request = new FeedRequest(user, PAGE_SIZE, lastStatus, nextCursor);
             getFeedTask.execute(request);
         }
 
@@ -343,6 +346,7 @@ public class FeedFragment extends Fragment implements FeedPresenter.View {
             List<Status> statuses = feedResponse.getFeed();
 
             lastStatus = (statuses.size() > 0) ? statuses.get(statuses.size() -1) : null;
+            nextCursor = feedResponse.getNextCursor();
             hasMorePages = feedResponse.getHasMorePages();
 
             isLoading = false;
@@ -370,7 +374,7 @@ public class FeedFragment extends Fragment implements FeedPresenter.View {
             String mentions = getMentions();
             Calendar timePosted = getTimePosted();
             String postUrl = "Statuses are loading";
-            addItem(new Status(new User("Dummy", "User", "", "password"), postUrl, null, timePosted.toString(), mentions));
+            addItem(new Status(new User("Dummy", "User", "", "password"), postUrl, null, timePosted.getTimeInMillis(), mentions));
         }
 
         /**
@@ -149,6 +149,7 @@ public class FollowersFragment extends Fragment implements FollowersPresenter.Vi
         private final List<User> users = new ArrayList<>();
 
         private User lastFollower;
+        private String nextCursor;
 
         private boolean hasMorePages;
         private boolean isLoading = false;
@@ -264,7 +265,7 @@ public class FollowersFragment extends Fragment implements FollowersPresenter.Vi
             addLoadingFooter();
 
             GetFollowersTask getFollowersTask = new GetFollowersTask(presenter, this);
-            FollowersRequest request = new FollowersRequest(followUser, PAGE_SIZE, lastFollower);
+            FollowersRequest request = new FollowersRequest(followUser, PAGE_SIZE, lastFollower, nextCursor);
             getFollowersTask.execute(request);
         }
 
@@ -279,6 +280,7 @@ public class FollowersFragment extends Fragment implements FollowersPresenter.Vi
             List<User> followers = followersResponse.getFollowers();
 
             lastFollower = (followers.size() > 0) ? followers.get(followers.size() -1) : null;
+            nextCursor = followersResponse.getNextCursor();
             hasMorePages = followersResponse.getHasMorePages();
 
             isLoading = false;
@@ -146,6 +146,7 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
         private final List<User> users = new ArrayList<>();
 
         private User lastFollowee;
+        private String nextCursor;
 
         private boolean hasMorePages;
         private boolean isLoading = false;
@@ -261,7 +262,7 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
             addLoadingFooter();
 
             GetFollowingTask getFollowingTask = new GetFollowingTask(presenter, this);
-            FollowingRequest request = new FollowingRequest(followUser, PAGE_SIZE, lastFollowee);
+            FollowingRequest request = new FollowingRequest(followUser, PAGE_SIZE, lastFollowee, nextCursor);
             getFollowingTask.execute(request);
         }
 
@@ -276,6 +277,7 @@ public class FollowingFragment extends Fragment implements FollowingPresenter.Vi
             List<User> followees = followingResponse.getFollowees();
 
             lastFollowee = (followees.size() > 0) ? followees.get(followees.size() -1) : null;
+            nextCursor = followingResponse.getNextCursor();
             hasMorePages = followingResponse.getHasMorePages();
 
             isLoading   = false;
@@ -149,7 +149,9 @@ public class StoryFragment extends Fragment implements StoryPresenter.View {
          */
         void bindStatus(Status status) {
             SpannableString tempPostText = formulatePostText(status); // TODO: Update this thing right here.
-            String tempTimePosted = status.getTimePosted();
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(status.getTimePosted());
+            String tempTimePosted = formulateTimePosted(calendar);
             User statusUser = status.getUser();
 
             userImage.setImageDrawable(ImageUtils.drawableFromByteArray(followUser.getImageBytes()));
@@ -219,6 +221,7 @@ public class StoryFragment extends Fragment implements StoryPresenter.View {
         private final List<Status> story = new ArrayList<>();
 
         private edu.byu.cs.tweeter.model.domain.Status lastStatus;
+        private String nextCursor;
 
         private boolean hasMorePages;
         private boolean isLoading = false;
@@ -334,7 +337,7 @@ public class StoryFragment extends Fragment implements StoryPresenter.View {
             addLoadingFooter();
 
             GetStoryTask getStoryTask = new GetStoryTask(presenter, this);
-            StoryRequest request = new StoryRequest(followUser, PAGE_SIZE, lastStatus);
+            StoryRequest request = new StoryRequest(followUser, PAGE_SIZE, lastStatus, nextCursor);
             getStoryTask.execute(request);
         }
 
@@ -349,6 +352,7 @@ public class StoryFragment extends Fragment implements StoryPresenter.View {
             List<Status> statuses = storyResponse.getStory();
 
             lastStatus = (statuses.size() > 0) ? statuses.get(statuses.size() -1) : null;
+            nextCursor = storyResponse.getNextCursor();
             hasMorePages = storyResponse.getHasMorePages();
 
             isLoading = false;
@@ -376,7 +380,7 @@ public class StoryFragment extends Fragment implements StoryPresenter.View {
             String mentions = getMentions();
             Calendar timePosted = getTimePosted();
             String postUrl = "Statuses are loading";
-            addItem(new Status(new User("Dummy", "User", "", "password"), postUrl, null, timePosted.toString(), mentions));
+            addItem(new Status(new User("Dummy", "User", "", "password"), postUrl, null, timePosted.getTimeInMillis(), mentions));
         }
 
         /**
@@ -13,13 +13,11 @@ import androidx.fragment.app.DialogFragment;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 
 import edu.byu.cs.tweeter.R;
+import edu.byu.cs.tweeter.model.domain.AuthToken;
 import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
@@ -36,13 +34,17 @@ public class TweetFragment extends DialogFragment implements View.OnClickListene
     private SubmitTweetPresenter presenter;
 
     private User user;
+    private AuthToken authToken;
     private Button cancel;
     private Button post;
     private EditText editText;
     private String[] urls;
     private String[] mentions;
 
-    public TweetFragment(User user) {this.user = user;}
+    public TweetFragment(User user, AuthToken authToken) {
+        this.user = user;
+        this.authToken = authToken;
+    }
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
@@ -105,12 +107,12 @@ public class TweetFragment extends DialogFragment implements View.OnClickListene
         UrlParser urlParser = new UrlParser(tweetText);
         MentionParser mentionParser = new MentionParser(tweetText);
 
-        String currentTime = getCurrentTime();
+        long currentTime = getCurrentTime();
         String mentions = mentionParser.parse();
         String urls = urlParser.parse();
 
         Status status = new Status(user, tweetText, urls, currentTime, mentions);
-        SubmitTweetRequest submitTweetRequest = new SubmitTweetRequest(user, status);
+        SubmitTweetRequest submitTweetRequest = new SubmitTweetRequest(user, status, authToken);
         return submitTweetRequest;
     }
 
@@ -126,13 +128,10 @@ public class TweetFragment extends DialogFragment implements View.OnClickListene
 
     /**
      * Get's the current time.
-     * @return a Calendar object of the current time.
+     * @return the current time in milliseconds since the epoch.
      */
-    private String getCurrentTime() {
-        Date date = new Date();
-        DateFormat dateFormat = new SimpleDateFormat("MMM d yyyy h:mm aaa");
-        String formattedDate = dateFormat.format(date);
-        return formattedDate;
+    private long getCurrentTime() {
+        return System.currentTimeMillis();
     }
 
     /**
@@ -0,0 +1,327 @@
+package edu.byu.cs.tweeter.model.net;
+
+import com.google.gson.Gson;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+import edu.byu.cs.tweeter.model.domain.Follow;
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.request.RetrieveUsersRequest;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
+import edu.byu.cs.tweeter.model.service.response.CountResponse;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+import edu.byu.cs.tweeter.model.service.response.RetrieveUsersResponse;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
+import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
+
+class BinaryCodecTest {
+
+    private static final byte[] IMAGE = new byte[] {1, 2, 3, 4, 5};
+
+    // Users are written without their passwords, so these have none to compare
+    private final User user1 = new User("Allen", "Anderson", "@AllenAnderson",
+            "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png", IMAGE, null);
+    private final User user2 = new User("Amy", "Ames", "", null);
+    private final Status status1 = new Status(user1, "Hello @AmyAmes \u00e9\u4e16\ud83d\ude00", "www.byu.edu",
+            1000L, "@AmyAmes");
+    private final Status status2 = new Status(user2, "Second", "", 2000L, "");
+
+    private final BinaryCodec codec = new BinaryCodec();
+
+    private <T> T roundTrip(BinaryCodec codec, T message) throws IOException {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) message.getClass();
+        return codec.decode(codec.encode(message), type);
+    }
+
+    @Test
+    void testRoundTrip_domainObjects() throws IOException {
+        User user = roundTrip(codec, user1);
+        Assertions.assertEquals(user1, user);
+        Assertions.assertArrayEquals(IMAGE, user.getImageBytes());
+
+        status1.setImageBytes(IMAGE);
+        Status status = roundTrip(codec, status1);
+        Assertions.assertEquals(status1, status);
+        Assertions.assertEquals(status1.getTweetText(), status.getTweetText());
+        Assertions.assertArrayEquals(IMAGE, status.getImageBytes());
+
+        User withPassword = new User("Amy", "Ames", "", "password");
+        Assertions.assertNull(roundTrip(codec, withPassword).getPassword());
+        Assertions.assertEquals(withPassword.getAlias(), roundTrip(codec, withPassword).getAlias());
+
+        AuthToken authToken = roundTrip(codec, new AuthToken("@AllenAnderson"));
+        Assertions.assertEquals("@AllenAnderson", authToken.getUsername());
+        Assertions.assertNotNull(authToken.getId());
+        Assertions.assertTrue(authToken.IsActive());
+
+        Follow follow = new Follow(user1, user2);
+        Assertions.assertEquals(follow, roundTrip(codec, follow));
+    }
+
+    @Test
+    void testRoundTrip_requests() throws IOException {
+        FeedRequest feedRequest = roundTrip(codec, new FeedRequest(user1, 10, status2, "s1f"));
+        Assertions.assertEquals(user1, feedRequest.getUser());
+        Assertions.assertEquals(10, feedRequest.getLimit());
+        Assertions.assertEquals(status2, feedRequest.getLastStatus());
+        Assertions.assertEquals("s1f", feedRequest.getCursor());
+
+        feedRequest = roundTrip(codec, new FeedRequest(user1, 10, null, null));
+        Assertions.assertNull(feedRequest.getLastStatus());
+        Assertions.assertNull(feedRequest.getCursor());
+
+        LoginRequest loginRequest = roundTrip(codec, new LoginRequest("@AllenAnderson", "password"));
+        Assertions.assertEquals("@AllenAnderson", loginRequest.getUsername());
+        Assertions.assertEquals("password", loginRequest.getPassword());
+
+        RegisterRequest registerRequest = roundTrip(codec, new RegisterRequest("@AllenAnderson", "password",
+                "Allen", "Anderson", null, IMAGE));
+        Assertions.assertEquals("Anderson", registerRequest.getLastName());
+        Assertions.assertNull(registerRequest.getImageUrl());
+        Assertions.assertArrayEquals(IMAGE, registerRequest.getImageBytes());
+
+        RetrieveUsersRequest retrieveUsersRequest = roundTrip(codec,
+                new RetrieveUsersRequest(Arrays.asList("@AllenAnderson", "@AmyAmes")));
+        Assertions.assertEquals(Arrays.asList("@AllenAnderson", "@AmyAmes"), retrieveUsersRequest.getUsernames());
+
+        AuthToken authToken = new AuthToken("@AllenAnderson");
+        UpdateFollowRequest updateFollowRequest = roundTrip(codec, new UpdateFollowRequest(user1, user2, false, authToken));
+        Assertions.assertEquals(user2, updateFollowRequest.getFollowUser());
+        Assertions.assertFalse(updateFollowRequest.followTheFollowUser());
+        Assertions.assertEquals(authToken.getId(), updateFollowRequest.getAuthToken().getId());
+
+        RelationshipRequest relationshipRequest = roundTrip(codec,
+                new RelationshipRequest(user1, Arrays.asList("@AmyAmes", "@BobBobson")));
+        Assertions.assertEquals(user1, relationshipRequest.getUser());
+        Assertions.assertEquals(Arrays.asList("@AmyAmes", "@BobBobson"), relationshipRequest.getUsernames());
+
+        MentionsRequest mentionsRequest = roundTrip(codec, new MentionsRequest(user1, 10, null, "s1f"));
+        Assertions.assertEquals(user1, mentionsRequest.getUser());
+        Assertions.assertEquals(10, mentionsRequest.getLimit());
+        Assertions.assertNull(mentionsRequest.getLastStatus());
+        Assertions.assertEquals("s1f", mentionsRequest.getCursor());
+
+        SearchRequest searchRequest = roundTrip(codec, new SearchRequest("dolphins tua", true, 10, "p1"));
+        Assertions.assertEquals("dolphins tua", searchRequest.getQuery());
+        Assertions.assertTrue(searchRequest.getMatchAll());
+        Assertions.assertEquals(10, searchRequest.getLimit());
+        Assertions.assertEquals("p1", searchRequest.getCursor());
+
+        TrendingRequest trendingRequest = roundTrip(codec, new TrendingRequest(60, 10));
+        Assertions.assertEquals(60, trendingRequest.getWindowMinutes());
+        Assertions.assertEquals(10, trendingRequest.getLimit());
+
+        TypeaheadRequest typeaheadRequest = roundTrip(codec, new TypeaheadRequest("@al", 5));
+        Assertions.assertEquals("@al", typeaheadRequest.getPrefix());
+        Assertions.assertEquals(5, typeaheadRequest.getLimit());
+
+        RecommendationsRequest recommendationsRequest = roundTrip(codec, new RecommendationsRequest(user1, 20));
+        Assertions.assertEquals(user1, recommendationsRequest.getUser());
+        Assertions.assertEquals(20, recommendationsRequest.getLimit());
+
+        MutualFollowsRequest mutualFollowsRequest = roundTrip(codec, new MutualFollowsRequest(user1, user2, 25, "m1"));
+        Assertions.assertEquals(user1, mutualFollowsRequest.getUser());
+        Assertions.assertEquals(user2, mutualFollowsRequest.getOtherUser());
+        Assertions.assertEquals(25, mutualFollowsRequest.getLimit());
+        Assertions.assertEquals("m1", mutualFollowsRequest.getCursor());
+
+        FollowsBackRequest followsBackRequest = roundTrip(codec,
+                new FollowsBackRequest(user1, Arrays.asList("@AmyAmes", "@BobBobson")));
+        Assertions.assertEquals(user1, followsBackRequest.getUser());
+        Assertions.assertEquals(Arrays.asList("@AmyAmes", "@BobBobson"), followsBackRequest.getUsernames());
+    }
+
+    @Test
+    void testRoundTrip_responses() throws IOException {
+        FeedResponse feedResponse = new FeedResponse(Arrays.asList(status1, status2), true, "s2a");
+        Assertions.assertEquals(feedResponse, roundTrip(codec, feedResponse));
+        Assertions.assertEquals("s2a", roundTrip(codec, feedResponse).getNextCursor());
+
+        FollowingResponse followingResponse = roundTrip(codec,
+                new FollowingResponse(Arrays.asList(user1, user2), false, null));
+        Assertions.assertEquals(Arrays.asList(user1, user2), followingResponse.getFollowees());
+        Assertions.assertFalse(followingResponse.getHasMorePages());
+        Assertions.assertNull(followingResponse.getNextCursor());
+
+        CountResponse countResponse = new CountResponse(user1, 3, 300);
+        Assertions.assertEquals(countResponse, roundTrip(codec, countResponse));
+
+        AuthToken authToken = new AuthToken("@AllenAnderson");
+        LoginResponse loginResponse = roundTrip(codec, new LoginResponse(user1, authToken));
+        Assertions.assertEquals(user1, loginResponse.getUser());
+        Assertions.assertEquals(authToken.getId(), loginResponse.getAuthToken().getId());
+
+        RelationshipResponse relationshipResponse = new RelationshipResponse(user1, Arrays.asList(true, false));
+        Assertions.assertEquals(relationshipResponse, roundTrip(codec, relationshipResponse));
+
+        UpdateFollowResponse updateFollowResponse = new UpdateFollowResponse(user1, user2, true);
+        Assertions.assertEquals(updateFollowResponse, roundTrip(codec, updateFollowResponse));
+
+        MentionsResponse mentionsResponse = new MentionsResponse(Arrays.asList(status2, status1), true, "s2a");
+        Assertions.assertEquals(mentionsResponse, roundTrip(codec, mentionsResponse));
+        Assertions.assertEquals("s2a", roundTrip(codec, mentionsResponse).getNextCursor());
+
+        SearchResponse searchResponse = new SearchResponse(Arrays.asList(status2, status1), false, null);
+        Assertions.assertEquals(searchResponse, roundTrip(codec, searchResponse));
+
+        TrendingResponse trendingResponse = new TrendingResponse(Arrays.asList("#dolphins", "tua"), Arrays.asList(300L, 2L));
+        Assertions.assertEquals(trendingResponse, roundTrip(codec, trendingResponse));
+
+        TypeaheadResponse typeaheadResponse = new TypeaheadResponse(Arrays.asList(user1, user2));
+        Assertions.assertEquals(typeaheadResponse, roundTrip(codec, typeaheadResponse));
+
+        RecommendationsResponse recommendationsResponse = new RecommendationsResponse(Arrays.asList(user1, user2), Arrays.asList(300, 2));
+        Assertions.assertEquals(recommendationsResponse, roundTrip(codec, recommendationsResponse));
+
+        MutualFollowsResponse mutualFollowsResponse = roundTrip(codec,
+                new MutualFollowsResponse(Arrays.asList("@AmyAmes", "@BobBobson"), 40, true, "m2"));
+        Assertions.assertEquals(Arrays.asList("@AmyAmes", "@BobBobson"), mutualFollowsResponse.getUsernames());
+        Assertions.assertEquals(40, mutualFollowsResponse.getCount());
+        Assertions.assertTrue(mutualFollowsResponse.getHasMorePages());
+        Assertions.assertEquals("m2", mutualFollowsResponse.getNextCursor());
+
+        FollowsBackResponse followsBackResponse = new FollowsBackResponse(user1, Arrays.asList(true, false, true));
+        Assertions.assertEquals(followsBackResponse, roundTrip(codec, followsBackResponse));
+        Assertions.assertEquals(2, roundTrip(codec, followsBackResponse).getCount());
+
+        RetrieveUsersResponse retrieveUsersResponse = roundTrip(codec,
+                new RetrieveUsersResponse(Arrays.asList(user1, null, user2)));
+        Assertions.assertEquals(Arrays.asList(user1, null, user2), retrieveUsersResponse.getUsers());
+    }
+
+    @Test
+    void testRoundTrip_failedResponse() throws IOException {
+        FeedResponse response = roundTrip(codec, new FeedResponse("An error occurred"));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertEquals("An error occurred", response.getMessage());
+        Assertions.assertNull(response.getFeed());
+    }
+
+    @Test
+    void testEncode_withoutImages() throws IOException {
+        BinaryCodec withoutImages = new BinaryCodec(false);
+
+        User user = roundTrip(withoutImages, user1);
+
+        Assertions.assertEquals(user1, user);
+        Assertions.assertNull(user.getImageBytes());
+        Assertions.assertEquals(codec.encode(user1).length - IMAGE.length,
+                withoutImages.encode(user1).length);
+    }
+
+    @Test
+    void testDecode_unsupportedVersion() {
+        byte[] bytes = codec.encode(user1);
+        bytes[0] = (byte) (BinaryCodec.VERSION + 1);
+
+        Assertions.assertThrows(IOException.class, () -> {
+            codec.decode(bytes);
+        });
+    }
+
+    @Test
+    void testDecode_olderVersionIsRejected() {
+        byte[] bytes = codec.encode(user1);
+        bytes[0] = (byte) (BinaryCodec.VERSION - 1);
+
+        Assertions.assertThrows(IOException.class, () -> {
+            codec.decode(bytes);
+        });
+    }
+
+    @Test
+    void testDecode_truncated() {
+        byte[] bytes = codec.encode(new FeedResponse(Arrays.asList(status1, status2), true, "s2a"));
+
+        Assertions.assertThrows(IOException.class, () -> {
+            codec.decode(Arrays.copyOf(bytes, bytes.length - 3));
+        });
+    }
+
+    @Test
+    void testDecode_wrongType() {
+        Assertions.assertThrows(IOException.class, () -> {
+            codec.decode(codec.encode(user1), Status.class);
+        });
+    }
+
+    @Test
+    void testVarints() throws IOException {
+        long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        BinaryWriter writer = new BinaryWriter();
+
+        for(long value : values) {
+            writer.writeVarint(value);
+            writer.writeSignedVarint(value);
+        }
+
+        BinaryReader reader = new BinaryReader(writer.toByteArray());
+        for(long value : values) {
+            Assertions.assertEquals(value, reader.readVarint());
+            Assertions.assertEquals(value, reader.readSignedVarint());
+        }
+        Assertions.assertEquals(0, reader.remaining());
+    }
+
+    @Test
+    void testEncode_smallerThanJavaSerializationAndJson() throws IOException {
+        BinaryCodec withoutImages = new BinaryCodec(false);
+        Gson gson = new Gson();
+
+        List<Status> statuses = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            statuses.add(new Status(i % 2 == 0 ? user1 : user2, "Status " + i, "", 1000L, ""));
+        }
+        FeedResponse response = new FeedResponse(statuses, true, "s2a");
+
+        Assertions.assertTrue(withoutImages.encode(status1).length < javaSerialize(status1).length);
+        Assertions.assertTrue(withoutImages.encode(status1).length
+                < gson.toJson(status1).getBytes(Charset.forName("UTF-8")).length);
+        Assertions.assertTrue(withoutImages.encode(response).length
+                < gson.toJson(response).getBytes(Charset.forName("UTF-8")).length);
+        Assertions.assertTrue(withoutImages.encode(response).length
+                < javaSerialize(new ArrayList<>(statuses)).length);
+    }
+
+    private static byte[] javaSerialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(object);
+        output.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,570 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class DataStoreTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+    private final User user3 = new User("Bob", "Bobson", "", "password");
+
+    private DataStore dataStore;
+    private AtomicInteger loadCount;
+    private DataStore.Loader<List<User>> loader;
+
+    @BeforeEach
+    void setup() {
+        dataStore = new DataStore();
+        loadCount = new AtomicInteger();
+        loader = new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                loadCount.incrementAndGet();
+                return Arrays.asList(user1, user2);
+            }
+        };
+    }
+
+    @Test
+    void testGetFollowees_seedsOnlyOnce() {
+        dataStore.getFollowees(user3.getAlias(), loader);
+        dataStore.getFollowees(user3.getAlias(), loader);
+
+        Assertions.assertEquals(1, loadCount.get());
+        Assertions.assertEquals(2, dataStore.getFollowees(user3.getAlias(), loader).size());
+    }
+
+    @Test
+    void testFollow_persistsAcrossCalls() {
+        dataStore.unfollow(user3, user1, loader, loader);
+        dataStore.follow(user3, user1, loader, loader);
+        dataStore.follow(user3, user1, loader, loader);
+
+        List<User> followees = dataStore.getFollowees(user3.getAlias(), loader);
+        Assertions.assertEquals(Arrays.asList(user2, user1), followees);
+        Assertions.assertTrue(dataStore.getFollowers(user1.getAlias(), loader).contains(user3));
+    }
+
+    @Test
+    void testFollow_matchesUsersByAlias() {
+        // A user read back from the write-ahead log or sent by a client has no password
+        User user1WithoutPassword = new User(user1.getFirstName(), user1.getLastName(), user1.getAlias(),
+                user1.getImageUrl(), null);
+
+        dataStore.follow(user3, user1WithoutPassword, loader, loader);
+        Assertions.assertEquals(2, dataStore.getFollowees(user3.getAlias(), loader).size());
+        Assertions.assertEquals(2, dataStore.getFolloweeCount(user3.getAlias(), loader));
+
+        dataStore.unfollow(user3, user1WithoutPassword, loader, loader);
+        Assertions.assertEquals(Collections.singletonList(user2), dataStore.getFollowees(user3.getAlias(), loader));
+        Assertions.assertEquals(1, dataStore.getFolloweeCount(user3.getAlias(), loader));
+    }
+
+    @Test
+    void testFollow_concurrentFollowersAreAllRecorded() throws InterruptedException {
+        final DataStore.Loader<List<User>> emptyLoader = new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                return new ArrayList<>();
+            }
+        };
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            final User follower = new User("Follower", Integer.toString(i), "", "password");
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    dataStore.follow(follower, user1, emptyLoader, emptyLoader);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(threadCount, dataStore.getFollowers(user1.getAlias(), emptyLoader).size());
+        Assertions.assertEquals(threadCount, dataStore.getFollowerCount(user1.getAlias(), emptyLoader));
+    }
+
+    @Test
+    void testFollow_randomConcurrentChurnKeepsBothSidesConsistent() throws InterruptedException {
+        final DataStore.Loader<List<User>> emptyLoader = new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                return new ArrayList<>();
+            }
+        };
+        final List<User> users = new ArrayList<>();
+        for(int i = 0; i < 6; i++) {
+            users.add(new User("User", Integer.toString(i), "", "password"));
+        }
+
+        final int threadCount = 8;
+        final int operationsPerThread = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            final Random random = new Random(i);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for(int j = 0; j < operationsPerThread; j++) {
+                        User follower = users.get(random.nextInt(users.size()));
+                        User followee = users.get(random.nextInt(users.size()));
+
+                        if(random.nextBoolean()) {
+                            dataStore.follow(follower, followee, emptyLoader, emptyLoader);
+                        } else {
+                            dataStore.unfollow(follower, followee, emptyLoader, emptyLoader);
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        int followeeTotal = 0;
+        int followerTotal = 0;
+
+        for(User user : users) {
+            List<User> followees = dataStore.getFollowees(user.getAlias(), emptyLoader);
+            List<User> followers = dataStore.getFollowers(user.getAlias(), emptyLoader);
+
+            Assertions.assertEquals(followees.size(), dataStore.getFolloweeCount(user.getAlias(), emptyLoader));
+            Assertions.assertEquals(followers.size(), dataStore.getFollowerCount(user.getAlias(), emptyLoader));
+            Assertions.assertEquals(followees.size(), new HashSet<>(followees).size());
+
+            for(User other : users) {
+                boolean follows = followees.contains(other);
+                Assertions.assertEquals(follows, dataStore.getFollowers(other.getAlias(), emptyLoader).contains(user));
+                Assertions.assertEquals(follows, dataStore.isFollowing(user.getAlias(), other.getAlias(), emptyLoader));
+            }
+
+            followeeTotal += followees.size();
+            followerTotal += followers.size();
+        }
+
+        Assertions.assertEquals(followeeTotal, followerTotal);
+    }
+
+    @Test
+    void testGetCounts_seededFromLoaderAndUpdatedByFollows() {
+        Assertions.assertEquals(2, dataStore.getFolloweeCount(user3.getAlias(), loader));
+        Assertions.assertEquals(2, dataStore.getFollowerCount(user3.getAlias(), loader));
+
+        dataStore.unfollow(user3, user1, loader, loader);
+        dataStore.unfollow(user3, user1, loader, loader);
+        Assertions.assertEquals(1, dataStore.getFolloweeCount(user3.getAlias(), loader));
+
+        dataStore.follow(user3, user1, loader, loader);
+        dataStore.follow(user3, user1, loader, loader);
+        Assertions.assertEquals(2, dataStore.getFolloweeCount(user3.getAlias(), loader));
+
+        // user3 isn't in user1's seeded followers, so the follow added them once
+        Assertions.assertEquals(3, dataStore.getFollowerCount(user1.getAlias(), loader));
+        Assertions.assertEquals(dataStore.getFollowers(user1.getAlias(), loader).size(),
+                dataStore.getFollowerCount(user1.getAlias(), loader));
+    }
+
+    @Test
+    void testGetCounts_seedWithRepeatedAliasCountedOnce() {
+        DataStore.Loader<List<User>> repeatingLoader = new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                return Arrays.asList(user1, user2, user1);
+            }
+        };
+
+        Assertions.assertEquals(2, dataStore.getFolloweeCount(user3.getAlias(), repeatingLoader));
+        Assertions.assertEquals(Arrays.asList(user1, user2), dataStore.getFollowees(user3.getAlias(), repeatingLoader));
+
+        dataStore.unfollow(user3, user1, repeatingLoader, loader);
+        dataStore.unfollow(user3, user2, repeatingLoader, loader);
+        Assertions.assertEquals(0, dataStore.getFolloweeCount(user3.getAlias(), repeatingLoader));
+    }
+
+    @Test
+    void testIsFollowing_tracksFollowsAfterIndexing() {
+        Assertions.assertTrue(dataStore.isFollowing(user3.getAlias(), user1.getAlias(), loader));
+        Assertions.assertFalse(dataStore.isFollowing(user3.getAlias(), user3.getAlias(), loader));
+
+        dataStore.unfollow(user3, user1, loader, loader);
+        Assertions.assertFalse(dataStore.isFollowing(user3.getAlias(), user1.getAlias(), loader));
+
+        dataStore.follow(user3, user1, loader, loader);
+        Assertions.assertTrue(dataStore.isFollowing(user3.getAlias(), user1.getAlias(), loader));
+    }
+
+    @Test
+    void testIsFollowing_seesFollowsMadeBeforeIndexing() {
+        dataStore.unfollow(user3, user2, loader, loader);
+        dataStore.follow(user3, user3, loader, loader);
+
+        Assertions.assertFalse(dataStore.isFollowing(user3.getAlias(), user2.getAlias(), loader));
+        Assertions.assertTrue(dataStore.isFollowing(user3.getAlias(), user3.getAlias(), loader));
+    }
+
+    @Test
+    void testGetFollowIds_trackFollowsAndMapBackToAliases() {
+        IdSet followees = dataStore.getFolloweeIds(user3.getAlias(), loader);
+        int id1 = dataStore.findUserId(user1.getAlias());
+
+        Assertions.assertEquals(2, followees.size());
+        Assertions.assertTrue(followees.contains(id1));
+        Assertions.assertSame(followees, dataStore.getFolloweeIds(user3.getAlias(), loader));
+        Assertions.assertEquals(user1.getAlias(), dataStore.getAliasOfUserId(id1));
+        Assertions.assertEquals(-1, dataStore.findUserId("@Nobody"));
+
+        IdSet followers = dataStore.getFollowerIds(user1.getAlias(), loader);
+        Assertions.assertEquals(-1, dataStore.findUserId(user3.getAlias()));
+
+        dataStore.unfollow(user3, user1, loader, loader);
+        Assertions.assertFalse(dataStore.getFolloweeIds(user3.getAlias(), loader).contains(id1));
+
+        dataStore.follow(user3, user1, loader, loader);
+        IdSet newFollowers = dataStore.getFollowerIds(user1.getAlias(), loader);
+        Assertions.assertEquals(followers.size() + 1, newFollowers.size());
+        Assertions.assertTrue(newFollowers.contains(dataStore.findUserId(user3.getAlias())));
+        Assertions.assertTrue(dataStore.getFolloweeIds(user3.getAlias(), loader).contains(id1));
+    }
+
+    @Test
+    void testPublishStatus_addsToStoryAndFollowerFeeds() {
+        DataStore directDataStore = new DataStore(new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                runnable.run();
+            }
+        });
+        DataStore.Loader<Map<String, List<Status>>> emptyLoader = new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return new HashMap<>();
+            }
+        };
+        DataStore.Loader<List<Status>> emptyStoryLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        };
+        Status status = new Status(user3, "Hello", "", 1000L, "");
+
+        Assertions.assertNull(directDataStore.getStory(user3.getAlias(), emptyStoryLoader));
+
+        directDataStore.publishStatus(status, Arrays.asList(user1, user2), emptyStoryLoader, emptyLoader);
+
+        Assertions.assertEquals(1, directDataStore.getStory(user3.getAlias(), emptyStoryLoader).size());
+        Assertions.assertEquals(status, directDataStore.getFeed(user1.getAlias(), emptyLoader).getPage(1, 1).get(0));
+        Assertions.assertEquals(status, directDataStore.getFeed(user2.getAlias(), emptyLoader).getPage(1, 1).get(0));
+        Assertions.assertNull(directDataStore.getFeed(user3.getAlias(), emptyLoader));
+    }
+
+    @Test
+    void testGetStory_concurrentFirstReadsLoadOnce() throws InterruptedException {
+        final AtomicInteger storyLoadCount = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch finishLoad = new CountDownLatch(1);
+        final DataStore.Loader<List<Status>> slowLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                storyLoadCount.incrementAndGet();
+                loading.countDown();
+                try {
+                    finishLoad.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Arrays.asList(new Status(user1, "two", "", 2000L, ""), new Status(user1, "one", "", 1000L, ""));
+            }
+        };
+        final List<Timeline> stories = Collections.synchronizedList(new ArrayList<Timeline>());
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    stories.add(dataStore.getStory(user1.getAlias(), slowLoader));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        loading.await();
+        // Another user's story isn't held up by the load in progress
+        Assertions.assertNull(dataStore.getStory(user2.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        }));
+        finishLoad.countDown();
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(1, storyLoadCount.get());
+        Assertions.assertEquals(8, stories.size());
+        for(Timeline story : stories) {
+            Assertions.assertSame(stories.get(0), story);
+        }
+        Assertions.assertEquals("two", stories.get(0).getPage(stories.get(0).getFirstPagePosition(), 1).get(0).getTweetText());
+    }
+
+    @Test
+    void testGetStory_failedLoadIsRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final DataStore.Loader<List<Status>> flakyLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                if(attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Temporarily unavailable");
+                }
+                return Arrays.asList(new Status(user1, "one", "", 1000L, ""));
+            }
+        };
+
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            dataStore.getStory(user1.getAlias(), flakyLoader);
+        });
+
+        Assertions.assertEquals(1, dataStore.getStory(user1.getAlias(), flakyLoader).size());
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testPrewarmStories_buildsStoriesBeforeFirstRead() {
+        final AtomicInteger storyLoadCount = new AtomicInteger();
+        DataStore.Loader<List<Status>> countingLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                storyLoadCount.incrementAndGet();
+                return Arrays.asList(new Status(user1, "one", "", 1000L, ""));
+            }
+        };
+        Map<String, DataStore.Loader<List<Status>>> loaders = new HashMap<>();
+        loaders.put(user1.getAlias(), countingLoader);
+        loaders.put(user2.getAlias(), countingLoader);
+
+        dataStore.prewarmStories(loaders, new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                runnable.run();
+            }
+        });
+
+        Assertions.assertEquals(2, storyLoadCount.get());
+        Assertions.assertEquals(1, dataStore.getStory(user1.getAlias(), countingLoader).size());
+        Assertions.assertEquals(2, storyLoadCount.get());
+    }
+
+    @Test
+    void testPublishStatus_sortsAfterLateSeededStory() {
+        DataStore.Loader<List<Status>> seedLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(new Status(user2, "seeded", "", 1000L, ""));
+            }
+        };
+        DataStore.Loader<Map<String, List<Status>>> emptyLoader = new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return new HashMap<>();
+            }
+        };
+
+        DataStore.Loader<List<Status>> emptyStoryLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        };
+
+        dataStore.publishStatus(new Status(user1, "published", "", 2000L, ""), new ArrayList<User>(), emptyStoryLoader, emptyLoader);
+        Timeline published = dataStore.getStory(user1.getAlias(), emptyStoryLoader);
+        Timeline seeded = dataStore.getStory(user2.getAlias(), seedLoader);
+
+        Assertions.assertTrue(seeded.getSequence(0) < published.getSequence(published.size() - 1));
+    }
+
+    @Test
+    void testGetMentions_indexesSeededAndPublishedStatusesNewestFirst() {
+        final Status older = new Status(user2, "Hi @AllenAnderson", "", 1000L, "@AllenAnderson");
+        final Status newer = new Status(user3, "Hi @AllenAnderson @AmyAmes", "", 2000L, "@AllenAnderson  @AmyAmes @AllenAnderson");
+        Map<String, DataStore.Loader<List<Status>>> storyLoaders = new HashMap<>();
+        storyLoaders.put(user2.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(older, new Status(user2, "No mentions", "", 1500L, null));
+            }
+        });
+        storyLoaders.put(user3.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(newer);
+            }
+        });
+        DataStore.Loader<Map<String, List<Status>>> emptyLoader = new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return new HashMap<>();
+            }
+        };
+        DataStore.Loader<List<Status>> emptyStoryLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        };
+
+        Timeline mentions = dataStore.getMentions(user1.getAlias(), storyLoaders);
+
+        // Listed once even though the status mentions the user twice
+        Assertions.assertEquals(Arrays.asList(newer, older), mentions.getPage(mentions.getFirstPagePosition(), 10));
+        Assertions.assertEquals(1, dataStore.getMentions(user2.getAlias(), storyLoaders).size());
+        Assertions.assertNull(dataStore.getMentions(user3.getAlias(), storyLoaders));
+
+        // Published statuses are added to the index as they are published
+        Status published = new Status(user2, "Hi @BobBobson", "", 500L, "@BobBobson @AllenAnderson");
+        dataStore.publishStatus(published, new ArrayList<User>(), emptyStoryLoader, emptyLoader);
+
+        mentions = dataStore.getMentions(user1.getAlias(), storyLoaders);
+        Assertions.assertEquals(Arrays.asList(published, newer), mentions.getPage(mentions.getFirstPagePosition(), 2));
+        Assertions.assertEquals(published, dataStore.getMentions(user3.getAlias(), storyLoaders).getPage(1, 1).get(0));
+    }
+
+    @Test
+    void testGetMentions_indexBuiltAfterPublishingKeepsPublishOrder() {
+        DataStore.Loader<Map<String, List<Status>>> emptyLoader = new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return new HashMap<>();
+            }
+        };
+        DataStore.Loader<List<Status>> emptyStoryLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        };
+        Status first = new Status(user2, "first", "", 2000L, "@AllenAnderson");
+        Status second = new Status(user3, "second", "", 1000L, "@AllenAnderson");
+
+        dataStore.publishStatus(first, new ArrayList<User>(), emptyStoryLoader, emptyLoader);
+        dataStore.publishStatus(second, new ArrayList<User>(), emptyStoryLoader, emptyLoader);
+
+        Timeline mentions = dataStore.getMentions(user1.getAlias(), new HashMap<String, DataStore.Loader<List<Status>>>());
+
+        Assertions.assertEquals(Arrays.asList(second, first), mentions.getPage(mentions.getFirstPagePosition(), 10));
+    }
+
+    @Test
+    void testGetSearchIndex_indexesSeededAndPublishedStatuses() {
+        final Status seeded = new Status(user2, "Dolphins have Tua", "", 1000L, null);
+        Map<String, DataStore.Loader<List<Status>>> storyLoaders = new HashMap<>();
+        storyLoaders.put(user2.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(seeded);
+            }
+        });
+        DataStore.Loader<Map<String, List<Status>>> emptyLoader = new DataStore.Loader<Map<String, List<Status>>>() {
+            @Override
+            public Map<String, List<Status>> load() {
+                return new HashMap<>();
+            }
+        };
+        DataStore.Loader<List<Status>> emptyStoryLoader = new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return null;
+            }
+        };
+
+        SearchIndex index = dataStore.getSearchIndex(storyLoaders);
+        Assertions.assertEquals(Arrays.asList(seeded), index.search("dolphins", true, Integer.MAX_VALUE, 10).getStatuses());
+
+        Status published = new Status(user1, "Go Dolphins", "", 500L, null);
+        dataStore.publishStatus(published, new ArrayList<User>(), emptyStoryLoader, emptyLoader);
+
+        Assertions.assertSame(index, dataStore.getSearchIndex(storyLoaders));
+        Assertions.assertEquals(Arrays.asList(published, seeded), index.search("dolphins", true, Integer.MAX_VALUE, 10).getStatuses());
+    }
+
+    @Test
+    void testGetFeedMode_thresholdAndOverride() {
+        Assertions.assertEquals(DataStore.FeedMode.PUSH, dataStore.getFeedMode(user1.getAlias(), 1000000));
+
+        dataStore.setPullFollowerThreshold(100);
+        Assertions.assertEquals(DataStore.FeedMode.PUSH, dataStore.getFeedMode(user1.getAlias(), 99));
+        Assertions.assertEquals(DataStore.FeedMode.PULL, dataStore.getFeedMode(user1.getAlias(), 100));
+
+        dataStore.setFeedMode(user1.getAlias(), DataStore.FeedMode.PUSH);
+        Assertions.assertEquals(DataStore.FeedMode.PUSH, dataStore.getFeedMode(user1.getAlias(), 100));
+
+        dataStore.setFeedMode(user1.getAlias(), null);
+        Assertions.assertEquals(DataStore.FeedMode.PULL, dataStore.getFeedMode(user1.getAlias(), 100));
+    }
+
+    @Test
+    void testFollow_copiesReadOnlySeedOnFirstWrite() {
+        final List<User> seed = Collections.unmodifiableList(Arrays.asList(user1, user2));
+        DataStore.Loader<List<User>> seedLoader = new DataStore.Loader<List<User>>() {
+            @Override
+            public List<User> load() {
+                return seed;
+            }
+        };
+
+        Assertions.assertSame(seed, dataStore.getFollowees(user3.getAlias(), seedLoader));
+
+        dataStore.unfollow(user3, user1, seedLoader, loader);
+
+        Assertions.assertEquals(Arrays.asList(user1, user2), seed);
+        Assertions.assertEquals(Arrays.asList(user2), dataStore.getFollowees(user3.getAlias(), seedLoader));
+    }
+}
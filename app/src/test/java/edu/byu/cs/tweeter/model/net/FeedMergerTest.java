@@ -0,0 +1,123 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class FeedMergerTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+
+    private final Status status1 = new Status(user1, "one", "", 1000L, "");
+    private final Status status2 = new Status(user2, "two", "", 2000L, "");
+    private final Status status3 = new Status(user1, "three", "", 3000L, "");
+    private final Status status4 = new Status(user2, "four", "", 4000L, "");
+    private final Status status5 = new Status(user1, "five", "", 5000L, "");
+
+    private Timeline user1Story;
+    private Timeline user2Story;
+
+    @BeforeEach
+    void setup() {
+        user1Story = new MemoryTimeline();
+        user1Story.append(status1, 1);
+        user1Story.append(status3, 3);
+        user1Story.append(status5, 5);
+
+        user2Story = new MemoryTimeline();
+        user2Story.append(status2, 2);
+        user2Story.append(status4, 4);
+    }
+
+    @Test
+    void testMerge_interleavesSourcesNewestFirst() {
+        List<FeedMerger.Source> sources = Arrays.asList(new FeedMerger.Source(user1Story, null),
+                new FeedMerger.Source(user2Story, null));
+
+        FeedMerger.Page firstPage = FeedMerger.merge(sources, Long.MAX_VALUE, 3);
+        Assertions.assertEquals(Arrays.asList(status5, status4, status3), firstPage.getStatuses());
+        Assertions.assertTrue(firstPage.getHasMorePages());
+
+        FeedMerger.Page secondPage = FeedMerger.merge(sources, firstPage.getLastSequence(), 3);
+        Assertions.assertEquals(Arrays.asList(status2, status1), secondPage.getStatuses());
+        Assertions.assertFalse(secondPage.getHasMorePages());
+    }
+
+    @Test
+    void testMerge_seededStoriesInterleaveByPostedTime() {
+        final long minute = 60 * 1000;
+        final Status older1 = new Status(user1, "2000", "", 946684800000L, "");
+        final Status newer1 = new Status(user1, "2020", "", 1577836800000L, "");
+        final Status older2 = new Status(user2, "2010", "", 1262304000000L, "");
+        final Status newer2 = new Status(user2, "2021", "", 1609459200000L, "");
+        final Status sameMinute2 = new Status(user2, "2020 too", "", 1577836800000L + minute / 2, "");
+        DataStore dataStore = new DataStore();
+
+        // The first story is seeded before the second, but the second holds statuses from between
+        // and after the first's
+        Timeline story1 = dataStore.getStory(user1.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(newer1, older1);
+            }
+        });
+        Timeline story2 = dataStore.getStory(user2.getAlias(), new DataStore.Loader<List<Status>>() {
+            @Override
+            public List<Status> load() {
+                return Arrays.asList(newer2, sameMinute2, older2);
+            }
+        });
+        List<FeedMerger.Source> sources = Arrays.asList(new FeedMerger.Source(story1, null),
+                new FeedMerger.Source(story2, null));
+
+        FeedMerger.Page firstPage = FeedMerger.merge(sources, Long.MAX_VALUE, 2);
+        Assertions.assertEquals(newer2, firstPage.getStatuses().get(0));
+        Assertions.assertTrue(firstPage.getHasMorePages());
+
+        FeedMerger.Page secondPage = FeedMerger.merge(sources, firstPage.getLastSequence(), 10);
+        List<Status> merged = new ArrayList<>(firstPage.getStatuses());
+        merged.addAll(secondPage.getStatuses());
+
+        Assertions.assertEquals(5, merged.size());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(newer1, sameMinute2)), new HashSet<>(merged.subList(1, 3)));
+        Assertions.assertEquals(Arrays.asList(older2, older1), merged.subList(3, 5));
+    }
+
+    @Test
+    void testMerge_skipsStatusesRejectedByFilter() {
+        FeedMerger.Filter onlyUser2 = new FeedMerger.Filter() {
+            @Override
+            public boolean accept(Status status) {
+                return status.getUser().equals(user2);
+            }
+        };
+        List<FeedMerger.Source> sources = Arrays.asList(new FeedMerger.Source(user1Story, onlyUser2),
+                new FeedMerger.Source(user2Story, null));
+
+        FeedMerger.Page page = FeedMerger.merge(sources, Long.MAX_VALUE, 10);
+
+        Assertions.assertEquals(Arrays.asList(status4, status2), page.getStatuses());
+        Assertions.assertFalse(page.getHasMorePages());
+    }
+
+    @Test
+    void testFindSequence_resumesAfterLastStatus() {
+        List<FeedMerger.Source> sources = Arrays.asList(new FeedMerger.Source(user1Story, null),
+                new FeedMerger.Source(user2Story, null));
+
+        Assertions.assertEquals(4, FeedMerger.findSequence(sources, status4));
+        Assertions.assertEquals(Long.MAX_VALUE, FeedMerger.findSequence(sources,
+                new Status(user1, "missing", "", 0, "")));
+        Assertions.assertEquals(0, FeedMerger.merge(Collections.<FeedMerger.Source>emptyList(), Long.MAX_VALUE, 5).getStatuses().size());
+    }
+}
@@ -0,0 +1,119 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import edu.byu.cs.tweeter.model.domain.Follow;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class FollowGraphTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+    private final User user3 = new User("Bob", "Bobson", "", "password");
+    private final User user4 = new User("Cindy", "Coats", "", "password");
+
+    private FollowGraph followGraph;
+
+    @BeforeEach
+    void setup() {
+        followGraph = FollowGraph.fromFollows(Arrays.asList(
+                new Follow(user3, user4),
+                new Follow(user3, user1),
+                new Follow(user1, user3),
+                new Follow(user3, user1),
+                new Follow(user2, user2),
+                new Follow(user2, user1)));
+    }
+
+    @Test
+    void testFromFollows_dropsRepeatedAndSelfFollows() {
+        Assertions.assertEquals(4, followGraph.getUserCount());
+        Assertions.assertEquals(4, followGraph.getFollowCount());
+    }
+
+    @Test
+    void testGetFollowees_inAliasOrder() {
+        Assertions.assertEquals(Arrays.asList(user1, user4), followGraph.getFollowees(user3.getAlias()));
+        Assertions.assertEquals(Arrays.asList(user2, user3), followGraph.getFollowers(user1.getAlias()));
+        Assertions.assertEquals(Collections.<User>emptyList(), followGraph.getFollowees(user4.getAlias()));
+        Assertions.assertNull(followGraph.getFollowees("@Nobody"));
+    }
+
+    @Test
+    void testFromFollows_sameSeedGivesSameGraph() {
+        List<User> users = Arrays.asList(user1, user2, user3, user4);
+        FollowGraph graph1 = FollowGraph.fromFollows(FollowGenerator.getInstance().generateFollowsForUsers(
+                users, 0, 3, FollowGenerator.Sort.FOLLOWER_FOLLOWEE, 340));
+        FollowGraph graph2 = FollowGraph.fromFollows(FollowGenerator.getInstance().generateFollowsForUsers(
+                users, 0, 3, FollowGenerator.Sort.FOLLOWER_FOLLOWEE, 340));
+
+        Assertions.assertEquals(graph1.getFollowCount(), graph2.getFollowCount());
+        for(User user : users) {
+            Assertions.assertEquals(graph1.getFollowees(user.getAlias()), graph2.getFollowees(user.getAlias()));
+            Assertions.assertEquals(graph1.getFollowers(user.getAlias()), graph2.getFollowers(user.getAlias()));
+        }
+    }
+
+    @Test
+    void testCounts_matchLists() {
+        int id = followGraph.getId(user1.getAlias());
+
+        Assertions.assertEquals(1, followGraph.getFolloweeCount(id));
+        Assertions.assertEquals(2, followGraph.getFollowerCount(id));
+        Assertions.assertEquals(user3, followGraph.getUser(followGraph.getFolloweeId(id, 0)));
+        Assertions.assertEquals(-1, followGraph.getId("@Nobody"));
+    }
+
+    @Test
+    void testSubList_pagesThroughFollowers() {
+        List<User> followers = followGraph.getFollowers(user1.getAlias());
+
+        Assertions.assertEquals(Collections.singletonList(user3), followers.subList(1, 2));
+        Assertions.assertEquals(0, followers.subList(2, 2).size());
+    }
+
+    @Test
+    void testFromFollows_generatedFollowsAreIndexedBothWays() {
+        List<User> users = new ArrayList<>();
+        for(int i = 0; i < 50; i++) {
+            users.add(new User("User", Integer.toString(i), "", "password"));
+        }
+
+        List<Follow> follows = FollowGenerator.getInstance().generateFollowsForUsers(users, 0, 20,
+                FollowGenerator.Sort.FOLLOWEE_FOLLOWER);
+        FollowGraph generatedGraph = FollowGraph.fromFollows(follows);
+
+        Set<String> expected = new HashSet<>();
+        for(Follow follow : follows) {
+            if(!follow.getFollower().getAlias().equals(follow.getFollowee().getAlias())) {
+                expected.add(follow.getFollower().getAlias() + " " + follow.getFollowee().getAlias());
+            }
+        }
+
+        Set<String> fromFollowees = new HashSet<>();
+        Set<String> fromFollowers = new HashSet<>();
+        for(int id = 0; id < generatedGraph.getUserCount(); id++) {
+            String alias = generatedGraph.getUser(id).getAlias();
+
+            for(User followee : generatedGraph.getFollowees(alias)) {
+                fromFollowees.add(alias + " " + followee.getAlias());
+            }
+            for(User follower : generatedGraph.getFollowers(alias)) {
+                fromFollowers.add(follower.getAlias() + " " + alias);
+            }
+        }
+
+        Assertions.assertEquals(expected, fromFollowees);
+        Assertions.assertEquals(expected, fromFollowers);
+        Assertions.assertEquals(expected.size(), generatedGraph.getFollowCount());
+    }
+}
@@ -0,0 +1,88 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+class FollowListTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+    private final User user3 = new User("Bob", "Bobson", "", "password");
+
+    @Test
+    void testGetUsers_seedIsKeptUntilIndexed() {
+        List<User> seed = Collections.unmodifiableList(Arrays.asList(user2, user1));
+        FollowList followList = new FollowList(seed);
+
+        Assertions.assertSame(seed, followList.getUsers());
+        Assertions.assertEquals(2, followList.size());
+
+        Assertions.assertTrue(followList.contains(user1.getAlias()));
+        Assertions.assertEquals(seed, followList.getUsers());
+    }
+
+    @Test
+    void testGetUsers_repeatedAliasIsListedOnce() {
+        FollowList followList = new FollowList(Arrays.asList(user3, user1, user3, user2));
+
+        Assertions.assertEquals(Arrays.asList(user3, user1, user2), followList.getUsers());
+        Assertions.assertEquals(3, followList.size());
+    }
+
+    @Test
+    void testAddAndRemove_matchByAliasAndKeepOrder() {
+        FollowList followList = new FollowList(Arrays.asList(user2, user1));
+        User user2WithoutPassword = new User(user2.getFirstName(), user2.getLastName(), user2.getAlias(),
+                user2.getImageUrl(), null);
+
+        Assertions.assertFalse(followList.add(user2WithoutPassword));
+        Assertions.assertTrue(followList.add(user3));
+        Assertions.assertEquals(Arrays.asList(user2, user1, user3), followList.getUsers());
+
+        Assertions.assertTrue(followList.remove(user2.getAlias()));
+        Assertions.assertFalse(followList.remove(user2.getAlias()));
+        Assertions.assertFalse(followList.contains(user2.getAlias()));
+
+        Assertions.assertTrue(followList.add(user2));
+        Assertions.assertEquals(Arrays.asList(user1, user3, user2), followList.getUsers());
+        Assertions.assertEquals(3, followList.size());
+    }
+
+    @Test
+    void testGetPageAfter_changesBetweenPagesDontSkipOrRepeat() {
+        User user4 = new User("Cindy", "Coats", "", "password");
+        FollowList followList = new FollowList(Arrays.asList(user1, user2, user3, user4));
+
+        FollowList.Page page = followList.getPageAfter(-1, 2);
+        Assertions.assertEquals(Arrays.asList(user1, user2), page.getUsers());
+        Assertions.assertTrue(page.getHasMorePages());
+
+        // An unfollow before the cursor used to shift every later user back one index
+        followList.remove(user1.getAlias());
+        followList.add(user1);
+
+        page = followList.getPageAfter(page.getLastPosition(), 2);
+        Assertions.assertEquals(Arrays.asList(user3, user4), page.getUsers());
+        Assertions.assertTrue(page.getHasMorePages());
+
+        page = followList.getPageAfter(page.getLastPosition(), 2);
+        Assertions.assertEquals(Arrays.asList(user1), page.getUsers());
+        Assertions.assertFalse(page.getHasMorePages());
+    }
+
+    @Test
+    void testGetPageAfter_resumesAfterAliasWhenPositionUnknown() {
+        FollowList followList = new FollowList(Arrays.asList(user1, user2, user3));
+
+        FollowList.Page page = followList.getPageAfter(followList.getPosition(user1.getAlias()), 5);
+        Assertions.assertEquals(Arrays.asList(user2, user3), page.getUsers());
+        Assertions.assertFalse(page.getHasMorePages());
+        Assertions.assertEquals(-1, followList.getPosition("@Nobody"));
+    }
+}
@@ -0,0 +1,201 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+class FollowRecommenderTest {
+
+    private final Map<String, List<User>> followeesByAlias = new HashMap<>();
+    private final List<String> reads = new ArrayList<>();
+
+    private final FollowRecommender.FolloweeSource source = new FollowRecommender.FolloweeSource() {
+        @Override
+        public List<User> getFollowees(String alias) {
+            reads.add(alias);
+            List<User> followees = followeesByAlias.get(alias);
+            return followees != null ? followees : new ArrayList<User>();
+        }
+    };
+
+    private FollowRecommender recommender;
+
+    @BeforeEach
+    void setup() {
+        follow("a", "b", "c", "d");
+        follow("b", "e", "f", "c");
+        follow("c", "e", "g");
+        follow("d", "e", "f", "a");
+
+        recommender = new FollowRecommender();
+    }
+
+    @Test
+    void testRecommend_rankedByMutualCountLeavingOutFollowed() {
+        List<FollowRecommender.Recommendation> recommendations = recommender.recommend("@a", 10, source);
+
+        Assertions.assertEquals(Arrays.asList("@e", "@f", "@g"), getAliases(recommendations));
+        Assertions.assertEquals(3, recommendations.get(0).getMutualCount());
+        Assertions.assertEquals(2, recommendations.get(1).getMutualCount());
+        Assertions.assertEquals(1, recommendations.get(2).getMutualCount());
+
+        Assertions.assertEquals(Arrays.asList("@e"), getAliases(recommender.recommend("@a", 1, source)));
+        Assertions.assertEquals(0, recommender.recommend("@a", 0, source).size());
+        Assertions.assertEquals(0, recommender.recommend("@nobody", 10, source).size());
+    }
+
+    @Test
+    void testRecommend_cachedUntilAFollowChanges() {
+        recommender.recommend("@a", 10, source);
+        reads.clear();
+
+        recommender.recommend("@a", 10, source);
+        Assertions.assertEquals(0, reads.size());
+
+        // Someone the user doesn't follow changing who they follow doesn't matter
+        recommender.invalidate("@e");
+        recommender.recommend("@a", 10, source);
+        Assertions.assertEquals(0, reads.size());
+
+        // The user's followees changing does
+        follow("c", "e", "g", "h");
+        recommender.invalidate("@c");
+        Assertions.assertEquals(Arrays.asList("@e", "@f", "@g", "@h"), getAliases(recommender.recommend("@a", 10, source)));
+
+        follow("a", "b", "c", "d", "e");
+        recommender.invalidate("@a");
+        Assertions.assertEquals(Arrays.asList("@f", "@g", "@h"), getAliases(recommender.recommend("@a", 10, source)));
+    }
+
+    @Test
+    void testRecommend_settledTopStillCountsTheRemainingFollowees() {
+        List<String> followees = new ArrayList<>();
+        List<String> popular = new ArrayList<>();
+
+        for(int i = 0; i < FollowRecommender.MAX_RECOMMENDATIONS; i++) {
+            popular.add("p" + i);
+        }
+
+        // The first 24 followees all follow the same popular users, so after 24 followees no one
+        // else can make the top. The last 16 all follow the last popular user, which moves them
+        // from last to first, and users no one else does
+        for(int i = 0; i < 40; i++) {
+            followees.add("f" + i);
+            if(i < 24) {
+                follow("f" + i, popular.toArray(new String[0]));
+            } else {
+                follow("f" + i, "p49", "q" + i);
+            }
+        }
+        follow("big", followees.toArray(new String[0]));
+
+        List<FollowRecommender.Recommendation> recommendations =
+                recommender.recommend("@big", FollowRecommender.MAX_RECOMMENDATIONS, source);
+
+        Assertions.assertEquals(countAll("@big", FollowRecommender.MAX_RECOMMENDATIONS), getAliases(recommendations));
+        Assertions.assertEquals("@p49", recommendations.get(0).getUser().getAlias());
+        Assertions.assertEquals(40, recommendations.get(0).getMutualCount());
+        for(FollowRecommender.Recommendation recommendation : recommendations.subList(1, recommendations.size())) {
+            Assertions.assertTrue(recommendation.getUser().getAlias().startsWith("@p"));
+            Assertions.assertEquals(24, recommendation.getMutualCount());
+        }
+    }
+
+    @Test
+    void testRecommend_parallelTraversalMatchesAFullCount() {
+        Random random = new Random(340);
+        List<String> followees = new ArrayList<>();
+
+        for(int i = 0; i < 150; i++) {
+            followees.add("f" + i);
+
+            String[] aliases = new String[20];
+            for(int j = 0; j < aliases.length; j++) {
+                aliases[j] = "u" + random.nextInt(400);
+            }
+            follow("f" + i, aliases);
+        }
+        follow("big", followees.toArray(new String[0]));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FollowRecommender parallel = new FollowRecommender(1000, 1000, 1, 16, executor);
+            List<FollowRecommender.Recommendation> recommendations = parallel.recommend("@big", 20, source);
+
+            Assertions.assertEquals(countAll("@big", 20), getAliases(recommendations));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Counts every followee of every followee of the user, without sampling, and returns the
+     * aliases of the 'limit' most followed.
+     */
+    private List<String> countAll(String alias, int limit) {
+        Set<String> followed = new HashSet<>(Collections.singletonList(alias));
+        for(User followee : followeesByAlias.get(alias)) {
+            followed.add(followee.getAlias());
+        }
+
+        final Map<String, Integer> counts = new HashMap<>();
+        for(User followee : followeesByAlias.get(alias)) {
+            for(User candidate : followeesByAlias.get(followee.getAlias())) {
+                if(!followed.contains(candidate.getAlias())) {
+                    Integer count = counts.get(candidate.getAlias());
+                    counts.put(candidate.getAlias(), count == null ? 1 : count + 1);
+                }
+            }
+        }
+
+        List<String> aliases = new ArrayList<>(counts.keySet());
+        Collections.sort(aliases, new Comparator<String>() {
+            @Override
+            public int compare(String alias1, String alias2) {
+                int comparison = Integer.compare(counts.get(alias2), counts.get(alias1));
+                return comparison != 0 ? comparison : alias1.compareTo(alias2);
+            }
+        });
+
+        return aliases.subList(0, Math.min(limit, aliases.size()));
+    }
+
+    private void follow(String follower, String... followees) {
+        // A user may appear more than once in a generated list; the store keeps each once
+        Set<String> seen = new HashSet<>();
+        List<User> users = new ArrayList<>();
+
+        for(String followee : followees) {
+            if(seen.add(followee)) {
+                users.add(new User(followee, "", "@" + followee, "", "password"));
+            }
+        }
+
+        followeesByAlias.put("@" + follower, users);
+    }
+
+    private static List<String> getAliases(List<FollowRecommender.Recommendation> recommendations) {
+        List<String> aliases = new ArrayList<>();
+
+        for(FollowRecommender.Recommendation recommendation : recommendations) {
+            aliases.add(recommendation.getUser().getAlias());
+        }
+
+        return aliases;
+    }
+}
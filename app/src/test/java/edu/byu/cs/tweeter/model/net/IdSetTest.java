@@ -0,0 +1,80 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class IdSetTest {
+
+    @Test
+    void testOf_sortsAndDropsRepeats() {
+        IdSet set = IdSet.of(new int[] {7, 3, 7, 1, 3});
+
+        Assertions.assertEquals(3, set.size());
+        Assertions.assertEquals(1, set.get(0));
+        Assertions.assertEquals(3, set.get(1));
+        Assertions.assertEquals(7, set.get(2));
+        Assertions.assertTrue(set.contains(3));
+        Assertions.assertFalse(set.contains(4));
+        Assertions.assertEquals(0, IdSet.EMPTY.size());
+    }
+
+    @Test
+    void testIntersect_pagesAfterTheLastId() {
+        IdSet set1 = IdSet.of(new int[] {1, 2, 4, 6, 8, 9});
+        IdSet set2 = IdSet.of(new int[] {2, 3, 4, 8, 9, 10});
+
+        Assertions.assertEquals(4, set1.intersectionSize(set2));
+        Assertions.assertArrayEquals(new int[] {2, 4}, set1.intersect(set2, Integer.MIN_VALUE, 2));
+        Assertions.assertArrayEquals(new int[] {8, 9}, set1.intersect(set2, 4, 5));
+        Assertions.assertArrayEquals(new int[0], set1.intersect(set2, 9, 5));
+        Assertions.assertArrayEquals(new int[0], set1.intersect(IdSet.EMPTY, Integer.MIN_VALUE, 5));
+        Assertions.assertArrayEquals(new int[0], set1.intersect(set2, Integer.MIN_VALUE, 0));
+    }
+
+    @Test
+    void testIntersect_matchesAScanForSimilarAndVeryDifferentSizes() {
+        Random random = new Random(340);
+        IdSet large = randomSet(random, 20000, 100000);
+
+        // The first is walked in step with the large set and the second gallops through it
+        for(IdSet small : new IdSet[] {randomSet(random, 10000, 100000), randomSet(random, 50, 100000)}) {
+            List<Integer> expected = new ArrayList<>();
+            for(int i = 0; i < small.size(); i++) {
+                if(large.contains(small.get(i))) {
+                    expected.add(small.get(i));
+                }
+            }
+
+            Assertions.assertEquals(expected.size(), small.intersectionSize(large));
+            Assertions.assertEquals(expected.size(), large.intersectionSize(small));
+
+            // Read the whole intersection a page at a time
+            List<Integer> actual = new ArrayList<>();
+            int afterId = Integer.MIN_VALUE;
+            int[] page;
+            do {
+                page = large.intersect(small, afterId, 7);
+                for(int id : page) {
+                    actual.add(id);
+                    afterId = id;
+                }
+            } while(page.length == 7);
+
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+
+    private static IdSet randomSet(Random random, int size, int bound) {
+        int[] ids = new int[size];
+
+        for(int i = 0; i < size; i++) {
+            ids[i] = random.nextInt(bound);
+        }
+
+        return IdSet.of(ids);
+    }
+}
@@ -0,0 +1,102 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class MemoryTimelineTest {
+
+    private final User user = new User("Allen", "Anderson", "", "password");
+    private final Status status1 = new Status(user, "one", "", 1000L, "");
+    private final Status status2 = new Status(user, "two", "", 2000L, "");
+    private final Status status3 = new Status(user, "three", "", 3000L, "");
+
+    private Timeline timeline;
+
+    @BeforeEach
+    void setup() {
+        timeline = new MemoryTimeline();
+        timeline.append(status1, 10);
+        timeline.append(status2, 20);
+        timeline.append(status3, 30);
+    }
+
+    @Test
+    void testGetPage_newestFirst() {
+        List<Status> page = timeline.getPage(timeline.getFirstPagePosition(), 2);
+
+        Assertions.assertEquals(Arrays.asList(status3, status2), page);
+        Assertions.assertEquals(Arrays.asList(status1), timeline.getPage(1, 2));
+        Assertions.assertEquals(0, timeline.getPage(0, 2).size());
+    }
+
+    @Test
+    void testAppend_doesNotMoveExistingPages() {
+        int secondPage = timeline.getFirstPagePosition() - 2;
+        Status status4 = new Status(user, "four", "", 4000L, "");
+
+        timeline.append(status4, 40);
+
+        Assertions.assertEquals(Arrays.asList(status1), timeline.getPage(secondPage, 2));
+        Assertions.assertEquals(status4, timeline.getPage(timeline.getFirstPagePosition(), 1).get(0));
+    }
+
+    @Test
+    void testGetPositionAfter_lastStatusOfPreviousPage() {
+        Assertions.assertEquals(1, timeline.getPositionAfter(status2));
+        Assertions.assertEquals(timeline.getFirstPagePosition(),
+                timeline.getPositionAfter(new Status(user, "missing", "", 0, "")));
+    }
+
+    @Test
+    void testGetPositionAfter_repeatedStatusUsesOldestOccurrence() {
+        timeline.append(status2, 40);
+
+        Assertions.assertEquals(Arrays.asList(status2), timeline.getPage(timeline.getFirstPagePosition(), 1));
+        Assertions.assertEquals(1, timeline.getPositionAfter(status2));
+        Assertions.assertEquals(Arrays.asList(status1), timeline.getPage(timeline.getPositionAfter(status2), 1));
+    }
+
+    @Test
+    void testAppend_growsPastInitialCapacity() {
+        for(int i = 0; i < 100; i++) {
+            timeline.append(new Status(user, Integer.toString(i), "", 0, ""), 100 + i);
+        }
+
+        Assertions.assertEquals(103, timeline.size());
+        Assertions.assertEquals("99", timeline.getPage(timeline.getFirstPagePosition(), 1).get(0).getTweetText());
+    }
+
+    @Test
+    void testGetStatusesBetween_newestFirstWithinRange() {
+        Assertions.assertEquals(Arrays.asList(status3, status2), timeline.getStatusesBetween(2000, 3001, 10));
+        Assertions.assertEquals(Arrays.asList(status2), timeline.getStatusesBetween(1001, 3000, 10));
+        Assertions.assertEquals(Arrays.asList(status3), timeline.getStatusesBetween(0, Long.MAX_VALUE, 1));
+        Assertions.assertEquals(0, timeline.getStatusesBetween(3001, Long.MAX_VALUE, 10).size());
+    }
+
+    @Test
+    void testAppend_earlierTimeIndexedAtPreviousTime() {
+        Status late = new Status(user, "late", "", 500L, "");
+
+        timeline.append(late, 40);
+
+        Assertions.assertEquals(3000, timeline.getTime(3));
+        Assertions.assertEquals(3, timeline.getPositionAfter(late));
+        Assertions.assertEquals(Arrays.asList(late, status3), timeline.getStatusesBetween(3000, 3001, 10));
+    }
+
+    @Test
+    void testGetPositionBefore_findsPageBelowSequence() {
+        Assertions.assertEquals(0, timeline.getPositionBefore(10));
+        Assertions.assertEquals(1, timeline.getPositionBefore(11));
+        Assertions.assertEquals(2, timeline.getPositionBefore(30));
+        Assertions.assertEquals(3, timeline.getPositionBefore(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,117 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class SearchIndexTest {
+
+    private final User user = new User("Allen", "Anderson", "", "password");
+    private final Status status1 = new Status(user, "The Dolphins have Tua", "", 1000L, "");
+    private final Status status2 = new Status(user, "Jacksonville will draft third", "", 2000L, "");
+    private final Status status3 = new Status(user, "Dolphins, @JacobWest! #draft", "", 3000L, "@JacobWest");
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new SearchIndex();
+        index.add(status1);
+        index.add(status2);
+        index.add(status3);
+    }
+
+    @Test
+    void testTokenize_lowerCasesAndKeepsMentionsAndHashtags() {
+        Assertions.assertEquals(Arrays.asList("dolphins", "@jacobwest", "#draft", "multiply", "com"),
+                new ArrayList<>(SearchIndex.tokenize("Dolphins, @JacobWest! #draft dolphins multiply.com @ #")));
+    }
+
+    @Test
+    void testSearch_matchAllNewestFirst() {
+        SearchIndex.Page page = index.search("dolphins", true, Integer.MAX_VALUE, 10);
+
+        Assertions.assertEquals(Arrays.asList(status3, status1), page.getStatuses());
+        Assertions.assertFalse(page.getHasMorePages());
+
+        Assertions.assertEquals(Arrays.asList(status3), index.search("DOLPHINS @jacobwest", true, Integer.MAX_VALUE, 10).getStatuses());
+        Assertions.assertEquals(0, index.search("dolphins jacksonville", true, Integer.MAX_VALUE, 10).getStatuses().size());
+        Assertions.assertEquals(0, index.search("patriots", true, Integer.MAX_VALUE, 10).getStatuses().size());
+    }
+
+    @Test
+    void testSearch_matchAnyReturnsEachStatusOnce() {
+        SearchIndex.Page page = index.search("dolphins draft #draft patriots", false, Integer.MAX_VALUE, 10);
+
+        Assertions.assertEquals(Arrays.asList(status3, status2, status1), page.getStatuses());
+        Assertions.assertFalse(page.getHasMorePages());
+        Assertions.assertEquals(0, index.search("", false, Integer.MAX_VALUE, 10).getStatuses().size());
+    }
+
+    @Test
+    void testSearch_pagesResumeAfterTheLastId() {
+        SearchIndex.Page first = index.search("dolphins draft", false, Integer.MAX_VALUE, 2);
+        Assertions.assertEquals(Arrays.asList(status3, status2), first.getStatuses());
+        Assertions.assertTrue(first.getHasMorePages());
+
+        SearchIndex.Page second = index.search("dolphins draft", false, first.getLastId(), 2);
+        Assertions.assertEquals(Arrays.asList(status1), second.getStatuses());
+        Assertions.assertFalse(second.getHasMorePages());
+
+        SearchIndex.Page firstAll = index.search("dolphins", true, Integer.MAX_VALUE, 1);
+        Assertions.assertTrue(firstAll.getHasMorePages());
+        Assertions.assertEquals(Arrays.asList(status1), index.search("dolphins", true, firstAll.getLastId(), 1).getStatuses());
+    }
+
+    @Test
+    void testSearch_matchesAScanOfEveryStatus() {
+        String[] words = {"alpha", "beta", "gamma", "delta", "epsilon"};
+        Random random = new Random(340);
+        List<Status> statuses = new ArrayList<>();
+        SearchIndex bigIndex = new SearchIndex();
+
+        for(int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            for(String word : words) {
+                if(random.nextInt(3) == 0) {
+                    text.append(word).append(' ');
+                }
+            }
+            Status status = new Status(user, text.toString(), "", i, "");
+            statuses.add(status);
+            bigIndex.add(status);
+        }
+
+        for(boolean matchAll : new boolean[] {true, false}) {
+            List<Status> expected = new ArrayList<>();
+            for(int i = statuses.size() - 1; i >= 0; i--) {
+                String text = statuses.get(i).getTweetText();
+                boolean alpha = text.contains("alpha");
+                boolean gamma = text.contains("gamma");
+                if(matchAll ? alpha && gamma : alpha || gamma) {
+                    expected.add(statuses.get(i));
+                }
+            }
+
+            // Read the whole result a page at a time
+            List<Status> actual = new ArrayList<>();
+            int beforeId = Integer.MAX_VALUE;
+            SearchIndex.Page page;
+            do {
+                page = bigIndex.search("alpha gamma", matchAll, beforeId, 7);
+                actual.addAll(page.getStatuses());
+                beforeId = page.getLastId();
+            } while(page.getHasMorePages());
+
+            Assertions.assertEquals(expected, actual);
+        }
+    }
+}
@@ -11,7 +11,9 @@ import java.util.List;
 import edu.byu.cs.tweeter.model.domain.Follow;
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
 import edu.byu.cs.tweeter.model.service.response.FollowingResponse;
+import edu.byu.cs.tweeter.model.service.response.RegisterResponse;
 
 class ServerFacadeTest {
 
@@ -71,10 +73,12 @@ class ServerFacadeTest {
 
     @BeforeEach
     void setup() {
-        serverFacadeSpy = Mockito.spy(new ServerFacadeMine());
+        // Start from an empty store so the follow graph is built from the mock generator below
+        serverFacadeSpy = Mockito.spy(new ServerFacadeMine(new DataStore()));
 
         FollowGenerator mockFollowGenerator = Mockito.mock(FollowGenerator.class);
-        Mockito.when(mockFollowGenerator.generateUsersAndFollows(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt(), (FollowGenerator.Sort) Mockito.any())).thenReturn(follows);
+        Mockito.when(mockFollowGenerator.generateFollowsForUsers(Mockito.anyListOf(User.class), Mockito.anyInt(), Mockito.anyInt(),
+                (FollowGenerator.Sort) Mockito.any(), Mockito.anyLong())).thenReturn(follows);
 
         Mockito.when(serverFacadeSpy.getFollowGenerator()).thenReturn(mockFollowGenerator);
     }
@@ -106,10 +110,11 @@ class ServerFacadeTest {
         FollowingRequest request = new FollowingRequest(user3, 2, null);
         FollowingResponse response = serverFacadeSpy.getFollowees(request);
 
+        // Barney is in the generated follows, so his followees come from them
         Assertions.assertEquals(2, response.getFollowees().size());
-        Assertions.assertTrue(response.getFollowees().contains(Allen));
-        Assertions.assertTrue(response.getFollowees().contains(Amy));
-        Assertions.assertTrue(response.getHasMorePages());
+        Assertions.assertTrue(response.getFollowees().contains(user1));
+        Assertions.assertTrue(response.getFollowees().contains(user8));
+        Assertions.assertFalse(response.getHasMorePages());
     }
 
     @Test
@@ -182,4 +187,53 @@ class ServerFacadeTest {
         Assertions.assertTrue(response.getFollowees().contains(Dan));
         Assertions.assertTrue(response.getHasMorePages());
     }
+
+    @Test
+    void testGetFollowees_cursorResumesWhereLastPageEnded() {
+
+        FollowingRequest request = new FollowingRequest(Snowden, 2, null);
+        FollowingResponse response = serverFacadeSpy.getFollowees(request);
+
+        Assertions.assertNotNull(response.getNextCursor());
+
+        // Get and verify second page using only the cursor
+        request = new FollowingRequest(Snowden, 2, null, response.getNextCursor());
+        response = serverFacadeSpy.getFollowees(request);
+
+        Assertions.assertEquals(2, response.getFollowees().size());
+        Assertions.assertTrue(response.getFollowees().contains(theMedia));
+        Assertions.assertTrue(response.getFollowees().contains(Bonnie));
+        Assertions.assertTrue(response.getHasMorePages());
+    }
+
+    @Test
+    void testGetFollowees_lastPageHasNoCursor() {
+
+        FollowingRequest request = new FollowingRequest(BillBelichick, 1000, null);
+        FollowingResponse response = serverFacadeSpy.getFollowees(request);
+
+        Assertions.assertFalse(response.getHasMorePages());
+        Assertions.assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void testRegister_takenAliasGetsNoSession() {
+        RegisterRequest request = new RegisterRequest("@TestUser", "guessed", "Not", "Test",
+                MIKE, new byte[] {1, 2, 3});
+        RegisterResponse response = serverFacadeSpy.register(request);
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertNull(response.getAuthToken());
+        Assertions.assertNotNull(response.getMessage());
+    }
+
+    @Test
+    void testRegister_newAliasGetsSession() {
+        RegisterRequest request = new RegisterRequest("@NewUser", "password", "New", "User",
+                MIKE, new byte[] {1, 2, 3});
+        RegisterResponse response = serverFacadeSpy.register(request);
+
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertNotNull(response.getAuthToken());
+    }
 }
@@ -0,0 +1,155 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.AuthToken;
+
+class SessionRegistryTest {
+
+    private static final long TIMEOUT = 10_000;
+    private static final long TICK = 100;
+    private static final int WHEEL_SIZE = 16;
+
+    private long now;
+    private SessionRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        now = 1_000_000;
+        registry = new SessionRegistry(TIMEOUT, TICK, WHEEL_SIZE, new SessionRegistry.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now;
+            }
+        });
+    }
+
+    @Test
+    void testValidate_acceptsOnlyTheSessionsUser() {
+        AuthToken authToken = registry.createSession("@AllenAnderson");
+
+        Assertions.assertTrue(registry.validate(authToken, "@AllenAnderson"));
+        Assertions.assertFalse(registry.validate(authToken, "@AmyAmes"));
+        Assertions.assertFalse(registry.validate(new AuthToken("@AllenAnderson"), "@AllenAnderson"));
+        Assertions.assertFalse(registry.validate(null, "@AllenAnderson"));
+    }
+
+    @Test
+    void testValidate_rejectsExpiredSession() {
+        AuthToken authToken = registry.createSession("@AllenAnderson");
+
+        now += TIMEOUT;
+
+        Assertions.assertFalse(registry.validate(authToken, "@AllenAnderson"));
+    }
+
+    @Test
+    void testValidate_useKeepsSessionAlive() {
+        AuthToken authToken = registry.createSession("@AllenAnderson");
+
+        // Many times the timeout and several revolutions of the wheel
+        for(int i = 0; i < 20; i++) {
+            now += TIMEOUT / 2;
+            registry.expireSessions();
+            Assertions.assertTrue(registry.validate(authToken, "@AllenAnderson"));
+        }
+
+        Assertions.assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testRevoke_tokenIsNoLongerAccepted() {
+        AuthToken authToken = registry.createSession("@AllenAnderson");
+
+        Assertions.assertFalse(registry.revoke(new AuthToken(authToken.getId(), "@AmyAmes", true)));
+        Assertions.assertTrue(registry.revoke(authToken));
+
+        Assertions.assertFalse(registry.validate(authToken, "@AllenAnderson"));
+        Assertions.assertFalse(registry.revoke(authToken));
+        Assertions.assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testExpireSessions_purgesOnlyExpiredSessions() {
+        for(int i = 0; i < 100; i++) {
+            registry.createSession("@User" + i);
+        }
+
+        now += TIMEOUT / 2;
+        AuthToken authToken = registry.createSession("@AllenAnderson");
+
+        now += TIMEOUT / 2 + TICK;
+        registry.expireSessions();
+
+        Assertions.assertEquals(1, registry.size());
+        Assertions.assertTrue(registry.validate(authToken, "@AllenAnderson"));
+    }
+
+    @Test
+    void testExpireSessions_afterLongIdle() {
+        registry.createSession("@AllenAnderson");
+
+        now += TIMEOUT * 100;
+        registry.expireSessions();
+
+        Assertions.assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testCreateSession_sizeStaysBounded() {
+        // A new session every tick, so sessions live for TIMEOUT / TICK ticks
+        for(int i = 0; i < 1000; i++) {
+            registry.createSession("@User" + i);
+            now += TICK;
+        }
+
+        Assertions.assertTrue(registry.size() <= TIMEOUT / TICK + 1);
+    }
+
+    @Test
+    void testValidate_concurrentSessions() throws InterruptedException {
+        final SessionRegistry registry = new SessionRegistry();
+        final int threadCount = 8;
+        final int sessionsPerThread = 500;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            final String username = "@User" + i;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for(int j = 0; j < sessionsPerThread; j++) {
+                            AuthToken authToken = registry.createSession(username);
+                            if(!registry.validate(authToken, username) || !registry.revoke(authToken)) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(0, failures.get());
+        Assertions.assertEquals(0, registry.size());
+    }
+}
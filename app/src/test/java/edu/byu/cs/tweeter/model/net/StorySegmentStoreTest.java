@@ -0,0 +1,126 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class StorySegmentStoreTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+    private final Status status1 = new Status(user1, "one", "", 1000L, "");
+    private final Status status2 = new Status(user2, "two", "", 2000L, "");
+    private final Status status3 = new Status(user1, "three", "", 3000L, "");
+
+    private File directory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        directory = File.createTempFile("tweeter", "stories");
+        directory.delete();
+    }
+
+    @AfterEach
+    void cleanup() {
+        File[] files = directory.listFiles();
+        if(files != null) {
+            for(File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    void testGetPage_readsEachUsersStoryNewestFirst() throws IOException {
+        StorySegmentStore store = StorySegmentStore.open(directory);
+        Assertions.assertTrue(store.isEmpty());
+
+        store.getOrCreateTimeline(user1.getAlias()).append(status1, 1);
+        store.getOrCreateTimeline(user2.getAlias()).append(status2, 2);
+        store.getOrCreateTimeline(user1.getAlias()).append(status3, 3);
+
+        Timeline story = store.getTimeline(user1.getAlias());
+        Assertions.assertEquals(Arrays.asList(status3, status1), story.getPage(story.getFirstPagePosition(), 10));
+        Assertions.assertEquals(1, story.getPositionBefore(3));
+        Assertions.assertNull(store.getTimeline("@Nobody"));
+        store.close();
+    }
+
+    @Test
+    void testOpen_rebuildsIndexFromSegments() throws IOException {
+        StorySegmentStore store = StorySegmentStore.open(directory);
+        store.getOrCreateTimeline(user1.getAlias()).append(status1, 1);
+        store.getOrCreateTimeline(user2.getAlias()).append(status2, 2);
+        store.close();
+
+        StorySegmentStore reopened = StorySegmentStore.open(directory);
+        Assertions.assertFalse(reopened.isEmpty());
+        Assertions.assertEquals(2, reopened.getMaxSequence());
+
+        reopened.getOrCreateTimeline(user1.getAlias()).append(status3, 3);
+        Timeline story = reopened.getTimeline(user1.getAlias());
+        Assertions.assertEquals(Arrays.asList(status3, status1), story.getPage(story.getFirstPagePosition(), 10));
+        Assertions.assertEquals(Arrays.asList(status1), story.getStatusesBetween(0, status3.getTimePosted(), 10));
+        reopened.close();
+    }
+
+    @Test
+    void testGetPage_readsUsersWithoutPasswords() throws IOException {
+        StorySegmentStore store = StorySegmentStore.open(directory);
+        store.getOrCreateTimeline(user1.getAlias()).append(status1, 1);
+
+        Timeline story = store.getTimeline(user1.getAlias());
+        User user = story.getPage(story.getFirstPagePosition(), 1).get(0).getUser();
+        Assertions.assertEquals(user1.getAlias(), user.getAlias());
+        Assertions.assertEquals(user1.getImageUrl(), user.getImageUrl());
+        Assertions.assertNull(user.getPassword());
+        store.close();
+    }
+
+    @Test
+    void testOpen_rejectsRecordsOfAnotherVersion() throws IOException {
+        StorySegmentStore store = StorySegmentStore.open(directory);
+        store.getOrCreateTimeline(user1.getAlias()).append(status1, 1);
+        store.close();
+
+        // Changes the version byte that follows the first record's length
+        RandomAccessFile raf = new RandomAccessFile(directory.listFiles()[0], "rw");
+        raf.seek(4);
+        raf.write(0);
+        raf.close();
+
+        Assertions.assertThrows(IOException.class, () -> {
+            StorySegmentStore.open(directory);
+        });
+    }
+
+    @Test
+    void testAppend_rollsToNewSegmentWhenFull() throws IOException {
+        StorySegmentStore store = StorySegmentStore.open(directory, 256);
+        Timeline story = store.getOrCreateTimeline(user1.getAlias());
+
+        for(int i = 0; i < 20; i++) {
+            story.append(new Status(user1, "status " + i, "", 0, ""), i + 1);
+        }
+        store.close();
+
+        Assertions.assertTrue(directory.listFiles().length > 1);
+
+        StorySegmentStore reopened = StorySegmentStore.open(directory, 256);
+        Timeline reopenedStory = reopened.getTimeline(user1.getAlias());
+        Assertions.assertEquals(20, reopenedStory.size());
+        Assertions.assertEquals("status 19", reopenedStory.getPage(reopenedStory.getFirstPagePosition(), 1).get(0).getTweetText());
+        Assertions.assertEquals("status 0", reopenedStory.getPage(1, 1).get(0).getTweetText());
+        reopened.close();
+    }
+}
@@ -0,0 +1,132 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class TrendingTermsTest {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private final User user = new User("Allen", "Anderson", "", "password");
+
+    private AtomicLong now;
+    private TrendingTerms trendingTerms;
+
+    @BeforeEach
+    void setup() {
+        now = new AtomicLong(1000 * MINUTE);
+        trendingTerms = new TrendingTerms(MINUTE, 10, 4, 16, new TrendingTerms.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now.get();
+            }
+        });
+    }
+
+    @Test
+    void testGetTerms_skipsLinksShortAndCommonWords() {
+        Status status = new Status(user, "The #Dolphins have Tua, @JacobWest! go multiply.com dolphins",
+                "multiply.com", 1000L, "@JacobWest");
+
+        Assertions.assertEquals(Arrays.asList("#dolphins", "tua", "@jacobwest", "dolphins"),
+                new ArrayList<>(TrendingTerms.getTerms(status)));
+    }
+
+    @Test
+    void testGetTopTerms_mostUsedFirst() {
+        record("#dolphins tua", 3);
+        record("#dolphins jaguars", 1);
+        record("patriots", 2);
+
+        List<TrendingTerms.Trend> trends = trendingTerms.getTopTerms(5 * MINUTE, 2);
+
+        Assertions.assertEquals(2, trends.size());
+        Assertions.assertEquals("#dolphins", trends.get(0).getTerm());
+        Assertions.assertEquals(4, trends.get(0).getCount());
+        Assertions.assertEquals("tua", trends.get(1).getTerm());
+        Assertions.assertEquals(3, trends.get(1).getCount());
+        Assertions.assertEquals(0, trendingTerms.getTopTerms(5 * MINUTE, 0).size());
+    }
+
+    @Test
+    void testGetTopTerms_onlyCountsTheWindow() {
+        record("patriots", 5);
+        now.addAndGet(3 * MINUTE);
+        record("#dolphins", 2);
+
+        Assertions.assertEquals("#dolphins", trendingTerms.getTopTerms(MINUTE, 1).get(0).getTerm());
+        Assertions.assertEquals("patriots", trendingTerms.getTopTerms(4 * MINUTE, 1).get(0).getTerm());
+
+        // Once the ring comes around, the old bucket is reused and its counts are gone
+        now.addAndGet(10 * MINUTE);
+        record("jaguars", 1);
+        List<TrendingTerms.Trend> trends = trendingTerms.getTopTerms(60 * MINUTE, 10);
+
+        Assertions.assertEquals(1, trends.size());
+        Assertions.assertEquals("jaguars", trends.get(0).getTerm());
+    }
+
+    @Test
+    void testGetTopTerms_findsHeavyHittersAmongManyRareTerms() {
+        Random random = new Random(340);
+
+        for(int i = 0; i < 20000; i++) {
+            // Every tenth status uses one of the popular terms; the rest use rare terms
+            String text = i % 10 == 0 ? "#popular" + (i / 10) % 3 : "rare" + random.nextInt(5000);
+            trendingTerms.record(new Status(user, text, "", 1000L, null));
+        }
+
+        List<TrendingTerms.Trend> trends = trendingTerms.getTopTerms(MINUTE, 3);
+        List<String> terms = new ArrayList<>();
+        for(TrendingTerms.Trend trend : trends) {
+            terms.add(trend.getTerm());
+            Assertions.assertTrue(trend.getCount() >= 666);
+        }
+
+        Assertions.assertTrue(terms.containsAll(Arrays.asList("#popular0", "#popular1", "#popular2")));
+    }
+
+    @Test
+    void testRecord_concurrentStatusesAreAllCounted() throws InterruptedException {
+        final int threadCount = 8;
+        final int statusesPerThread = 1000;
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int j = 0; j < statusesPerThread; j++) {
+                        trendingTerms.record(new Status(user, "#dolphins", "", 1000L, null));
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        TrendingTerms.Trend trend = trendingTerms.getTopTerms(MINUTE, 1).get(0);
+        Assertions.assertEquals("#dolphins", trend.getTerm());
+        Assertions.assertEquals(threadCount * statusesPerThread, trend.getCount());
+    }
+
+    private void record(String text, int times) {
+        for(int i = 0; i < times; i++) {
+            trendingTerms.record(new Status(user, text, "", 1000L, null));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+class UserRegistryTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+
+    private UserRegistry userRegistry;
+
+    @BeforeEach
+    void setup() {
+        userRegistry = new UserRegistry();
+        userRegistry.registerAll(Arrays.asList(user1, user2));
+    }
+
+    @Test
+    void testGetUser_registeredAlias() {
+        Assertions.assertEquals(user1, userRegistry.getUser("@AllenAnderson"));
+        Assertions.assertTrue(userRegistry.contains("@AmyAmes"));
+    }
+
+    @Test
+    void testGetUser_unknownAlias() {
+        Assertions.assertNull(userRegistry.getUser("@Nobody"));
+        Assertions.assertNull(userRegistry.getUser(null));
+        Assertions.assertFalse(userRegistry.contains("@Nobody"));
+    }
+
+    @Test
+    void testRegister_aliasAlreadyTaken() {
+        User imposter = new User("Allen", "Anderson", "@AllenAnderson", "other.png", "password");
+
+        Assertions.assertFalse(userRegistry.register(imposter));
+        Assertions.assertEquals(user1, userRegistry.getUser("@AllenAnderson"));
+        Assertions.assertEquals(2, userRegistry.size());
+    }
+
+    @Test
+    void testGetUsers_keepsRequestOrder() {
+        List<User> users = userRegistry.getUsers(Arrays.asList("@AmyAmes", "@Nobody", "@AllenAnderson"));
+
+        Assertions.assertEquals(Arrays.asList(user2, null, user1), users);
+    }
+
+    @Test
+    void testLoad_readsJsonArray() throws IOException {
+        String json = "[{\"firstName\":\"Bob\",\"lastName\":\"Bobson\",\"alias\":\"@BobBobson\",\"imageUrl\":\"\",\"password\":\"password\"}," +
+                "{\"firstName\":\"Amy\",\"lastName\":\"Ames\",\"alias\":\"@AmyAmes\",\"imageUrl\":\"\",\"password\":\"password\"}]";
+
+        int added = userRegistry.load(new StringReader(json));
+
+        Assertions.assertEquals(1, added);
+        Assertions.assertEquals("Bob Bobson", userRegistry.getUser("@BobBobson").getName());
+        Assertions.assertEquals(3, userRegistry.size());
+    }
+}
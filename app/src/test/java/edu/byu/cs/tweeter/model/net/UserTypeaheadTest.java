@@ -0,0 +1,146 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import edu.byu.cs.tweeter.model.domain.User;
+
+class UserTypeaheadTest {
+
+    private final User allen = new User("Allen", "Anderson", "", "password");
+    private final User amy = new User("Amy", "Ames", "", "password");
+    private final User bob = new User("Bob", "Allred", "", "password");
+
+    private UserTypeahead typeahead;
+
+    @BeforeEach
+    void setup() {
+        typeahead = new UserTypeahead();
+        typeahead.add(allen, 5);
+        typeahead.add(amy, 20);
+        typeahead.add(bob, 10);
+    }
+
+    @Test
+    void testComplete_matchesAliasFirstAndLastNames() {
+        Assertions.assertEquals(Arrays.asList(amy, bob, allen), typeahead.complete("a", 10));
+        Assertions.assertEquals(Arrays.asList(bob, allen), typeahead.complete("AL", 10));
+        Assertions.assertEquals(Arrays.asList(bob), typeahead.complete("@bobA", 10));
+        Assertions.assertEquals(Arrays.asList(amy), typeahead.complete("ames", 10));
+        Assertions.assertEquals(Arrays.asList(amy, bob), typeahead.complete("a", 2));
+    }
+
+    @Test
+    void testComplete_noMatches() {
+        Assertions.assertEquals(0, typeahead.complete("zed", 10).size());
+        Assertions.assertEquals(0, typeahead.complete("", 10).size());
+        Assertions.assertEquals(0, typeahead.complete("@", 10).size());
+        Assertions.assertEquals(0, typeahead.complete("a", 0).size());
+    }
+
+    @Test
+    void testAdd_updatesTheRanking() {
+        typeahead.add(allen, 50);
+
+        Assertions.assertEquals(Arrays.asList(allen, amy, bob), typeahead.complete("a", 10));
+        Assertions.assertEquals(Arrays.asList(allen, bob), typeahead.complete("all", 10));
+    }
+
+    @Test
+    void testComplete_matchesAScanOfEveryUser() {
+        Random random = new Random(340);
+        String[] names = {"Al", "Alma", "Amos", "Ana", "Bea", "Ben", "Bert", "Cal"};
+        final List<User> users = new ArrayList<>();
+        final List<Integer> counts = new ArrayList<>();
+        UserTypeahead bigTypeahead = new UserTypeahead();
+
+        for(int i = 0; i < 500; i++) {
+            User user = new User(names[random.nextInt(names.length)], names[random.nextInt(names.length)] + i,
+                    "@user" + i, "", "password");
+            int count = random.nextInt(1000) * 1000 + i;
+            users.add(user);
+            counts.add(count);
+            bigTypeahead.add(user, count);
+        }
+
+        for(String prefix : new String[] {"a", "al", "Ben", "@user4", "user12", "cal3"}) {
+            Assertions.assertEquals(scan(users, counts, prefix), bigTypeahead.complete(prefix, 100));
+        }
+
+        // Dropping counts pushes users out of lists and, once the spares run out, forces rebuilds
+        for(int round = 0; round < 2000; round++) {
+            int i = random.nextInt(users.size());
+            int count = random.nextInt(counts.get(i) / 1000 + 1) * 1000 + i;
+            counts.set(i, count);
+            bigTypeahead.add(users.get(i), count);
+        }
+
+        for(String prefix : new String[] {"a", "al", "Ben", "@user4", "user12", "cal3"}) {
+            Assertions.assertEquals(scan(users, counts, prefix), bigTypeahead.complete(prefix, 100));
+        }
+    }
+
+    @Test
+    void testAdd_droppedCountPromotesAUserLeftOut() {
+        UserTypeahead fullTypeahead = new UserTypeahead();
+        List<User> users = new ArrayList<>();
+
+        for(int i = 0; i <= UserTypeahead.MAX_COMPLETIONS; i++) {
+            User user = new User("Al", "Number" + i, "@al" + i, "", "password");
+            users.add(user);
+            fullTypeahead.add(user, 100 - i);
+        }
+
+        User leftOut = users.get(UserTypeahead.MAX_COMPLETIONS);
+        Assertions.assertFalse(fullTypeahead.complete("al", 100).contains(leftOut));
+
+        // An unfollow of the most followed user drops them below the one left out
+        fullTypeahead.add(users.get(0), 0);
+
+        List<User> completions = fullTypeahead.complete("al", 100);
+        Assertions.assertEquals(UserTypeahead.MAX_COMPLETIONS, completions.size());
+        Assertions.assertEquals(leftOut, completions.get(UserTypeahead.MAX_COMPLETIONS - 1));
+        Assertions.assertFalse(completions.contains(users.get(0)));
+    }
+
+    /**
+     * Returns the most followed users matching the prefix by checking every user.
+     */
+    private static List<User> scan(List<User> users, final List<Integer> counts, String prefix) {
+        List<Integer> matches = new ArrayList<>();
+        for(int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if(startsWith(user.getAlias().substring(1), prefix) || startsWith(user.getFirstName(), prefix)
+                    || startsWith(user.getLastName(), prefix)) {
+                matches.add(i);
+            }
+        }
+        Collections.sort(matches, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer index1, Integer index2) {
+                return Integer.compare(counts.get(index2), counts.get(index1));
+            }
+        });
+
+        List<User> expected = new ArrayList<>();
+        for(int i = 0; i < matches.size() && i < UserTypeahead.MAX_COMPLETIONS; i++) {
+            expected.add(users.get(matches.get(i)));
+        }
+
+        return expected;
+    }
+
+    private static boolean startsWith(String key, String prefix) {
+        String normalized = prefix.startsWith("@") ? prefix.substring(1) : prefix;
+        return key.toLowerCase(Locale.ROOT).startsWith(normalized.toLowerCase(Locale.ROOT));
+    }
+}
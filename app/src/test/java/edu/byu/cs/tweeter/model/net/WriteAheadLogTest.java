@@ -0,0 +1,214 @@
+package edu.byu.cs.tweeter.model.net;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.CRC32;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+
+class WriteAheadLogTest {
+
+    private final User user1 = new User("Allen", "Anderson", "", "password");
+    private final User user2 = new User("Amy", "Ames", "", "password");
+    private final Status status = new Status(user1, "Hello @AmyAmes", "", 1000L, "@AmyAmes");
+
+    private File file;
+
+    /**
+     * Records the replayed changes as strings so they are easy to compare.
+     */
+    private static class RecordingReplayer implements WriteAheadLog.Replayer {
+        private final List<String> records = Collections.synchronizedList(new ArrayList<String>());
+
+        @Override
+        public void follow(User follower, User followee) {
+            records.add("follow " + follower.getAlias() + " " + followee.getAlias());
+        }
+
+        @Override
+        public void unfollow(User follower, User followee) {
+            records.add("unfollow " + follower.getAlias() + " " + followee.getAlias());
+        }
+
+        @Override
+        public void publishStatus(Status status) {
+            records.add("status " + status.getUser().getAlias() + " " + status.getTweetText());
+        }
+    }
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = File.createTempFile("tweeter", ".wal");
+    }
+
+    @AfterEach
+    void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    void testOpen_replaysRecordsInOrder() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, new RecordingReplayer());
+        log.logFollow(user1, user2);
+        log.logStatus(status);
+        log.logUnfollow(user1, user2);
+        log.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, replayer).close();
+
+        Assertions.assertEquals(Arrays.asList("follow @AllenAnderson @AmyAmes",
+                "status @AllenAnderson Hello @AmyAmes", "unfollow @AllenAnderson @AmyAmes"), replayer.records);
+    }
+
+    @Test
+    void testOpen_replaysUsersWithoutPasswords() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, new RecordingReplayer());
+        log.logFollow(user1, user2);
+        log.close();
+
+        final List<User> replayed = new ArrayList<>();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, new RecordingReplayer() {
+            @Override
+            public void follow(User follower, User followee) {
+                replayed.add(follower);
+            }
+        }).close();
+
+        User follower = replayed.get(0);
+        Assertions.assertEquals(user1.getAlias(), follower.getAlias());
+        Assertions.assertEquals(user1.getName(), follower.getName());
+        Assertions.assertEquals(user1.getImageUrl(), follower.getImageUrl());
+        Assertions.assertNull(follower.getPassword());
+    }
+
+    @Test
+    void testOpen_rejectsRecordsOfAnotherVersion() throws IOException {
+        // A follow record in the layout used before records carried a version: the type first
+        byte[] record = new byte[] {1, 0, 0, 0, 0, 0, 0, 0, 0};
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, record.length);
+
+        DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+        output.writeInt(record.length);
+        output.writeInt((int) crc.getValue());
+        output.write(record);
+        output.close();
+
+        Assertions.assertThrows(IOException.class, () -> {
+            WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, new RecordingReplayer());
+        });
+    }
+
+    @Test
+    void testOpen_dropsTornLastRecord() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.BATCHED, new RecordingReplayer());
+        log.logFollow(user1, user2);
+        log.logFollow(user2, user1);
+        log.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        log = WriteAheadLog.open(file, WriteAheadLog.Durability.BATCHED, replayer);
+        Assertions.assertEquals(Collections.singletonList("follow @AllenAnderson @AmyAmes"), replayer.records);
+
+        // New records follow the last good one
+        log.logUnfollow(user1, user2);
+        log.close();
+
+        replayer = new RecordingReplayer();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.BATCHED, replayer).close();
+        Assertions.assertEquals(Arrays.asList("follow @AllenAnderson @AmyAmes", "unfollow @AllenAnderson @AmyAmes"),
+                replayer.records);
+    }
+
+    @Test
+    void testOpen_stopsAtChecksumMismatch() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, new RecordingReplayer());
+        log.logFollow(user1, user2);
+        log.logFollow(user2, user1);
+        log.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(raf.length() - 1);
+        int last = raf.read();
+        raf.seek(raf.length() - 1);
+        raf.write(last ^ 0xFF);
+        raf.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.PER_WRITE, replayer).close();
+
+        Assertions.assertEquals(Collections.singletonList("follow @AllenAnderson @AmyAmes"), replayer.records);
+    }
+
+    @Test
+    void testLog_concurrentBatchedWritersAreAllDurable() throws IOException, InterruptedException {
+        final WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.BATCHED, new RecordingReplayer());
+        final int threadCount = 8;
+        final int writesPerThread = 50;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            final User follower = new User("Follower", Integer.toString(i), "", "password");
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for(int j = 0; j < writesPerThread; j++) {
+                            log.logFollow(follower, user1);
+                        }
+                    } catch (Throwable t) {
+                        errors.add(t);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        log.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.BATCHED, replayer).close();
+
+        Assertions.assertEquals(Collections.<Throwable>emptyList(), errors);
+        Assertions.assertEquals(threadCount * writesPerThread, replayer.records.size());
+    }
+
+    @Test
+    void testClose_flushesAsyncWrites() throws IOException {
+        WriteAheadLog log = WriteAheadLog.open(file, WriteAheadLog.Durability.ASYNC, 60000, new RecordingReplayer());
+        log.logStatus(status);
+        log.close();
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        WriteAheadLog.open(file, WriteAheadLog.Durability.ASYNC, replayer).close();
+
+        Assertions.assertEquals(Collections.singletonList("status @AllenAnderson Hello @AmyAmes"), replayer.records);
+    }
+}
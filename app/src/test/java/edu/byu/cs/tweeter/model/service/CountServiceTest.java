@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
@@ -55,4 +56,9 @@ public class CountServiceTest {
         Assertions.assertEquals(failureResponse, response);
     }
 
+    @Test
+    public void testGetCountAsync_validRequest_correctResponse() throws Exception {
+        CountResponse response = countServiceSpy.getCountAsync(validRequest).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
 }
@@ -26,6 +26,8 @@ public class FeedServiceTest {
     private FeedResponse successResponse;
     private FeedResponse failureResponse;
     private FeedService feedServiceSpy;
+    private ServerFacadeMine mockServerFacade;
+    private PageCache pageCache;
     private String imageUrl = "https://i.imgur.com/VZQQiQ1.jpg";
     private final User JacobWest = new User("Jacob", "West", "@JacobWest", imageUrl, "password");
     private final User RickyMartin = new User("Ricky", "Martin", "@RickyMartin", imageUrl, "password");
@@ -35,7 +37,7 @@ public class FeedServiceTest {
 
     @BeforeEach
     public void setup() {
-        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        mockServerFacade = Mockito.mock(ServerFacadeMine.class);
         User currentUser = new User("Test", "User", null, "password");
         List<Status> feed = getFeed();
 
@@ -55,6 +57,9 @@ public class FeedServiceTest {
         // Create a FeedService instance and wrap it with a spy that will use the mock service
         feedServiceSpy = Mockito.spy(new FeedService());
         Mockito.when(feedServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+
+        pageCache = new PageCache(PageCache.DEFAULT_CAPACITY);
+        Mockito.when(feedServiceSpy.getPageCache()).thenReturn(pageCache);
     }
 
     @Test
@@ -74,6 +79,26 @@ public class FeedServiceTest {
         }
     }
 
+    @Test
+    public void testGetFeed_repeatedRequest_answeredFromCache() throws IOException {
+        feedServiceSpy.getFeed(validRequest);
+        FeedResponse response = feedServiceSpy.getFeed(validRequest);
+
+        Assertions.assertEquals(successResponse, response);
+        Mockito.verify(mockServerFacade, Mockito.times(1)).getFeed(validRequest);
+        Assertions.assertEquals(1, pageCache.getHitCount());
+        Assertions.assertEquals(1, pageCache.getMissCount());
+    }
+
+    @Test
+    public void testGetFeed_invalidatedFeed_requestedAgain() throws IOException {
+        feedServiceSpy.getFeed(validRequest);
+        pageCache.invalidateFeed(validRequest.getUser().getAlias());
+        feedServiceSpy.getFeed(validRequest);
+
+        Mockito.verify(mockServerFacade, Mockito.times(2)).getFeed(validRequest);
+    }
+
     @Test
     public void testGetFeed_invalidRequest_nullUser() throws IOException {
         FeedResponse response = feedServiceSpy.getFeed(invalidRequestOne);
@@ -0,0 +1,79 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.response.MentionsResponse;
+
+public class MentionsServiceTest {
+
+    private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+
+    private MentionsRequest validRequest;
+    private MentionsRequest invalidRequest;
+    private MentionsResponse successResponse;
+    private MentionsResponse failureResponse;
+    private MentionsService mentionsServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        User currentUser = new User("Test", "User", null, "password");
+        User author = new User("Allen", "Anderson", MALE_IMAGE_URL, "password");
+
+        // Setup request objects to use in the tests
+        validRequest = new MentionsRequest(currentUser, 2, null);
+        invalidRequest = new MentionsRequest(null, 0, null);
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new MentionsResponse(Arrays.asList(
+                new Status(author, "Hi @TestUser", "", 2000L, "@TestUser"),
+                new Status(author, "Bye @TestUser", "", 1000L, "@TestUser")), true, "cursor");
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getMentions(validRequest)).thenReturn(successResponse);
+
+        failureResponse = new MentionsResponse("An exception occured");
+        Mockito.when(mockServerFacade.getMentions(invalidRequest)).thenReturn(failureResponse);
+
+        // Create a MentionsService instance and wrap it with a spy that will use the mock service
+        mentionsServiceSpy = Mockito.spy(new MentionsService());
+        Mockito.when(mentionsServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetMentions_validRequest_correctResponse() throws IOException {
+        MentionsResponse response = mentionsServiceSpy.getMentions(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertEquals("cursor", response.getNextCursor());
+    }
+
+    @Test
+    public void testGetMentions_validRequest_loadsImages() throws IOException {
+        MentionsResponse response = mentionsServiceSpy.getMentions(validRequest);
+
+        for(Status status : response.getMentions()) {
+            Assertions.assertNotNull(status.getUser().getImageBytes());
+        }
+    }
+
+    @Test
+    public void testGetMentions_invalidRequest_returnsFailure() throws IOException {
+        MentionsResponse response = mentionsServiceSpy.getMentions(invalidRequest);
+        Assertions.assertEquals(failureResponse, response);
+    }
+
+    @Test
+    public void testGetMentionsAsync_validRequest_correctResponse() throws Exception {
+        MentionsResponse response = mentionsServiceSpy.getMentionsAsync(validRequest).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
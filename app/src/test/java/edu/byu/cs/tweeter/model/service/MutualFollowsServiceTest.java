@@ -0,0 +1,86 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.response.FollowsBackResponse;
+import edu.byu.cs.tweeter.model.service.response.MutualFollowsResponse;
+
+public class MutualFollowsServiceTest {
+
+    private MutualFollowsRequest validMutualRequest;
+    private MutualFollowsRequest invalidMutualRequest;
+    private MutualFollowsResponse mutualSuccessResponse;
+    private MutualFollowsResponse mutualFailureResponse;
+    private FollowsBackRequest validFollowsBackRequest;
+    private FollowsBackResponse followsBackSuccessResponse;
+    private MutualFollowsService mutualFollowsServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        User currentUser = new User("Test", "User", null, "password");
+        User otherUser = new User("Allen", "Anderson", null, "password");
+
+        // Setup request objects to use in the tests
+        validMutualRequest = new MutualFollowsRequest(currentUser, otherUser, 2, null);
+        invalidMutualRequest = new MutualFollowsRequest(null, null, 0, null);
+        validFollowsBackRequest = new FollowsBackRequest(currentUser, Arrays.asList("@AllenAnderson", "@AmyAmes"));
+
+        // Setup a mock ServerFacade that will return known responses
+        mutualSuccessResponse = new MutualFollowsResponse(Arrays.asList("@AmyAmes", "@BobBobson"), 5, true, "m2");
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getMutualFollows(validMutualRequest)).thenReturn(mutualSuccessResponse);
+
+        mutualFailureResponse = new MutualFollowsResponse("An exception occured");
+        Mockito.when(mockServerFacade.getMutualFollows(invalidMutualRequest)).thenReturn(mutualFailureResponse);
+
+        followsBackSuccessResponse = new FollowsBackResponse(currentUser, Arrays.asList(true, false));
+        Mockito.when(mockServerFacade.getFollowsBack(validFollowsBackRequest)).thenReturn(followsBackSuccessResponse);
+
+        // Create a MutualFollowsService instance and wrap it with a spy that will use the mock service
+        mutualFollowsServiceSpy = Mockito.spy(new MutualFollowsService());
+        Mockito.when(mutualFollowsServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetMutualFollows_validRequest_correctResponse() throws IOException {
+        MutualFollowsResponse response = mutualFollowsServiceSpy.getMutualFollows(validMutualRequest);
+        Assertions.assertEquals(mutualSuccessResponse, response);
+        Assertions.assertEquals(5, response.getCount());
+    }
+
+    @Test
+    public void testGetMutualFollows_invalidRequest_returnsFailure() throws IOException {
+        MutualFollowsResponse response = mutualFollowsServiceSpy.getMutualFollows(invalidMutualRequest);
+        Assertions.assertEquals(mutualFailureResponse, response);
+    }
+
+    @Test
+    public void testGetMutualFollowsAsync_validRequest_correctResponse() throws Exception {
+        MutualFollowsResponse response = mutualFollowsServiceSpy.getMutualFollowsAsync(validMutualRequest).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(mutualSuccessResponse, response);
+    }
+
+    @Test
+    public void testGetFollowsBack_validRequest_correctResponse() throws IOException {
+        FollowsBackResponse response = mutualFollowsServiceSpy.getFollowsBack(validFollowsBackRequest);
+        Assertions.assertEquals(followsBackSuccessResponse, response);
+        Assertions.assertEquals(1, response.getCount());
+    }
+
+    @Test
+    public void testGetFollowsBackAsync_validRequest_correctResponse() throws Exception {
+        FollowsBackResponse response = mutualFollowsServiceSpy.getFollowsBackAsync(validFollowsBackRequest).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(followsBackSuccessResponse, response);
+    }
+}
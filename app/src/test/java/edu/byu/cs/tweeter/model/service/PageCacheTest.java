@@ -0,0 +1,138 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+
+class PageCacheTest {
+
+    private final User allen = new User("Allen", "Anderson", "@AllenAnderson", "", "password");
+    private final User amy = new User("Amy", "Ames", "@AmyAmes", "", "password");
+
+    private PageCache pageCache;
+    private FeedResponse page;
+
+    @BeforeEach
+    void setup() {
+        pageCache = new PageCache(3);
+        page = new FeedResponse(new ArrayList<Status>(), true, "cursor");
+    }
+
+    @Test
+    void testGetFeed_keyedByUserCursorAndLimit() {
+        pageCache.putFeed(new FeedRequest(allen, 10, null), page, pageCache.getVersion());
+
+        Assertions.assertSame(page, pageCache.getFeed(new FeedRequest(allen, 10, null)));
+        Assertions.assertNull(pageCache.getFeed(new FeedRequest(allen, 10, null, "cursor")));
+        Assertions.assertNull(pageCache.getFeed(new FeedRequest(allen, 20, null)));
+        Assertions.assertNull(pageCache.getFeed(new FeedRequest(amy, 10, null)));
+        Assertions.assertNull(pageCache.getStory(new StoryRequest(allen, 10, null)));
+
+        Assertions.assertEquals(1, pageCache.getHitCount());
+        Assertions.assertEquals(4, pageCache.getMissCount());
+    }
+
+    @Test
+    void testPutFeed_evictsLeastRecentlyUsedPage() {
+        FeedRequest first = new FeedRequest(allen, 10, null);
+        FeedRequest second = new FeedRequest(allen, 10, null, "2");
+        FeedRequest third = new FeedRequest(allen, 10, null, "3");
+        FeedRequest fourth = new FeedRequest(allen, 10, null, "4");
+
+        pageCache.putFeed(first, page, pageCache.getVersion());
+        pageCache.putFeed(second, page, pageCache.getVersion());
+        pageCache.putFeed(third, page, pageCache.getVersion());
+
+        // Reading the first page makes the second the least recently used
+        pageCache.getFeed(first);
+        pageCache.putFeed(fourth, page, pageCache.getVersion());
+
+        Assertions.assertEquals(3, pageCache.size());
+        Assertions.assertEquals(1, pageCache.getEvictionCount());
+        Assertions.assertNotNull(pageCache.getFeed(first));
+        Assertions.assertNull(pageCache.getFeed(second));
+    }
+
+    @Test
+    void testSetCapacity_evictsDownToTheNewCapacity() {
+        pageCache.putFeed(new FeedRequest(allen, 10, null), page, pageCache.getVersion());
+        pageCache.putFeed(new FeedRequest(amy, 10, null), page, pageCache.getVersion());
+
+        pageCache.setCapacity(1);
+
+        Assertions.assertEquals(1, pageCache.size());
+        Assertions.assertEquals(1, pageCache.getEvictionCount());
+        Assertions.assertNotNull(pageCache.getFeed(new FeedRequest(amy, 10, null)));
+    }
+
+    @Test
+    void testInvalidate_dropsOnlyThatUsersPages() {
+        StoryResponse story = new StoryResponse(new ArrayList<Status>(), false);
+        pageCache.putFeed(new FeedRequest(allen, 10, null), page, pageCache.getVersion());
+        pageCache.putStory(new StoryRequest(allen, 10, null), story, pageCache.getVersion());
+        pageCache.putFeed(new FeedRequest(amy, 10, null), page, pageCache.getVersion());
+
+        pageCache.invalidateFeed("@AllenAnderson");
+
+        Assertions.assertNull(pageCache.getFeed(new FeedRequest(allen, 10, null)));
+        Assertions.assertNotNull(pageCache.getStory(new StoryRequest(allen, 10, null)));
+        Assertions.assertNotNull(pageCache.getFeed(new FeedRequest(amy, 10, null)));
+
+        List<User> owners = pageCache.getFeedOwners();
+        Assertions.assertEquals(1, owners.size());
+        Assertions.assertEquals(amy, owners.get(0));
+    }
+
+    @Test
+    void testGetFeed_feedPagesExpireButStoriesDoNot() {
+        final long[] now = {1000L};
+        PageCache.Clock clock = new PageCache.Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now[0];
+            }
+        };
+        PageCache timedCache = new PageCache(3, 500, clock);
+        StoryResponse story = new StoryResponse(new ArrayList<Status>(), false);
+        timedCache.putFeed(new FeedRequest(allen, 10, null), page, timedCache.getVersion());
+        timedCache.putStory(new StoryRequest(allen, 10, null), story, timedCache.getVersion());
+
+        now[0] += 499;
+        Assertions.assertSame(page, timedCache.getFeed(new FeedRequest(allen, 10, null)));
+
+        // A status fanned out after the page was cached shows up once the page expires
+        now[0] += 1;
+        Assertions.assertNull(timedCache.getFeed(new FeedRequest(allen, 10, null)));
+        Assertions.assertSame(story, timedCache.getStory(new StoryRequest(allen, 10, null)));
+        Assertions.assertEquals(1, timedCache.size());
+    }
+
+    @Test
+    void testPutFeed_pageFetchedBeforeAnInvalidationIsNotCached() {
+        long version = pageCache.getVersion();
+
+        // A write lands while the page is being fetched
+        pageCache.invalidateStory("@AmyAmes");
+        pageCache.putFeed(new FeedRequest(allen, 10, null), page, version);
+
+        Assertions.assertNull(pageCache.getFeed(new FeedRequest(allen, 10, null)));
+    }
+
+    @Test
+    void testPutFeed_failedResponseIsNotCached() {
+        pageCache.putFeed(new FeedRequest(allen, 10, null), new FeedResponse("failed"), pageCache.getVersion());
+        pageCache.putFeed(new FeedRequest(null, 10, null), page, pageCache.getVersion());
+
+        Assertions.assertEquals(0, pageCache.size());
+    }
+}
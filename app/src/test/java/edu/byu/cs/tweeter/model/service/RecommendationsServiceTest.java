@@ -0,0 +1,77 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.response.RecommendationsResponse;
+
+public class RecommendationsServiceTest {
+
+    private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+
+    private RecommendationsRequest validRequest;
+    private RecommendationsRequest invalidRequest;
+    private RecommendationsResponse successResponse;
+    private RecommendationsResponse failureResponse;
+    private RecommendationsService recommendationsServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        User currentUser = new User("Test", "User", null, "password");
+
+        // Setup request objects to use in the tests
+        validRequest = new RecommendationsRequest(currentUser, 2);
+        invalidRequest = new RecommendationsRequest(null, 0);
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new RecommendationsResponse(Arrays.asList(
+                new User("Allen", "Anderson", MALE_IMAGE_URL, "password"),
+                new User("Bob", "Allred", MALE_IMAGE_URL, "password")), Arrays.asList(4, 2));
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getRecommendations(validRequest)).thenReturn(successResponse);
+
+        failureResponse = new RecommendationsResponse("An exception occured");
+        Mockito.when(mockServerFacade.getRecommendations(invalidRequest)).thenReturn(failureResponse);
+
+        // Create a RecommendationsService instance and wrap it with a spy that will use the mock service
+        recommendationsServiceSpy = Mockito.spy(new RecommendationsService());
+        Mockito.when(recommendationsServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetRecommendations_validRequest_correctResponse() throws IOException {
+        RecommendationsResponse response = recommendationsServiceSpy.getRecommendations(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertEquals(Arrays.asList(4, 2), response.getMutualCounts());
+    }
+
+    @Test
+    public void testGetRecommendations_validRequest_loadsImages() throws IOException {
+        RecommendationsResponse response = recommendationsServiceSpy.getRecommendations(validRequest);
+
+        for(User user : response.getUsers()) {
+            Assertions.assertNotNull(user.getImageBytes());
+        }
+    }
+
+    @Test
+    public void testGetRecommendations_invalidRequest_returnsFailure() throws IOException {
+        RecommendationsResponse response = recommendationsServiceSpy.getRecommendations(invalidRequest);
+        Assertions.assertEquals(failureResponse, response);
+    }
+
+    @Test
+    public void testGetRecommendationsAsync_validRequest_correctResponse() throws Exception {
+        RecommendationsResponse response = recommendationsServiceSpy.getRecommendationsAsync(validRequest).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+
+public class RelationshipServiceTest {
+
+    private RelationshipRequest validRequest;
+    private RelationshipRequest invalidRequest;
+    private RelationshipResponse successResponse;
+    private RelationshipResponse failureResponse;
+    private RelationshipService relationshipServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        User currentUser = new User("Test", "User", null, "password");
+
+        // Setup request objects to use in the tests
+        validRequest = new RelationshipRequest(currentUser, Arrays.asList("@AllenAnderson", "@AmyAmes"));
+        invalidRequest = new RelationshipRequest(null, Collections.singletonList("@AllenAnderson"));
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new RelationshipResponse(currentUser, Arrays.asList(true, false));
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getRelationship(validRequest)).thenReturn(successResponse);
+
+        failureResponse = new RelationshipResponse("An exception occured");
+        Mockito.when(mockServerFacade.getRelationship(invalidRequest)).thenReturn(failureResponse);
+
+        // Create a RelationshipService instance and wrap it with a spy that will use the mock service
+        relationshipServiceSpy = Mockito.spy(new RelationshipService());
+        Mockito.when(relationshipServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetRelationship_validRequest_correctResponse() throws IOException {
+        RelationshipResponse response = relationshipServiceSpy.getRelationship(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertTrue(response.isFollowing(0));
+        Assertions.assertFalse(response.isFollowing(1));
+    }
+
+    @Test
+    public void testGetRelationship_invalidRequest_returnsFailure() throws IOException {
+        RelationshipResponse response = relationshipServiceSpy.getRelationship(invalidRequest);
+        Assertions.assertEquals(failureResponse, response);
+    }
+
+    @Test
+    public void testGetRelationshipAsync_validRequest_correctResponse() throws Exception {
+        RelationshipResponse response = relationshipServiceSpy.getRelationshipAsync(validRequest).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
@@ -0,0 +1,78 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.response.SearchResponse;
+
+public class SearchServiceTest {
+
+    private static final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
+
+    private SearchRequest validRequest;
+    private SearchRequest invalidRequest;
+    private SearchResponse successResponse;
+    private SearchResponse failureResponse;
+    private SearchService searchServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        User author = new User("Allen", "Anderson", MALE_IMAGE_URL, "password");
+
+        // Setup request objects to use in the tests
+        validRequest = new SearchRequest("dolphins", true, 2);
+        invalidRequest = new SearchRequest(null, true, 0);
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new SearchResponse(Arrays.asList(
+                new Status(author, "Go Dolphins", "", 2000L, null),
+                new Status(author, "Dolphins have Tua", "", 1000L, null)), true, "cursor");
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.search(validRequest)).thenReturn(successResponse);
+
+        failureResponse = new SearchResponse("An exception occured");
+        Mockito.when(mockServerFacade.search(invalidRequest)).thenReturn(failureResponse);
+
+        // Create a SearchService instance and wrap it with a spy that will use the mock service
+        searchServiceSpy = Mockito.spy(new SearchService());
+        Mockito.when(searchServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testSearch_validRequest_correctResponse() throws IOException {
+        SearchResponse response = searchServiceSpy.search(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertEquals("cursor", response.getNextCursor());
+    }
+
+    @Test
+    public void testSearch_validRequest_loadsImages() throws IOException {
+        SearchResponse response = searchServiceSpy.search(validRequest);
+
+        for(Status status : response.getStatuses()) {
+            Assertions.assertNotNull(status.getUser().getImageBytes());
+        }
+    }
+
+    @Test
+    public void testSearch_invalidRequest_returnsFailure() throws IOException {
+        SearchResponse response = searchServiceSpy.search(invalidRequest);
+        Assertions.assertEquals(failureResponse, response);
+    }
+
+    @Test
+    public void testSearchAsync_validRequest_correctResponse() throws Exception {
+        SearchResponse response = searchServiceSpy.searchAsync(validRequest).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
@@ -0,0 +1,130 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.request.CountRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.CountResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+
+public class ServiceExecutorTest {
+
+    private ServiceExecutor serviceExecutor;
+    private Executor defaultExecutor;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    public void setup() {
+        serviceExecutor = ServiceExecutor.getInstance();
+        defaultExecutor = serviceExecutor.getExecutor();
+        executions = new AtomicInteger();
+
+        // Runs every stage on the calling thread, counting the stages run
+        serviceExecutor.setExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executions.incrementAndGet();
+                command.run();
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        serviceExecutor.setExecutor(defaultExecutor);
+    }
+
+    @Test
+    public void testSupply_runsOnTheExecutor() throws Exception {
+        CompletableFuture<String> future = serviceExecutor.supply(new Callable<String>() {
+            @Override
+            public String call() {
+                return "response";
+            }
+        });
+
+        Assertions.assertEquals("response", future.get());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testSupply_failedRequestCompletesExceptionally() {
+        CompletableFuture<String> future = serviceExecutor.supply(new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                throw new IOException("unreachable");
+            }
+        });
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get());
+        Assertions.assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testThenLoadImages_loadsImagesInADependentStage() throws Exception {
+        final StringBuilder loaded = new StringBuilder();
+        CompletableFuture<String> future = serviceExecutor.thenLoadImages(
+                CompletableFuture.completedFuture("response"), new ServiceExecutor.ImageLoader<String>() {
+                    @Override
+                    public void loadImages(String response) {
+                        loaded.append(response);
+                    }
+                });
+
+        Assertions.assertEquals("response", future.get());
+        Assertions.assertEquals("response", loaded.toString());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testThenLoadImages_failedDownloadCompletesExceptionally() {
+        CompletableFuture<String> future = serviceExecutor.thenLoadImages(
+                CompletableFuture.completedFuture("response"), new ServiceExecutor.ImageLoader<String>() {
+                    @Override
+                    public void loadImages(String response) throws IOException {
+                        throw new IOException("unreachable");
+                    }
+                });
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get());
+        Assertions.assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testSetExecutor_nullExecutor() {
+        Assertions.assertThrows(AssertionError.class, () -> serviceExecutor.setExecutor(null));
+    }
+
+    @Test
+    public void testAsyncCalls_composeOnTheDefaultExecutor() throws Exception {
+        serviceExecutor.setExecutor(defaultExecutor);
+        User user = new User("Test", "User", null, "password");
+
+        CompletableFuture<CountResponse> count = new CountService().getCountAsync(new CountRequest(user));
+        CompletableFuture<RelationshipResponse> relationship = new RelationshipService().getRelationshipAsync(
+                new RelationshipRequest(user, Collections.singletonList("@AllenAnderson")));
+
+        Boolean success = count.thenCombine(relationship, new BiFunction<CountResponse, RelationshipResponse, Boolean>() {
+            @Override
+            public Boolean apply(CountResponse countResponse, RelationshipResponse relationshipResponse) {
+                return countResponse.isSuccess() && relationshipResponse.isSuccess();
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(success);
+    }
+}
@@ -0,0 +1,198 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void setup() {
+        singleFlight = new SingleFlight<>();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void testExecute_concurrentIdenticalRequestsShareOneCall() throws Exception {
+        final int threadCount = 8;
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> responses = new ArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        String response = singleFlight.execute("@AllenAnderson", new SingleFlight.Call<String>() {
+                            @Override
+                            public String call() throws IOException {
+                                calls.incrementAndGet();
+                                started.countDown();
+                                awaitQuietly(release);
+                                return "response";
+                            }
+                        });
+
+                        synchronized (responses) {
+                            responses.add(response);
+                        }
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Hold the first call until the other threads have had time to join it
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        release.countDown();
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(0, failures.get());
+        Assertions.assertEquals(threadCount, responses.size());
+        Assertions.assertTrue(calls.get() < threadCount);
+        Assertions.assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void testExecute_sequentialRequestsAreNotCoalesced() throws IOException {
+        for(int i = 0; i < 3; i++) {
+            singleFlight.execute("@AllenAnderson", new SingleFlight.Call<String>() {
+                @Override
+                public String call() {
+                    return "response" + calls.incrementAndGet();
+                }
+            });
+        }
+
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void testExecute_failureIsForgotten() throws IOException {
+        Assertions.assertThrows(IOException.class, () -> singleFlight.execute("@AllenAnderson",
+                new SingleFlight.Call<String>() {
+                    @Override
+                    public String call() throws IOException {
+                        throw new IOException("unreachable");
+                    }
+                }));
+
+        String response = singleFlight.execute("@AllenAnderson", new SingleFlight.Call<String>() {
+            @Override
+            public String call() {
+                return "response";
+            }
+        });
+
+        Assertions.assertEquals("response", response);
+    }
+
+    @Test
+    public void testExecuteAsync_identicalRequestsShareTheFuture() throws Exception {
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        SingleFlight.AsyncCall<String> call = new SingleFlight.AsyncCall<String>() {
+            @Override
+            public CompletableFuture<String> start() {
+                calls.incrementAndGet();
+                return pending;
+            }
+        };
+
+        CompletableFuture<String> first = singleFlight.executeAsync("@AllenAnderson", call);
+        CompletableFuture<String> second = singleFlight.executeAsync("@AllenAnderson", call);
+        CompletableFuture<String> other = singleFlight.executeAsync("@AmyAmes", call);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals(2, calls.get());
+
+        pending.complete("response");
+
+        Assertions.assertEquals("response", second.get());
+        Assertions.assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    public void testExecute_waitsForAnAsyncRequestInFlight() throws Exception {
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        singleFlight.executeAsync("@AllenAnderson", new SingleFlight.AsyncCall<String>() {
+            @Override
+            public CompletableFuture<String> start() {
+                return pending;
+            }
+        });
+
+        final Thread caller = Thread.currentThread();
+        Thread completer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // Fail the async request once the blocking call is waiting on it
+                while(caller.getState() != Thread.State.WAITING) {
+                    Thread.yield();
+                }
+                pending.completeExceptionally(new IOException("unreachable"));
+            }
+        });
+        completer.start();
+
+        // The blocking call waits for the async one and gets its failure
+        Assertions.assertThrows(IOException.class, () -> singleFlight.execute("@AllenAnderson",
+                new SingleFlight.Call<String>() {
+                    @Override
+                    public String call() {
+                        calls.incrementAndGet();
+                        return "response";
+                    }
+                }));
+
+        completer.join();
+        Assertions.assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testExecuteAsync_nullKeyIsNotCoalesced() {
+        SingleFlight.AsyncCall<String> call = new SingleFlight.AsyncCall<String>() {
+            @Override
+            public CompletableFuture<String> start() {
+                calls.incrementAndGet();
+                return new CompletableFuture<>();
+            }
+        };
+
+        singleFlight.executeAsync(null, call);
+        singleFlight.executeAsync(null, call);
+
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(0, singleFlight.size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
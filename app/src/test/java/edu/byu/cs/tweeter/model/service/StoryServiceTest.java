@@ -49,6 +49,9 @@ public class StoryServiceTest {
         // Create a StoryService instance and wrap it with a spy that will use the mock service
         storyServiceSpy = Mockito.spy(new StoryService());
         Mockito.when(storyServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+
+        // A cache of its own keeps pages cached by other tests out of the way
+        Mockito.when(storyServiceSpy.getPageCache()).thenReturn(new PageCache(PageCache.DEFAULT_CAPACITY));
     }
 
     @Test
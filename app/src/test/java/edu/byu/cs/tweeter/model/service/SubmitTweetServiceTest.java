@@ -4,17 +4,26 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
 import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
 import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
 
 public class SubmitTweetServiceTest {
@@ -27,6 +36,8 @@ public class SubmitTweetServiceTest {
     private SubmitTweetResponse successResponse;
     private SubmitTweetResponse failureResponse;
     private SubmitTweetService submitTweetServiceSpy;
+    private ServerFacadeMine mockServerFacade;
+    private PageCache pageCache;
 
     @BeforeEach
     public void setup() {
@@ -43,7 +54,7 @@ public class SubmitTweetServiceTest {
 
         // Setup a mock ServerFacade that will return known responses
         successResponse = new SubmitTweetResponse(recognizedUser, recognizedStatus);
-        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        mockServerFacade = Mockito.mock(ServerFacadeMine.class);
         Mockito.when(mockServerFacade.submitTweet(validRequest)).thenReturn(successResponse);
 
         failureResponse = new SubmitTweetResponse("An exception occured");
@@ -54,6 +65,42 @@ public class SubmitTweetServiceTest {
         // Create a SubmitTweetService instance and wrap it with a spy that will use the mock service
         submitTweetServiceSpy = Mockito.spy(new SubmitTweetService());
         Mockito.when(submitTweetServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+
+        pageCache = new PageCache(PageCache.DEFAULT_CAPACITY);
+        Mockito.when(submitTweetServiceSpy.getPageCache()).thenReturn(pageCache);
+    }
+
+    @Test
+    public void testSubmitTweet_validRequest_invalidatesStoryAndFollowersFeeds() throws IOException {
+        final User author = validRequest.getUser();
+        final User follower = new User("Allen", "Anderson", "@AllenAnderson", MALE_IMAGE_URL, "password");
+        User stranger = new User("Amy", "Ames", "@AmyAmes", MALE_IMAGE_URL, "password");
+
+        // Only the follower follows the author
+        Mockito.when(mockServerFacade.getRelationship(Mockito.any(RelationshipRequest.class)))
+                .thenAnswer(new Answer<RelationshipResponse>() {
+                    @Override
+                    public RelationshipResponse answer(InvocationOnMock invocation) {
+                        RelationshipRequest request = (RelationshipRequest) invocation.getArguments()[0];
+                        boolean following = request.getUser().equals(follower)
+                                && request.getUsernames().contains(author.getAlias());
+                        return new RelationshipResponse(request.getUser(), Collections.singletonList(following));
+                    }
+                });
+
+        StoryRequest storyRequest = new StoryRequest(author, 10, null);
+        FeedRequest followerFeedRequest = new FeedRequest(follower, 10, null);
+        FeedRequest strangerFeedRequest = new FeedRequest(stranger, 10, null);
+        long version = pageCache.getVersion();
+        pageCache.putStory(storyRequest, new StoryResponse(new ArrayList<Status>(), false), version);
+        pageCache.putFeed(followerFeedRequest, new FeedResponse(new ArrayList<Status>(), false), version);
+        pageCache.putFeed(strangerFeedRequest, new FeedResponse(new ArrayList<Status>(), false), version);
+
+        submitTweetServiceSpy.submitTweet(validRequest);
+
+        Assertions.assertNull(pageCache.getStory(storyRequest));
+        Assertions.assertNull(pageCache.getFeed(followerFeedRequest));
+        Assertions.assertNotNull(pageCache.getFeed(strangerFeedRequest));
     }
 
     @Test
@@ -0,0 +1,48 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.response.TrendingResponse;
+
+public class TrendingServiceTest {
+
+    private TrendingRequest validRequest;
+    private TrendingResponse successResponse;
+    private TrendingService trendingServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        // Setup request objects to use in the tests
+        validRequest = new TrendingRequest(60, 2);
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new TrendingResponse(Arrays.asList("#dolphins", "tua"), Arrays.asList(5L, 3L));
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getTrending(validRequest)).thenReturn(successResponse);
+
+        // Create a TrendingService instance and wrap it with a spy that will use the mock service
+        trendingServiceSpy = Mockito.spy(new TrendingService());
+        Mockito.when(trendingServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetTrending_validRequest_correctResponse() {
+        TrendingResponse response = trendingServiceSpy.getTrending(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertEquals("#dolphins", response.getTerms().get(0));
+    }
+
+    @Test
+    public void testGetTrendingAsync_validRequest_correctResponse() throws Exception {
+        TrendingResponse response = trendingServiceSpy.getTrendingAsync(validRequest).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
@@ -0,0 +1,50 @@
+package edu.byu.cs.tweeter.model.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.response.TypeaheadResponse;
+
+public class TypeaheadServiceTest {
+
+    private TypeaheadRequest validRequest;
+    private TypeaheadResponse successResponse;
+    private TypeaheadService typeaheadServiceSpy;
+
+    @BeforeEach
+    public void setup() {
+        // Setup request objects to use in the tests
+        validRequest = new TypeaheadRequest("al", 2);
+
+        // Setup a mock ServerFacade that will return known responses
+        successResponse = new TypeaheadResponse(Arrays.asList(new User("Allen", "Anderson", "", "password"),
+                new User("Bob", "Allred", "", "password")));
+        ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
+        Mockito.when(mockServerFacade.getTypeahead(validRequest)).thenReturn(successResponse);
+
+        // Create a TypeaheadService instance and wrap it with a spy that will use the mock service
+        typeaheadServiceSpy = Mockito.spy(new TypeaheadService());
+        Mockito.when(typeaheadServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+    }
+
+    @Test
+    public void testGetTrending_validRequest_correctResponse() {
+        TypeaheadResponse response = typeaheadServiceSpy.getTypeahead(validRequest);
+        Assertions.assertEquals(successResponse, response);
+        Assertions.assertEquals("@AllenAnderson", response.getUsers().get(0).getAlias());
+    }
+
+    @Test
+    public void testGetTrendingAsync_validRequest_correctResponse() throws Exception {
+        TypeaheadResponse response = typeaheadServiceSpy.getTypeaheadAsync(validRequest).get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(successResponse, response);
+    }
+}
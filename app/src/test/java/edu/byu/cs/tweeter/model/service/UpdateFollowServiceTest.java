@@ -7,11 +7,15 @@ import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.List;
 
+import edu.byu.cs.tweeter.model.domain.Status;
 import edu.byu.cs.tweeter.model.domain.User;
 import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
 import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
+import edu.byu.cs.tweeter.model.service.response.FeedResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
 import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
 
 public class UpdateFollowServiceTest {
@@ -24,6 +28,7 @@ public class UpdateFollowServiceTest {
     private UpdateFollowResponse unFollowSuccessResponse;
 //    private UpdateFollowResponse failureResponse;
     private UpdateFollowService updateFollowServiceSpy;
+    private PageCache pageCache;
     final String MALE_IMAGE_URL = "https://faculty.cs.byu.edu/~jwilkerson/cs340/tweeter/images/donald_duck.png";
     final String MIKE = "https://i.imgur.com/VZQQiQ1.jpg";
     final User Rudy = new User("Rudy", "Gobert", "@Rudy", MIKE, "password");
@@ -36,12 +41,6 @@ public class UpdateFollowServiceTest {
         User unFollowThisUser = Rudy;
         User followThisUser = JacobWest;
 
-        List<User> follow_following = getFollowing();
-        follow_following.add(JacobWest);
-
-        List<User> unFollow_following = getFollowing();
-        unFollow_following.remove(Rudy);
-
         // Setup request objects to use in the tests
         validRequestFollow = new UpdateFollowRequest(user, followThisUser, true);
         validRequestUnFollow = new UpdateFollowRequest(user, unFollowThisUser, false);
@@ -49,8 +48,8 @@ public class UpdateFollowServiceTest {
 //        followUserWeAlreadyFollow = new UpdateFollowRequest(user, Rudy, true);
 
         // Setup a mock ServerFacade that will return known responses
-        followSuccessResponse = new UpdateFollowResponse(user, followThisUser, follow_following);
-        unFollowSuccessResponse = new UpdateFollowResponse(user, unFollowThisUser, unFollow_following);
+        followSuccessResponse = new UpdateFollowResponse(user, followThisUser, true);
+        unFollowSuccessResponse = new UpdateFollowResponse(user, unFollowThisUser, false);
         ServerFacadeMine mockServerFacade = Mockito.mock(ServerFacadeMine.class);
         Mockito.when(mockServerFacade.updateFollow(validRequestFollow)).thenReturn(followSuccessResponse);
         Mockito.when(mockServerFacade.updateFollow(validRequestUnFollow)).thenReturn(unFollowSuccessResponse);
@@ -62,6 +61,23 @@ public class UpdateFollowServiceTest {
         // Create a UpdateFollowService instance and wrap it with a spy that will use the mock service
         updateFollowServiceSpy = Mockito.spy(new UpdateFollowService());
         Mockito.when(updateFollowServiceSpy.getServerFacade()).thenReturn(mockServerFacade);
+
+        pageCache = new PageCache(PageCache.DEFAULT_CAPACITY);
+        Mockito.when(updateFollowServiceSpy.getPageCache()).thenReturn(pageCache);
+    }
+
+    @Test
+    public void testUpdateFollow_validRequest_invalidatesOnlyFollowersFeed() throws IOException {
+        FeedRequest feedRequest = new FeedRequest(user, 10, null);
+        StoryRequest storyRequest = new StoryRequest(JacobWest, 10, null);
+        long version = pageCache.getVersion();
+        pageCache.putFeed(feedRequest, new FeedResponse(new ArrayList<Status>(), false), version);
+        pageCache.putStory(storyRequest, new StoryResponse(new ArrayList<Status>(), false), version);
+
+        updateFollowServiceSpy.updateFollow(validRequestFollow);
+
+        Assertions.assertNull(pageCache.getFeed(feedRequest));
+        Assertions.assertNotNull(pageCache.getStory(storyRequest));
     }
 
     @Test
@@ -87,12 +103,4 @@ public class UpdateFollowServiceTest {
 //        UpdateFollowResponse response = updateFollowServiceSpy.updateFollow(followUserWeAlreadyFollow);
 //        Assertions.assertEquals(failureResponse, response);
 //    }
-
-
-    private List<User> getFollowing() {
-        ServerFacadeMine sf = new ServerFacadeMine();
-        List<User> returnMe = new ArrayList<>(sf.getDummyFollowees());
-        return returnMe;
-    }
-
 }
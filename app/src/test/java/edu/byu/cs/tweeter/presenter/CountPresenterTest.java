@@ -17,7 +17,6 @@ public class CountPresenterTest {
     private CountRequest request;
     private CountRequest invalidRequest;
     private CountResponse response;
-    private CountResponse failureResponse;
     private CountService mockCountService;
     private CountPresenter presenter;
     private int followingCount = 29;
@@ -31,7 +30,6 @@ public class CountPresenterTest {
         request = new CountRequest(currentUser);
         invalidRequest = new CountRequest(null);
         response = new CountResponse(currentUser, followingCount, followersCount);
-        failureResponse = new CountResponse("An exception occured");
 
         // Create a mock FollowersService
         mockCountService = Mockito.mock(CountService.class);
@@ -51,8 +49,8 @@ public class CountPresenterTest {
     }
 
     @Test
-    public void testGetCount_invalidRequest_correctResponse() {
-        Mockito.when(mockCountService.getCount(invalidRequest)).thenReturn(failureResponse);
+    public void testGetCount_invalidRequest_correctResponse() throws IOException {
+        Mockito.when(mockCountService.getCount(invalidRequest)).thenThrow(new AssertionError());
 
         Assertions.assertThrows(AssertionError.class, () -> {
             presenter.getCount(invalidRequest);
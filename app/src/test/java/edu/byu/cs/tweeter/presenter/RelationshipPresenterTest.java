@@ -0,0 +1,47 @@
+package edu.byu.cs.tweeter.presenter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.service.RelationshipService;
+import edu.byu.cs.tweeter.model.service.request.RelationshipRequest;
+import edu.byu.cs.tweeter.model.service.response.RelationshipResponse;
+
+public class RelationshipPresenterTest {
+
+    private RelationshipRequest request;
+    private RelationshipResponse response;
+    private RelationshipService mockRelationshipService;
+    private RelationshipPresenter presenter;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        User currentUser = new User("Test", "User", null, "password");
+
+        // Setup request objects to use in the tests
+        request = new RelationshipRequest(currentUser, Collections.singletonList("@AllenAnderson"));
+        response = new RelationshipResponse(currentUser, Collections.singletonList(true));
+
+        // Create a mock RelationshipService
+        mockRelationshipService = Mockito.mock(RelationshipService.class);
+
+        // Wrap a RelationshipPresenter in a spy that will use the mock service.
+        presenter = Mockito.spy(new RelationshipPresenter(new RelationshipPresenter.View() {}));
+        Mockito.when(presenter.getRelationshipService()).thenReturn(mockRelationshipService);
+    }
+
+    @Test
+    public void testGetRelationship_returnsServiceResult() throws IOException {
+        Mockito.when(mockRelationshipService.getRelationship(request)).thenReturn(response);
+
+        // Assert that the presenter returns the same response as the service (it doesn't do
+        // anything else, so there's nothing else to test).
+        Assertions.assertEquals(response, presenter.getRelationship(request));
+    }
+}
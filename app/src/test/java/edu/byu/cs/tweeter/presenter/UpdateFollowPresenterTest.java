@@ -6,11 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import edu.byu.cs.tweeter.model.domain.User;
-import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
 import edu.byu.cs.tweeter.model.service.UpdateFollowService;
 import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
 import edu.byu.cs.tweeter.model.service.response.UpdateFollowResponse;
@@ -33,17 +30,11 @@ public class UpdateFollowPresenterTest {
         User unFollowThisUser = Rudy;
         User followThisUser = JacobWest;
 
-        List<User> follow_following = getFollowing();
-        follow_following.add(JacobWest);
-
-        List<User> unFollow_following = getFollowing();
-        unFollow_following.remove(Rudy);
-
         // Setup request objects to use in the tests
         validRequestFollow = new UpdateFollowRequest(user, followThisUser, true);
         // Setup a mock ServerFacade that will return known responses
 
-        followSuccessResponse = new UpdateFollowResponse(user, followThisUser, follow_following);
+        followSuccessResponse = new UpdateFollowResponse(user, followThisUser, true);
         // Create a mock FollowersService
         mockUpdateFollowService = Mockito.mock(UpdateFollowService.class);
 
@@ -60,11 +51,5 @@ public class UpdateFollowPresenterTest {
         // anything else, so there's nothing else to test).
         Assertions.assertEquals(followSuccessResponse, presenter.getUpdateFollow(validRequestFollow));
     }
-
-    private List<User> getFollowing() {
-        ServerFacadeMine sf = new ServerFacadeMine();
-        List<User> returnMe = new ArrayList<>(sf.getDummyFollowees());
-        return returnMe;
-    }
 }
 
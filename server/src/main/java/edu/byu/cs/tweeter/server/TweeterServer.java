@@ -0,0 +1,346 @@
+package edu.byu.cs.tweeter.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.net.ServerFacadeMine;
+import edu.byu.cs.tweeter.model.net.TweeterApi;
+import edu.byu.cs.tweeter.model.service.request.CountRequest;
+import edu.byu.cs.tweeter.model.service.request.FeedRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowingRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowsBackRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.MentionsRequest;
+import edu.byu.cs.tweeter.model.service.request.MutualFollowsRequest;
+import edu.byu.cs.tweeter.model.service.request.RecommendationsRequest;
+import edu.byu.cs.tweeter.model.service.request.RegisterRequest;
+import edu.byu.cs.tweeter.model.service.request.SearchRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.request.TrendingRequest;
+import edu.byu.cs.tweeter.model.service.request.TypeaheadRequest;
+import edu.byu.cs.tweeter.model.service.request.UpdateFollowRequest;
+
+/**
+ * Serves the endpoints of a {@link ServerFacadeMine} over HTTP as a json API, so the client and
+ * the server can run in separate processes and the cost of serialization, the network and
+ * concurrent requests can be measured. Every endpoint takes a json request in the body of a POST
+ * to its path in {@link TweeterApi} and answers with the json of the facade's response.
+ * <p>
+ * Requests are handled on a fixed pool of worker threads. A request the facade rejects is answered
+ * with status 400 and an unsuccessful response carrying the reason, so clients handle it the same
+ * way as any other failed response.
+ */
+public class TweeterServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_WORKER_COUNT = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final int STOP_DELAY_SECONDS = 1;
+
+    private final HttpServer httpServer;
+    private final ExecutorService workers;
+    private final ServerFacadeMine facade;
+    private final Gson gson = TweeterApi.newGson();
+
+    private TweeterServer(HttpServer httpServer, ExecutorService workers, ServerFacadeMine facade) {
+        this.httpServer = httpServer;
+        this.workers = workers;
+        this.facade = facade;
+    }
+
+    /**
+     * Starts a server for the shared {@link ServerFacadeMine} on the loopback address.
+     *
+     * @param port the port to listen on, or 0 to pick a free port.
+     * @param workerCount the number of threads that handle requests.
+     * @return the running server.
+     * @throws IOException if the port can't be bound.
+     */
+    public static TweeterServer start(int port, int workerCount) throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), workerCount,
+                ServerFacadeMine.getInstance());
+    }
+
+    /**
+     * Starts a server.
+     *
+     * @param address the address to listen on.
+     * @param workerCount the number of threads that handle requests.
+     * @param facade the facade whose endpoints are served.
+     * @return the running server.
+     * @throws IOException if the address can't be bound.
+     */
+    public static TweeterServer start(InetSocketAddress address, int workerCount, ServerFacadeMine facade) throws IOException {
+        if(workerCount < 1) {
+            throw new IllegalArgumentException("The worker count must be positive: " + workerCount);
+        }
+
+        HttpServer httpServer = HttpServer.create(address, 0);
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "tweeter-server-" + count.incrementAndGet());
+            }
+        });
+
+        TweeterServer server = new TweeterServer(httpServer, workers, facade);
+        server.registerEndpoints();
+        httpServer.setExecutor(workers);
+        httpServer.start();
+        return server;
+    }
+
+    private void registerEndpoints() {
+        register(TweeterApi.LOGIN, new Endpoint<LoginRequest>(LoginRequest.class) {
+            @Override
+            Object respond(LoginRequest request) {
+                return facade.login(request);
+            }
+        });
+
+        register(TweeterApi.REGISTER, new Endpoint<RegisterRequest>(RegisterRequest.class) {
+            @Override
+            Object respond(RegisterRequest request) {
+                return facade.register(request);
+            }
+        });
+
+        register(TweeterApi.FEED, new Endpoint<FeedRequest>(FeedRequest.class) {
+            @Override
+            Object respond(FeedRequest request) {
+                return facade.getFeed(request);
+            }
+        });
+
+        register(TweeterApi.STORY, new Endpoint<StoryRequest>(StoryRequest.class) {
+            @Override
+            Object respond(StoryRequest request) {
+                return facade.getStory(request);
+            }
+        });
+
+        register(TweeterApi.MENTIONS, new Endpoint<MentionsRequest>(MentionsRequest.class) {
+            @Override
+            Object respond(MentionsRequest request) {
+                return facade.getMentions(request);
+            }
+        });
+
+        register(TweeterApi.SEARCH, new Endpoint<SearchRequest>(SearchRequest.class) {
+            @Override
+            Object respond(SearchRequest request) {
+                return facade.search(request);
+            }
+        });
+
+        register(TweeterApi.TRENDING, new Endpoint<TrendingRequest>(TrendingRequest.class) {
+            @Override
+            Object respond(TrendingRequest request) {
+                return facade.getTrending(request);
+            }
+        });
+
+        register(TweeterApi.TYPEAHEAD, new Endpoint<TypeaheadRequest>(TypeaheadRequest.class) {
+            @Override
+            Object respond(TypeaheadRequest request) {
+                return facade.getTypeahead(request);
+            }
+        });
+
+        register(TweeterApi.RECOMMENDATIONS, new Endpoint<RecommendationsRequest>(RecommendationsRequest.class) {
+            @Override
+            Object respond(RecommendationsRequest request) {
+                return facade.getRecommendations(request);
+            }
+        });
+
+        register(TweeterApi.MUTUAL_FOLLOWS, new Endpoint<MutualFollowsRequest>(MutualFollowsRequest.class) {
+            @Override
+            Object respond(MutualFollowsRequest request) {
+                return facade.getMutualFollows(request);
+            }
+        });
+
+        register(TweeterApi.FOLLOWS_BACK, new Endpoint<FollowsBackRequest>(FollowsBackRequest.class) {
+            @Override
+            Object respond(FollowsBackRequest request) {
+                return facade.getFollowsBack(request);
+            }
+        });
+
+        register(TweeterApi.FOLLOWERS, new Endpoint<FollowersRequest>(FollowersRequest.class) {
+            @Override
+            Object respond(FollowersRequest request) {
+                return facade.getFollowers(request);
+            }
+        });
+
+        register(TweeterApi.FOLLOWING, new Endpoint<FollowingRequest>(FollowingRequest.class) {
+            @Override
+            Object respond(FollowingRequest request) {
+                return facade.getFollowees(request);
+            }
+        });
+
+        register(TweeterApi.COUNT, new Endpoint<CountRequest>(CountRequest.class) {
+            @Override
+            Object respond(CountRequest request) {
+                return facade.getCount(request);
+            }
+        });
+
+        register(TweeterApi.UPDATE_FOLLOW, new Endpoint<UpdateFollowRequest>(UpdateFollowRequest.class) {
+            @Override
+            Object respond(UpdateFollowRequest request) {
+                return facade.updateFollow(request);
+            }
+        });
+
+        register(TweeterApi.SUBMIT_TWEET, new Endpoint<SubmitTweetRequest>(SubmitTweetRequest.class) {
+            @Override
+            Object respond(SubmitTweetRequest request) {
+                return facade.submitTweet(request);
+            }
+        });
+    }
+
+    private void register(String path, Endpoint<?> endpoint) {
+        httpServer.createContext(path, endpoint);
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits briefly for the ones in progress and shuts down the
+     * workers.
+     */
+    public void stop() {
+        httpServer.stop(STOP_DELAY_SECONDS);
+        workers.shutdown();
+
+        try {
+            workers.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses the request body, passes it to the facade and writes out the facade's response.
+     */
+    private abstract class Endpoint<T> implements HttpHandler {
+        private final Class<T> requestClass;
+
+        Endpoint(Class<T> requestClass) {
+            this.requestClass = requestClass;
+        }
+
+        abstract Object respond(T request);
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                if(!"POST".equals(exchange.getRequestMethod())) {
+                    sendFailure(exchange, HttpURLConnection.HTTP_BAD_METHOD, "Requests must be POSTed");
+                    return;
+                }
+
+                T request;
+                Reader reader = new InputStreamReader(exchange.getRequestBody(), UTF_8);
+                try {
+                    request = gson.fromJson(reader, requestClass);
+                } finally {
+                    reader.close();
+                }
+
+                if(request == null) {
+                    sendFailure(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "The request is empty");
+                    return;
+                }
+
+                Object response;
+                try {
+                    response = respond(request);
+                } catch (AssertionError e) {
+                    // The facade rejects invalid requests with assertion errors
+                    sendFailure(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "The request is invalid");
+                    return;
+                }
+
+                send(exchange, HttpURLConnection.HTTP_OK, gson.toJson(response));
+            } catch (JsonParseException e) {
+                sendFailure(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "The request is not valid json");
+            } catch (RuntimeException e) {
+                sendFailure(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, "The server failed: " + e.getMessage());
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private void sendFailure(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject failure = new JsonObject();
+        failure.addProperty("success", false);
+        failure.addProperty("message", message);
+        send(exchange, status, gson.toJson(failure));
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+
+        OutputStream output = exchange.getResponseBody();
+        try {
+            output.write(body);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     *
+     * @param args the port to listen on and the number of worker threads, both optional.
+     * @throws IOException if the port can't be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workerCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WORKER_COUNT;
+
+        TweeterServer server = start(port, workerCount);
+        System.out.println("Tweeter server listening on 127.0.0.1:" + server.getPort()
+                + " with " + workerCount + " workers");
+    }
+}
@@ -0,0 +1,149 @@
+package edu.byu.cs.tweeter.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.byu.cs.tweeter.model.domain.Status;
+import edu.byu.cs.tweeter.model.domain.User;
+import edu.byu.cs.tweeter.model.net.HttpServerFacade;
+import edu.byu.cs.tweeter.model.net.TweeterApi;
+import edu.byu.cs.tweeter.model.service.request.CountRequest;
+import edu.byu.cs.tweeter.model.service.request.FollowersRequest;
+import edu.byu.cs.tweeter.model.service.request.LoginRequest;
+import edu.byu.cs.tweeter.model.service.request.StoryRequest;
+import edu.byu.cs.tweeter.model.service.request.SubmitTweetRequest;
+import edu.byu.cs.tweeter.model.service.response.CountResponse;
+import edu.byu.cs.tweeter.model.service.response.FollowersResponse;
+import edu.byu.cs.tweeter.model.service.response.LoginResponse;
+import edu.byu.cs.tweeter.model.service.response.StoryResponse;
+import edu.byu.cs.tweeter.model.service.response.SubmitTweetResponse;
+
+class TweeterServerTest {
+
+    private TweeterServer server;
+    private HttpServerFacade client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = TweeterServer.start(0, 4);
+        client = new HttpServerFacade("http://127.0.0.1:" + server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void testSubmitTweet_appearsInStoryOverHttp() throws IOException {
+        LoginResponse loginResponse = client.login(new LoginRequest("@TestUser", "password"));
+        Assertions.assertTrue(loginResponse.isSuccess());
+
+        User user = loginResponse.getUser();
+        Status status = new Status(user, "Posted over http", "", System.currentTimeMillis(), "");
+        SubmitTweetResponse submitResponse = client.submitTweet(
+                new SubmitTweetRequest(user, status, loginResponse.getAuthToken()));
+        Assertions.assertTrue(submitResponse.isSuccess());
+
+        StoryResponse storyResponse = client.getStory(new StoryRequest(user, 10, null));
+        Assertions.assertTrue(storyResponse.isSuccess());
+        Assertions.assertEquals("Posted over http", storyResponse.getStory().get(0).getTweetText());
+    }
+
+    @Test
+    void testSubmitTweet_withoutTokenIsRejected() throws IOException {
+        User user = new User("Test", "User", "", "password");
+        Status status = new Status(user, "No token", "", System.currentTimeMillis(), "");
+
+        SubmitTweetResponse response = client.submitTweet(new SubmitTweetRequest(user, status));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertNotNull(response.getMessage());
+    }
+
+    @Test
+    void testLogin_invalidRequestIsAnsweredWithFailure() throws IOException {
+        LoginResponse response = client.login(new LoginRequest("no-at-sign", "password"));
+
+        Assertions.assertFalse(response.isSuccess());
+        Assertions.assertEquals("The request is invalid", response.getMessage());
+    }
+
+    @Test
+    void testGetFollowers_jsonLeavesOutPasswords() throws IOException {
+        User user = new User("Allen", "Anderson", "", "password");
+        String json = post(TweeterApi.FOLLOWERS, new FollowersRequest(user, 10, null));
+
+        FollowersResponse response = TweeterApi.newGson().fromJson(json, FollowersResponse.class);
+        Assertions.assertTrue(response.isSuccess());
+        Assertions.assertFalse(response.getFollowers().isEmpty());
+        Assertions.assertFalse(json.contains("\"password\""));
+        Assertions.assertFalse(json.contains("\"imageBytes\""));
+    }
+
+    @Test
+    void testGetCount_concurrentClients() throws InterruptedException {
+        final User user = new User("Allen", "Anderson", "", "password");
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for(int i = 0; i < 8; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for(int j = 0; j < 25; j++) {
+                        try {
+                            CountResponse response = client.getCount(new CountRequest(user));
+                            if(!response.isSuccess() || !user.getAlias().equals(response.getUser().getAlias())) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(0, failures.get());
+    }
+
+    private String post(String path, Object request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+
+        OutputStream output = connection.getOutputStream();
+        try {
+            output.write(TweeterApi.newGson().toJson(request).getBytes("UTF-8"));
+        } finally {
+            output.close();
+        }
+
+        InputStream input = connection.getInputStream();
+        try {
+            return new Scanner(input, "UTF-8").useDelimiter("\\A").next();
+        } finally {
+            input.close();
+        }
+    }
+}